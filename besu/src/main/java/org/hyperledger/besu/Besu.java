@@ -17,6 +17,7 @@ package org.hyperledger.besu;
 import static org.apache.logging.log4j.LogManager.getLogger;
 
 import org.hyperledger.besu.chainexport.RlpBlockExporter;
+import org.hyperledger.besu.chainexport.SegmentedRlpBlockExporter;
 import org.hyperledger.besu.chainimport.JsonBlockImporter;
 import org.hyperledger.besu.chainimport.RlpBlockImporter;
 import org.hyperledger.besu.cli.BesuCommand;
@@ -41,6 +42,7 @@ public final class Besu {
             new RlpBlockImporter(),
             JsonBlockImporter::new,
             RlpBlockExporter::new,
+            SegmentedRlpBlockExporter::new,
             new RunnerBuilder(),
             new BesuController.Builder(),
             new BesuPluginContextImpl(),
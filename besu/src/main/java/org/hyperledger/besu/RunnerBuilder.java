@@ -607,6 +607,7 @@ public class RunnerBuilder {
                 ethNetworkConfig.getNetworkId(),
                 besuController.getGenesisConfigOptions(),
                 network,
+                Optional.of(besuController.getProtocolManager().ethContext().getEthPeers()),
                 context.getBlockchain(),
                 context.getWorldStateArchive(),
                 synchronizer,
@@ -0,0 +1,108 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.chainexport;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.google.common.base.MoreObjects;
+
+/** An entry in the index of a segmented block export, describing a single compressed segment. */
+public class BlockSegment {
+
+  private final long firstBlockNumber;
+  private final int blockCount;
+  private final long offset;
+  private final int compressedLength;
+  private final int uncompressedLength;
+  private final long checksum;
+
+  public BlockSegment(
+      final long firstBlockNumber,
+      final int blockCount,
+      final long offset,
+      final int compressedLength,
+      final int uncompressedLength,
+      final long checksum) {
+    this.firstBlockNumber = firstBlockNumber;
+    this.blockCount = blockCount;
+    this.offset = offset;
+    this.compressedLength = compressedLength;
+    this.uncompressedLength = uncompressedLength;
+    this.checksum = checksum;
+  }
+
+  static BlockSegment readFrom(final DataInput in) throws IOException {
+    return new BlockSegment(
+        in.readLong(), in.readInt(), in.readLong(), in.readInt(), in.readInt(), in.readLong());
+  }
+
+  void writeTo(final DataOutput out) throws IOException {
+    out.writeLong(firstBlockNumber);
+    out.writeInt(blockCount);
+    out.writeLong(offset);
+    out.writeInt(compressedLength);
+    out.writeInt(uncompressedLength);
+    out.writeLong(checksum);
+  }
+
+  public long getFirstBlockNumber() {
+    return firstBlockNumber;
+  }
+
+  /** @return the number of the last block in this segment (inclusive). */
+  public long getLastBlockNumber() {
+    return firstBlockNumber + blockCount - 1;
+  }
+
+  public int getBlockCount() {
+    return blockCount;
+  }
+
+  public boolean contains(final long blockNumber) {
+    return blockNumber >= firstBlockNumber && blockNumber <= getLastBlockNumber();
+  }
+
+  /** @return the offset of the compressed segment in the data file. */
+  public long getOffset() {
+    return offset;
+  }
+
+  public int getCompressedLength() {
+    return compressedLength;
+  }
+
+  public int getUncompressedLength() {
+    return uncompressedLength;
+  }
+
+  /** @return the CRC32 checksum of the uncompressed segment data. */
+  public long getChecksum() {
+    return checksum;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("firstBlockNumber", firstBlockNumber)
+        .add("blockCount", blockCount)
+        .add("offset", offset)
+        .add("compressedLength", compressedLength)
+        .add("uncompressedLength", uncompressedLength)
+        .add("checksum", checksum)
+        .toString();
+  }
+}
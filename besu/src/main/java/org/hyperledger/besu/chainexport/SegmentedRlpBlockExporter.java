@@ -0,0 +1,234 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.chainexport;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Exports blocks as a series of independently compressed segments with an accompanying index.
+ *
+ * <p>Each segment holds the concatenated RLP of up to {@code segmentSize} consecutive blocks,
+ * compressed with DEFLATE. The index, written alongside the data file with the {@link
+ * #INDEX_FILE_SUFFIX} suffix, holds one {@link BlockSegment} per segment so that ranges of blocks
+ * can be located, verified and read with {@link SegmentedRlpBlockReader} without decoding the rest
+ * of the export. Segments are read from storage and compressed in parallel but written in order.
+ *
+ * <p>This is an archival format only: {@code besu blocks import} reads plain RLP exports and cannot
+ * import segmented exports.
+ */
+public class SegmentedRlpBlockExporter {
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final String INDEX_FILE_SUFFIX = ".index";
+  private static final int DEFAULT_SEGMENT_SIZE = 1000;
+  private static final int COMPRESSION_BUFFER_SIZE = 64 * 1024;
+
+  private final Blockchain blockchain;
+  private final int segmentSize;
+  private final int parallelism;
+
+  public SegmentedRlpBlockExporter(final Blockchain blockchain) {
+    this(blockchain, DEFAULT_SEGMENT_SIZE, Runtime.getRuntime().availableProcessors());
+  }
+
+  public SegmentedRlpBlockExporter(
+      final Blockchain blockchain, final int segmentSize, final int parallelism) {
+    checkArgument(segmentSize > 0, "Segment size must be greater than 0.");
+    checkArgument(parallelism > 0, "Parallelism must be greater than 0.");
+    this.blockchain = blockchain;
+    this.segmentSize = segmentSize;
+    this.parallelism = parallelism;
+  }
+
+  public static File indexFileFor(final File outputFile) {
+    return new File(outputFile.getPath() + INDEX_FILE_SUFFIX);
+  }
+
+  /**
+   * Export blocks that are stored in Besu's block storage. Unlike {@link BlockExporter} the output
+   * file and its index are always replaced, never appended to.
+   *
+   * @param outputFile the path at which to save the exported block data
+   * @param maybeStartBlock the starting index of the block list to export (inclusive)
+   * @param maybeEndBlock the ending index of the block list to export (exclusive), if not specified
+   *     the export runs to the current chain head
+   * @throws IOException if an I/O error occurs while writing data to disk
+   */
+  public void exportBlocks(
+      final File outputFile,
+      final Optional<Long> maybeStartBlock,
+      final Optional<Long> maybeEndBlock)
+      throws IOException {
+    final long startBlock = maybeStartBlock.orElse(BlockHeader.GENESIS_BLOCK_NUMBER);
+    final long endBlock = maybeEndBlock.orElse(blockchain.getChainHeadBlockNumber() + 1L);
+    checkArgument(startBlock >= 0 && endBlock >= 0, "Start and end blocks must be greater than 0.");
+    checkArgument(startBlock < endBlock, "Start block must be less than end block");
+
+    LOG.info(
+        "Exporting blocks [{},{}) to file {} in segments of {} blocks",
+        startBlock,
+        endBlock,
+        outputFile,
+        segmentSize);
+
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            parallelism, new ThreadFactoryBuilder().setNameFormat("BlockExport-%d").build());
+    try (final FileOutputStream dataOutput = new FileOutputStream(outputFile);
+        final DataOutputStream indexOutput =
+            new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(indexFileFor(outputFile))))) {
+      final Deque<Future<EncodedSegment>> pendingSegments = new ArrayDeque<>();
+      long nextSegmentStart = startBlock;
+      long offset = 0;
+      boolean blocksMissing = false;
+      while (!blocksMissing && (nextSegmentStart < endBlock || !pendingSegments.isEmpty())) {
+        while (pendingSegments.size() < parallelism && nextSegmentStart < endBlock) {
+          final long segmentStart = nextSegmentStart;
+          final long segmentEnd = Math.min(segmentStart + segmentSize, endBlock);
+          pendingSegments.add(executor.submit(() -> encodeSegment(segmentStart, segmentEnd)));
+          nextSegmentStart = segmentEnd;
+        }
+
+        final EncodedSegment segment = getNext(pendingSegments);
+        if (segment.blockCount > 0) {
+          dataOutput.write(segment.compressedData);
+          segment.toBlockSegment(offset).writeTo(indexOutput);
+          offset += segment.compressedData.length;
+          LOG.info("Export at block {}", segment.firstBlockNumber + segment.blockCount - 1);
+        }
+        if (segment.firstBlockNumber + segment.blockCount < segment.requestedEndBlock) {
+          LOG.warn(
+              "Unable to export blocks [{} - {}).  Blocks not found.",
+              segment.firstBlockNumber + segment.blockCount,
+              endBlock);
+          blocksMissing = true;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    LOG.info("Export complete to {}", outputFile);
+  }
+
+  private static EncodedSegment getNext(final Deque<Future<EncodedSegment>> pendingSegments)
+      throws IOException {
+    try {
+      return pendingSegments.remove().get();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while exporting blocks", e);
+    } catch (final ExecutionException e) {
+      throw new IOException("Failed to export blocks", e.getCause());
+    }
+  }
+
+  private EncodedSegment encodeSegment(final long startBlock, final long endBlock) {
+    final ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+    int blockCount = 0;
+    for (long i = startBlock; i < endBlock; i++) {
+      final Optional<Block> maybeBlock = blockchain.getBlockByNumber(i);
+      if (maybeBlock.isEmpty()) {
+        break;
+      }
+      final BytesValue rlp = RLP.encode(maybeBlock.get()::writeTo);
+      uncompressed.write(rlp.getArrayUnsafe(), 0, rlp.size());
+      blockCount++;
+    }
+
+    final byte[] data = uncompressed.toByteArray();
+    final CRC32 checksum = new CRC32();
+    checksum.update(data);
+    return new EncodedSegment(
+        startBlock, endBlock, blockCount, compress(data), data.length, checksum.getValue());
+  }
+
+  private static byte[] compress(final byte[] data) {
+    final Deflater deflater = new Deflater();
+    try {
+      deflater.setInput(data);
+      deflater.finish();
+      final ByteArrayOutputStream compressed = new ByteArrayOutputStream(data.length / 2 + 64);
+      final byte[] buffer = new byte[COMPRESSION_BUFFER_SIZE];
+      while (!deflater.finished()) {
+        final int length = deflater.deflate(buffer);
+        compressed.write(buffer, 0, length);
+      }
+      return compressed.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static class EncodedSegment {
+    private final long firstBlockNumber;
+    private final long requestedEndBlock;
+    private final int blockCount;
+    private final byte[] compressedData;
+    private final int uncompressedLength;
+    private final long checksum;
+
+    EncodedSegment(
+        final long firstBlockNumber,
+        final long requestedEndBlock,
+        final int blockCount,
+        final byte[] compressedData,
+        final int uncompressedLength,
+        final long checksum) {
+      this.firstBlockNumber = firstBlockNumber;
+      this.requestedEndBlock = requestedEndBlock;
+      this.blockCount = blockCount;
+      this.compressedData = compressedData;
+      this.uncompressedLength = uncompressedLength;
+      this.checksum = checksum;
+    }
+
+    BlockSegment toBlockSegment(final long offset) {
+      return new BlockSegment(
+          firstBlockNumber,
+          blockCount,
+          offset,
+          compressedData.length,
+          uncompressedLength,
+          checksum);
+    }
+  }
+}
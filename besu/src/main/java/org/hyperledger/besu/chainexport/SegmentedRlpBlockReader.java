@@ -0,0 +1,155 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.chainexport;
+
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads exports written by {@link SegmentedRlpBlockExporter}. Segments are read independently, so
+ * separate instances may be used to read or verify different ranges of an export in parallel.
+ */
+public class SegmentedRlpBlockReader {
+
+  private final File dataFile;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+  private final List<BlockSegment> segments;
+
+  private SegmentedRlpBlockReader(
+      final File dataFile,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final List<BlockSegment> segments) {
+    this.dataFile = dataFile;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+    this.segments = segments;
+  }
+
+  public static SegmentedRlpBlockReader open(
+      final File dataFile, final BlockHeaderFunctions blockHeaderFunctions) throws IOException {
+    final List<BlockSegment> segments = new ArrayList<>();
+    try (final DataInputStream indexInput =
+        new DataInputStream(
+            new BufferedInputStream(
+                new FileInputStream(SegmentedRlpBlockExporter.indexFileFor(dataFile))))) {
+      while (true) {
+        segments.add(BlockSegment.readFrom(indexInput));
+      }
+    } catch (final EOFException e) {
+      // Reached the end of the index.
+    }
+    return new SegmentedRlpBlockReader(
+        dataFile, blockHeaderFunctions, Collections.unmodifiableList(segments));
+  }
+
+  public List<BlockSegment> getSegments() {
+    return segments;
+  }
+
+  public Optional<BlockSegment> findSegment(final long blockNumber) {
+    int low = 0;
+    int high = segments.size() - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final BlockSegment segment = segments.get(mid);
+      if (blockNumber < segment.getFirstBlockNumber()) {
+        high = mid - 1;
+      } else if (blockNumber > segment.getLastBlockNumber()) {
+        low = mid + 1;
+      } else {
+        return Optional.of(segment);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Reads, verifies and decodes all blocks in a segment.
+   *
+   * @param segment the segment to read
+   * @return the blocks in the segment, in order
+   * @throws IOException if the segment cannot be read or its checksum does not match
+   */
+  public List<Block> readSegment(final BlockSegment segment) throws IOException {
+    final byte[] data = decompress(segment, readCompressedData(segment));
+    final CRC32 checksum = new CRC32();
+    checksum.update(data);
+    if (checksum.getValue() != segment.getChecksum()) {
+      throw new IOException("Checksum mismatch in " + segment);
+    }
+
+    final RLPInput input = new BytesValueRLPInput(BytesValue.wrap(data), false);
+    final List<Block> blocks = new ArrayList<>(segment.getBlockCount());
+    while (!input.isDone()) {
+      blocks.add(Block.readFrom(input, blockHeaderFunctions));
+    }
+    if (blocks.size() != segment.getBlockCount()) {
+      throw new IOException(
+          "Expected " + segment.getBlockCount() + " blocks but found " + blocks.size());
+    }
+    return blocks;
+  }
+
+  private byte[] readCompressedData(final BlockSegment segment) throws IOException {
+    final byte[] compressed = new byte[segment.getCompressedLength()];
+    try (final RandomAccessFile file = new RandomAccessFile(dataFile, "r")) {
+      file.seek(segment.getOffset());
+      file.readFully(compressed);
+    }
+    return compressed;
+  }
+
+  private static byte[] decompress(final BlockSegment segment, final byte[] compressed)
+      throws IOException {
+    final Inflater inflater = new Inflater();
+    try {
+      inflater.setInput(compressed);
+      final byte[] data = new byte[segment.getUncompressedLength()];
+      int length = 0;
+      while (length < data.length && !inflater.finished()) {
+        final int inflated = inflater.inflate(data, length, data.length - length);
+        if (inflated == 0 && inflater.needsInput()) {
+          break;
+        }
+        length += inflated;
+      }
+      if (length != data.length) {
+        throw new IOException("Truncated data in " + segment);
+      }
+      return data;
+    } catch (final DataFormatException e) {
+      throw new IOException("Corrupt data in " + segment, e);
+    } finally {
+      inflater.end();
+    }
+  }
+}
@@ -30,6 +30,11 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.util.RawBlockIterator;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.services.pipeline.Pipeline;
+import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 import org.hyperledger.besu.util.uint.UInt256;
 
 import java.io.IOException;
@@ -37,21 +42,42 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.Logger;
 
-/** Tool for importing rlp-encoded block data from files. */
+/**
+ * Tool for importing rlp-encoded block data from files.
+ *
+ * <p>Blocks are imported through a pipeline: blocks are read from the file, grouped into batches
+ * and up to {@code parallelism} batches have their headers validated and transaction senders
+ * recovered concurrently on a fixed size pool. Blocks are then imported one at a time, in order,
+ * which is the only sequential stage.
+ */
 public class RlpBlockImporter {
   private static final Logger LOG = getLogger();
 
-  private final Semaphore blockBacklog = new Semaphore(2);
+  private static final int DEFAULT_BATCH_SIZE = 20;
+
+  private final int batchSize;
+  private final int parallelism;
+
+  public RlpBlockImporter() {
+    this(DEFAULT_BATCH_SIZE, Runtime.getRuntime().availableProcessors());
+  }
 
-  private final ExecutorService validationExecutor = Executors.newCachedThreadPool();
-  private final ExecutorService importExecutor = Executors.newSingleThreadExecutor();
+  public RlpBlockImporter(final int batchSize, final int parallelism) {
+    this.batchSize = batchSize;
+    this.parallelism = parallelism;
+  }
 
   /**
    * Imports blocks that are stored as concatenated RLP sections in the given file into Besu's block
@@ -65,10 +91,33 @@ public class RlpBlockImporter {
    */
   public <C> RlpBlockImporter.ImportResult importBlockchain(
       final Path blocks, final BesuController<C> besuController) throws IOException {
+    return importBlockchain(blocks, besuController, new NoOpMetricsSystem());
+  }
+
+  /**
+   * Imports blocks that are stored as concatenated RLP sections in the given file into Besu's block
+   * storage.
+   *
+   * @param blocks Path to the file containing the blocks
+   * @param besuController the BesuController that defines blockchain behavior
+   * @param metricsSystem the metrics system to report the progress of each import stage to
+   * @param <C> the consensus context type
+   * @return the import result
+   * @throws IOException On Failure
+   */
+  public <C> RlpBlockImporter.ImportResult importBlockchain(
+      final Path blocks, final BesuController<C> besuController, final MetricsSystem metricsSystem)
+      throws IOException {
     final ProtocolSchedule<C> protocolSchedule = besuController.getProtocolSchedule();
     final ProtocolContext<C> context = besuController.getProtocolContext();
     final MutableBlockchain blockchain = context.getBlockchain();
-    int count = 0;
+    final ExecutorService validationExecutor =
+        Executors.newFixedThreadPool(
+            parallelism,
+            new ThreadFactoryBuilder().setNameFormat("BlockImportValidation-%d").build());
+    final ExecutorService pipelineExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("BlockImportPipeline-%d").build());
 
     try (final RawBlockIterator iterator =
         new RawBlockIterator(
@@ -76,108 +125,155 @@ public class RlpBlockImporter {
             rlp ->
                 BlockHeader.readFrom(
                     rlp, ScheduleBasedBlockHeaderFunctions.create(protocolSchedule)))) {
-      BlockHeader previousHeader = null;
-      CompletableFuture<Void> previousBlockFuture = null;
-      while (iterator.hasNext()) {
-        final Block block = iterator.next();
-        final BlockHeader header = block.getHeader();
-        if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER) {
-          continue;
-        }
-        if (header.getNumber() % 100 == 0) {
-          LOG.info("Import at block {}", header.getNumber());
-        }
-        if (blockchain.contains(header.getHash())) {
-          continue;
-        }
-        if (previousHeader == null) {
-          previousHeader = lookupPreviousHeader(blockchain, header);
-        }
-        final ProtocolSpec<C> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
-        final BlockHeader lastHeader = previousHeader;
+      final ImportBlockStep<C> importBlockStep = new ImportBlockStep<>(protocolSchedule, context);
+      final Pipeline<Block> pipeline =
+          PipelineBuilder.createPipelineFrom(
+                  "readBlocks",
+                  iterator,
+                  batchSize * parallelism,
+                  metricsSystem.createLabelledCounter(
+                      BesuMetricCategory.BLOCKCHAIN,
+                      "block_import_pipeline_processed_total",
+                      "Number of entries processed by each block import pipeline stage",
+                      "step",
+                      "action"))
+              .thenFlatMap(
+                  "skipKnownBlocks",
+                  block -> skipKnownBlock(blockchain, block),
+                  batchSize * parallelism)
+              .inBatches(batchSize)
+              .thenProcessAsyncOrdered(
+                  "validateBlocks",
+                  new ValidateBlocksStep<>(
+                      protocolSchedule, context, blockchain, validationExecutor),
+                  parallelism)
+              .thenFlatMap("unbatchBlocks", List::stream, batchSize * parallelism)
+              .andFinishWith("importBlock", importBlockStep);
+      pipeline.start(pipelineExecutor).get();
+      return new RlpBlockImporter.ImportResult(
+          blockchain.getChainHead().getTotalDifficulty(), importBlockStep.getImportedCount());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while importing blocks.", e);
+    } catch (final ExecutionException e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      shutdown(pipelineExecutor, "pipelineExecutor");
+      shutdown(validationExecutor, "validationExecutor");
+      besuController.close();
+    }
+  }
+
+  private static Stream<Block> skipKnownBlock(
+      final MutableBlockchain blockchain, final Block block) {
+    final BlockHeader header = block.getHeader();
+    if (header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER
+        || blockchain.contains(header.getHash())) {
+      return Stream.empty();
+    }
+    return Stream.of(block);
+  }
 
-        final CompletableFuture<Void> validationFuture =
-            CompletableFuture.runAsync(
-                () -> validateBlock(protocolSpec, context, lastHeader, header), validationExecutor);
+  private static void shutdown(final ExecutorService executor, final String name) {
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(5, SECONDS);
+    } catch (final Exception e) {
+      LOG.error("Error shutting down " + name + ".", e);
+    }
+  }
 
-        final CompletableFuture<Void> extractingFuture =
-            CompletableFuture.runAsync(() -> extractSignatures(block));
+  /**
+   * Validates the headers of a batch of blocks against their parents and recovers the sender of
+   * every transaction, so that the import stage does not have to. Batches must be supplied in
+   * order as the last header of each batch is the parent of the first block in the next one.
+   */
+  private static class ValidateBlocksStep<C>
+      implements Function<List<Block>, CompletableFuture<List<Block>>> {
+    private final ProtocolSchedule<C> protocolSchedule;
+    private final ProtocolContext<C> context;
+    private final MutableBlockchain blockchain;
+    private final ExecutorService validationExecutor;
+    private BlockHeader previousHeader;
 
-        final CompletableFuture<Void> calculationFutures;
-        if (previousBlockFuture == null) {
-          calculationFutures = extractingFuture;
-        } else {
-          calculationFutures = CompletableFuture.allOf(extractingFuture, previousBlockFuture);
-        }
+    ValidateBlocksStep(
+        final ProtocolSchedule<C> protocolSchedule,
+        final ProtocolContext<C> context,
+        final MutableBlockchain blockchain,
+        final ExecutorService validationExecutor) {
+      this.protocolSchedule = protocolSchedule;
+      this.context = context;
+      this.blockchain = blockchain;
+      this.validationExecutor = validationExecutor;
+    }
 
-        try {
-          blockBacklog.acquire();
-        } catch (final InterruptedException e) {
-          LOG.error("Interrupted adding to backlog.", e);
-          break;
+    @Override
+    public CompletableFuture<List<Block>> apply(final List<Block> blocks) {
+      final List<BlockHeader> parentHeaders = new ArrayList<>(blocks.size());
+      for (final Block block : blocks) {
+        if (previousHeader == null) {
+          previousHeader = lookupPreviousHeader(blockchain, block.getHeader());
         }
-        previousBlockFuture =
-            validationFuture.runAfterBothAsync(
-                calculationFutures,
-                () -> evaluateBlock(context, block, header, protocolSpec),
-                importExecutor);
-
-        ++count;
-        previousHeader = header;
-      }
-      if (previousBlockFuture != null) {
-        previousBlockFuture.join();
-      }
-      return new RlpBlockImporter.ImportResult(
-          blockchain.getChainHead().getTotalDifficulty(), count);
-    } finally {
-      validationExecutor.shutdownNow();
-      try {
-        validationExecutor.awaitTermination(5, SECONDS);
-      } catch (final Exception e) {
-        LOG.error("Error shutting down validatorExecutor.", e);
+        parentHeaders.add(previousHeader);
+        previousHeader = block.getHeader();
       }
-      importExecutor.shutdownNow();
-      try {
-        importExecutor.awaitTermination(5, SECONDS);
-      } catch (final Exception e) {
-        LOG.error("Error shutting down importExecutor", e);
+      return CompletableFuture.supplyAsync(
+          () -> validateBlocks(blocks, parentHeaders), validationExecutor);
+    }
+
+    private List<Block> validateBlocks(
+        final List<Block> blocks, final List<BlockHeader> parentHeaders) {
+      for (int i = 0; i < blocks.size(); i++) {
+        final Block block = blocks.get(i);
+        validateHeader(block.getHeader(), parentHeaders.get(i));
+        block.getBody().getTransactions().forEach(Transaction::getSender);
       }
-      besuController.close();
+      return blocks;
     }
-  }
 
-  private void extractSignatures(final Block block) {
-    final List<CompletableFuture<Void>> futures =
-        new ArrayList<>(block.getBody().getTransactions().size());
-    for (final Transaction tx : block.getBody().getTransactions()) {
-      futures.add(CompletableFuture.runAsync(tx::getSender, validationExecutor));
+    private void validateHeader(final BlockHeader header, final BlockHeader parentHeader) {
+      final BlockHeaderValidator<C> blockHeaderValidator =
+          protocolSchedule.getByBlockNumber(header.getNumber()).getBlockHeaderValidator();
+      final boolean validHeader =
+          blockHeaderValidator.validateHeader(
+              header, parentHeader, context, HeaderValidationMode.DETACHED_ONLY);
+      if (!validHeader) {
+        throw new IllegalStateException(
+            "Invalid header at block number " + header.getNumber() + ".");
+      }
     }
-    for (final CompletableFuture<Void> future : futures) {
-      future.join();
+
+    private static BlockHeader lookupPreviousHeader(
+        final MutableBlockchain blockchain, final BlockHeader header) {
+      return blockchain
+          .getBlockHeader(header.getParentHash())
+          .orElseThrow(
+              () ->
+                  new IllegalStateException(
+                      String.format(
+                          "Block %s does not connect to the existing chain. Current chain head %s",
+                          header.getNumber(), blockchain.getChainHeadBlockNumber())));
     }
   }
 
-  private <C> void validateBlock(
-      final ProtocolSpec<C> protocolSpec,
-      final ProtocolContext<C> context,
-      final BlockHeader previousHeader,
-      final BlockHeader header) {
-    final BlockHeaderValidator<C> blockHeaderValidator = protocolSpec.getBlockHeaderValidator();
-    final boolean validHeader =
-        blockHeaderValidator.validateHeader(
-            header, previousHeader, context, HeaderValidationMode.DETACHED_ONLY);
-    if (!validHeader) {
-      throw new IllegalStateException("Invalid header at block number " + header.getNumber() + ".");
+  private static class ImportBlockStep<C> implements Consumer<Block> {
+    private final ProtocolSchedule<C> protocolSchedule;
+    private final ProtocolContext<C> context;
+    private int importedCount = 0;
+
+    ImportBlockStep(final ProtocolSchedule<C> protocolSchedule, final ProtocolContext<C> context) {
+      this.protocolSchedule = protocolSchedule;
+      this.context = context;
     }
-  }
 
-  private <C> void evaluateBlock(
-      final ProtocolContext<C> context,
-      final Block block,
-      final BlockHeader header,
-      final ProtocolSpec<C> protocolSpec) {
-    try {
+    @Override
+    public void accept(final Block block) {
+      final BlockHeader header = block.getHeader();
+      if (header.getNumber() % 100 == 0) {
+        LOG.info("Import at block {}", header.getNumber());
+      }
+      final ProtocolSpec<C> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
       final BlockImporter<C> blockImporter = protocolSpec.getBlockImporter();
       final boolean blockImported =
           blockImporter.importBlock(context, block, HeaderValidationMode.SKIP_DETACHED);
@@ -185,21 +281,12 @@ public class RlpBlockImporter {
         throw new IllegalStateException(
             "Invalid block at block number " + header.getNumber() + ".");
       }
-    } finally {
-      blockBacklog.release();
+      importedCount++;
     }
-  }
 
-  private BlockHeader lookupPreviousHeader(
-      final MutableBlockchain blockchain, final BlockHeader header) {
-    return blockchain
-        .getBlockHeader(header.getParentHash())
-        .orElseThrow(
-            () ->
-                new IllegalStateException(
-                    String.format(
-                        "Block %s does not connect to the existing chain. Current chain head %s",
-                        header.getNumber(), blockchain.getChainHeadBlockNumber())));
+    int getImportedCount() {
+      return importedCount;
+    }
   }
 
   public static final class ImportResult {
@@ -55,6 +55,7 @@ import org.hyperledger.besu.cli.subcommands.RetestethSubCommand;
 import org.hyperledger.besu.cli.subcommands.blocks.BlocksSubCommand;
 import org.hyperledger.besu.cli.subcommands.blocks.BlocksSubCommand.JsonBlockImporterFactory;
 import org.hyperledger.besu.cli.subcommands.blocks.BlocksSubCommand.RlpBlockExporterFactory;
+import org.hyperledger.besu.cli.subcommands.blocks.BlocksSubCommand.SegmentedRlpBlockExporterFactory;
 import org.hyperledger.besu.cli.subcommands.operator.OperatorSubCommand;
 import org.hyperledger.besu.cli.subcommands.rlp.RLPSubCommand;
 import org.hyperledger.besu.cli.util.BesuCommandCustomFactory;
@@ -127,6 +128,7 @@ import java.net.UnknownHostException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Clock;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -179,6 +181,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
   private final RlpBlockImporter rlpBlockImporter;
   private final JsonBlockImporterFactory jsonBlockImporterFactory;
   private final RlpBlockExporterFactory rlpBlockExporterFactory;
+  private final SegmentedRlpBlockExporterFactory segmentedRlpBlockExporterFactory;
 
   final NetworkingOptions networkingOptions = NetworkingOptions.create();
   final SynchronizerOptions synchronizerOptions = SynchronizerOptions.create();
@@ -585,6 +588,16 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       description = "Extranonce for Stratum network miners (default: ${DEFAULT-VALUE})")
   private String stratumExtranonce = "080c";
 
+  @Option(
+      hidden = true,
+      names = {"--Xminer-transaction-selection-time-limit"},
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description =
+          "Time in milliseconds after a block's timestamp during which transactions may be selected for it (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long transactionSelectionTimeLimit =
+      MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT.toMillis();
+
   @Option(
       names = {"--miner-coinbase"},
       description =
@@ -690,6 +703,15 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
           "Sets target gas limit per block. If set each blocks gas limit will approach this setting over time if the current gas limit is different.")
   private final Long targetGasLimit = null;
 
+  @Option(
+      names = {"--transaction-index-depth"},
+      paramLabel = MANDATORY_LONG_FORMAT_HELP,
+      description =
+          "Number of most recent blocks whose transactions can be looked up by hash. 0 disables the transaction index. If unset, transactions of all blocks are indexed. "
+              + "Changing the depth of an existing database only applies as new blocks are added: transactions already indexed below the depth are not removed, and blocks that were dropped from the index are not indexed again.",
+      arity = "1")
+  private final Long transactionIndexDepth = null;
+
   @Option(
       names = {"--tx-pool-max-size"},
       paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
@@ -742,6 +764,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       final RlpBlockImporter rlpBlockImporter,
       final JsonBlockImporterFactory jsonBlockImporterFactory,
       final RlpBlockExporterFactory rlpBlockExporterFactory,
+      final SegmentedRlpBlockExporterFactory segmentedRlpBlockExporterFactory,
       final RunnerBuilder runnerBuilder,
       final BesuController.Builder controllerBuilderFactory,
       final BesuPluginContextImpl besuPluginContext,
@@ -751,6 +774,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         rlpBlockImporter,
         jsonBlockImporterFactory,
         rlpBlockExporterFactory,
+        segmentedRlpBlockExporterFactory,
         runnerBuilder,
         controllerBuilderFactory,
         besuPluginContext,
@@ -764,6 +788,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
       final RlpBlockImporter rlpBlockImporter,
       final JsonBlockImporterFactory jsonBlockImporterFactory,
       final RlpBlockExporterFactory rlpBlockExporterFactory,
+      final SegmentedRlpBlockExporterFactory segmentedRlpBlockExporterFactory,
       final RunnerBuilder runnerBuilder,
       final BesuController.Builder controllerBuilderFactory,
       final BesuPluginContextImpl besuPluginContext,
@@ -772,6 +797,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     this.logger = logger;
     this.rlpBlockImporter = rlpBlockImporter;
     this.rlpBlockExporterFactory = rlpBlockExporterFactory;
+    this.segmentedRlpBlockExporterFactory = segmentedRlpBlockExporterFactory;
     this.jsonBlockImporterFactory = jsonBlockImporterFactory;
     this.runnerBuilder = runnerBuilder;
     this.controllerBuilderFactory = controllerBuilderFactory;
@@ -837,6 +863,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             rlpBlockImporter,
             jsonBlockImporterFactory,
             rlpBlockExporterFactory,
+            segmentedRlpBlockExporterFactory,
             resultHandler.out()));
     commandLine.addSubcommand(
         PublicKeySubCommand.COMMAND_NAME,
@@ -960,10 +987,18 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
 
     validateP2PInterface(p2pInterface);
     validateMiningParams();
+    validateTransactionIndexDepth();
 
     return this;
   }
 
+  private void validateTransactionIndexDepth() {
+    if (transactionIndexDepth != null && transactionIndexDepth < 0) {
+      throw new ParameterException(
+          this.commandLine, "--transaction-index-depth must not be negative");
+    }
+  }
+
   @SuppressWarnings("ConstantConditions")
   private void validateMiningParams() {
     if (isMiningEnabled && coinbase == null) {
@@ -1100,7 +1135,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                   iStratumMiningEnabled,
                   stratumNetworkInterface,
                   stratumPort,
-                  stratumExtranonce))
+                  stratumExtranonce,
+                  Duration.ofMillis(transactionSelectionTimeLimit)))
           .transactionPoolConfiguration(buildTransactionPoolConfiguration())
           .nodePrivateKeyFile(nodePrivateKeyFile())
           .metricsSystem(metricsSystem.get())
@@ -1112,6 +1148,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
           .pruningConfiguration(prunerOptions.toDomainObject())
           .genesisConfigOverrides(genesisConfigOverrides)
           .targetGasLimit(targetGasLimit == null ? Optional.empty() : Optional.of(targetGasLimit))
+          .transactionIndexDepth(Optional.ofNullable(transactionIndexDepth))
           .requiredBlocks(requiredBlocks);
     } catch (final IOException e) {
       throw new ExecutionException(this.commandLine, "Invalid path", e);
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.cli.options;
 
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration.PruningMode;
 
 import java.util.Arrays;
 import java.util.List;
@@ -24,6 +25,7 @@ import picocli.CommandLine;
 public class PrunerOptions implements CLIOptions<PrunerConfiguration> {
   private static final String BLOCKS_RETAINED_FLAG = "--Xpruning-blocks-retained";
   private static final String BLOCK_CONFIRMATIONS_FLAG = "--Xpruning-block-confirmations";
+  private static final String PRUNING_MODE_FLAG = "--Xpruning-mode";
 
   @CommandLine.Option(
       names = {BLOCKS_RETAINED_FLAG},
@@ -45,19 +47,30 @@ public class PrunerOptions implements CLIOptions<PrunerConfiguration> {
       arity = "1")
   private long pruningBlockConfirmations = PrunerConfiguration.DEFAULT_PRUNING_BLOCK_CONFIRMATIONS;
 
+  @CommandLine.Option(
+      names = {PRUNING_MODE_FLAG},
+      defaultValue = "MARK_SWEEP",
+      hidden = true,
+      paramLabel = "<MODE>",
+      description =
+          "Pruning strategy, either MARK_SWEEP or REFERENCE_COUNTING (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private PruningMode pruningMode = PrunerConfiguration.DEFAULT_PRUNING_MODE;
+
   public static PrunerOptions create() {
     return new PrunerOptions();
   }
 
   @Override
   public PrunerConfiguration toDomainObject() {
-    return new PrunerConfiguration(pruningBlockConfirmations, pruningBlocksRetained);
+    return new PrunerConfiguration(pruningBlockConfirmations, pruningBlocksRetained, pruningMode);
   }
 
   public static PrunerOptions fromDomainObject(final PrunerConfiguration prunerConfiguration) {
     final PrunerOptions prunerOptions = new PrunerOptions();
     prunerOptions.pruningBlockConfirmations = prunerConfiguration.getBlockConfirmations();
     prunerOptions.pruningBlocksRetained = prunerConfiguration.getBlocksRetained();
+    prunerOptions.pruningMode = prunerConfiguration.getPruningMode();
     return prunerOptions;
   }
 
@@ -67,6 +80,8 @@ public class PrunerOptions implements CLIOptions<PrunerConfiguration> {
         BLOCKS_RETAINED_FLAG,
         String.valueOf(pruningBlocksRetained),
         BLOCK_CONFIRMATIONS_FLAG,
-        String.valueOf(pruningBlockConfirmations));
+        String.valueOf(pruningBlockConfirmations),
+        PRUNING_MODE_FLAG,
+        pruningMode.name());
   }
 }
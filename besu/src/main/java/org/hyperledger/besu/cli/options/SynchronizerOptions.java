@@ -56,6 +56,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-world-state-min-millis-before-stalling";
   private static final String WORLD_STATE_TASK_CACHE_SIZE_FLAG =
       "--Xsynchronizer-world-state-task-cache-size";
+  private static final String WORLD_STATE_NODE_FILTER_MAX_CAPACITY_FLAG =
+      "--Xsynchronizer-world-state-node-filter-max-capacity";
 
   @CommandLine.Option(
       names = BLOCK_PROPAGATION_RANGE_FLAG,
@@ -210,6 +212,16 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private int worldStateTaskCacheSize =
       SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_CACHE_SIZE;
 
+  @CommandLine.Option(
+      names = WORLD_STATE_NODE_FILTER_MAX_CAPACITY_FLAG,
+      hidden = true,
+      defaultValue = "150000000",
+      paramLabel = "<LONG>",
+      description =
+          "The max number of stored nodes tracked in-memory during fast sync world state download, using about 1.6 bytes each. 0 disables tracking. (default: ${DEFAULT-VALUE})")
+  private long worldStateNodeFilterMaxCapacity =
+      SynchronizerConfiguration.DEFAULT_WORLD_STATE_NODE_FILTER_MAX_CAPACITY;
+
   private SynchronizerOptions() {}
 
   public static SynchronizerOptions create() {
@@ -236,6 +248,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     options.worldStateMaxRequestsWithoutProgress = config.getWorldStateMaxRequestsWithoutProgress();
     options.worldStateMinMillisBeforeStalling = config.getWorldStateMinMillisBeforeStalling();
     options.worldStateTaskCacheSize = config.getWorldStateTaskCacheSize();
+    options.worldStateNodeFilterMaxCapacity = config.getWorldStateNodeFilterMaxCapacity();
     return options;
   }
 
@@ -258,6 +271,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     builder.worldStateMaxRequestsWithoutProgress(worldStateMaxRequestsWithoutProgress);
     builder.worldStateMinMillisBeforeStalling(worldStateMinMillisBeforeStalling);
     builder.worldStateTaskCacheSize(worldStateTaskCacheSize);
+    builder.worldStateNodeFilterMaxCapacity(worldStateNodeFilterMaxCapacity);
     return builder;
   }
 
@@ -295,6 +309,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
         WORLD_STATE_MIN_MILLIS_BEFORE_STALLING_FLAG,
         OptionParser.format(worldStateMinMillisBeforeStalling),
         WORLD_STATE_TASK_CACHE_SIZE_FLAG,
-        OptionParser.format(worldStateTaskCacheSize));
+        OptionParser.format(worldStateTaskCacheSize),
+        WORLD_STATE_NODE_FILTER_MAX_CAPACITY_FLAG,
+        OptionParser.format(worldStateNodeFilterMaxCapacity));
   }
 }
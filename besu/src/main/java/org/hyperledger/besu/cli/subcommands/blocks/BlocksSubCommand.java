@@ -18,6 +18,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hyperledger.besu.cli.subcommands.blocks.BlocksSubCommand.COMMAND_NAME;
 
 import org.hyperledger.besu.chainexport.RlpBlockExporter;
+import org.hyperledger.besu.chainexport.SegmentedRlpBlockExporter;
 import org.hyperledger.besu.chainimport.JsonBlockImporter;
 import org.hyperledger.besu.chainimport.RlpBlockImporter;
 import org.hyperledger.besu.cli.BesuCommand;
@@ -79,6 +80,7 @@ public class BlocksSubCommand implements Runnable {
   private final JsonBlockImporterFactory jsonBlockImporterFactory;
 
   private final RlpBlockExporterFactory rlpBlockExporterFactory;
+  private final SegmentedRlpBlockExporterFactory segmentedRlpBlockExporterFactory;
 
   private final PrintStream out;
 
@@ -86,9 +88,11 @@ public class BlocksSubCommand implements Runnable {
       final RlpBlockImporter rlpBlockImporter,
       final JsonBlockImporterFactory jsonBlockImporterFactory,
       final RlpBlockExporterFactory rlpBlockExporterFactory,
+      final SegmentedRlpBlockExporterFactory segmentedRlpBlockExporterFactory,
       final PrintStream out) {
     this.rlpBlockImporter = rlpBlockImporter;
     this.rlpBlockExporterFactory = rlpBlockExporterFactory;
+    this.segmentedRlpBlockExporterFactory = segmentedRlpBlockExporterFactory;
     this.jsonBlockImporterFactory = jsonBlockImporterFactory;
     this.out = out;
   }
@@ -206,7 +210,8 @@ public class BlocksSubCommand implements Runnable {
 
     private <T> void importRlpBlocks(final BesuController<T> controller, final Path path)
         throws IOException {
-      parentCommand.rlpBlockImporter.importBlockchain(path, controller);
+      parentCommand.rlpBlockImporter.importBlockchain(
+          path, controller, parentCommand.parentCommand.getMetricsSystem());
     }
   }
 
@@ -273,6 +278,9 @@ public class BlocksSubCommand implements Runnable {
           case RLP:
             exportRlpFormat(controller);
             break;
+          case SEGMENTED_RLP:
+            exportSegmentedRlpFormat(controller);
+            break;
           default:
             throw new ParameterException(
                 spec.commandLine(), "Unsupported format: " + format.toString());
@@ -296,6 +304,13 @@ public class BlocksSubCommand implements Runnable {
       exporter.exportBlocks(blocksExportFile, getStartBlock(), getEndBlock());
     }
 
+    private void exportSegmentedRlpFormat(final BesuController<?> controller) throws IOException {
+      final ProtocolContext<?> context = controller.getProtocolContext();
+      final SegmentedRlpBlockExporter exporter =
+          parentCommand.segmentedRlpBlockExporterFactory.get(context.getBlockchain());
+      exporter.exportBlocks(blocksExportFile, getStartBlock(), getEndBlock());
+    }
+
     private void checkCommand(
         final ExportSubCommand exportSubCommand, final Long startBlock, final Long endBlock) {
       checkNotNull(exportSubCommand.parentCommand);
@@ -386,4 +401,9 @@ public class BlocksSubCommand implements Runnable {
   public interface RlpBlockExporterFactory {
     RlpBlockExporter get(Blockchain blockchain);
   }
+
+  @FunctionalInterface
+  public interface SegmentedRlpBlockExporterFactory {
+    SegmentedRlpBlockExporter get(Blockchain blockchain);
+  }
 }
@@ -49,7 +49,9 @@ import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.worldstate.MarkSweepPruner;
 import org.hyperledger.besu.ethereum.worldstate.Pruner;
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.ReferenceCountingPruner;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 
 import java.io.Closeable;
@@ -84,11 +86,12 @@ public abstract class BesuControllerBuilder<C> {
   KeyPair nodeKeys;
   protected boolean isRevertReasonEnabled;
   GasLimitCalculator gasLimitCalculator;
-  private StorageProvider storageProvider;
+  protected StorageProvider storageProvider;
   private boolean isPruningEnabled;
   private PrunerConfiguration prunerConfiguration;
   Map<String, String> genesisConfigOverrides;
   private Map<Long, Hash> requiredBlocks = Collections.emptyMap();
+  private Optional<Long> transactionIndexDepth = Optional.empty();
 
   public BesuControllerBuilder<C> storageProvider(final StorageProvider storageProvider) {
     this.storageProvider = storageProvider;
@@ -191,6 +194,12 @@ public abstract class BesuControllerBuilder<C> {
     return this;
   }
 
+  public BesuControllerBuilder<C> transactionIndexDepth(
+      final Optional<Long> transactionIndexDepth) {
+    this.transactionIndexDepth = transactionIndexDepth;
+    return this;
+  }
+
   public BesuController<C> build() {
     checkNotNull(genesisConfig, "Missing genesis config");
     checkNotNull(syncConfig, "Missing sync config");
@@ -216,7 +225,8 @@ public abstract class BesuControllerBuilder<C> {
             genesisState,
             protocolSchedule,
             metricsSystem,
-            this::createConsensusContext);
+            this::createConsensusContext,
+            transactionIndexDepth);
     validateContext(protocolContext);
 
     final MutableBlockchain blockchain = protocolContext.getBlockchain();
@@ -227,16 +237,7 @@ public abstract class BesuControllerBuilder<C> {
         LOG.warn(
             "Cannot enable pruning with current database version. Disabling. Resync to get the latest database version or disable pruning explicitly on the command line to remove this warning.");
       } else {
-        maybePruner =
-            Optional.of(
-                new Pruner(
-                    new MarkSweepPruner(
-                        protocolContext.getWorldStateArchive().getWorldStateStorage(),
-                        blockchain,
-                        storageProvider.createPruningStorage(),
-                        metricsSystem),
-                    blockchain,
-                    prunerConfiguration));
+        maybePruner = Optional.of(createPruner(protocolContext, blockchain));
       }
     }
 
@@ -313,6 +314,34 @@ public abstract class BesuControllerBuilder<C> {
         additionalPluginServices);
   }
 
+  private Pruner createPruner(
+      final ProtocolContext<C> protocolContext, final MutableBlockchain blockchain) {
+    final WorldStateStorage worldStateStorage =
+        protocolContext.getWorldStateArchive().getWorldStateStorage();
+    switch (prunerConfiguration.getPruningMode()) {
+      case REFERENCE_COUNTING:
+        return new Pruner(
+            new ReferenceCountingPruner(
+                worldStateStorage,
+                blockchain,
+                storageProvider.createPruningStorage(),
+                metricsSystem,
+                prunerConfiguration.getBlocksRetained()),
+            blockchain,
+            prunerConfiguration);
+      case MARK_SWEEP:
+      default:
+        return new Pruner(
+            new MarkSweepPruner(
+                worldStateStorage,
+                blockchain,
+                storageProvider.createPruningStorage(),
+                metricsSystem),
+            blockchain,
+            prunerConfiguration);
+    }
+  }
+
   protected void prepForBuild() {}
 
   protected JsonRpcMethods createAdditionalJsonRpcMethodFactory(
@@ -23,6 +23,7 @@ import org.hyperledger.besu.consensus.common.ForkingVoteTallyCache;
 import org.hyperledger.besu.consensus.common.IbftValidatorOverrides;
 import org.hyperledger.besu.consensus.common.VoteProposer;
 import org.hyperledger.besu.consensus.common.VoteTallyCache;
+import org.hyperledger.besu.consensus.common.VoteTallyCheckpointStorage;
 import org.hyperledger.besu.consensus.common.VoteTallyUpdater;
 import org.hyperledger.besu.consensus.ibft.BlockTimer;
 import org.hyperledger.besu.consensus.ibft.EthSynchronizerUpdater;
@@ -32,6 +33,7 @@ import org.hyperledger.besu.consensus.ibft.IbftContext;
 import org.hyperledger.besu.consensus.ibft.IbftEventQueue;
 import org.hyperledger.besu.consensus.ibft.IbftExecutors;
 import org.hyperledger.besu.consensus.ibft.IbftGossip;
+import org.hyperledger.besu.consensus.ibft.IbftMessageVerifier;
 import org.hyperledger.besu.consensus.ibft.IbftProcessor;
 import org.hyperledger.besu.consensus.ibft.IbftProtocolSchedule;
 import org.hyperledger.besu.consensus.ibft.MessageTracker;
@@ -73,6 +75,7 @@ import org.hyperledger.besu.util.Subscribers;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -84,6 +87,7 @@ public class IbftBesuControllerBuilder extends BesuControllerBuilder<IbftContext
   private IbftEventQueue ibftEventQueue;
   private IbftConfigOptions ibftConfig;
   private ValidatorPeers peers;
+  private IbftMessageVerifier messageVerifier;
   private final BlockInterface blockInterface = new IbftBlockInterface();
 
   @Override
@@ -103,7 +107,7 @@ public class IbftBesuControllerBuilder extends BesuControllerBuilder<IbftContext
       final EthProtocolManager ethProtocolManager) {
     return new SubProtocolConfiguration()
         .withSubProtocol(EthProtocol.get(), ethProtocolManager)
-        .withSubProtocol(IbftSubProtocol.get(), new IbftProtocolManager(ibftEventQueue, peers));
+        .withSubProtocol(IbftSubProtocol.get(), new IbftProtocolManager(messageVerifier, peers));
   }
 
   @Override
@@ -115,7 +119,8 @@ public class IbftBesuControllerBuilder extends BesuControllerBuilder<IbftContext
       final SyncState syncState,
       final EthProtocolManager ethProtocolManager) {
     final MutableBlockchain blockchain = protocolContext.getBlockchain();
-    final IbftExecutors ibftExecutors = IbftExecutors.create(metricsSystem);
+    final IbftExecutors ibftExecutors =
+        IbftExecutors.create(metricsSystem, ibftConfig.getMessageQueueLimit());
 
     final IbftBlockCreatorFactory blockCreatorFactory =
         new IbftBlockCreatorFactory(
@@ -167,6 +172,8 @@ public class IbftBesuControllerBuilder extends BesuControllerBuilder<IbftContext
             blockchain.getChainHeadBlockNumber());
     final MessageTracker duplicateMessageTracker =
         new MessageTracker(ibftConfig.getDuplicateMessageLimit());
+    messageVerifier =
+        new IbftMessageVerifier(ibftEventQueue, duplicateMessageTracker, ibftExecutors);
 
     final IbftController ibftController =
         new IbftController(
@@ -241,7 +248,8 @@ public class IbftBesuControllerBuilder extends BesuControllerBuilder<IbftContext
             new VoteTallyUpdater(epochManager, new IbftBlockInterface()),
             epochManager,
             new IbftBlockInterface(),
-            new IbftValidatorOverrides(ibftValidatorForkMap)),
+            new IbftValidatorOverrides(ibftValidatorForkMap),
+            Optional.of(new VoteTallyCheckpointStorage(storageProvider.createConsensusStorage()))),
         new VoteProposer(),
         blockInterface);
   }
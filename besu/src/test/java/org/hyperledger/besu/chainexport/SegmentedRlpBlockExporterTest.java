@@ -0,0 +1,168 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.chainexport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.chainimport.RlpBlockImporter;
+import org.hyperledger.besu.config.GenesisConfigFile;
+import org.hyperledger.besu.controller.BesuController;
+import org.hyperledger.besu.controller.GasLimitCalculator;
+import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.InMemoryStorageProvider;
+import org.hyperledger.besu.ethereum.core.MiningParametersTestBuilder;
+import org.hyperledger.besu.ethereum.core.PrivacyParameters;
+import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
+import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
+import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
+import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.testutil.BlockTestUtil;
+import org.hyperledger.besu.testutil.TestClock;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.math.BigInteger;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests for {@link SegmentedRlpBlockExporter} and {@link SegmentedRlpBlockReader}. */
+public final class SegmentedRlpBlockExporterTest {
+
+  @ClassRule public static final TemporaryFolder folder = new TemporaryFolder();
+  private static Blockchain blockchain;
+  private static long chainHead;
+  private static BesuController<?> controller;
+
+  @BeforeClass
+  public static void setupBlockchain() throws IOException {
+    controller = createController();
+    final Path blocks = folder.newFile("1000.blocks").toPath();
+    BlockTestUtil.write1000Blocks(blocks);
+    new RlpBlockImporter().importBlockchain(blocks, controller);
+    blockchain = controller.getProtocolContext().getBlockchain();
+    chainHead = blockchain.getChainHeadBlockNumber();
+  }
+
+  private static BesuController<?> createController() throws IOException {
+    final Path dataDir = folder.newFolder().toPath();
+    return new BesuController.Builder()
+        .fromGenesisConfig(GenesisConfigFile.mainnet())
+        .synchronizerConfiguration(SynchronizerConfiguration.builder().build())
+        .ethProtocolConfiguration(EthProtocolConfiguration.defaultConfig())
+        .storageProvider(new InMemoryStorageProvider())
+        .networkId(BigInteger.ONE)
+        .miningParameters(new MiningParametersTestBuilder().enabled(false).build())
+        .nodeKeys(KeyPair.generate())
+        .metricsSystem(new NoOpMetricsSystem())
+        .privacyParameters(PrivacyParameters.DEFAULT)
+        .dataDirectory(dataDir)
+        .clock(TestClock.fixed())
+        .transactionPoolConfiguration(TransactionPoolConfiguration.builder().build())
+        .targetGasLimit(GasLimitCalculator.DEFAULT)
+        .build();
+  }
+
+  @Test
+  public void exportBlocks_noBounds() throws IOException {
+    final File outputPath = folder.newFile();
+    new SegmentedRlpBlockExporter(blockchain, 100, 4)
+        .exportBlocks(outputPath, Optional.empty(), Optional.empty());
+
+    final SegmentedRlpBlockReader reader = openReader(outputPath);
+    assertThat(reader.getSegments()).hasSize((int) (chainHead / 100) + 1);
+    long currentBlockNumber = 0;
+    for (final BlockSegment segment : reader.getSegments()) {
+      assertThat(segment.getFirstBlockNumber()).isEqualTo(currentBlockNumber);
+      for (final Block actual : reader.readSegment(segment)) {
+        assertThat(actual).isEqualTo(getBlock(currentBlockNumber));
+        currentBlockNumber++;
+      }
+    }
+    assertThat(currentBlockNumber).isEqualTo(chainHead + 1L);
+  }
+
+  @Test
+  public void exportBlocks_withRangeBeyondChainHead() throws IOException {
+    final File outputPath = folder.newFile();
+    final long lowerBound = chainHead - 15;
+    new SegmentedRlpBlockExporter(blockchain, 10, 2)
+        .exportBlocks(outputPath, Optional.of(lowerBound), Optional.of(chainHead + 20));
+
+    final SegmentedRlpBlockReader reader = openReader(outputPath);
+    assertThat(reader.getSegments()).hasSize(2);
+    assertThat(reader.getSegments().get(0).getFirstBlockNumber()).isEqualTo(lowerBound);
+    assertThat(reader.getSegments().get(1).getLastBlockNumber()).isEqualTo(chainHead);
+  }
+
+  @Test
+  public void findSegment_locatesBlockByNumber() throws IOException {
+    final File outputPath = folder.newFile();
+    new SegmentedRlpBlockExporter(blockchain, 100, 4)
+        .exportBlocks(outputPath, Optional.of(100L), Optional.of(500L));
+
+    final SegmentedRlpBlockReader reader = openReader(outputPath);
+    final Optional<BlockSegment> segment = reader.findSegment(342);
+    assertThat(segment).isPresent();
+    assertThat(segment.get().getFirstBlockNumber()).isEqualTo(300);
+
+    final List<Block> blocks = reader.readSegment(segment.get());
+    assertThat(blocks.get(42)).isEqualTo(getBlock(342));
+    assertThat(reader.findSegment(99)).isEmpty();
+    assertThat(reader.findSegment(500)).isEmpty();
+  }
+
+  @Test
+  public void readSegment_detectsCorruption() throws IOException {
+    final File outputPath = folder.newFile();
+    new SegmentedRlpBlockExporter(blockchain, 100, 4)
+        .exportBlocks(outputPath, Optional.empty(), Optional.of(200L));
+
+    final SegmentedRlpBlockReader reader = openReader(outputPath);
+    final BlockSegment segment = reader.getSegments().get(1);
+    try (final RandomAccessFile file = new RandomAccessFile(outputPath, "rw")) {
+      final long position = segment.getOffset() + segment.getCompressedLength() / 2;
+      file.seek(position);
+      final int original = file.read();
+      file.seek(position);
+      file.write(original ^ 0xff);
+    }
+
+    assertThatThrownBy(() -> reader.readSegment(segment)).isInstanceOf(IOException.class);
+  }
+
+  private SegmentedRlpBlockReader openReader(final File outputPath) throws IOException {
+    return SegmentedRlpBlockReader.open(
+        outputPath, ScheduleBasedBlockHeaderFunctions.create(controller.getProtocolSchedule()));
+  }
+
+  private Block getBlock(final long blockNumber) {
+    final BlockHeader header = blockchain.getBlockHeader(blockNumber).get();
+    final BlockBody body = blockchain.getBlockBody(header.getHash()).get();
+    return new Block(header, body);
+  }
+}
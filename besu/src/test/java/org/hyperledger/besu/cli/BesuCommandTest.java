@@ -57,6 +57,7 @@ import org.hyperledger.besu.ethereum.permissioning.LocalPermissioningConfigurati
 import org.hyperledger.besu.ethereum.permissioning.PermissioningConfiguration;
 import org.hyperledger.besu.ethereum.permissioning.SmartContractPermissioningConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration.PruningMode;
 import org.hyperledger.besu.metrics.StandardMetricCategory;
 import org.hyperledger.besu.metrics.prometheus.MetricsConfiguration;
 import org.hyperledger.besu.nat.NatMethod;
@@ -72,6 +73,7 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -181,6 +183,7 @@ public class BesuCommandTest extends CommandTestAbstract {
     verify(mockControllerBuilder).nodePrivateKeyFile(isNotNull());
     verify(mockControllerBuilder).storageProvider(storageProviderArgumentCaptor.capture());
     verify(mockControllerBuilder).targetGasLimit(eq(Optional.empty()));
+    verify(mockControllerBuilder).transactionIndexDepth(eq(Optional.empty()));
     verify(mockControllerBuilder).build();
 
     assertThat(storageProviderArgumentCaptor.getValue()).isNotNull();
@@ -2354,6 +2357,22 @@ public class BesuCommandTest extends CommandTestAbstract {
         .isEqualTo(BytesValue.fromHexString(extraDataString));
   }
 
+  @Test
+  public void transactionSelectionTimeLimitIsCaptured() {
+    parseCommand("--Xminer-transaction-selection-time-limit=500");
+
+    final ArgumentCaptor<MiningParameters> miningArg =
+        ArgumentCaptor.forClass(MiningParameters.class);
+
+    verify(mockControllerBuilder).miningParameters(miningArg.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+    assertThat(miningArg.getValue().getTransactionSelectionTimeLimit())
+        .isEqualTo(Duration.ofMillis(500));
+  }
+
   @Test
   public void pruningIsEnabledIfSyncModeIsFast() {
     parseCommand("--sync-mode", "FAST");
@@ -2413,6 +2432,22 @@ public class BesuCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
     assertThat(pruningArg.getValue().getBlocksRetained()).isEqualTo(15);
     assertThat(pruningArg.getValue().getBlockConfirmations()).isEqualTo(4);
+    assertThat(pruningArg.getValue().getPruningMode()).isEqualTo(PruningMode.MARK_SWEEP);
+  }
+
+  @Test
+  public void pruningModeIsCaptured() throws Exception {
+    parseCommand("--pruning-enabled", "--Xpruning-mode=REFERENCE_COUNTING");
+
+    final ArgumentCaptor<PrunerConfiguration> pruningArg =
+        ArgumentCaptor.forClass(PrunerConfiguration.class);
+
+    verify(mockControllerBuilder).pruningConfiguration(pruningArg.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+    assertThat(pruningArg.getValue().getPruningMode()).isEqualTo(PruningMode.REFERENCE_COUNTING);
   }
 
   @Test
@@ -2908,6 +2943,28 @@ public class BesuCommandTest extends CommandTestAbstract {
     assertThat(targetGasLimitArg.getValue()).isEqualTo(Optional.empty());
   }
 
+  @Test
+  public void transactionIndexDepthIsSetWhenSpecified() {
+    parseCommand("--transaction-index-depth=100000");
+
+    verify(mockControllerBuilder).transactionIndexDepth(eq(Optional.of(100_000L)));
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void negativeTransactionIndexDepthIsRejected() {
+    parseCommand("--transaction-index-depth=-1");
+
+    Mockito.verifyZeroInteractions(mockRunnerBuilder);
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("--transaction-index-depth must not be negative");
+  }
+
   @Test
   public void requiredBlocksSetWhenSpecified() {
     final long blockNumber = 8675309L;
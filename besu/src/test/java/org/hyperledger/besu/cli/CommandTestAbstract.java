@@ -26,6 +26,7 @@ import static org.mockito.Mockito.when;
 import org.hyperledger.besu.Runner;
 import org.hyperledger.besu.RunnerBuilder;
 import org.hyperledger.besu.chainexport.RlpBlockExporter;
+import org.hyperledger.besu.chainexport.SegmentedRlpBlockExporter;
 import org.hyperledger.besu.chainimport.JsonBlockImporter;
 import org.hyperledger.besu.chainimport.RlpBlockImporter;
 import org.hyperledger.besu.cli.config.EthNetworkConfig;
@@ -111,6 +112,7 @@ public abstract class CommandTestAbstract {
   @Mock protected BlockBroadcaster mockBlockBroadcaster;
   @Mock protected BesuController<Object> mockController;
   @Mock protected RlpBlockExporter rlpBlockExporter;
+  @Mock protected SegmentedRlpBlockExporter segmentedRlpBlockExporter;
   @Mock protected JsonBlockImporter<?> jsonBlockImporter;
   @Mock protected RlpBlockImporter rlpBlockImporter;
   @Mock protected StorageServiceImpl storageService;
@@ -172,6 +174,7 @@ public abstract class CommandTestAbstract {
     when(mockControllerBuilder.pruningConfiguration(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.genesisConfigOverrides(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.targetGasLimit(any())).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.transactionIndexDepth(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.requiredBlocks(any())).thenReturn(mockControllerBuilder);
 
     // doReturn used because of generic BesuController
@@ -263,6 +266,7 @@ public abstract class CommandTestAbstract {
             rlpBlockImporter,
             this::jsonBlockImporterFactory,
             (blockchain) -> rlpBlockExporter,
+            (blockchain) -> segmentedRlpBlockExporter,
             mockRunnerBuilder,
             mockControllerBuilderFactory,
             keyLoader,
@@ -297,6 +301,7 @@ public abstract class CommandTestAbstract {
         final RlpBlockImporter mockBlockImporter,
         final BlocksSubCommand.JsonBlockImporterFactory jsonBlockImporterFactory,
         final BlocksSubCommand.RlpBlockExporterFactory rlpBlockExporterFactory,
+        final BlocksSubCommand.SegmentedRlpBlockExporterFactory segmentedRlpBlockExporterFactory,
         final RunnerBuilder mockRunnerBuilder,
         final BesuController.Builder controllerBuilderFactory,
         final PublicKeySubCommand.KeyLoader keyLoader,
@@ -308,6 +313,7 @@ public abstract class CommandTestAbstract {
           mockBlockImporter,
           jsonBlockImporterFactory,
           rlpBlockExporterFactory,
+          segmentedRlpBlockExporterFactory,
           mockRunnerBuilder,
           controllerBuilderFactory,
           besuPluginContext,
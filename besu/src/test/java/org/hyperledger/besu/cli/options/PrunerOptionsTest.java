@@ -15,6 +15,7 @@
 package org.hyperledger.besu.cli.options;
 
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
+import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration.PruningMode;
 
 public class PrunerOptionsTest extends AbstractCLIOptionsTest<PrunerConfiguration, PrunerOptions> {
 
@@ -25,7 +26,7 @@ public class PrunerOptionsTest extends AbstractCLIOptionsTest<PrunerConfiguratio
 
   @Override
   PrunerConfiguration createCustomizedDomainObject() {
-    return new PrunerConfiguration(4, 10);
+    return new PrunerConfiguration(4, 10, PruningMode.REFERENCE_COUNTING);
   }
 
   @Override
@@ -148,7 +148,7 @@ public class BlocksSubCommandTest extends CommandTestAbstract {
     parseCommand(
         BLOCK_SUBCOMMAND_NAME, BLOCK_IMPORT_SUBCOMMAND_NAME, "--from", fileToImport.getPath());
 
-    verify(rlpBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any());
+    verify(rlpBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any(), any());
 
     assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
 
@@ -167,7 +167,7 @@ public class BlocksSubCommandTest extends CommandTestAbstract {
         "--from",
         fileToImport.getPath());
 
-    verify(rlpBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any());
+    verify(rlpBlockImporter).importBlockchain(pathArgumentCaptor.capture(), any(), any());
 
     assertThat(pathArgumentCaptor.getValue()).isEqualByComparingTo(fileToImport.toPath());
 
@@ -322,6 +322,27 @@ public class BlocksSubCommandTest extends CommandTestAbstract {
     verify(rlpBlockExporter, times(1)).exportBlocks(outputFile, Optional.of(1L), Optional.of(10L));
   }
 
+  @Test
+  public void blocksExport_withSegmentedFormat() throws IOException {
+    createDbDirectory(true);
+    final File outputFile = folder.newFile("blocks.bin");
+    parseCommand(
+        "--data-path=" + folder.getRoot().getAbsolutePath(),
+        BLOCK_SUBCOMMAND_NAME,
+        BLOCK_EXPORT_SUBCOMMAND_NAME,
+        "--format=SEGMENTED_RLP",
+        "--to",
+        outputFile.getPath(),
+        "--start-block=1",
+        "--end-block=10");
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+
+    verify(segmentedRlpBlockExporter, times(1))
+        .exportBlocks(outputFile, Optional.of(1L), Optional.of(10L));
+    verify(rlpBlockExporter, never()).exportBlocks(any(), any(), any());
+  }
+
   @Test
   public void blocksExport_withOutOfOrderStartAndEnd() throws IOException {
     createDbDirectory(true);
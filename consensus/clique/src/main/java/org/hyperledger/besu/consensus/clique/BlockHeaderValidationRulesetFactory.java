@@ -60,6 +60,7 @@ public class BlockHeaderValidationRulesetFactory {
         .addRule(new CliqueDifficultyValidationRule())
         .addRule(new SignerRateLimitValidationRule())
         .addRule(new CoinbaseHeaderValidationRule(epochManager))
+        .prepareHeadersWith(CliqueHelpers::getProposerOfBlock)
         .build();
   }
 }
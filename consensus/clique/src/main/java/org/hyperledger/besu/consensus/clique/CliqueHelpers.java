@@ -22,12 +22,33 @@ import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
 public class CliqueHelpers {
 
+  private static final int PROPOSER_CACHE_SIZE = 10_000;
+
+  // Recovering the proposer from the seal is expensive, and the same headers are loaded from
+  // storage repeatedly when validating, tallying votes and selecting proposers. A block hash
+  // covers the seal, so the proposer recovered for a hash never changes.
+  private static final Cache<Hash, Address> PROPOSER_CACHE =
+      CacheBuilder.newBuilder().maximumSize(PROPOSER_CACHE_SIZE).build();
+
   public static Address getProposerOfBlock(final BlockHeader header) {
+    final Hash blockHash = header.getHash();
+    final Address cachedProposer = PROPOSER_CACHE.getIfPresent(blockHash);
+    if (cachedProposer != null) {
+      return cachedProposer;
+    }
     final CliqueExtraData extraData = CliqueExtraData.decode(header);
-    return extraData.getProposerAddress();
+    final Address proposer = extraData.getProposerAddress();
+    if (proposer != null) {
+      PROPOSER_CACHE.put(blockHash, proposer);
+    }
+    return proposer;
   }
 
   public static Address getProposerForBlockAfter(
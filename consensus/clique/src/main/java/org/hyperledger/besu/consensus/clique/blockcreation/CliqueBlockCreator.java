@@ -37,6 +37,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -54,6 +55,7 @@ public class CliqueBlockCreator extends AbstractBlockCreator<CliqueContext> {
       final Function<Long, Long> gasLimitCalculator,
       final KeyPair nodeKeys,
       final Wei minTransactionGasPrice,
+      final Duration transactionSelectionTimeLimit,
       final BlockHeader parentHeader,
       final EpochManager epochManager) {
     super(
@@ -65,6 +67,7 @@ public class CliqueBlockCreator extends AbstractBlockCreator<CliqueContext> {
         gasLimitCalculator,
         minTransactionGasPrice,
         Util.publicKeyToAddress(nodeKeys.getPublicKey()),
+        transactionSelectionTimeLimit,
         parentHeader);
     this.nodeKeys = nodeKeys;
     this.epochManager = epochManager;
@@ -84,6 +84,7 @@ public class CliqueMinerExecutor extends AbstractMinerExecutor<CliqueContext, Cl
                 gasLimitCalculator,
                 nodeKeys,
                 minTransactionGasPrice,
+                transactionSelectionTimeLimit,
                 header,
                 epochManager);
 
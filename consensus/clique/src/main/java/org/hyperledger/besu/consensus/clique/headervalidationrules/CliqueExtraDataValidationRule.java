@@ -16,6 +16,7 @@ package org.hyperledger.besu.consensus.clique.headervalidationrules;
 
 import org.hyperledger.besu.consensus.clique.CliqueContext;
 import org.hyperledger.besu.consensus.clique.CliqueExtraData;
+import org.hyperledger.besu.consensus.clique.CliqueHelpers;
 import org.hyperledger.besu.consensus.common.EpochManager;
 import org.hyperledger.besu.consensus.common.VoteTally;
 import org.hyperledger.besu.ethereum.ProtocolContext;
@@ -78,7 +79,7 @@ public class CliqueExtraDataValidationRule
       final Collection<Address> expectedValidators, final BlockHeader header) {
 
     final CliqueExtraData cliqueExtraData = CliqueExtraData.decode(header);
-    final Address proposer = cliqueExtraData.getProposerAddress();
+    final Address proposer = CliqueHelpers.getProposerOfBlock(header);
 
     if (!expectedValidators.contains(proposer)) {
       LOG.trace("Proposer sealing block is not a member of the signers.");
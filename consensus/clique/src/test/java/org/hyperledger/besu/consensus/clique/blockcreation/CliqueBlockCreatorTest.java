@@ -41,6 +41,7 @@ import org.hyperledger.besu.ethereum.core.AddressHelpers;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.Util;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
@@ -129,6 +130,7 @@ public class CliqueBlockCreatorTest {
             gasLimit -> gasLimit,
             proposerKeyPair,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             blockchain.getChainHeadHeader(),
             epochManager);
 
@@ -160,6 +162,7 @@ public class CliqueBlockCreatorTest {
             gasLimit -> gasLimit,
             proposerKeyPair,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             blockchain.getChainHeadHeader(),
             epochManager);
 
@@ -190,6 +193,7 @@ public class CliqueBlockCreatorTest {
             gasLimit -> gasLimit,
             proposerKeyPair,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             blockchain.getChainHeadHeader(),
             epochManager);
 
@@ -223,6 +227,7 @@ public class CliqueBlockCreatorTest {
             gasLimit -> gasLimit,
             proposerKeyPair,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             blockchain.getChainHeadHeader(),
             epochManager);
 
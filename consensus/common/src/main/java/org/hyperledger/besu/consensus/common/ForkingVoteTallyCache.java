@@ -19,6 +19,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 
+import java.util.Optional;
+
 public class ForkingVoteTallyCache extends VoteTallyCache {
 
   private final IbftValidatorOverrides validatorOverrides;
@@ -29,7 +31,23 @@ public class ForkingVoteTallyCache extends VoteTallyCache {
       final EpochManager epochManager,
       final BlockInterface blockInterface,
       final IbftValidatorOverrides validatorOverrides) {
-    super(blockchain, voteTallyUpdater, epochManager, blockInterface);
+    this(
+        blockchain,
+        voteTallyUpdater,
+        epochManager,
+        blockInterface,
+        validatorOverrides,
+        Optional.empty());
+  }
+
+  public ForkingVoteTallyCache(
+      final Blockchain blockchain,
+      final VoteTallyUpdater voteTallyUpdater,
+      final EpochManager epochManager,
+      final BlockInterface blockInterface,
+      final IbftValidatorOverrides validatorOverrides,
+      final Optional<VoteTallyCheckpointStorage> checkpointStorage) {
+    super(blockchain, voteTallyUpdater, epochManager, blockInterface, checkpointStorage);
     checkNotNull(validatorOverrides);
     this.validatorOverrides = validatorOverrides;
   }
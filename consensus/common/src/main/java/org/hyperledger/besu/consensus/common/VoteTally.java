@@ -15,11 +15,14 @@
 package org.hyperledger.besu.consensus.common;
 
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -117,6 +120,54 @@ public class VoteTally implements ValidatorProvider {
     return currentValidators;
   }
 
+  /**
+   * Writes the validators and the outstanding votes of this tally, so that it can be restored with
+   * {@link #readFrom(RLPInput)}.
+   *
+   * @param out the output to write to
+   */
+  public void writeTo(final RLPOutput out) {
+    out.startList();
+    out.writeList(currentValidators, (validator, rlp) -> rlp.writeBytesValue(validator));
+    writeVotes(addVotesBySubject, out);
+    writeVotes(removeVotesBySubject, out);
+    out.endList();
+  }
+
+  public static VoteTally readFrom(final RLPInput in) {
+    in.enterList();
+    final List<Address> validators = in.readList(Address::readFrom);
+    final Map<Address, Set<Address>> addVotesBySubject = readVotes(in);
+    final Map<Address, Set<Address>> removeVotesBySubject = readVotes(in);
+    in.leaveList();
+    return new VoteTally(validators, addVotesBySubject, removeVotesBySubject);
+  }
+
+  private static void writeVotes(
+      final Map<Address, Set<Address>> votesBySubject, final RLPOutput out) {
+    out.writeList(
+        votesBySubject.entrySet(),
+        (entry, rlp) -> {
+          rlp.startList();
+          rlp.writeBytesValue(entry.getKey());
+          rlp.writeList(entry.getValue(), (voter, voterRlp) -> voterRlp.writeBytesValue(voter));
+          rlp.endList();
+        });
+  }
+
+  private static Map<Address, Set<Address>> readVotes(final RLPInput in) {
+    final Map<Address, Set<Address>> votesBySubject = Maps.newHashMap();
+    in.enterList();
+    while (!in.isEndOfCurrentList()) {
+      in.enterList();
+      final Address subject = Address.readFrom(in);
+      votesBySubject.put(subject, new HashSet<>(in.readList(Address::readFrom)));
+      in.leaveList();
+    }
+    in.leaveList();
+    return votesBySubject;
+  }
+
   public VoteTally copy() {
     final Map<Address, Set<Address>> addVotesBySubject = Maps.newHashMap();
     final Map<Address, Set<Address>> removeVotesBySubject = Maps.newHashMap();
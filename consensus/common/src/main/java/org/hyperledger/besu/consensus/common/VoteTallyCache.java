@@ -23,6 +23,7 @@ import org.hyperledger.besu.ethereum.core.Hash;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.NoSuchElementException;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 import com.google.common.cache.Cache;
@@ -37,12 +38,22 @@ public class VoteTallyCache {
   private final Cache<Hash, VoteTally> voteTallyCache =
       CacheBuilder.newBuilder().maximumSize(100).build();
   private BlockInterface blockInterface;
+  private final Optional<VoteTallyCheckpointStorage> checkpointStorage;
 
   public VoteTallyCache(
       final Blockchain blockchain,
       final VoteTallyUpdater voteTallyUpdater,
       final EpochManager epochManager,
       final BlockInterface blockInterface) {
+    this(blockchain, voteTallyUpdater, epochManager, blockInterface, Optional.empty());
+  }
+
+  public VoteTallyCache(
+      final Blockchain blockchain,
+      final VoteTallyUpdater voteTallyUpdater,
+      final EpochManager epochManager,
+      final BlockInterface blockInterface,
+      final Optional<VoteTallyCheckpointStorage> checkpointStorage) {
 
     checkNotNull(blockchain);
     checkNotNull(voteTallyUpdater);
@@ -52,6 +63,7 @@ public class VoteTallyCache {
     this.voteTallyUpdater = voteTallyUpdater;
     this.epochManager = epochManager;
     this.blockInterface = blockInterface;
+    this.checkpointStorage = checkpointStorage;
   }
 
   public VoteTally getVoteTallyAtHead() {
@@ -60,10 +72,10 @@ public class VoteTallyCache {
 
   /**
    * Determines the VoteTally for a given block header, by back-tracing the blockchain to a
-   * previously cached value or epoch block. Then appyling votes in each intermediate header such
-   * that representative state can be provided. This function assumes the vote cast in {@code
-   * header} is applied, thus the voteTally returned contains the group of validators who are
-   * permitted to partake in the next block's creation.
+   * previously cached value, stored checkpoint or epoch block. Then appyling votes in each
+   * intermediate header such that representative state can be provided. This function assumes the
+   * vote cast in {@code header} is applied, thus the voteTally returned contains the group of
+   * validators who are permitted to partake in the next block's creation.
    *
    * @param header the header of the block after which the VoteTally is to be returned
    * @return The Vote Tally (and therefore validators) following the application of all votes upto
@@ -105,7 +117,15 @@ public class VoteTallyCache {
       return new VoteTally(blockInterface.validatorsInBlock(header));
     }
 
-    return voteTallyCache.getIfPresent(header.getParentHash());
+    final VoteTally cachedVoteTally = voteTallyCache.getIfPresent(header.getParentHash());
+    if (cachedVoteTally != null) {
+      return cachedVoteTally;
+    }
+    return checkpointStorage
+        .flatMap(
+            storage ->
+                storage.getVoteTallyAfterBlock(header.getNumber() - 1, header.getParentHash()))
+        .orElse(null);
   }
 
   private VoteTally constructMissingCacheEntries(
@@ -115,6 +135,8 @@ public class VoteTallyCache {
       final BlockHeader h = headers.pop();
       voteTallyUpdater.updateForBlock(h, mutableVoteTally);
       voteTallyCache.put(h.getHash(), mutableVoteTally.copy());
+      checkpointStorage.ifPresent(
+          storage -> storage.maybeStoreVoteTallyAfterBlock(h, mutableVoteTally));
     }
     return mutableVoteTally;
   }
@@ -0,0 +1,80 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.Optional;
+
+/**
+ * Persists the {@link VoteTally} after every {@code checkpointInterval} blocks, keyed by block hash
+ * so that tallies on different forks don't collide. This bounds the number of headers that need to
+ * be replayed to rebuild a tally after a restart, or for a block too old to still be cached, to the
+ * checkpoint interval rather than the epoch length.
+ */
+public class VoteTallyCheckpointStorage {
+
+  public static final long DEFAULT_CHECKPOINT_INTERVAL = 1024;
+
+  private final KeyValueStorage storage;
+  private final long checkpointInterval;
+
+  public VoteTallyCheckpointStorage(final KeyValueStorage storage) {
+    this(storage, DEFAULT_CHECKPOINT_INTERVAL);
+  }
+
+  public VoteTallyCheckpointStorage(final KeyValueStorage storage, final long checkpointInterval) {
+    checkArgument(checkpointInterval > 0, "Checkpoint interval must be greater than 0.");
+    this.storage = storage;
+    this.checkpointInterval = checkpointInterval;
+  }
+
+  public boolean isCheckpoint(final long blockNumber) {
+    return blockNumber > 0 && blockNumber % checkpointInterval == 0;
+  }
+
+  /**
+   * Returns the tally stored for a block.
+   *
+   * @param blockNumber the number of the block
+   * @param blockHash the hash of the block
+   * @return the tally after applying the votes up to and including the block, if it was stored
+   */
+  public Optional<VoteTally> getVoteTallyAfterBlock(final long blockNumber, final Hash blockHash) {
+    if (!isCheckpoint(blockNumber)) {
+      return Optional.empty();
+    }
+    return storage
+        .get(blockHash.getArrayUnsafe())
+        .map(value -> VoteTally.readFrom(RLP.input(BytesValue.wrap(value))));
+  }
+
+  public void maybeStoreVoteTallyAfterBlock(final BlockHeader header, final VoteTally voteTally) {
+    if (!isCheckpoint(header.getNumber())) {
+      return;
+    }
+    final KeyValueStorageTransaction transaction = storage.startTransaction();
+    transaction.put(
+        header.getHash().getArrayUnsafe(), RLP.encode(voteTally::writeTo).getArrayUnsafe());
+    transaction.commit();
+  }
+}
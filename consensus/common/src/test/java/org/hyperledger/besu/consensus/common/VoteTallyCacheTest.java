@@ -27,6 +27,7 @@ import static org.mockito.Mockito.when;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 
 import java.util.Arrays;
 import java.util.Optional;
@@ -100,6 +101,41 @@ public class VoteTallyCacheTest extends VoteTallyCacheTestBase {
     assertThat(varArgs.getAllValues()).isEqualTo(Arrays.asList(block_3.getHeader()));
   }
 
+  @Test
+  public void walkBackStopsWhenAStoredCheckpointIsFound() {
+    final VoteTallyUpdater tallyUpdater = mock(VoteTallyUpdater.class);
+    final VoteTallyCheckpointStorage checkpointStorage =
+        new VoteTallyCheckpointStorage(new InMemoryKeyValueStorage(), 2);
+    final VoteTallyCache cache =
+        new VoteTallyCache(
+            blockChain,
+            tallyUpdater,
+            new EpochManager(30_000),
+            blockInterface,
+            Optional.of(checkpointStorage));
+
+    // Loading the cache up to block_2 stores a checkpoint for block_2.
+    cache.getVoteTallyAfterBlock(block_2.getHeader());
+
+    reset(tallyUpdater);
+
+    // A new cache, as created after a restart, only needs to replay from the checkpoint.
+    final VoteTallyCache restartedCache =
+        new VoteTallyCache(
+            blockChain,
+            tallyUpdater,
+            new EpochManager(30_000),
+            blockInterface,
+            Optional.of(checkpointStorage));
+    final Block block_3 = createEmptyBlock(3, block_2.getHeader().getHash());
+    final VoteTally voteTally = restartedCache.getVoteTallyAfterBlock(block_3.getHeader());
+
+    final ArgumentCaptor<BlockHeader> varArgs = ArgumentCaptor.forClass(BlockHeader.class);
+    verify(tallyUpdater, times(1)).updateForBlock(varArgs.capture(), any());
+    assertThat(varArgs.getAllValues()).isEqualTo(Arrays.asList(block_3.getHeader()));
+    assertThat(voteTally.getValidators()).containsExactlyElementsOf(validators);
+  }
+
   // A bug was identified in VoteTallyCache whereby a vote cast in the next block *could* be applied
   // to the parent block (depending on cache creation ordering). This test ensure the problem is
   // resolved.
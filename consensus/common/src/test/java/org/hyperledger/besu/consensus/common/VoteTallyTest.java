@@ -19,6 +19,7 @@ import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 
 import org.junit.Test;
 
@@ -296,6 +297,22 @@ public class VoteTallyTest {
         .containsExactly(validator2, validator3, validator4, validator5);
   }
 
+  @Test
+  public void pendingVotesArePreservedWhenEncodedAndDecoded() {
+    final VoteTally voteTally = fourValidators();
+    voteTally.addVote(new ValidatorVote(VoteType.ADD, validator1, validator5));
+    voteTally.addVote(new ValidatorVote(VoteType.ADD, validator2, validator5));
+    voteTally.addVote(new ValidatorVote(VoteType.DROP, validator1, validator4));
+
+    final VoteTally decoded = VoteTally.readFrom(RLP.input(RLP.encode(voteTally::writeTo)));
+    assertThat(decoded.getValidators())
+        .containsExactly(validator1, validator2, validator3, validator4);
+
+    decoded.addVote(new ValidatorVote(VoteType.ADD, validator3, validator5));
+    assertThat(decoded.getValidators())
+        .containsExactly(validator1, validator2, validator3, validator4, validator5);
+  }
+
   private VoteTally fourValidators() {
     return new VoteTally(asList(validator1, validator2, validator3, validator4));
   }
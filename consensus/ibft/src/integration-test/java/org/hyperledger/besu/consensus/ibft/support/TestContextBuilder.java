@@ -318,7 +318,8 @@ public class TestContextBuilder {
     final ProposerSelector proposerSelector =
         new ProposerSelector(blockChain, blockInterface, true, voteTallyCache);
 
-    final IbftExecutors ibftExecutors = IbftExecutors.create(new NoOpMetricsSystem());
+    final IbftExecutors ibftExecutors =
+        IbftExecutors.create(new NoOpMetricsSystem(), MESSAGE_QUEUE_LIMIT);
     final IbftFinalState finalState =
         new IbftFinalState(
             protocolContext.getConsensusState().getVoteTallyCache(),
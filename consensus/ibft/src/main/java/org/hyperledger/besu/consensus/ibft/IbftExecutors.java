@@ -15,6 +15,7 @@
 
 package org.hyperledger.besu.consensus.ibft;
 
+import static org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors.newBoundedThreadPool;
 import static org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors.newScheduledThreadPool;
 
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -22,6 +23,7 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -41,17 +43,39 @@ public class IbftExecutors {
 
   private final Duration shutdownTimeout = Duration.ofSeconds(30);
   private final MetricsSystem metricsSystem;
+  private final int messageVerificationThreads;
+  private final int messageVerificationQueueSize;
 
   private volatile ScheduledExecutorService timerExecutor;
   private volatile ExecutorService ibftProcessorExecutor;
+  private volatile ExecutorService messageVerificationExecutor;
   private volatile State state = State.IDLE;
 
-  private IbftExecutors(final MetricsSystem metricsSystem) {
+  private IbftExecutors(
+      final MetricsSystem metricsSystem,
+      final int messageVerificationThreads,
+      final int messageVerificationQueueSize) {
     this.metricsSystem = metricsSystem;
+    this.messageVerificationThreads = messageVerificationThreads;
+    this.messageVerificationQueueSize = messageVerificationQueueSize;
   }
 
-  public static IbftExecutors create(final MetricsSystem metricsSystem) {
-    return new IbftExecutors(metricsSystem);
+  /**
+   * @param metricsSystem the metrics system
+   * @param messageQueueLimit the IBFT message queue limit, which also bounds the number of
+   *     messages waiting for verification
+   * @return the executors
+   */
+  public static IbftExecutors create(
+      final MetricsSystem metricsSystem, final int messageQueueLimit) {
+    return create(metricsSystem, Runtime.getRuntime().availableProcessors(), messageQueueLimit);
+  }
+
+  public static IbftExecutors create(
+      final MetricsSystem metricsSystem,
+      final int messageVerificationThreads,
+      final int messageQueueLimit) {
+    return new IbftExecutors(metricsSystem, messageVerificationThreads, messageQueueLimit);
   }
 
   public synchronized void start() {
@@ -62,6 +86,13 @@ public class IbftExecutors {
     state = State.RUNNING;
     ibftProcessorExecutor = Executors.newSingleThreadExecutor();
     timerExecutor = newScheduledThreadPool("IbftTimerExecutor", 1, metricsSystem);
+    // When the queue is full the oldest message waiting for verification is dropped
+    messageVerificationExecutor =
+        newBoundedThreadPool(
+            "IbftMessageVerification",
+            messageVerificationThreads,
+            messageVerificationQueueSize,
+            metricsSystem);
   }
 
   public void stop() {
@@ -74,6 +105,7 @@ public class IbftExecutors {
 
     timerExecutor.shutdownNow();
     ibftProcessorExecutor.shutdownNow();
+    messageVerificationExecutor.shutdownNow();
   }
 
   public void awaitStop() throws InterruptedException {
@@ -83,6 +115,12 @@ public class IbftExecutors {
     if (!ibftProcessorExecutor.awaitTermination(shutdownTimeout.getSeconds(), TimeUnit.SECONDS)) {
       LOG.error("{} ibftProcessor executor did not shutdown cleanly.", getClass().getSimpleName());
     }
+    if (!messageVerificationExecutor.awaitTermination(
+        shutdownTimeout.getSeconds(), TimeUnit.SECONDS)) {
+      LOG.error(
+          "{} message verification executor did not shutdown cleanly.",
+          getClass().getSimpleName());
+    }
   }
 
   public synchronized void executeIbftProcessor(final IbftProcessor ibftProcessor) {
@@ -96,6 +134,21 @@ public class IbftExecutors {
     return timerExecutor.schedule(command, delay, unit);
   }
 
+  /**
+   * Runs a message verification task on the verification pool.
+   *
+   * @param task the task to run
+   * @return false if the executors are not running, in which case the task was not run
+   * @throws RejectedExecutionException if the verification pool rejected the task
+   */
+  public synchronized boolean executeMessageVerification(final Runnable task) {
+    if (state != State.RUNNING) {
+      return false;
+    }
+    messageVerificationExecutor.execute(task);
+    return true;
+  }
+
   private void assertRunning() {
     if (state != State.RUNNING) {
       throw new IllegalStateException(
@@ -0,0 +1,86 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.ibft;
+
+import org.hyperledger.besu.consensus.ibft.ibftevent.IbftEvents;
+import org.hyperledger.besu.consensus.ibft.messagewrappers.IbftMessage;
+import org.hyperledger.besu.consensus.ibft.messagewrappers.IbftMessages;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Decodes received IBFT messages, recovering their authors from their signatures, on the message
+ * verification pool so that the IBFT processor thread only has to handle messages that are already
+ * verified. Duplicate messages are discarded before their signatures are recovered, and messages
+ * that cannot be decoded are discarded rather than queued.
+ *
+ * <p>Messages received while the IBFT executors are not running are queued undecoded, and are
+ * checked for duplicates and decoded by the IbftController as before. The number of messages
+ * waiting for verification is bounded by the IBFT message queue limit, and messages that don't fit
+ * are discarded.
+ */
+public class IbftMessageVerifier {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final IbftEventQueue ibftEventQueue;
+  private final MessageTracker duplicateMessageTracker;
+  private final IbftExecutors ibftExecutors;
+
+  public IbftMessageVerifier(
+      final IbftEventQueue ibftEventQueue,
+      final MessageTracker duplicateMessageTracker,
+      final IbftExecutors ibftExecutors) {
+    this.ibftEventQueue = ibftEventQueue;
+    this.duplicateMessageTracker = duplicateMessageTracker;
+    this.ibftExecutors = ibftExecutors;
+  }
+
+  public void verifyAndQueue(final Message message) {
+    if (duplicateMessageTracker.hasSeenMessage(message.getData())) {
+      LOG.trace("Discarded duplicate message");
+      return;
+    }
+    try {
+      if (!ibftExecutors.executeMessageVerification(() -> verify(message))) {
+        ibftEventQueue.add(IbftEvents.fromMessage(message));
+      }
+    } catch (final RejectedExecutionException e) {
+      LOG.warn("Discarded IBFT message that could not be queued for verification");
+    }
+  }
+
+  private void verify(final Message message) {
+    final MessageData data = message.getData();
+    // A duplicate may have been received since the check made before this task was queued.
+    if (!duplicateMessageTracker.addSeenMessage(data)) {
+      LOG.trace("Discarded duplicate message");
+      return;
+    }
+    final IbftMessage<?> verifiedMessage;
+    try {
+      verifiedMessage = IbftMessages.fromMessageData(data);
+    } catch (final RuntimeException e) {
+      LOG.debug("Discarded IBFT message that could not be verified", e);
+      return;
+    }
+    ibftEventQueue.add(IbftEvents.fromVerifiedMessage(message, verifiedMessage));
+  }
+}
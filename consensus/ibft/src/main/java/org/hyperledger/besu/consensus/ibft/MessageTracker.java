@@ -28,12 +28,18 @@ public class MessageTracker {
     this.seenMessages = newSetFromMap(new SizeLimitedMap<>(messageTrackingLimit));
   }
 
-  public void addSeenMessage(final MessageData message) {
+  /**
+   * Records a message as seen.
+   *
+   * @param message the message
+   * @return true if the message had not been seen before
+   */
+  public synchronized boolean addSeenMessage(final MessageData message) {
     final Hash uniqueID = Hash.hash(message.getData());
-    seenMessages.add(uniqueID);
+    return seenMessages.add(uniqueID);
   }
 
-  public boolean hasSeenMessage(final MessageData message) {
+  public synchronized boolean hasSeenMessage(final MessageData message) {
     final Hash uniqueID = Hash.hash(message.getData());
     return seenMessages.contains(uniqueID);
   }
@@ -27,6 +27,7 @@ import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 
+import java.time.Duration;
 import java.util.function.Function;
 
 // This class is responsible for creating a block without committer seals (basically it was just
@@ -41,6 +42,7 @@ public class IbftBlockCreator extends AbstractBlockCreator<IbftContext> {
       final ProtocolSchedule<IbftContext> protocolSchedule,
       final Function<Long, Long> gasLimitCalculator,
       final Wei minTransactionGasPrice,
+      final Duration transactionSelectionTimeLimit,
       final BlockHeader parentHeader) {
     super(
         localAddress,
@@ -51,6 +53,7 @@ public class IbftBlockCreator extends AbstractBlockCreator<IbftContext> {
         gasLimitCalculator,
         minTransactionGasPrice,
         localAddress,
+        transactionSelectionTimeLimit,
         parentHeader);
   }
 
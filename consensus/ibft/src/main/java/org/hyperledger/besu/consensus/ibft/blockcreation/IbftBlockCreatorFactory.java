@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -42,6 +43,7 @@ public class IbftBlockCreatorFactory {
   protected final ProtocolContext<IbftContext> protocolContext;
   protected final ProtocolSchedule<IbftContext> protocolSchedule;
   private final Address localAddress;
+  private final Duration transactionSelectionTimeLimit;
 
   private volatile BytesValue vanityData;
   private volatile Wei minTransactionGasPrice;
@@ -60,6 +62,7 @@ public class IbftBlockCreatorFactory {
     this.localAddress = localAddress;
     this.minTransactionGasPrice = miningParams.getMinTransactionGasPrice();
     this.vanityData = miningParams.getExtraData();
+    this.transactionSelectionTimeLimit = miningParams.getTransactionSelectionTimeLimit();
   }
 
   public IbftBlockCreator create(final BlockHeader parentHeader, final int round) {
@@ -71,6 +74,7 @@ public class IbftBlockCreatorFactory {
         protocolSchedule,
         gasLimitCalculator,
         minTransactionGasPrice,
+        transactionSelectionTimeLimit,
         parentHeader);
   }
 
@@ -14,14 +14,22 @@
  */
 package org.hyperledger.besu.consensus.ibft.ibftevent;
 
+import org.hyperledger.besu.consensus.ibft.messagewrappers.IbftMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
+import java.util.Optional;
+
 /** Static helper functions for producing and working with IbftEvent objects */
 public class IbftEvents {
   public static IbftEvent fromMessage(final Message message) {
     return new IbftReceivedMessageEvent(message);
   }
 
+  public static IbftEvent fromVerifiedMessage(
+      final Message message, final IbftMessage<?> verifiedMessage) {
+    return new IbftReceivedMessageEvent(message, Optional.of(verifiedMessage));
+  }
+
   public enum Type {
     ROUND_EXPIRY,
     NEW_CHAIN_HEAD,
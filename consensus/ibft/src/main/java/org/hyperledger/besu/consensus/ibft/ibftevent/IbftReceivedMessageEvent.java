@@ -14,20 +14,35 @@
  */
 package org.hyperledger.besu.consensus.ibft.ibftevent;
 
+import org.hyperledger.besu.consensus.ibft.messagewrappers.IbftMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
+import java.util.Optional;
+
 public class IbftReceivedMessageEvent implements IbftEvent {
 
   private final Message message;
+  private final Optional<IbftMessage<?>> verifiedMessage;
 
   public IbftReceivedMessageEvent(final Message message) {
+    this(message, Optional.empty());
+  }
+
+  public IbftReceivedMessageEvent(
+      final Message message, final Optional<IbftMessage<?>> verifiedMessage) {
     this.message = message;
+    this.verifiedMessage = verifiedMessage;
   }
 
   public Message getMessage() {
     return message;
   }
 
+  /** @return the decoded message, if its author has already been recovered off the IBFT thread */
+  public Optional<IbftMessage<?>> getVerifiedMessage() {
+    return verifiedMessage;
+  }
+
   @Override
   public IbftEvents.Type getType() {
     return IbftEvents.Type.MESSAGE;
@@ -0,0 +1,51 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.ibft.messagewrappers;
+
+import org.hyperledger.besu.consensus.ibft.messagedata.CommitMessageData;
+import org.hyperledger.besu.consensus.ibft.messagedata.IbftV2;
+import org.hyperledger.besu.consensus.ibft.messagedata.PrepareMessageData;
+import org.hyperledger.besu.consensus.ibft.messagedata.ProposalMessageData;
+import org.hyperledger.besu.consensus.ibft.messagedata.RoundChangeMessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+/** Static helper functions for decoding received message data into IbftMessage objects */
+public class IbftMessages {
+
+  /**
+   * Decodes message data into the IbftMessage for its message code. Decoding recovers the author
+   * of the message from its signature.
+   *
+   * @param messageData the received message data
+   * @return the decoded message
+   */
+  public static IbftMessage<?> fromMessageData(final MessageData messageData) {
+    switch (messageData.getCode()) {
+      case IbftV2.PROPOSAL:
+        return ProposalMessageData.fromMessageData(messageData).decode();
+      case IbftV2.PREPARE:
+        return PrepareMessageData.fromMessageData(messageData).decode();
+      case IbftV2.COMMIT:
+        return CommitMessageData.fromMessageData(messageData).decode();
+      case IbftV2.ROUND_CHANGE:
+        return RoundChangeMessageData.fromMessageData(messageData).decode();
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Received message with messageCode=%d does not conform to any recognised IBFT message structure",
+                messageData.getCode()));
+    }
+  }
+}
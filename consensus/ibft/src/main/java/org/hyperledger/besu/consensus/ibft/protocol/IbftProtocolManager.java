@@ -14,9 +14,7 @@
  */
 package org.hyperledger.besu.consensus.ibft.protocol;
 
-import org.hyperledger.besu.consensus.ibft.IbftEventQueue;
-import org.hyperledger.besu.consensus.ibft.ibftevent.IbftEvent;
-import org.hyperledger.besu.consensus.ibft.ibftevent.IbftEvents;
+import org.hyperledger.besu.consensus.ibft.IbftMessageVerifier;
 import org.hyperledger.besu.consensus.ibft.network.PeerConnectionTracker;
 import org.hyperledger.besu.ethereum.p2p.network.ProtocolManager;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
@@ -28,19 +26,20 @@ import java.util.Arrays;
 import java.util.List;
 
 public class IbftProtocolManager implements ProtocolManager {
-  private final IbftEventQueue ibftEventQueue;
+  private final IbftMessageVerifier messageVerifier;
 
   private final PeerConnectionTracker peers;
 
   /**
    * Constructor for the ibft protocol manager
    *
-   * @param ibftEventQueue Entry point into the ibft event processor
+   * @param messageVerifier Verifies received messages before passing them to the ibft event
+   *     processor
    * @param peers Used to track all connected IBFT peers.
    */
   public IbftProtocolManager(
-      final IbftEventQueue ibftEventQueue, final PeerConnectionTracker peers) {
-    this.ibftEventQueue = ibftEventQueue;
+      final IbftMessageVerifier messageVerifier, final PeerConnectionTracker peers) {
+    this.messageVerifier = messageVerifier;
     this.peers = peers;
   }
 
@@ -77,8 +76,7 @@ public class IbftProtocolManager implements ProtocolManager {
    */
   @Override
   public void processMessage(final Capability cap, final Message message) {
-    final IbftEvent messageEvent = IbftEvents.fromMessage(message);
-    ibftEventQueue.add(messageEvent);
+    messageVerifier.verifyAndQueue(message);
   }
 
   @Override
@@ -22,18 +22,20 @@ import org.hyperledger.besu.consensus.ibft.ibftevent.BlockTimerExpiry;
 import org.hyperledger.besu.consensus.ibft.ibftevent.IbftReceivedMessageEvent;
 import org.hyperledger.besu.consensus.ibft.ibftevent.NewChainHead;
 import org.hyperledger.besu.consensus.ibft.ibftevent.RoundExpiry;
-import org.hyperledger.besu.consensus.ibft.messagedata.CommitMessageData;
 import org.hyperledger.besu.consensus.ibft.messagedata.IbftV2;
-import org.hyperledger.besu.consensus.ibft.messagedata.PrepareMessageData;
-import org.hyperledger.besu.consensus.ibft.messagedata.ProposalMessageData;
-import org.hyperledger.besu.consensus.ibft.messagedata.RoundChangeMessageData;
+import org.hyperledger.besu.consensus.ibft.messagewrappers.Commit;
 import org.hyperledger.besu.consensus.ibft.messagewrappers.IbftMessage;
+import org.hyperledger.besu.consensus.ibft.messagewrappers.IbftMessages;
+import org.hyperledger.besu.consensus.ibft.messagewrappers.Prepare;
+import org.hyperledger.besu.consensus.ibft.messagewrappers.Proposal;
+import org.hyperledger.besu.consensus.ibft.messagewrappers.RoundChange;
 import org.hyperledger.besu.consensus.ibft.payload.Authored;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -78,6 +80,12 @@ public class IbftController {
   }
 
   public void handleMessageEvent(final IbftReceivedMessageEvent msg) {
+    final Optional<IbftMessage<?>> verifiedMessage = msg.getVerifiedMessage();
+    if (verifiedMessage.isPresent()) {
+      // Verified messages have already been checked for duplicates before being verified.
+      handleMessage(msg.getMessage(), verifiedMessage.get());
+      return;
+    }
     final MessageData data = msg.getMessage().getData();
     if (!duplicateMessageTracker.hasSeenMessage(data)) {
       duplicateMessageTracker.addSeenMessage(data);
@@ -88,34 +96,27 @@ public class IbftController {
   }
 
   private void handleMessage(final Message message) {
-    final MessageData messageData = message.getData();
-    switch (messageData.getCode()) {
+    handleMessage(message, IbftMessages.fromMessageData(message.getData()));
+  }
+
+  private void handleMessage(final Message message, final IbftMessage<?> ibftMessage) {
+    switch (message.getData().getCode()) {
       case IbftV2.PROPOSAL:
         consumeMessage(
-            message,
-            ProposalMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handleProposalPayload);
+            message, (Proposal) ibftMessage, currentHeightManager::handleProposalPayload);
         break;
 
       case IbftV2.PREPARE:
-        consumeMessage(
-            message,
-            PrepareMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handlePreparePayload);
+        consumeMessage(message, (Prepare) ibftMessage, currentHeightManager::handlePreparePayload);
         break;
 
       case IbftV2.COMMIT:
-        consumeMessage(
-            message,
-            CommitMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handleCommitPayload);
+        consumeMessage(message, (Commit) ibftMessage, currentHeightManager::handleCommitPayload);
         break;
 
       case IbftV2.ROUND_CHANGE:
         consumeMessage(
-            message,
-            RoundChangeMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handleRoundChangePayload);
+            message, (RoundChange) ibftMessage, currentHeightManager::handleRoundChangePayload);
         break;
 
       default:
@@ -32,6 +32,7 @@ import org.hyperledger.besu.consensus.ibft.payload.RoundChangeCertificate;
 import org.hyperledger.besu.crypto.SECP256K1;
 import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
 import org.hyperledger.besu.crypto.SECP256K1.Signature;
+import org.hyperledger.besu.ethereum.BlockValidator.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.MinedBlockObserver;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -211,8 +212,7 @@ public class IbftRound {
         getRoundIdentifier(),
         blockToImport.getHash());
     LOG.trace("Importing block with extraData={}", extraData);
-    final boolean result =
-        blockImporter.importBlock(protocolContext, blockToImport, HeaderValidationMode.FULL);
+    final boolean result = importBlock(blockToImport);
     if (!result) {
       LOG.error(
           "Failed to import block to chain. block={} extraData={} blockHeader={}",
@@ -224,6 +224,18 @@ public class IbftRound {
     }
   }
 
+  private boolean importBlock(final Block blockToImport) {
+    // The sealed block only differs from the proposed block in its commit seals, which do not
+    // affect execution, so the state and receipts from validating the proposal can be reused.
+    final Optional<BlockProcessingOutputs> processingOutputs =
+        roundState.getProposedBlockProcessingOutputs();
+    if (processingOutputs.isPresent()) {
+      return blockImporter.importProcessedBlock(
+          protocolContext, blockToImport, processingOutputs.get(), HeaderValidationMode.FULL);
+    }
+    return blockImporter.importBlock(protocolContext, blockToImport, HeaderValidationMode.FULL);
+  }
+
   private Signature createCommitSeal(final Block block) {
     final BlockHeader proposedHeader = block.getHeader();
     final IbftExtraData extraData = IbftExtraData.decode(proposedHeader);
@@ -21,6 +21,7 @@ import org.hyperledger.besu.consensus.ibft.messagewrappers.Prepare;
 import org.hyperledger.besu.consensus.ibft.messagewrappers.Proposal;
 import org.hyperledger.besu.consensus.ibft.validation.MessageValidator;
 import org.hyperledger.besu.crypto.SECP256K1.Signature;
+import org.hyperledger.besu.ethereum.BlockValidator.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.core.Block;
 
 import java.util.Collection;
@@ -41,6 +42,7 @@ public class RoundState {
   private final long quorum;
 
   private Optional<Proposal> proposalMessage = Optional.empty();
+  private Optional<BlockProcessingOutputs> proposedBlockProcessingOutputs = Optional.empty();
 
   // Must track the actual Prepare message, not just the sender, as these may need to be reused
   // to send out in a PrepareCertificate.
@@ -68,6 +70,7 @@ public class RoundState {
     if (!proposalMessage.isPresent()) {
       if (validator.validateProposal(msg)) {
         proposalMessage = Optional.of(msg);
+        proposedBlockProcessingOutputs = validator.getProposedBlockProcessingOutputs();
         prepareMessages.removeIf(p -> !validator.validatePrepare(p));
         commitMessages.removeIf(p -> !validator.validateCommit(p));
         updateState();
@@ -115,6 +118,14 @@ public class RoundState {
     return proposalMessage.map(Proposal::getBlock);
   }
 
+  /**
+   * @return the world state and receipts produced when the proposed block was validated, if it was
+   *     processed as part of validation
+   */
+  public Optional<BlockProcessingOutputs> getProposedBlockProcessingOutputs() {
+    return proposedBlockProcessingOutputs;
+  }
+
   public boolean isPrepared() {
     return prepared;
   }
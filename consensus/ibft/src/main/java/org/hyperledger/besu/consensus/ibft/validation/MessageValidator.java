@@ -40,6 +40,7 @@ public class MessageValidator {
   private final BlockValidator<IbftContext> blockValidator;
   private final ProtocolContext<IbftContext> protocolContext;
   private RoundChangeCertificateValidator roundChangeCertificateValidator;
+  private Optional<BlockProcessingOutputs> proposedBlockProcessingOutputs = Optional.empty();
 
   public MessageValidator(
       final SignedDataValidator signedDataValidator,
@@ -61,7 +62,8 @@ public class MessageValidator {
       return false;
     }
 
-    if (!validateBlock(msg.getBlock())) {
+    final Optional<BlockProcessingOutputs> processingOutputs = validateBlock(msg.getBlock());
+    if (!processingOutputs.isPresent()) {
       return false;
     }
 
@@ -70,21 +72,36 @@ public class MessageValidator {
       return false;
     }
 
-    return proposalConsistencyValidator.validateProposalMatchesBlock(
-        msg.getSignedPayload(), msg.getBlock());
+    if (!proposalConsistencyValidator.validateProposalMatchesBlock(
+        msg.getSignedPayload(), msg.getBlock())) {
+      return false;
+    }
+
+    proposedBlockProcessingOutputs = processingOutputs;
+    return true;
   }
 
-  private boolean validateBlock(final Block block) {
+  /**
+   * The world state and receipts produced while validating the block of the most recent valid
+   * proposal. These are kept so that the block does not have to be processed again when it is
+   * imported once committed.
+   *
+   * @return the outputs of processing the most recently validated proposed block
+   */
+  public Optional<BlockProcessingOutputs> getProposedBlockProcessingOutputs() {
+    return proposedBlockProcessingOutputs;
+  }
+
+  private Optional<BlockProcessingOutputs> validateBlock(final Block block) {
     final Optional<BlockProcessingOutputs> validationResult =
         blockValidator.validateAndProcessBlock(
             protocolContext, block, HeaderValidationMode.LIGHT, HeaderValidationMode.FULL);
 
     if (!validationResult.isPresent()) {
       LOG.info("Invalid Proposal message, block did not pass validation.");
-      return false;
     }
 
-    return true;
+    return validationResult;
   }
 
   private boolean validateProposalAndRoundChangeAreConsistent(final Proposal proposal) {
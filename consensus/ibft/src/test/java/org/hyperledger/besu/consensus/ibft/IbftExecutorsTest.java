@@ -0,0 +1,83 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.ibft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class IbftExecutorsTest {
+
+  private final IbftExecutors ibftExecutors = IbftExecutors.create(new NoOpMetricsSystem(), 1, 2);
+
+  @Test
+  public void messageVerificationQueueDropsOldestMessagesWhenFull() throws InterruptedException {
+    ibftExecutors.start();
+    try {
+      assertOldestMessagesAreDropped();
+    } finally {
+      ibftExecutors.stop();
+      ibftExecutors.awaitStop();
+    }
+  }
+
+  private void assertOldestMessagesAreDropped() throws InterruptedException {
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    ibftExecutors.executeMessageVerification(
+        () -> {
+          started.countDown();
+          awaitUninterruptibly(release);
+        });
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    final List<Integer> verified = new CopyOnWriteArrayList<>();
+    final CountDownLatch done = new CountDownLatch(2);
+    for (int i = 0; i < 10; i++) {
+      final int message = i;
+      assertThat(
+              ibftExecutors.executeMessageVerification(
+                  () -> {
+                    verified.add(message);
+                    done.countDown();
+                  }))
+          .isTrue();
+    }
+    release.countDown();
+
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(verified).containsExactly(8, 9);
+  }
+
+  @Test
+  public void messageVerificationIsNotRunWhenStopped() {
+    assertThat(ibftExecutors.executeMessageVerification(() -> {})).isFalse();
+  }
+
+  private static void awaitUninterruptibly(final CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
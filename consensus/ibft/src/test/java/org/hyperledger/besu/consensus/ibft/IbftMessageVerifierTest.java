@@ -0,0 +1,120 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.ibft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.consensus.ibft.ibftevent.IbftReceivedMessageEvent;
+import org.hyperledger.besu.consensus.ibft.messagedata.IbftV2;
+import org.hyperledger.besu.consensus.ibft.messagedata.PrepareMessageData;
+import org.hyperledger.besu.consensus.ibft.messagewrappers.Prepare;
+import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
+import org.hyperledger.besu.ethereum.core.Util;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.DefaultMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class IbftMessageVerifierTest {
+
+  private final KeyPair signerKeys = KeyPair.generate();
+  private final IbftEventQueue eventQueue = new IbftEventQueue(1000);
+  private final MessageTracker messageTracker = new MessageTracker(100);
+  private final IbftExecutors ibftExecutors = mock(IbftExecutors.class);
+  private final IbftMessageVerifier messageVerifier =
+      new IbftMessageVerifier(eventQueue, messageTracker, ibftExecutors);
+
+  @Before
+  public void setup() {
+    when(ibftExecutors.executeMessageVerification(any()))
+        .thenAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return true;
+            });
+  }
+
+  @Test
+  public void verifiedMessageIsQueuedWithRecoveredAuthor() throws InterruptedException {
+    final Prepare prepare = TestHelpers.createSignedPreparePayload(signerKeys);
+    final Message message = new DefaultMessage(null, PrepareMessageData.create(prepare));
+
+    messageVerifier.verifyAndQueue(message);
+
+    final IbftReceivedMessageEvent event = pollEvent();
+    assertThat(event.getMessage()).isSameAs(message);
+    assertThat(event.getVerifiedMessage()).isPresent();
+    assertThat(event.getVerifiedMessage().get().getAuthor())
+        .isEqualTo(Util.publicKeyToAddress(signerKeys.getPublicKey()));
+    assertThat(messageTracker.hasSeenMessage(message.getData())).isTrue();
+  }
+
+  @Test
+  public void duplicateMessagesAreOnlyQueuedOnce() {
+    final Prepare prepare = TestHelpers.createSignedPreparePayload(signerKeys);
+
+    messageVerifier.verifyAndQueue(new DefaultMessage(null, PrepareMessageData.create(prepare)));
+    messageVerifier.verifyAndQueue(new DefaultMessage(null, PrepareMessageData.create(prepare)));
+
+    assertThat(eventQueue.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void messagesThatCannotBeDecodedAreDiscarded() {
+    final RawMessage invalidPrepare = new RawMessage(IbftV2.PREPARE, BytesValue.of(1, 2, 3));
+
+    messageVerifier.verifyAndQueue(new DefaultMessage(null, invalidPrepare));
+
+    assertThat(eventQueue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void messagesAreQueuedUnverifiedWhenExecutorsAreNotRunning() throws InterruptedException {
+    when(ibftExecutors.executeMessageVerification(any())).thenReturn(false);
+    final Prepare prepare = TestHelpers.createSignedPreparePayload(signerKeys);
+    final Message message = new DefaultMessage(null, PrepareMessageData.create(prepare));
+
+    messageVerifier.verifyAndQueue(message);
+
+    final IbftReceivedMessageEvent event = pollEvent();
+    assertThat(event.getMessage()).isSameAs(message);
+    assertThat(event.getVerifiedMessage()).isEmpty();
+    assertThat(messageTracker.hasSeenMessage(message.getData())).isFalse();
+  }
+
+  @Test
+  public void messagesRejectedByVerificationPoolAreDiscarded() {
+    when(ibftExecutors.executeMessageVerification(any()))
+        .thenThrow(new RejectedExecutionException());
+    final Prepare prepare = TestHelpers.createSignedPreparePayload(signerKeys);
+
+    messageVerifier.verifyAndQueue(new DefaultMessage(null, PrepareMessageData.create(prepare)));
+
+    assertThat(eventQueue.isEmpty()).isTrue();
+  }
+
+  private IbftReceivedMessageEvent pollEvent() throws InterruptedException {
+    return (IbftReceivedMessageEvent) eventQueue.poll(0, TimeUnit.MILLISECONDS);
+  }
+}
@@ -34,6 +34,7 @@ import org.hyperledger.besu.ethereum.core.AddressHelpers;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
@@ -106,6 +107,7 @@ public class IbftBlockCreatorTest {
             protocolSchedule,
             parentGasLimit -> parentGasLimit,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             parentHeader);
 
     final int secondsBetweenBlocks = 1;
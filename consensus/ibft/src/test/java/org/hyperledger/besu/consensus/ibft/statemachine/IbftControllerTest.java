@@ -51,6 +51,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.DefaultMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
 import org.junit.Before;
@@ -245,6 +246,20 @@ public class IbftControllerTest {
     verifyNoMoreInteractions(blockHeightManager);
   }
 
+  @Test
+  public void verifiedMessageIsPassedToBlockHeightManagerWithoutDecoding() {
+    setupPrepare(roundIdentifier, validator);
+    constructIbftController();
+    ibftController.start();
+    ibftController.handleMessageEvent(
+        new IbftReceivedMessageEvent(prepareMessage, Optional.of(prepare)));
+
+    verify(prepareMessageData, never()).decode();
+    verify(messageTracker, never()).hasSeenMessage(any());
+    verify(blockHeightManager).handlePreparePayload(prepare);
+    verify(ibftGossip).send(prepareMessage);
+  }
+
   @Test
   public void prepareForCurrentHeightIsPassedToBlockHeightManager() {
     setupPrepare(roundIdentifier, validator);
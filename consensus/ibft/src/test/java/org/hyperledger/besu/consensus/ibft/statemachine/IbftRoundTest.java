@@ -39,6 +39,7 @@ import org.hyperledger.besu.consensus.ibft.validation.MessageValidator;
 import org.hyperledger.besu.crypto.SECP256K1;
 import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
 import org.hyperledger.besu.crypto.SECP256K1.Signature;
+import org.hyperledger.besu.ethereum.BlockValidator.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.MinedBlockObserver;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
@@ -422,6 +423,38 @@ public class IbftRoundTest {
     verify(blockImporter, times(1)).importBlock(any(), any(), any());
   }
 
+  @Test
+  public void committedBlockIsImportedUsingOutputsOfProcessingTheProposal() {
+    final BlockProcessingOutputs processingOutputs =
+        new BlockProcessingOutputs(null, Collections.emptyList());
+    when(messageValidator.getProposedBlockProcessingOutputs())
+        .thenReturn(Optional.of(processingOutputs));
+    when(blockImporter.importProcessedBlock(any(), any(), any(), any())).thenReturn(true);
+
+    final RoundState roundState = new RoundState(roundIdentifier, 1, messageValidator);
+    final IbftRound round =
+        new IbftRound(
+            roundState,
+            blockCreator,
+            protocolContext,
+            blockImporter,
+            subscribers,
+            localNodeKeys,
+            messageFactory,
+            transmitter,
+            roundTimer);
+
+    round.handleProposalMessage(
+        messageFactory.createProposal(roundIdentifier, proposedBlock, Optional.empty()));
+
+    verify(blockImporter, times(1))
+        .importProcessedBlock(any(), blockCaptor.capture(), eq(processingOutputs), any());
+    verify(blockImporter, never()).importBlock(any(), any(), any());
+    assertThat(blockCaptor.getValue().getHeader().getStateRoot())
+        .isEqualTo(proposedBlock.getHeader().getStateRoot());
+    verify(minedBlockObserver).blockMined(blockCaptor.getValue());
+  }
+
   @Test
   public void blockIsImportedOnlyOnceIfQuorumCommitsAreReceivedPriorToProposal() {
     final int QUORUM_SIZE = 1;
@@ -132,6 +132,30 @@ public class MessageValidatorTest {
     verify(signedDataValidator, times(1)).validateCommit(commit.getSignedPayload());
   }
 
+  @Test
+  public void processingOutputsAreRetainedForValidProposal() {
+    final BlockProcessingOutputs processingOutputs = new BlockProcessingOutputs(null, null);
+    when(blockValidator.validateAndProcessBlock(any(), any(), any(), any()))
+        .thenReturn(Optional.of(processingOutputs));
+    final Proposal proposal =
+        messageFactory.createProposal(roundIdentifier, block, Optional.empty());
+
+    assertThat(messageValidator.getProposedBlockProcessingOutputs()).isEmpty();
+    assertThat(messageValidator.validateProposal(proposal)).isTrue();
+    assertThat(messageValidator.getProposedBlockProcessingOutputs()).contains(processingOutputs);
+  }
+
+  @Test
+  public void processingOutputsAreNotRetainedForInvalidProposal() {
+    when(proposalBlockConsistencyValidator.validateProposalMatchesBlock(any(), any()))
+        .thenReturn(false);
+    final Proposal proposal =
+        messageFactory.createProposal(roundIdentifier, block, Optional.empty());
+
+    assertThat(messageValidator.validateProposal(proposal)).isFalse();
+    assertThat(messageValidator.getProposedBlockProcessingOutputs()).isEmpty();
+  }
+
   @Test
   public void ifProposalConsistencyChecksFailProposalIsIllegal() {
     final Proposal proposal =
@@ -34,6 +34,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 
+import java.time.Duration;
 import java.util.function.Function;
 
 /**
@@ -54,6 +55,7 @@ public class IbftBlockCreator extends AbstractBlockCreator<IbftContext> {
       final Function<Long, Long> gasLimitCalculator,
       final KeyPair nodeKeys,
       final Wei minTransactionGasPrice,
+      final Duration transactionSelectionTimeLimit,
       final BlockHeader parentHeader) {
     super(
         coinbase,
@@ -64,6 +66,7 @@ public class IbftBlockCreator extends AbstractBlockCreator<IbftContext> {
         gasLimitCalculator,
         minTransactionGasPrice,
         Util.publicKeyToAddress(nodeKeys.getPublicKey()),
+        transactionSelectionTimeLimit,
         parentHeader);
     this.nodeKeys = nodeKeys;
   }
@@ -34,6 +34,7 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfiguration;
@@ -111,6 +112,7 @@ public class IbftBlockCreatorTest {
             parentGasLimit -> parentGasLimit,
             nodeKeys,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             parentHeader);
 
     final Block block = blockCreator.createBlock(Instant.now().getEpochSecond());
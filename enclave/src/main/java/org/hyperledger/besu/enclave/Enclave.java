@@ -26,11 +26,15 @@ import org.hyperledger.besu.enclave.types.SendResponse;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.concurrent.CompletableFuture;
 
 import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Dispatcher;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
@@ -44,13 +48,24 @@ public class Enclave {
   private static final ObjectMapper objectMapper = new ObjectMapper();
   private static final MediaType JSON = MediaType.parse("application/json");
   private static final MediaType ORION = MediaType.get("application/vnd.orion.v1+json");
+  private static final int MAX_CONCURRENT_REQUESTS = 64;
+
+  // Shared by all clients so that connections to the enclave are pooled and reused.
+  private static final OkHttpClient SHARED_CLIENT = createClient();
 
   private final URI enclaveUri;
   private final OkHttpClient client;
 
   public Enclave(final URI enclaveUri) {
     this.enclaveUri = enclaveUri;
-    this.client = new OkHttpClient();
+    this.client = SHARED_CLIENT;
+  }
+
+  private static OkHttpClient createClient() {
+    final Dispatcher dispatcher = new Dispatcher();
+    dispatcher.setMaxRequests(MAX_CONCURRENT_REQUESTS);
+    dispatcher.setMaxRequestsPerHost(MAX_CONCURRENT_REQUESTS);
+    return new OkHttpClient.Builder().dispatcher(dispatcher).build();
   }
 
   public boolean upCheck() throws IOException {
@@ -73,6 +88,18 @@ public class Enclave {
     return executePost(buildPostRequest(ORION, content, "/receive"), ReceiveResponse.class);
   }
 
+  /**
+   * Requests a payload from the enclave without blocking the calling thread. Requests are issued
+   * concurrently over the shared connection pool.
+   *
+   * @param content the request identifying the payload
+   * @return a future completed with the enclave's response, or exceptionally if the payload could
+   *     not be retrieved
+   */
+  public CompletableFuture<ReceiveResponse> receiveAsync(final ReceiveRequest content) {
+    return executePostAsync(buildPostRequest(ORION, content, "/receive"), ReceiveResponse.class);
+  }
+
   public PrivacyGroup createPrivacyGroup(final CreatePrivacyGroupRequest content) {
     return executePost(buildPostRequest(JSON, content, "/createPrivacyGroup"), PrivacyGroup.class);
   }
@@ -109,6 +136,43 @@ public class Enclave {
       throw new RuntimeException("Failed to contact Enclave", e);
     }
 
+    return parseResponse(response, responseBody, responseType);
+  }
+
+  private <T> CompletableFuture<T> executePostAsync(
+      final Request request, final Class<T> responseType) {
+    final CompletableFuture<T> result = new CompletableFuture<>();
+    client
+        .newCall(request)
+        .enqueue(
+            new Callback() {
+              @Override
+              public void onFailure(final Call call, final IOException e) {
+                result.completeExceptionally(new RuntimeException("Failed to contact Enclave", e));
+              }
+
+              @Override
+              public void onResponse(final Call call, final Response response) {
+                final String responseBody;
+                try {
+                  responseBody = response.body().string();
+                } catch (final IOException e) {
+                  result.completeExceptionally(
+                      new RuntimeException("Failed to contact Enclave", e));
+                  return;
+                }
+                try {
+                  result.complete(parseResponse(response, responseBody, responseType));
+                } catch (final EnclaveException e) {
+                  result.completeExceptionally(e);
+                }
+              }
+            });
+    return result;
+  }
+
+  private <T> T parseResponse(
+      final Response response, final String responseBody, final Class<T> responseType) {
     try {
       if (response.isSuccessful()) {
         return objectMapper.readValue(responseBody, responseType);
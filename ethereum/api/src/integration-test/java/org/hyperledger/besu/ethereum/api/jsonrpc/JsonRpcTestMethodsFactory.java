@@ -104,6 +104,7 @@ public class JsonRpcTestMethodsFactory {
             NETWORK_ID,
             new StubGenesisConfigOptions(),
             peerDiscovery,
+            Optional.empty(),
             blockchainQueries,
             synchronizer,
             MainnetProtocolSchedule.create(),
@@ -21,17 +21,25 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcErrorR
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.results.PeerResult;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
 import org.hyperledger.besu.ethereum.p2p.network.P2PNetwork;
 import org.hyperledger.besu.ethereum.p2p.network.exceptions.P2PDisabledException;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 public class AdminPeers implements JsonRpcMethod {
   private final P2PNetwork peerDiscoveryAgent;
+  private final Optional<EthPeers> ethPeers;
 
   public AdminPeers(final P2PNetwork peerDiscoveryAgent) {
+    this(peerDiscoveryAgent, Optional.empty());
+  }
+
+  public AdminPeers(final P2PNetwork peerDiscoveryAgent, final Optional<EthPeers> ethPeers) {
     this.peerDiscoveryAgent = peerDiscoveryAgent;
+    this.ethPeers = ethPeers;
   }
 
   @Override
@@ -44,7 +52,9 @@ public class AdminPeers implements JsonRpcMethod {
 
     try {
       final List<PeerResult> peers =
-          peerDiscoveryAgent.getPeers().stream().map(PeerResult::new).collect(Collectors.toList());
+          peerDiscoveryAgent.getPeers().stream()
+              .map(peer -> new PeerResult(peer, ethPeers.map(eth -> eth.peer(peer))))
+              .collect(Collectors.toList());
       final JsonRpcResponse result = new JsonRpcSuccessResponse(req.getId(), peers);
       return result;
     } catch (P2PDisabledException e) {
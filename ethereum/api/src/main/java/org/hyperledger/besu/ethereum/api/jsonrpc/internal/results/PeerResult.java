@@ -14,18 +14,24 @@
  */
 package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
 
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 
-@JsonPropertyOrder({"version", "name", "caps", "network", "port", "id"})
+@JsonPropertyOrder({"version", "name", "caps", "network", "port", "id", "requests"})
 public class PeerResult {
 
   private final String version;
@@ -34,8 +40,13 @@ public class PeerResult {
   private final NetworkResult network;
   private final String port;
   private final String id;
+  private final Map<String, RequestStatsResult> requests;
 
   public PeerResult(final PeerConnection peer) {
+    this(peer, Optional.empty());
+  }
+
+  public PeerResult(final PeerConnection peer, final Optional<EthPeer> ethPeer) {
     this.version = Quantity.create(peer.getPeerInfo().getVersion());
     this.name = peer.getPeerInfo().getClientId();
     this.caps =
@@ -46,6 +57,15 @@ public class PeerResult {
     this.network = new NetworkResult(peer.getLocalAddress(), peer.getRemoteAddress());
     this.port = Quantity.create(peer.getPeerInfo().getPort());
     this.id = peer.getPeerInfo().getNodeId().toString();
+    this.requests = ethPeer.map(PeerResult::requestStats).orElse(null);
+  }
+
+  private static Map<String, RequestStatsResult> requestStats(final EthPeer ethPeer) {
+    final Map<String, RequestStatsResult> requests = new LinkedHashMap<>();
+    ethPeer
+        .requestStats()
+        .forEach((type, stats) -> requests.put(type, new RequestStatsResult(stats)));
+    return requests;
   }
 
   @JsonGetter(value = "version")
@@ -77,4 +97,10 @@ public class PeerResult {
   public String getId() {
     return id;
   }
+
+  @JsonGetter(value = "requests")
+  @JsonInclude(Include.NON_NULL)
+  public Map<String, RequestStatsResult> getRequests() {
+    return requests;
+  }
 }
@@ -0,0 +1,58 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.eth.manager.RequestStats;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+@JsonPropertyOrder({"averageLatency", "averageThroughput", "responses", "timeouts"})
+public class RequestStatsResult {
+
+  private final String averageLatency;
+  private final String averageThroughput;
+  private final String responses;
+  private final String timeouts;
+
+  public RequestStatsResult(final RequestStats stats) {
+    this.averageLatency = Quantity.create(Math.round(stats.getAverageLatencyMillis()));
+    this.averageThroughput = Quantity.create(Math.round(stats.getAverageBytesPerSecond()));
+    this.responses = Quantity.create(stats.getResponseCount());
+    this.timeouts = Quantity.create(stats.getTimeoutCount());
+  }
+
+  /** @return the moving average of the response latency in milliseconds */
+  @JsonGetter(value = "averageLatency")
+  public String getAverageLatency() {
+    return averageLatency;
+  }
+
+  /** @return the moving average of the response throughput in bytes per second */
+  @JsonGetter(value = "averageThroughput")
+  public String getAverageThroughput() {
+    return averageThroughput;
+  }
+
+  @JsonGetter(value = "responses")
+  public String getResponses() {
+    return responses;
+  }
+
+  @JsonGetter(value = "timeouts")
+  public String getTimeouts() {
+    return timeouts;
+  }
+}
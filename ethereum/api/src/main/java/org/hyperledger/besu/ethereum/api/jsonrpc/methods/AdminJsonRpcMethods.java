@@ -24,10 +24,12 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AdminPeers;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.AdminRemovePeer;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.methods.JsonRpcMethod;
 import org.hyperledger.besu.ethereum.api.query.BlockchainQueries;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
 import org.hyperledger.besu.ethereum.p2p.network.P2PNetwork;
 
 import java.math.BigInteger;
 import java.util.Map;
+import java.util.Optional;
 
 public class AdminJsonRpcMethods extends ApiGroupJsonRpcMethods {
 
@@ -35,6 +37,7 @@ public class AdminJsonRpcMethods extends ApiGroupJsonRpcMethods {
   private final BigInteger networkId;
   private final GenesisConfigOptions genesisConfigOptions;
   private final P2PNetwork p2pNetwork;
+  private final Optional<EthPeers> ethPeers;
   private final BlockchainQueries blockchainQueries;
 
   public AdminJsonRpcMethods(
@@ -42,11 +45,13 @@ public class AdminJsonRpcMethods extends ApiGroupJsonRpcMethods {
       final BigInteger networkId,
       final GenesisConfigOptions genesisConfigOptions,
       final P2PNetwork p2pNetwork,
+      final Optional<EthPeers> ethPeers,
       final BlockchainQueries blockchainQueries) {
     this.clientVersion = clientVersion;
     this.networkId = networkId;
     this.genesisConfigOptions = genesisConfigOptions;
     this.p2pNetwork = p2pNetwork;
+    this.ethPeers = ethPeers;
     this.blockchainQueries = blockchainQueries;
   }
 
@@ -62,7 +67,7 @@ public class AdminJsonRpcMethods extends ApiGroupJsonRpcMethods {
         new AdminRemovePeer(p2pNetwork),
         new AdminNodeInfo(
             clientVersion, networkId, genesisConfigOptions, p2pNetwork, blockchainQueries),
-        new AdminPeers(p2pNetwork),
+        new AdminPeers(p2pNetwork, ethPeers),
         new AdminChangeLogLevel());
   }
 }
@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.core.Synchronizer;
+import org.hyperledger.besu.ethereum.eth.manager.EthPeers;
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.p2p.network.P2PNetwork;
@@ -51,6 +52,7 @@ public class JsonRpcMethodsFactory {
       final BigInteger networkId,
       final GenesisConfigOptions genesisConfigOptions,
       final P2PNetwork peerNetworkingService,
+      final Optional<EthPeers> ethPeers,
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final Synchronizer synchronizer,
@@ -74,6 +76,7 @@ public class JsonRpcMethodsFactory {
         networkId,
         genesisConfigOptions,
         peerNetworkingService,
+        ethPeers,
         blockchainQueries,
         synchronizer,
         protocolSchedule,
@@ -96,6 +99,7 @@ public class JsonRpcMethodsFactory {
       final BigInteger networkId,
       final GenesisConfigOptions genesisConfigOptions,
       final P2PNetwork p2pNetwork,
+      final Optional<EthPeers> ethPeers,
       final BlockchainQueries blockchainQueries,
       final Synchronizer synchronizer,
       final ProtocolSchedule<?> protocolSchedule,
@@ -120,7 +124,12 @@ public class JsonRpcMethodsFactory {
       final List<JsonRpcMethods> availableApiGroups =
           List.of(
               new AdminJsonRpcMethods(
-                  clientVersion, networkId, genesisConfigOptions, p2pNetwork, blockchainQueries),
+                  clientVersion,
+                  networkId,
+                  genesisConfigOptions,
+                  p2pNetwork,
+                  ethPeers,
+                  blockchainQueries),
               new DebugJsonRpcMethods(blockchainQueries, protocolSchedule, metricsSystem),
               new EeaJsonRpcMethods(
                   blockchainQueries, protocolSchedule, transactionPool, privacyParameters),
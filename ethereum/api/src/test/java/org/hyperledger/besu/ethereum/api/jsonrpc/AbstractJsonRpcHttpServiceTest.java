@@ -144,6 +144,7 @@ public abstract class AbstractJsonRpcHttpServiceTest {
             NETWORK_ID,
             new StubGenesisConfigOptions(),
             peerDiscoveryMock,
+            Optional.empty(),
             blockchainQueries,
             synchronizerMock,
             MainnetProtocolSchedule.create(),
@@ -97,6 +97,7 @@ public class JsonRpcHttpServiceHostWhitelistTest {
                     CHAIN_ID,
                     new StubGenesisConfigOptions(),
                     peerDiscoveryMock,
+                    Optional.empty(),
                     blockchainQueries,
                     synchronizer,
                     MainnetProtocolSchedule.fromConfig(
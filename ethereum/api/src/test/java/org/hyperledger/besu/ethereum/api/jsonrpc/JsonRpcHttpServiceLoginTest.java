@@ -129,6 +129,7 @@ public class JsonRpcHttpServiceLoginTest {
                     CHAIN_ID,
                     genesisConfigOptions,
                     peerDiscoveryMock,
+                    Optional.empty(),
                     blockchainQueries,
                     synchronizer,
                     MainnetProtocolSchedule.fromConfig(genesisConfigOptions),
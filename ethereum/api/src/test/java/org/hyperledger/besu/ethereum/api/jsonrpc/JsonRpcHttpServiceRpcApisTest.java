@@ -192,6 +192,7 @@ public class JsonRpcHttpServiceRpcApisTest {
                     NETWORK_ID,
                     new StubGenesisConfigOptions(),
                     mock(P2PNetwork.class),
+                    Optional.empty(),
                     blockchainQueries,
                     mock(Synchronizer.class),
                     MainnetProtocolSchedule.create(),
@@ -282,6 +283,7 @@ public class JsonRpcHttpServiceRpcApisTest {
                     NETWORK_ID,
                     new StubGenesisConfigOptions(),
                     p2pNetwork,
+                    Optional.empty(),
                     blockchainQueries,
                     mock(Synchronizer.class),
                     MainnetProtocolSchedule.create(),
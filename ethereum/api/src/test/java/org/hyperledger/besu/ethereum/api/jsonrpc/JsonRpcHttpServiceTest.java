@@ -128,6 +128,7 @@ public class JsonRpcHttpServiceTest {
                     CHAIN_ID,
                     new StubGenesisConfigOptions(),
                     peerDiscoveryMock,
+                    Optional.empty(),
                     blockchainQueries,
                     synchronizer,
                     MainnetProtocolSchedule.fromConfig(
@@ -41,13 +41,20 @@ import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
 
 import java.math.BigInteger;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -60,6 +67,11 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
 
   private static final Logger LOG = LogManager.getLogger();
 
+  private static final int MAX_PRE_VALIDATION_THREADS = 8;
+  // Shared by all block creators. Empty when there are too few processors for candidate
+  // transactions to be validated in parallel alongside transaction selection.
+  private static final Optional<Executor> PRE_VALIDATION_EXECUTOR = createPreValidationExecutor();
+
   protected final Address coinbase;
 
   private final Function<Long, Long> gasLimitCalculator;
@@ -71,6 +83,7 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
   protected final BlockHeaderFunctions blockHeaderFunctions;
   private final Wei minTransactionGasPrice;
   private final Address miningBeneficiary;
+  private final Duration transactionSelectionTimeLimit;
   protected final BlockHeader parentHeader;
 
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
@@ -84,6 +97,7 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
       final Function<Long, Long> gasLimitCalculator,
       final Wei minTransactionGasPrice,
       final Address miningBeneficiary,
+      final Duration transactionSelectionTimeLimit,
       final BlockHeader parentHeader) {
     this.coinbase = coinbase;
     this.extraDataCalculator = extraDataCalculator;
@@ -93,6 +107,7 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
     this.gasLimitCalculator = gasLimitCalculator;
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.miningBeneficiary = miningBeneficiary;
+    this.transactionSelectionTimeLimit = transactionSelectionTimeLimit;
     this.parentHeader = parentHeader;
     blockHeaderFunctions = ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
   }
@@ -202,6 +217,11 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
     final MainnetBlockProcessor.TransactionReceiptFactory transactionReceiptFactory =
         protocolSchedule.getByBlockNumber(blockNumber).getTransactionReceiptFactory();
 
+    final Clock clock = Clock.systemUTC();
+    final long selectionDeadline =
+        Math.max(TimeUnit.SECONDS.toMillis(processableBlockHeader.getTimestamp()), clock.millis())
+            + transactionSelectionTimeLimit.toMillis();
+
     final BlockTransactionSelector selector =
         new BlockTransactionSelector(
             transactionProcessor,
@@ -212,7 +232,11 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
             transactionReceiptFactory,
             minTransactionGasPrice,
             isCancelled::get,
-            miningBeneficiary);
+            miningBeneficiary,
+            clock,
+            selectionDeadline,
+            PRE_VALIDATION_EXECUTOR,
+            protocolSchedule.getByBlockNumber(blockNumber).getTransactionValidator());
 
     if (transactions.isPresent()) {
       return selector.evaluateTransactions(transactions.get());
@@ -221,6 +245,25 @@ public abstract class AbstractBlockCreator<C> implements AsyncBlockCreator {
     }
   }
 
+  private static Optional<Executor> createPreValidationExecutor() {
+    final int threads =
+        Math.min(Runtime.getRuntime().availableProcessors() - 1, MAX_PRE_VALIDATION_THREADS);
+    if (threads <= 1) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(BlockTransactionSelector.MAX_PRE_VALIDATED_TRANSACTIONS),
+            new ThreadFactoryBuilder()
+                .setNameFormat("TransactionPreValidation-%d")
+                .setDaemon(true)
+                .build()));
+  }
+
   private MutableWorldState duplicateWorldStateAtParent() {
     final Hash parentStateRoot = parentHeader.getStateRoot();
     final MutableWorldState worldState =
@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.util.Subscribers;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -48,6 +49,7 @@ public abstract class AbstractMinerExecutor<
   protected final PendingTransactions pendingTransactions;
   protected final AbstractBlockScheduler blockScheduler;
   protected final Function<Long, Long> gasLimitCalculator;
+  protected final Duration transactionSelectionTimeLimit;
 
   protected volatile BytesValue extraData;
   protected volatile Wei minTransactionGasPrice;
@@ -68,6 +70,7 @@ public abstract class AbstractMinerExecutor<
     this.minTransactionGasPrice = miningParams.getMinTransactionGasPrice();
     this.blockScheduler = blockScheduler;
     this.gasLimitCalculator = gasLimitCalculator;
+    this.transactionSelectionTimeLimit = miningParams.getTransactionSelectionTimeLimit();
   }
 
   public Optional<M> startAsyncMining(
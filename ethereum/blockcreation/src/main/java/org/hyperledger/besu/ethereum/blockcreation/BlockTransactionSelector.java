@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.blockcreation;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -28,13 +29,31 @@ import org.hyperledger.besu.ethereum.mainnet.MainnetBlockProcessor;
 import org.hyperledger.besu.ethereum.mainnet.TransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidator;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidator.TransactionInvalidReason;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Supplier;
 
 import com.google.common.collect.Lists;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 /**
  * Responsible for extracting transactions from PendingTransactions and determining if the
@@ -53,14 +72,37 @@ import com.google.common.collect.Lists;
  *   <li>The amount of gas consumed when executing all transactions.
  * </ul>
  *
+ * <p>When selecting from PendingTransactions, selection stops once the selection deadline has
+ * passed, even if the block is not yet full. If a pre-validation executor is supplied, the first
+ * pending transaction of each sender (up to a block's worth of gas) is first validated in parallel
+ * against the parent world state, for no more than a fraction of the time until the deadline.
+ * Transactions are not executed during pre-validation. Those which are invalid for a reason that no
+ * earlier transaction in the block could change are then rejected without being executed, while the
+ * remaining transactions are applied sequentially in priority order.
+ *
  * Once "used" this class must be discarded and another created. This class contains state which is
  * not cleared between executions of buildTransactionListForBlock().
  */
 public class BlockTransactionSelector {
+  private static final Logger LOG = LogManager.getLogger();
 
   private final Wei minTransactionGasPrice;
 
   private static final double MIN_BLOCK_OCCUPANCY_RATIO = 0.8;
+  static final int MAX_PRE_VALIDATED_TRANSACTIONS = 256;
+  // The share of the time remaining until the selection deadline that may be spent pre-validating.
+  private static final double PRE_VALIDATION_TIME_FRACTION = 0.25;
+  // Reasons which depend only on the transaction and its sender's nonce, which no other sender's
+  // transaction can change.
+  private static final Set<TransactionInvalidReason> PARENT_STATE_INVALID_REASONS =
+      EnumSet.of(
+          TransactionInvalidReason.WRONG_CHAIN_ID,
+          TransactionInvalidReason.REPLAY_PROTECTED_SIGNATURES_NOT_SUPPORTED,
+          TransactionInvalidReason.INVALID_SIGNATURE,
+          TransactionInvalidReason.NONCE_TOO_LOW,
+          TransactionInvalidReason.INCORRECT_NONCE,
+          TransactionInvalidReason.INTRINSIC_GAS_EXCEEDS_GAS_LIMIT,
+          TransactionInvalidReason.EXCEEDS_BLOCK_GAS_LIMIT);
 
   public static class TransactionSelectionResults {
 
@@ -96,9 +138,15 @@ public class BlockTransactionSelector {
   private final PendingTransactions pendingTransactions;
   private final MainnetBlockProcessor.TransactionReceiptFactory transactionReceiptFactory;
   private final Address miningBeneficiary;
+  private final Clock clock;
+  private final long selectionDeadline;
+  private final Optional<Executor> preValidationExecutor;
+  private final TransactionValidator transactionValidator;
 
   private final TransactionSelectionResults transactionSelectionResult =
       new TransactionSelectionResults();
+  private final Map<Hash, TransactionInvalidReason> preValidationFailures =
+      new ConcurrentHashMap<>();
 
   public BlockTransactionSelector(
       final TransactionProcessor transactionProcessor,
@@ -110,6 +158,47 @@ public class BlockTransactionSelector {
       final Wei minTransactionGasPrice,
       final Supplier<Boolean> isCancelled,
       final Address miningBeneficiary) {
+    this(
+        transactionProcessor,
+        blockchain,
+        worldState,
+        pendingTransactions,
+        processableBlockHeader,
+        transactionReceiptFactory,
+        minTransactionGasPrice,
+        isCancelled,
+        miningBeneficiary,
+        Clock.systemUTC(),
+        Long.MAX_VALUE,
+        Optional.empty(),
+        null);
+  }
+
+  /**
+   * Creates a selector which stops selecting transactions from PendingTransactions once the
+   * deadline has passed.
+   *
+   * @param selectionDeadline the time, in milliseconds since the epoch according to {@code clock},
+   *     after which no further pending transactions are selected
+   * @param preValidationExecutor if present, the executor used to validate candidate transactions
+   *     in parallel before they are selected
+   * @param transactionValidator the validator used for pre-validation, only required if {@code
+   *     preValidationExecutor} is present
+   */
+  public BlockTransactionSelector(
+      final TransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final PendingTransactions pendingTransactions,
+      final ProcessableBlockHeader processableBlockHeader,
+      final MainnetBlockProcessor.TransactionReceiptFactory transactionReceiptFactory,
+      final Wei minTransactionGasPrice,
+      final Supplier<Boolean> isCancelled,
+      final Address miningBeneficiary,
+      final Clock clock,
+      final long selectionDeadline,
+      final Optional<Executor> preValidationExecutor,
+      final TransactionValidator transactionValidator) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.worldState = worldState;
@@ -119,16 +208,22 @@ public class BlockTransactionSelector {
     this.isCancelled = isCancelled;
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.miningBeneficiary = miningBeneficiary;
+    this.clock = clock;
+    this.selectionDeadline = selectionDeadline;
+    this.preValidationExecutor = preValidationExecutor;
+    this.transactionValidator = transactionValidator;
   }
 
   /*
   This function iterates over (potentially) all transactions in the PendingTransactions, this is a
   long running process.
   If running in a thread, it can be cancelled via the isCancelled supplier (which will result
-  in this throwing an CancellationException).
+  in this throwing an CancellationException). Selection also stops, leaving the block partially
+  full, once the selection deadline has passed.
    */
   public TransactionSelectionResults buildTransactionListForBlock() {
-    pendingTransactions.selectTransactions(this::evaluateTransaction);
+    preValidationExecutor.ifPresent(this::preValidateCandidates);
+    pendingTransactions.selectTransactions(this::evaluatePendingTransaction);
     return transactionSelectionResult;
   }
 
@@ -143,6 +238,91 @@ public class BlockTransactionSelector {
     return transactionSelectionResult;
   }
 
+  private TransactionSelectionResult evaluatePendingTransaction(final Transaction transaction) {
+    if (selectionDeadlineReached()) {
+      return TransactionSelectionResult.COMPLETE_OPERATION;
+    }
+    return evaluateTransaction(transaction);
+  }
+
+  private boolean selectionDeadlineReached() {
+    return clock.millis() >= selectionDeadline;
+  }
+
+  /*
+   * Validates the first pending transaction of each sender against its own copy of the parent world
+   * state and records those which are invalid. Waits no longer than a fraction of the time left
+   * until the selection deadline, so that most of it remains for executing transactions. Only
+   * failures which earlier transactions in the block cannot affect are recorded; a sender's nonce
+   * can only be changed by its own transactions, but its balance may be increased by others.
+   */
+  private void preValidateCandidates(final Executor executor) {
+    final List<Transaction> candidates = new ArrayList<>();
+    final Set<Address> senders = new HashSet<>();
+    final long gasLimit = processableBlockHeader.getGasLimit();
+    final long[] candidateGas = {0};
+    pendingTransactions.selectTransactions(
+        transaction -> {
+          if (candidates.size() >= MAX_PRE_VALIDATED_TRANSACTIONS || candidateGas[0] >= gasLimit) {
+            return TransactionSelectionResult.COMPLETE_OPERATION;
+          }
+          if (senders.add(transaction.getSender())) {
+            candidates.add(transaction);
+            candidateGas[0] += transaction.getGasLimit();
+          }
+          return TransactionSelectionResult.CONTINUE;
+        });
+
+    final long now = clock.millis();
+    final long preValidationDeadline =
+        now + (long) (Math.max(selectionDeadline - now, 0) * PRE_VALIDATION_TIME_FRACTION);
+    final List<CompletableFuture<Void>> preValidations = new ArrayList<>(candidates.size());
+    try {
+      for (final Transaction candidate : candidates) {
+        final MutableWorldState candidateWorldState = worldState.copy();
+        preValidations.add(
+            CompletableFuture.runAsync(
+                () -> preValidate(candidate, candidateWorldState, preValidationDeadline),
+                executor));
+      }
+    } catch (final RejectedExecutionException e) {
+      // The remaining candidates are validated when they are executed
+      LOG.debug("Transaction pre-validation queue is full");
+    }
+
+    try {
+      CompletableFuture.allOf(preValidations.toArray(new CompletableFuture<?>[0]))
+          .get(Math.max(preValidationDeadline - clock.millis(), 0), TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Interrupted during transaction pre-validation.");
+    } catch (final TimeoutException e) {
+      LOG.debug("Transaction pre-validation did not complete within its time limit");
+    } catch (final ExecutionException e) {
+      LOG.debug("Transaction pre-validation failed", e.getCause());
+    }
+  }
+
+  private void preValidate(
+      final Transaction transaction,
+      final MutableWorldState candidateState,
+      final long preValidationDeadline) {
+    if (isCancelled.get() || clock.millis() >= preValidationDeadline) {
+      return;
+    }
+    ValidationResult<TransactionInvalidReason> result = transactionValidator.validate(transaction);
+    if (result.isValid()) {
+      result =
+          transactionValidator.validateForSender(
+              transaction,
+              candidateState.get(transaction.getSender()),
+              TransactionValidationParams.mining());
+    }
+    if (!result.isValid() && PARENT_STATE_INVALID_REASONS.contains(result.getInvalidReason())) {
+      preValidationFailures.put(transaction.hash(), result.getInvalidReason());
+    }
+  }
+
   /*
    * Passed into the PendingTransactions, and is called on each transaction until sufficient
    * transactions are found which fill a block worth of gas.
@@ -171,6 +351,12 @@ public class BlockTransactionSelector {
       return TransactionSelectionResult.DELETE_TRANSACTION_AND_CONTINUE;
     }
 
+    final TransactionInvalidReason preValidationFailure =
+        preValidationFailures.get(transaction.hash());
+    if (preValidationFailure != null) {
+      return invalidTransactionResult(preValidationFailure);
+    }
+
     final WorldUpdater worldStateUpdater = worldState.updater();
     final BlockHashLookup blockHashLookup = new BlockHashLookup(processableBlockHeader, blockchain);
 
@@ -189,19 +375,21 @@ public class BlockTransactionSelector {
       worldStateUpdater.commit();
       updateTransactionResultTracking(transaction, result);
     } else {
-      // If the transaction has an incorrect nonce, leave it in the pool and continue
-      if (result
-          .getValidationResult()
-          .getInvalidReason()
-          .equals(TransactionValidator.TransactionInvalidReason.INCORRECT_NONCE)) {
-        return TransactionSelectionResult.CONTINUE;
-      }
-      // If the transaction was invalid for any other reason, delete it, and continue.
-      return TransactionSelectionResult.DELETE_TRANSACTION_AND_CONTINUE;
+      return invalidTransactionResult(result.getValidationResult().getInvalidReason());
     }
     return TransactionSelectionResult.CONTINUE;
   }
 
+  private TransactionSelectionResult invalidTransactionResult(
+      final TransactionInvalidReason invalidReason) {
+    // If the transaction has an incorrect nonce, leave it in the pool and continue
+    if (invalidReason.equals(TransactionInvalidReason.INCORRECT_NONCE)) {
+      return TransactionSelectionResult.CONTINUE;
+    }
+    // If the transaction was invalid for any other reason, delete it, and continue.
+    return TransactionSelectionResult.DELETE_TRANSACTION_AND_CONTINUE;
+  }
+
   /*
   Responsible for updating the state maintained between transaction validation (i.e. receipts,
   cumulative gas, world state root hash.).
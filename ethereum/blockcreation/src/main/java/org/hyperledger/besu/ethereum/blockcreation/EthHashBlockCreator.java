@@ -30,6 +30,7 @@ import org.hyperledger.besu.util.bytes.BytesValues;
 import org.hyperledger.besu.util.uint.UInt256;
 
 import java.math.BigInteger;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
@@ -48,6 +49,7 @@ public class EthHashBlockCreator extends AbstractBlockCreator<Void> {
       final Function<Long, Long> gasLimitCalculator,
       final EthHashSolver nonceSolver,
       final Wei minTransactionGasPrice,
+      final Duration transactionSelectionTimeLimit,
       final BlockHeader parentHeader) {
     super(
         coinbase,
@@ -58,6 +60,7 @@ public class EthHashBlockCreator extends AbstractBlockCreator<Void> {
         gasLimitCalculator,
         minTransactionGasPrice,
         coinbase,
+        transactionSelectionTimeLimit,
         parentHeader);
 
     this.nonceSolver = nonceSolver;
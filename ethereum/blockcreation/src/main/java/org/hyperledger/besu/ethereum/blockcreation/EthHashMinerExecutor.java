@@ -84,6 +84,7 @@ public class EthHashMinerExecutor extends AbstractMinerExecutor<Void, EthHashBlo
                 gasLimitCalculator,
                 solver,
                 minTransactionGasPrice,
+                transactionSelectionTimeLimit,
                 parentHeader);
 
     return new EthHashBlockMiner(
@@ -19,6 +19,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.config.GenesisConfigFile;
@@ -44,7 +47,9 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfigurati
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.TransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
 import org.hyperledger.besu.ethereum.mainnet.TransactionValidator;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidator.TransactionInvalidReason;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.vm.TestBlockchain;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
@@ -54,6 +59,7 @@ import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
 
 import java.math.BigInteger;
+import java.time.Clock;
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
@@ -522,6 +528,98 @@ public class BlockTransactionSelectorTest {
     assertThat(results.getTransactions().size()).isEqualTo(0);
   }
 
+  @Test
+  public void noPendingTransactionsAreSelectedOnceTheSelectionDeadlineHasPassed() {
+    final Transaction transaction = createTransaction(0);
+    pendingTransactions.addRemoteTransaction(transaction);
+
+    final Clock clock = TestClock.fixed();
+    final BlockTransactionSelector selector =
+        new BlockTransactionSelector(
+            transactionProcessor,
+            blockchain,
+            worldState,
+            pendingTransactions,
+            createBlockWithGasLimit(5000),
+            this::createReceipt,
+            Wei.ZERO,
+            isCancelled,
+            AddressHelpers.ofValue(1),
+            clock,
+            clock.millis(),
+            Optional.empty(),
+            null);
+
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        selector.buildTransactionListForBlock();
+
+    assertThat(results.getTransactions()).isEmpty();
+    assertThat(pendingTransactions.getTransactionByHash(transaction.getHash())).isPresent();
+  }
+
+  @Test
+  public void transactionsFoundInvalidWhenPreValidatedAreNotExecuted() {
+    final Transaction transaction = createTransaction(0);
+    pendingTransactions.addRemoteTransaction(transaction);
+
+    final TransactionValidator transactionValidator = mock(TransactionValidator.class);
+    when(transactionValidator.validate(transaction))
+        .thenReturn(ValidationResult.invalid(TransactionInvalidReason.WRONG_CHAIN_ID));
+
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        createPreValidatingSelector(transactionValidator).buildTransactionListForBlock();
+
+    assertThat(results.getTransactions()).isEmpty();
+    assertThat(pendingTransactions.getTransactionByHash(transaction.getHash())).isEmpty();
+    verify(transactionProcessor, never())
+        .processTransaction(any(), any(), any(), any(), any(), any(), anyBoolean(), any());
+  }
+
+  @Test
+  public void transactionsWhichMayBecomeValidDuringTheBlockAreExecutedAfterPreValidation() {
+    final Transaction transaction = createTransaction(0);
+    pendingTransactions.addRemoteTransaction(transaction);
+
+    final TransactionValidator transactionValidator = mock(TransactionValidator.class);
+    when(transactionValidator.validate(transaction)).thenReturn(ValidationResult.valid());
+    when(
+            transactionValidator.validateForSender(
+                eq(transaction), any(), any(TransactionValidationParams.class)))
+        .thenReturn(
+            ValidationResult.invalid(TransactionInvalidReason.UPFRONT_COST_EXCEEDS_BALANCE));
+    when(transactionProcessor.processTransaction(
+            any(), any(), any(), eq(transaction), any(), any(), anyBoolean(), any()))
+        .thenReturn(
+            MainnetTransactionProcessor.Result.successful(
+                LogSeries.empty(), 0, BytesValue.EMPTY, ValidationResult.valid()));
+
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        createPreValidatingSelector(transactionValidator).buildTransactionListForBlock();
+
+    assertThat(results.getTransactions()).containsExactly(transaction);
+    verify(transactionProcessor, times(1))
+        .processTransaction(
+            any(), any(), any(), eq(transaction), any(), any(), anyBoolean(), any());
+  }
+
+  private BlockTransactionSelector createPreValidatingSelector(
+      final TransactionValidator transactionValidator) {
+    return new BlockTransactionSelector(
+        transactionProcessor,
+        blockchain,
+        worldState,
+        pendingTransactions,
+        createBlockWithGasLimit(5000),
+        this::createReceipt,
+        Wei.ZERO,
+        isCancelled,
+        AddressHelpers.ofValue(1),
+        TestClock.fixed(),
+        Long.MAX_VALUE,
+        Optional.of(Runnable::run),
+        transactionValidator);
+  }
+
   private Transaction createTransaction(final int transactionNumber) {
     return Transaction.builder()
         .gasLimit(100)
@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
 import org.hyperledger.besu.ethereum.core.ExecutionContextTestFixture;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.core.ProcessableBlockHeader;
@@ -95,6 +96,7 @@ public class EthHashBlockCreatorTest {
             gasLimit -> gasLimit,
             solver,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             executionContextTestFixture.getBlockchain().getChainHeadHeader());
 
     // A Hashrate should not exist in the block creator prior to creating a block
@@ -144,6 +146,7 @@ public class EthHashBlockCreatorTest {
             gasLimit -> gasLimit,
             solver,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             executionContextTestFixture.getBlockchain().getChainHeadHeader());
 
     blockCreator.createBlock(BLOCK_1_TIMESTAMP);
@@ -188,6 +191,7 @@ public class EthHashBlockCreatorTest {
             gasLimit -> gasLimit,
             solver,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             executionContextTestFixture.getBlockchain().getChainHeadHeader());
 
     final MutableWorldState mutableWorldState =
@@ -248,6 +252,7 @@ public class EthHashBlockCreatorTest {
             gasLimit -> gasLimit,
             solver,
             Wei.ZERO,
+            MiningParameters.DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT,
             executionContextTestFixture.getBlockchain().getChainHeadHeader());
 
     final MutableWorldState mutableWorldState =
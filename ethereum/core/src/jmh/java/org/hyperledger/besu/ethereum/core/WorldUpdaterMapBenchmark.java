@@ -0,0 +1,104 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.FixedWidthBytesKeyMap;
+import org.hyperledger.besu.util.uint.UInt256;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the maps the world updaters use to track accounts and storage slots, replaying the
+ * write-then-read pattern of a transaction touching {@link #entries} accounts or slots.
+ */
+@State(Scope.Thread)
+public class WorldUpdaterMapBenchmark {
+
+  @Param({"HashMap", "TreeMap", "FixedWidthBytesKeyMap"})
+  public String mapType;
+
+  @Param({"8", "128", "2048"})
+  public int entries;
+
+  private Address[] addresses;
+  private UInt256[] storageKeys;
+  private Supplier<Map<Address, Object>> addressMapFactory;
+  private Supplier<Map<UInt256, UInt256>> storageMapFactory;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(1);
+    addresses = new Address[entries];
+    storageKeys = new UInt256[entries];
+    for (int i = 0; i < entries; i++) {
+      addresses[i] = AddressHelpers.ofValue(random.nextInt(Integer.MAX_VALUE));
+      // Contracts mostly use small slot numbers, with mappings spread over the whole key space
+      final byte[] hashedKey = new byte[Bytes32.SIZE];
+      random.nextBytes(hashedKey);
+      storageKeys[i] = i % 2 == 0 ? UInt256.of(i) : UInt256.wrap(Bytes32.wrap(hashedKey));
+    }
+
+    switch (mapType) {
+      case "HashMap":
+        addressMapFactory = HashMap::new;
+        storageMapFactory = HashMap::new;
+        break;
+      case "TreeMap":
+        addressMapFactory = TreeMap::new;
+        storageMapFactory = TreeMap::new;
+        break;
+      case "FixedWidthBytesKeyMap":
+        addressMapFactory = () -> FixedWidthBytesKeyMap.create(Address.SIZE);
+        storageMapFactory = () -> new FixedWidthBytesKeyMap<>(Bytes32.SIZE, UInt256::getBytes);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown map type " + mapType);
+    }
+  }
+
+  @Benchmark
+  public void trackAccounts(final Blackhole blackhole) {
+    final Map<Address, Object> updatedAccounts = addressMapFactory.get();
+    for (final Address address : addresses) {
+      updatedAccounts.put(address, address);
+    }
+    for (final Address address : addresses) {
+      blackhole.consume(updatedAccounts.get(address));
+    }
+  }
+
+  @Benchmark
+  public void storeAndLoadStorage(final Blackhole blackhole) {
+    final Map<UInt256, UInt256> updatedStorage = storageMapFactory.get();
+    for (final UInt256 key : storageKeys) {
+      updatedStorage.put(key, key);
+    }
+    for (final UInt256 key : storageKeys) {
+      blackhole.consume(updatedStorage.get(key));
+    }
+  }
+}
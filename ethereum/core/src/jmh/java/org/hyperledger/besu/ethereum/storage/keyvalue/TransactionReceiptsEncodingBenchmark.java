@@ -0,0 +1,119 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.AddressHelpers;
+import org.hyperledger.besu.ethereum.core.Log;
+import org.hyperledger.besu.ethereum.core.LogTopic;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the plain RLP and compact storage encodings of the receipts of a block. Blocks are made
+ * of {@link #receipts} token transfers between a small set of contracts and accounts, each emitting
+ * one or two logs. The encoded sizes of such blocks are checked by a unit test of the storage.
+ */
+@State(Scope.Thread)
+public class TransactionReceiptsEncodingBenchmark {
+
+  private static final int CONTRACTS = 20;
+  private static final int ACCOUNTS = 100;
+
+  @Param({"50", "200"})
+  public int receipts;
+
+  private List<TransactionReceipt> blockReceipts;
+  private BytesValue rlpEncoded;
+  private BytesValue compactEncoded;
+
+  @Setup
+  public void prepare() {
+    final Random random = new Random(1);
+    final LogTopic transferEvent = LogTopic.wrap(randomBytes32(random));
+    final LogTopic[] accounts = new LogTopic[ACCOUNTS];
+    for (int i = 0; i < ACCOUNTS; i++) {
+      accounts[i] = LogTopic.wrap(randomBytes32(random));
+    }
+
+    blockReceipts = new ArrayList<>(receipts);
+    for (int i = 0; i < receipts; i++) {
+      final List<Log> logs = new ArrayList<>();
+      for (int j = 0; j <= i % 2; j++) {
+        final Address contract = AddressHelpers.ofValue(random.nextInt(CONTRACTS));
+        final List<LogTopic> topics =
+            List.of(
+                transferEvent,
+                accounts[random.nextInt(ACCOUNTS)],
+                accounts[random.nextInt(ACCOUNTS)]);
+        logs.add(new Log(contract, randomBytes32(random), topics));
+      }
+      blockReceipts.add(new TransactionReceipt(1, 60_000L * (i + 1), logs, Optional.empty()));
+    }
+
+    rlpEncoded =
+        RLP.encode(o -> o.writeList(blockReceipts, TransactionReceipt::writeToWithRevertReason));
+    compactEncoded = CompactTransactionReceipts.encode(blockReceipts);
+  }
+
+  @Benchmark
+  public void encodeRlp(final Blackhole blackhole) {
+    blackhole.consume(
+        RLP.encode(o -> o.writeList(blockReceipts, TransactionReceipt::writeToWithRevertReason)));
+  }
+
+  @Benchmark
+  public void encodeCompact(final Blackhole blackhole) {
+    blackhole.consume(CompactTransactionReceipts.encode(blockReceipts));
+  }
+
+  @Benchmark
+  public void decodeRlp(final Blackhole blackhole) {
+    blackhole.consume(RLP.input(rlpEncoded).readList(TransactionReceipt::readFrom));
+  }
+
+  @Benchmark
+  public void decodeCompact(final Blackhole blackhole) {
+    final List<TransactionReceipt> decoded = CompactTransactionReceipts.decode(compactEncoded);
+    for (final TransactionReceipt receipt : decoded) {
+      blackhole.consume(receipt);
+    }
+  }
+
+  @Benchmark
+  public void decodeCompactSingleReceipt(final Blackhole blackhole) {
+    blackhole.consume(CompactTransactionReceipts.decode(compactEncoded).get(receipts / 2));
+  }
+
+  private static Bytes32 randomBytes32(final Random random) {
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    random.nextBytes(bytes);
+    return Bytes32.wrap(bytes);
+  }
+}
@@ -41,6 +41,25 @@ public interface BlockValidator<C> {
       final HeaderValidationMode headerValidationMode,
       final HeaderValidationMode ommerValidationMode);
 
+  /**
+   * Validates a block using the outputs of having already processed its transactions, rather than
+   * processing them again.
+   *
+   * @param context the protocol context
+   * @param block the block to validate
+   * @param processingOutputs the world state and receipts produced by processing a block that only
+   *     differs from {@code block} in fields that do not affect execution, such as consensus seals
+   * @param headerValidationMode determines the validation to perform on the header
+   * @param ommerValidationMode determines the validation to perform on ommer headers
+   * @return true if the block is valid given the processing outputs
+   */
+  boolean validateProcessedBlock(
+      final ProtocolContext<C> context,
+      final Block block,
+      final BlockProcessingOutputs processingOutputs,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode);
+
   boolean fastBlockValidation(
       final ProtocolContext<C> context,
       final Block block,
@@ -99,6 +99,25 @@ public class MainnetBlockValidator<C> implements BlockValidator<C> {
     return Optional.of(new BlockProcessingOutputs(worldState, receipts));
   }
 
+  @Override
+  public boolean validateProcessedBlock(
+      final ProtocolContext<C> context,
+      final Block block,
+      final BlockProcessingOutputs processingOutputs,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode) {
+    if (!blockHeaderValidator.validateHeader(block.getHeader(), context, headerValidationMode)) {
+      return false;
+    }
+
+    return blockBodyValidator.validateBody(
+        context,
+        block,
+        processingOutputs.receipts,
+        processingOutputs.worldState.rootHash(),
+        ommerValidationMode);
+  }
+
   @Override
   public boolean fastBlockValidation(
       final ProtocolContext<C> context,
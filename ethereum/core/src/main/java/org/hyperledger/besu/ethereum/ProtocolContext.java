@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStatePreimageStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 
+import java.util.Optional;
 import java.util.function.BiFunction;
 
 /**
@@ -55,6 +56,22 @@ public class ProtocolContext<C> {
       final ProtocolSchedule<T> protocolSchedule,
       final MetricsSystem metricsSystem,
       final BiFunction<Blockchain, WorldStateArchive, T> consensusContextFactory) {
+    return init(
+        storageProvider,
+        genesisState,
+        protocolSchedule,
+        metricsSystem,
+        consensusContextFactory,
+        Optional.empty());
+  }
+
+  public static <T> ProtocolContext<T> init(
+      final StorageProvider storageProvider,
+      final GenesisState genesisState,
+      final ProtocolSchedule<T> protocolSchedule,
+      final MetricsSystem metricsSystem,
+      final BiFunction<Blockchain, WorldStateArchive, T> consensusContextFactory,
+      final Optional<Long> transactionIndexDepth) {
     final BlockchainStorage blockchainStorage =
         storageProvider.createBlockchainStorage(protocolSchedule);
     final WorldStateStorage worldStateStorage = storageProvider.createWorldStateStorage();
@@ -62,7 +79,8 @@ public class ProtocolContext<C> {
         storageProvider.createWorldStatePreimageStorage();
 
     final MutableBlockchain blockchain =
-        DefaultBlockchain.createMutable(genesisState.getBlock(), blockchainStorage, metricsSystem);
+        DefaultBlockchain.createMutable(
+            genesisState.getBlock(), blockchainStorage, metricsSystem, transactionIndexDepth);
 
     final WorldStateArchive worldStateArchive =
         new WorldStateArchive(worldStateStorage, preimageStorage);
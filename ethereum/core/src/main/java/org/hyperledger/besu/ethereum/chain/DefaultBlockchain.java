@@ -31,6 +31,7 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.util.InvalidConfigurationException;
 import org.hyperledger.besu.util.Subscribers;
+import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.bytes.BytesValues;
 import org.hyperledger.besu.util.uint.UInt256;
 
@@ -52,6 +53,7 @@ import com.google.common.collect.Lists;
 public class DefaultBlockchain implements MutableBlockchain {
 
   protected final BlockchainStorage blockchainStorage;
+  private final Optional<Long> transactionIndexDepth;
 
   private final Subscribers<BlockAddedObserver> blockAddedObservers = Subscribers.create();
 
@@ -63,12 +65,16 @@ public class DefaultBlockchain implements MutableBlockchain {
   private DefaultBlockchain(
       final Optional<Block> genesisBlock,
       final BlockchainStorage blockchainStorage,
-      final MetricsSystem metricsSystem) {
+      final MetricsSystem metricsSystem,
+      final Optional<Long> transactionIndexDepth) {
     checkNotNull(genesisBlock);
     checkNotNull(blockchainStorage);
     checkNotNull(metricsSystem);
+    checkArgument(
+        transactionIndexDepth.orElse(0L) >= 0, "Transaction index depth must not be negative");
 
     this.blockchainStorage = blockchainStorage;
+    this.transactionIndexDepth = transactionIndexDepth;
     genesisBlock.ifPresent(this::setGenesis);
 
     final Hash chainHead = blockchainStorage.getChainHead().get();
@@ -126,15 +132,40 @@ public class DefaultBlockchain implements MutableBlockchain {
       final Block genesisBlock,
       final BlockchainStorage blockchainStorage,
       final MetricsSystem metricsSystem) {
+    return createMutable(genesisBlock, blockchainStorage, metricsSystem, Optional.empty());
+  }
+
+  /**
+   * Creates a mutable blockchain that only indexes the locations of transactions in the most recent
+   * blocks, for nodes that do not need to look up older transactions by hash.
+   *
+   * <p>The depth is applied as the chain head moves, one block at a time. Opening existing storage
+   * with a smaller depth than it was built with does not remove locations that are already below
+   * the new depth, and opening it with a larger depth does not index blocks that were dropped.
+   *
+   * @param genesisBlock the genesis block
+   * @param blockchainStorage the storage backing the blockchain
+   * @param metricsSystem the metrics system
+   * @param transactionIndexDepth the number of most recent canonical blocks whose transactions are
+   *     indexed, 0 to index none, or empty to index the transactions of all blocks
+   * @return the blockchain
+   */
+  public static MutableBlockchain createMutable(
+      final Block genesisBlock,
+      final BlockchainStorage blockchainStorage,
+      final MetricsSystem metricsSystem,
+      final Optional<Long> transactionIndexDepth) {
     checkNotNull(genesisBlock);
-    return new DefaultBlockchain(Optional.of(genesisBlock), blockchainStorage, metricsSystem);
+    return new DefaultBlockchain(
+        Optional.of(genesisBlock), blockchainStorage, metricsSystem, transactionIndexDepth);
   }
 
   public static Blockchain create(
       final BlockchainStorage blockchainStorage, final MetricsSystem metricsSystem) {
     checkArgument(
         validateStorageNonEmpty(blockchainStorage), "Cannot create Blockchain from empty storage");
-    return new DefaultBlockchain(Optional.empty(), blockchainStorage, metricsSystem);
+    return new DefaultBlockchain(
+        Optional.empty(), blockchainStorage, metricsSystem, Optional.empty());
   }
 
   private static boolean validateStorageNonEmpty(final BlockchainStorage blockchainStorage) {
@@ -186,6 +217,23 @@ public class DefaultBlockchain implements MutableBlockchain {
     return blockchainStorage.getBlockBody(blockHeaderHash);
   }
 
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final long blockNumber) {
+    return blockchainStorage
+        .getBlockHash(blockNumber)
+        .flatMap(blockchainStorage::getBlockHeaderRlp);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockHeaderRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockBodyRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<List<TransactionReceipt>> getTxReceipts(final Hash blockHeaderHash) {
     return blockchainStorage.getTransactionReceipts(blockHeaderHash);
@@ -286,7 +334,7 @@ public class DefaultBlockchain implements MutableBlockchain {
         // This block advances the chain, update the chain head
         updater.putBlockHash(newBlock.getHeader().getNumber(), newBlockHash);
         updater.setChainHead(newBlockHash);
-        indexTransactionForBlock(updater, newBlockHash, newBlock.getBody().getTransactions());
+        indexTransactionsForHeadBlock(updater, newBlock);
         return BlockAddedEvent.createForHeadAdvancement(
             newBlock,
             LogWithMetadata.generate(
@@ -334,7 +382,9 @@ public class DefaultBlockchain implements MutableBlockchain {
 
     // Track transactions and logs to be added and removed
     final Map<Hash, List<Transaction>> newTransactions = new HashMap<>();
+    final Set<Hash> newIndexedBlocks = new HashSet<>();
     final List<Transaction> removedTransactions = new ArrayList<>();
+    final long newChainHeadNumber = newChainHeadWithReceipts.getNumber();
     final List<LogWithMetadata> addedLogsWithMetadata = new ArrayList<>();
     final List<LogWithMetadata> removedLogsWithMetadata = new ArrayList<>();
 
@@ -346,6 +396,9 @@ public class DefaultBlockchain implements MutableBlockchain {
 
       newTransactions.put(
           blockHash, currentNewChainWithReceipts.getBlock().getBody().getTransactions());
+      if (isTransactionIndexed(currentNewChainWithReceipts.getNumber(), newChainHeadNumber)) {
+        newIndexedBlocks.add(blockHash);
+      }
       addAddedLogsWithMetadata(addedLogsWithMetadata, currentNewChainWithReceipts);
 
       currentNewChainWithReceipts = getParentBlockWithReceipts(currentNewChainWithReceipts);
@@ -370,6 +423,9 @@ public class DefaultBlockchain implements MutableBlockchain {
 
       newTransactions.put(
           newBlockHash, currentNewChainWithReceipts.getBlock().getBody().getTransactions());
+      if (isTransactionIndexed(currentNewChainWithReceipts.getNumber(), newChainHeadNumber)) {
+        newIndexedBlocks.add(newBlockHash);
+      }
       removedTransactions.addAll(
           currentOldChainWithReceipts.getBlock().getBody().getTransactions());
       addAddedLogsWithMetadata(addedLogsWithMetadata, currentNewChainWithReceipts);
@@ -380,13 +436,22 @@ public class DefaultBlockchain implements MutableBlockchain {
     }
 
     // Update indexed transactions
+    final List<Transaction> unindexedTransactions = new ArrayList<>(removedTransactions);
     newTransactions.forEach(
         (blockHash, transactionsInBlock) -> {
-          indexTransactionForBlock(updater, blockHash, transactionsInBlock);
-          // Don't remove transactions that are being re-indexed.
+          if (newIndexedBlocks.contains(blockHash)) {
+            indexTransactionForBlock(updater, blockHash, transactionsInBlock);
+            // Don't remove transactions that are being re-indexed.
+            unindexedTransactions.removeAll(transactionsInBlock);
+          }
           removedTransactions.removeAll(transactionsInBlock);
         });
-    clearIndexedTransactionsForBlock(updater, removedTransactions);
+    clearIndexedTransactionsForBlock(updater, unindexedTransactions);
+    updateTransactionIndexRange(
+        updater,
+        oldChainWithReceipts.getNumber(),
+        newChainHeadNumber,
+        currentNewChainWithReceipts.getNumber());
 
     // Update tracked forks
     final Collection<Hash> forks = blockchainStorage.getForkHeads();
@@ -440,6 +505,57 @@ public class DefaultBlockchain implements MutableBlockchain {
     chainHeadOmmerCount = block.getBody().getOmmers().size();
   }
 
+  private void indexTransactionsForHeadBlock(
+      final BlockchainStorage.Updater updater, final Block headBlock) {
+    final long headNumber = headBlock.getHeader().getNumber();
+    if (isTransactionIndexed(headNumber, headNumber)) {
+      indexTransactionForBlock(updater, headBlock.getHash(), headBlock.getBody().getTransactions());
+    }
+    updateTransactionIndexRange(updater, headNumber - 1, headNumber, headNumber - 1);
+  }
+
+  /**
+   * Moves the indexed range of canonical blocks shared by the old and new chains from the range
+   * below the old head to the range below the new head. Blocks above the common ancestor are
+   * indexed or cleared by the caller.
+   */
+  private void updateTransactionIndexRange(
+      final BlockchainStorage.Updater updater,
+      final long oldHeadNumber,
+      final long newHeadNumber,
+      final long commonAncestorNumber) {
+    final long oldFirstIndexed = firstIndexedBlockNumber(oldHeadNumber);
+    final long newFirstIndexed = firstIndexedBlockNumber(newHeadNumber);
+    // Blocks that have fallen out of the indexed range
+    for (long number = oldFirstIndexed;
+        number < newFirstIndexed && number <= commonAncestorNumber;
+        number++) {
+      blockchainStorage
+          .getBlockHash(number)
+          .flatMap(blockchainStorage::getBlockBody)
+          .ifPresent(body -> clearIndexedTransactionsForBlock(updater, body.getTransactions()));
+    }
+    // Blocks that have come back into the indexed range, for example after a rewind
+    for (long number = newFirstIndexed;
+        number < oldFirstIndexed && number <= commonAncestorNumber;
+        number++) {
+      final Optional<Hash> blockHash = blockchainStorage.getBlockHash(number);
+      blockHash
+          .flatMap(blockchainStorage::getBlockBody)
+          .ifPresent(
+              body -> indexTransactionForBlock(updater, blockHash.get(), body.getTransactions()));
+    }
+  }
+
+  private boolean isTransactionIndexed(final long blockNumber, final long headNumber) {
+    return blockNumber >= firstIndexedBlockNumber(headNumber);
+  }
+
+  private long firstIndexedBlockNumber(final long headNumber) {
+    final long depth = transactionIndexDepth.orElse(Long.MAX_VALUE);
+    return Math.max(headNumber - depth + 1, BlockHeader.GENESIS_BLOCK_NUMBER + 1);
+  }
+
   private static void indexTransactionForBlock(
       final BlockchainStorage.Updater updater, final Hash hash, final List<Transaction> txs) {
     for (int i = 0; i < txs.size(); i++) {
@@ -18,16 +18,15 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.FixedWidthBytesKeyMap;
 import org.hyperledger.besu.util.uint.UInt256;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
-import java.util.SortedMap;
 import java.util.TreeMap;
 import javax.annotation.Nullable;
 
@@ -42,8 +41,10 @@ public abstract class AbstractWorldUpdater<W extends WorldView, A extends Accoun
 
   private final W world;
 
-  private final Map<Address, UpdateTrackingAccount<A>> updatedAccounts = new HashMap<>();
-  private final Set<Address> deletedAccounts = new HashSet<>();
+  private final Map<Address, UpdateTrackingAccount<A>> updatedAccounts =
+      FixedWidthBytesKeyMap.create(Address.SIZE);
+  private final Set<Address> deletedAccounts =
+      Collections.newSetFromMap(FixedWidthBytesKeyMap.create(Address.SIZE));
 
   protected AbstractWorldUpdater(final W world) {
     this.world = world;
@@ -173,7 +174,7 @@ public abstract class AbstractWorldUpdater<W extends WorldView, A extends Accoun
 
     // Only contains updated storage entries, but may contains entry with a value of 0 to signify
     // deletion.
-    private final SortedMap<UInt256, UInt256> updatedStorage;
+    private final Map<UInt256, UInt256> updatedStorage;
     private boolean storageWasCleared = false;
 
     UpdateTrackingAccount(final Address address) {
@@ -186,7 +187,7 @@ public abstract class AbstractWorldUpdater<W extends WorldView, A extends Accoun
       this.version = Account.DEFAULT_VERSION;
 
       this.updatedCode = BytesValue.EMPTY;
-      this.updatedStorage = new TreeMap<>();
+      this.updatedStorage = newStorageMap();
     }
 
     UpdateTrackingAccount(final A account) {
@@ -199,7 +200,11 @@ public abstract class AbstractWorldUpdater<W extends WorldView, A extends Accoun
       this.balance = account.getBalance();
       this.version = account.getVersion();
 
-      this.updatedStorage = new TreeMap<>();
+      this.updatedStorage = newStorageMap();
+    }
+
+    private static Map<UInt256, UInt256> newStorageMap() {
+      return new FixedWidthBytesKeyMap<>(Bytes32.SIZE, UInt256::getBytes);
     }
 
     /**
@@ -228,7 +233,7 @@ public abstract class AbstractWorldUpdater<W extends WorldView, A extends Accoun
      *     with a value of 0 to signify deletion.
      */
     @Override
-    public SortedMap<UInt256, UInt256> getUpdatedStorage() {
+    public Map<UInt256, UInt256> getUpdatedStorage() {
       return updatedStorage;
     }
 
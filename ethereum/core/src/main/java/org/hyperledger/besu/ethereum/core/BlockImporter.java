@@ -14,6 +14,7 @@
  */
 package org.hyperledger.besu.ethereum.core;
 
+import org.hyperledger.besu.ethereum.BlockValidator.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 
@@ -60,6 +61,47 @@ public interface BlockImporter<C> {
       HeaderValidationMode headerValidationMode,
       HeaderValidationMode ommerValidationMode);
 
+  /**
+   * Attempts to import a block whose transactions have already been processed, persisting the world
+   * state and receipts that were produced rather than processing the block again.
+   *
+   * @param context The context to attempt to update
+   * @param block The block
+   * @param processingOutputs The outputs of processing a block that only differs from {@code
+   *     block} in fields that do not affect execution, such as consensus seals.
+   * @param headerValidationMode Determines the validation to perform on this header.
+   * @return {@code true} if the block was added somewhere in the blockchain; otherwise {@code
+   *     false}
+   */
+  default boolean importProcessedBlock(
+      final ProtocolContext<C> context,
+      final Block block,
+      final BlockProcessingOutputs processingOutputs,
+      final HeaderValidationMode headerValidationMode) {
+    return importProcessedBlock(
+        context, block, processingOutputs, headerValidationMode, HeaderValidationMode.FULL);
+  }
+
+  /**
+   * Attempts to import a block whose transactions have already been processed, persisting the world
+   * state and receipts that were produced rather than processing the block again.
+   *
+   * @param context The context to attempt to update
+   * @param block The block
+   * @param processingOutputs The outputs of processing a block that only differs from {@code
+   *     block} in fields that do not affect execution, such as consensus seals.
+   * @param headerValidationMode Determines the validation to perform on this header.
+   * @param ommerValidationMode Determines the validation to perform on ommer headers.
+   * @return {@code true} if the block was added somewhere in the blockchain; otherwise {@code
+   *     false}
+   */
+  boolean importProcessedBlock(
+      ProtocolContext<C> context,
+      Block block,
+      BlockProcessingOutputs processingOutputs,
+      HeaderValidationMode headerValidationMode,
+      HeaderValidationMode ommerValidationMode);
+
   /**
    * Attempts to import the given block. Uses "fast" validation. Performs light validation using the
    * block's receipts rather than processing all transactions and fully validating world state.
@@ -0,0 +1,81 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A view over an RLP encoded {@link BlockBody} that only decodes it when it is first needed.
+ *
+ * <p>The original encoding is kept, so the body can be matched against a header by its
+ * transactions root and ommers hash, or sent on to other peers, without decoding or re-encoding any
+ * transactions. The encoding is a slice of the buffer it was read from, so views should not be held
+ * longer than the message they were read from.
+ */
+public class LazyBlockBody {
+
+  private final BytesValue encoded;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+  private volatile BlockBody body;
+
+  public LazyBlockBody(final BytesValue encoded, final BlockHeaderFunctions blockHeaderFunctions) {
+    this.encoded = encoded;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+  }
+
+  public static LazyBlockBody readFrom(
+      final RLPInput input, final BlockHeaderFunctions blockHeaderFunctions) {
+    return new LazyBlockBody(input.readAsRlp().raw(), blockHeaderFunctions);
+  }
+
+  /** @return The RLP encoding of the body, as it was read. */
+  public BytesValue getEncoded() {
+    return encoded;
+  }
+
+  /** @return The transactions root of the body, computed from the encoded transactions. */
+  public Hash getTransactionsRoot() {
+    final RLPInput input = RLP.input(encoded);
+    input.enterList();
+    input.enterList();
+    final List<BytesValue> encodedTransactions = new ArrayList<>();
+    while (!input.isEndOfCurrentList()) {
+      encodedTransactions.add(input.readAsRlp().raw());
+    }
+    return BodyValidation.encodedTransactionsRoot(encodedTransactions);
+  }
+
+  /** @return The ommers hash of the body, computed from the encoded ommers. */
+  public Hash getOmmersHash() {
+    final RLPInput input = RLP.input(encoded);
+    input.enterList();
+    input.skipNext();
+    return Hash.hash(input.readAsRlp().raw());
+  }
+
+  /** @return The decoded body, which is decoded on the first call. */
+  public BlockBody getBody() {
+    if (body == null) {
+      body = BlockBody.readFrom(RLP.input(encoded), blockHeaderFunctions);
+    }
+    return body;
+  }
+}
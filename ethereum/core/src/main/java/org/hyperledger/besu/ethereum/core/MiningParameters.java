@@ -16,11 +16,14 @@ package org.hyperledger.besu.ethereum.core;
 
 import org.hyperledger.besu.util.bytes.BytesValue;
 
+import java.time.Duration;
 import java.util.Objects;
 import java.util.Optional;
 
 public class MiningParameters {
 
+  public static final Duration DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT = Duration.ofSeconds(1);
+
   private final Optional<Address> coinbase;
   private final Wei minTransactionGasPrice;
   private final BytesValue extraData;
@@ -29,6 +32,7 @@ public class MiningParameters {
   private final String stratumNetworkInterface;
   private final int stratumPort;
   private final String stratumExtranonce;
+  private final Duration transactionSelectionTimeLimit;
 
   public MiningParameters(
       final Address coinbase,
@@ -47,6 +51,28 @@ public class MiningParameters {
       final String stratumNetworkInterface,
       final int stratumPort,
       final String stratumExtranonce) {
+    this(
+        coinbase,
+        minTransactionGasPrice,
+        extraData,
+        enabled,
+        stratumMiningEnabled,
+        stratumNetworkInterface,
+        stratumPort,
+        stratumExtranonce,
+        DEFAULT_TRANSACTION_SELECTION_TIME_LIMIT);
+  }
+
+  public MiningParameters(
+      final Address coinbase,
+      final Wei minTransactionGasPrice,
+      final BytesValue extraData,
+      final boolean enabled,
+      final boolean stratumMiningEnabled,
+      final String stratumNetworkInterface,
+      final int stratumPort,
+      final String stratumExtranonce,
+      final Duration transactionSelectionTimeLimit) {
     this.coinbase = Optional.ofNullable(coinbase);
     this.minTransactionGasPrice = minTransactionGasPrice;
     this.extraData = extraData;
@@ -55,6 +81,7 @@ public class MiningParameters {
     this.stratumNetworkInterface = stratumNetworkInterface;
     this.stratumPort = stratumPort;
     this.stratumExtranonce = stratumExtranonce;
+    this.transactionSelectionTimeLimit = transactionSelectionTimeLimit;
   }
 
   public Optional<Address> getCoinbase() {
@@ -89,6 +116,17 @@ public class MiningParameters {
     return stratumExtranonce;
   }
 
+  /**
+   * How long after a block's timestamp, or the start of creating the block if that is later,
+   * pending transactions may still be selected for it. Up to a quarter of this may be spent
+   * validating candidate transactions in parallel before they are executed.
+   *
+   * @return the transaction selection time limit
+   */
+  public Duration getTransactionSelectionTimeLimit() {
+    return transactionSelectionTimeLimit;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) return true;
@@ -101,7 +139,8 @@ public class MiningParameters {
         && Objects.equals(enabled, that.enabled)
         && Objects.equals(stratumMiningEnabled, that.stratumMiningEnabled)
         && Objects.equals(stratumNetworkInterface, that.stratumNetworkInterface)
-        && Objects.equals(stratumExtranonce, that.stratumExtranonce);
+        && Objects.equals(stratumExtranonce, that.stratumExtranonce)
+        && Objects.equals(transactionSelectionTimeLimit, that.transactionSelectionTimeLimit);
   }
 
   @Override
@@ -114,7 +153,8 @@ public class MiningParameters {
         stratumMiningEnabled,
         stratumNetworkInterface,
         stratumPort,
-        stratumExtranonce);
+        stratumExtranonce,
+        transactionSelectionTimeLimit);
   }
 
   @Override
@@ -138,6 +178,8 @@ public class MiningParameters {
         + ", stratumExtranonce='"
         + stratumExtranonce
         + '\''
+        + ", transactionSelectionTimeLimit="
+        + transactionSelectionTimeLimit
         + '}';
   }
 }
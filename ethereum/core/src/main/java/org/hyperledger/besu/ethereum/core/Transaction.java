@@ -75,11 +75,18 @@ public class Transaction implements org.hyperledger.besu.plugin.data.Transaction
   // Caches the hash used to uniquely identify the transaction.
   protected volatile Hash hash;
 
+  // The encoding this transaction was decoded from, kept until the hash is first requested so the
+  // hash can be computed from it without re-encoding the transaction.
+  private volatile BytesValue rlpEncoding;
+
   public static Builder builder() {
     return new Builder();
   }
 
-  public static Transaction readFrom(final RLPInput input) throws RLPException {
+  public static Transaction readFrom(final RLPInput rlpInput) throws RLPException {
+    // Decode from a standalone view of the transaction so its original encoding can be hashed
+    // directly, rather than re-encoded, the first time the hash is requested.
+    final RLPInput input = rlpInput.readAsRlp();
     input.enterList();
 
     final Builder builder =
@@ -110,7 +117,9 @@ public class Transaction implements org.hyperledger.besu.plugin.data.Transaction
     input.leaveList();
 
     chainId.ifPresent(builder::chainId);
-    return builder.signature(signature).build();
+    final Transaction transaction = builder.signature(signature).build();
+    transaction.rlpEncoding = input.raw();
+    return transaction;
   }
 
   /**
@@ -339,8 +348,10 @@ public class Transaction implements org.hyperledger.besu.plugin.data.Transaction
   @Override
   public Hash getHash() {
     if (hash == null) {
-      final BytesValue rlp = RLP.encode(this::writeTo);
-      hash = Hash.hash(rlp);
+      final BytesValue rlp = rlpEncoding;
+      hash = Hash.hash(rlp != null ? rlp : RLP.encode(this::writeTo));
+      // Release the encoding, which may be a view over a much larger message
+      rlpEncoding = null;
     }
     return hash;
   }
@@ -20,6 +20,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 import org.apache.logging.log4j.LogManager;
@@ -30,9 +31,28 @@ public class BlockHeaderValidator<C> {
   private static final Logger LOG = LogManager.getLogger();
 
   private final List<Rule<C>> rules;
+  private final Consumer<BlockHeader> headerPreparation;
 
-  private BlockHeaderValidator(final List<Rule<C>> rules) {
+  private BlockHeaderValidator(
+      final List<Rule<C>> rules, final Consumer<BlockHeader> headerPreparation) {
     this.rules = rules;
+    this.headerPreparation = headerPreparation;
+  }
+
+  /**
+   * Performs the expensive work of validating a header which doesn't depend on its parent or the
+   * chain, such as recovering the signer of a seal. Callers about to validate a sequence of headers
+   * in order can use this to do that work for all of them in parallel first. Failures are ignored
+   * here as they are reported when the header is validated.
+   *
+   * @param header the header that is going to be validated
+   */
+  public void prepareHeader(final BlockHeader header) {
+    try {
+      headerPreparation.accept(header);
+    } catch (final RuntimeException e) {
+      LOG.trace("Failed to prepare block header {} for validation", header.getNumber(), e);
+    }
   }
 
   public boolean validateHeader(
@@ -131,6 +151,7 @@ public class BlockHeaderValidator<C> {
 
   public static class Builder<C> {
     private final List<Rule<C>> rules = new ArrayList<>();
+    private Consumer<BlockHeader> headerPreparation = header -> {};
 
     public Builder<C> addRule(final AttachedBlockHeaderValidationRule<C> rule) {
       this.rules.add(new Rule<>(false, rule, rule.includeInLightValidation()));
@@ -146,8 +167,13 @@ public class BlockHeaderValidator<C> {
       return this;
     }
 
+    public Builder<C> prepareHeadersWith(final Consumer<BlockHeader> headerPreparation) {
+      this.headerPreparation = headerPreparation;
+      return this;
+    }
+
     public BlockHeaderValidator<C> build() {
-      return new BlockHeaderValidator<>(rules);
+      return new BlockHeaderValidator<>(rules, headerPreparation);
     }
   }
 }
@@ -61,6 +61,23 @@ public final class BodyValidation {
     return Hash.wrap(trie.getRootHash());
   }
 
+  /**
+   * Generates the transaction root for a list of transactions that are already RLP encoded, without
+   * decoding them.
+   *
+   * @param encodedTransactions the RLP encoded transactions
+   * @return the transaction root
+   */
+  public static Hash encodedTransactionsRoot(final List<BytesValue> encodedTransactions) {
+    final MerklePatriciaTrie<BytesValue, BytesValue> trie = trie();
+
+    for (int i = 0; i < encodedTransactions.size(); ++i) {
+      trie.put(indexKey(i), encodedTransactions.get(i));
+    }
+
+    return Hash.wrap(trie.getRootHash());
+  }
+
   /**
    * Generates the receipt root for a list of receipts
    *
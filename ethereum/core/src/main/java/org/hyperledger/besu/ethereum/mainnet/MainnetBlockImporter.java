@@ -51,6 +51,26 @@ public class MainnetBlockImporter<C> implements BlockImporter<C> {
     return outputs.isPresent();
   }
 
+  @Override
+  public synchronized boolean importProcessedBlock(
+      final ProtocolContext<C> context,
+      final Block block,
+      final BlockValidator.BlockProcessingOutputs processingOutputs,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode) {
+    if (context.getBlockchain().contains(block.getHash())) {
+      return true;
+    }
+
+    if (!blockValidator.validateProcessedBlock(
+        context, block, processingOutputs, headerValidationMode, ommerValidationMode)) {
+      return false;
+    }
+
+    persistState(processingOutputs, block, context);
+    return true;
+  }
+
   private void persistState(
       final BlockValidator.BlockProcessingOutputs processingOutputs,
       final Block block,
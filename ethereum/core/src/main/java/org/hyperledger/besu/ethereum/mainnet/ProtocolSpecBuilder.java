@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.core.BlockImporter;
 import org.hyperledger.besu.ethereum.core.PrivacyParameters;
 import org.hyperledger.besu.ethereum.core.Wei;
 import org.hyperledger.besu.ethereum.mainnet.precompiles.privacy.PrivacyPrecompiledContract;
+import org.hyperledger.besu.ethereum.privacy.PrivacyBlockProcessor;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionProcessor;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionValidator;
 import org.hyperledger.besu.ethereum.vm.EVM;
@@ -292,11 +293,8 @@ public class ProtocolSpecBuilder<T> {
               contractCreationProcessor,
               messageCallProcessor,
               privateTransactionValidator);
-      Address address = Address.privacyPrecompiled(privacyParameters.getPrivacyAddress());
-      PrivacyPrecompiledContract privacyPrecompiledContract =
-          (PrivacyPrecompiledContract)
-              precompileContractRegistry.get(address, Account.DEFAULT_VERSION);
-      privacyPrecompiledContract.setPrivateTransactionProcessor(privateTransactionProcessor);
+      getPrivacyPrecompiledContract(precompileContractRegistry)
+          .setPrivateTransactionProcessor(privateTransactionProcessor);
     }
 
     final BlockHeaderValidator<T> blockHeaderValidator =
@@ -305,13 +303,20 @@ public class ProtocolSpecBuilder<T> {
         ommerHeaderValidatorBuilder.apply(difficultyCalculator);
     final BlockBodyValidator<T> blockBodyValidator =
         blockBodyValidatorBuilder.apply(protocolSchedule);
-    final BlockProcessor blockProcessor =
+    BlockProcessor blockProcessor =
         blockProcessorBuilder.apply(
             transactionProcessor,
             transactionReceiptFactory,
             blockReward,
             miningBeneficiaryCalculator,
             skipZeroBlockRewards);
+    if (privacyParameters.isEnabled()) {
+      blockProcessor =
+          new PrivacyBlockProcessor(
+              blockProcessor,
+              getPrivacyPrecompiledContract(precompileContractRegistry),
+              Address.privacyPrecompiled(privacyParameters.getPrivacyAddress()));
+    }
     final BlockValidator<T> blockValidator =
         blockValidatorBuilder.apply(blockHeaderValidator, blockBodyValidator, blockProcessor);
     final BlockImporter<T> blockImporter = blockImporterBuilder.apply(blockValidator);
@@ -336,6 +341,13 @@ public class ProtocolSpecBuilder<T> {
         gasCalculator);
   }
 
+  private PrivacyPrecompiledContract getPrivacyPrecompiledContract(
+      final PrecompileContractRegistry precompileContractRegistry) {
+    final Address address = Address.privacyPrecompiled(privacyParameters.getPrivacyAddress());
+    return (PrivacyPrecompiledContract)
+        precompileContractRegistry.get(address, Account.DEFAULT_VERSION);
+  }
+
   public interface TransactionProcessorBuilder {
     TransactionProcessor apply(
         GasCalculator gasCalculator,
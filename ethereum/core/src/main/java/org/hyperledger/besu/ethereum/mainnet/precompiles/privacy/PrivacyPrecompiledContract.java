@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.mainnet.precompiles.privacy;
 import static org.hyperledger.besu.crypto.Hash.keccak256;
 
 import org.hyperledger.besu.enclave.Enclave;
+import org.hyperledger.besu.enclave.EnclaveException;
 import org.hyperledger.besu.enclave.types.ReceiveRequest;
 import org.hyperledger.besu.enclave.types.ReceiveResponse;
 import org.hyperledger.besu.ethereum.core.Gas;
@@ -29,6 +30,7 @@ import org.hyperledger.besu.ethereum.debug.TraceOptions;
 import org.hyperledger.besu.ethereum.mainnet.AbstractPrecompiledContract;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransaction;
 import org.hyperledger.besu.ethereum.privacy.PrivateTransactionProcessor;
+import org.hyperledger.besu.ethereum.privacy.storage.PrivateStateSession;
 import org.hyperledger.besu.ethereum.privacy.storage.PrivateStateStorage;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
@@ -41,16 +43,32 @@ import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.bytes.BytesValues;
 
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
+  private static final int RECEIVED_PAYLOAD_CACHE_SIZE = 1024;
+
   private final Enclave enclave;
   private final WorldStateArchive privateWorldStateArchive;
   private final PrivateStateStorage privateStateStorage;
   private PrivateTransactionProcessor privateTransactionProcessor;
   private static final Hash EMPTY_ROOT_HASH = Hash.wrap(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
 
+  // Responses from the enclave, keyed by enclave key, so that re-processing or tracing a block
+  // does not fetch its private transactions again.
+  private final Cache<String, CompletableFuture<ReceiveResponse>> receivedPayloads =
+      CacheBuilder.newBuilder().maximumSize(RECEIVED_PAYLOAD_CACHE_SIZE).build();
+  // The private state session of the block being processed on each thread, if any.
+  private final ThreadLocal<PrivateStateSession> activeSession = new ThreadLocal<>();
+
   private static final Logger LOG = LogManager.getLogger();
 
   public PrivacyPrecompiledContract(
@@ -78,6 +96,59 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
     this.privateTransactionProcessor = privateTransactionProcessor;
   }
 
+  /**
+   * Starts fetching the private transactions referenced by the given privacy marker transaction
+   * payloads from the enclave concurrently, so that they are available when the marker
+   * transactions are processed.
+   *
+   * @param enclaveKeys the payloads of privacy marker transactions
+   */
+  public void prefetchPayloads(final Collection<BytesValue> enclaveKeys) {
+    for (final BytesValue enclaveKey : enclaveKeys) {
+      final String key = BytesValues.asBase64String(enclaveKey);
+      if (receivedPayloads.getIfPresent(key) == null) {
+        final CompletableFuture<ReceiveResponse> response =
+            enclave.receiveAsync(new ReceiveRequest(key));
+        receivedPayloads.put(key, response);
+        response.whenComplete(
+            (result, error) -> {
+              // Only keep failures that the enclave reported, so requests that couldn't reach it
+              // are tried again.
+              if (error != null && !isEnclaveError(error)) {
+                receivedPayloads.asMap().remove(key, response);
+              }
+            });
+      }
+    }
+  }
+
+  /**
+   * Starts a private state session on the calling thread. Until the session is committed or
+   * discarded, private transactions processed on this thread while persisting state share the
+   * private world state of each privacy group in memory, and nothing is written to storage.
+   */
+  public void startPrivateStateSession() {
+    activeSession.set(new PrivateStateSession(privateWorldStateArchive, privateStateStorage));
+  }
+
+  /** Persists the private states and transaction results of the calling thread's session. */
+  public void commitPrivateStateSession() {
+    final PrivateStateSession session = activeSession.get();
+    activeSession.remove();
+    if (session != null) {
+      session.commit();
+    }
+  }
+
+  /** Discards the calling thread's session without writing anything to storage. */
+  public void discardPrivateStateSession() {
+    final PrivateStateSession session = activeSession.get();
+    activeSession.remove();
+    if (session != null) {
+      session.rollback();
+    }
+  }
+
   @Override
   public Gas gasRequirement(final BytesValue input) {
     return Gas.of(40_000L); // Not sure
@@ -86,11 +157,10 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
   @Override
   public BytesValue compute(final BytesValue input, final MessageFrame messageFrame) {
     final String key = BytesValues.asBase64String(input);
-    final ReceiveRequest receiveRequest = new ReceiveRequest(key);
 
     final ReceiveResponse receiveResponse;
     try {
-      receiveResponse = enclave.receive(receiveRequest);
+      receiveResponse = receive(key);
     } catch (final Exception e) {
       LOG.error("Enclave probably does not have private transaction with key {}.", key, e);
       return BytesValue.EMPTY;
@@ -105,12 +175,15 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
 
     final BytesValue privacyGroupId = BytesValues.fromBase64(receiveResponse.getPrivacyGroupId());
 
-    // get the last world state root hash - or create a new one
-    final Hash lastRootHash =
-        privateStateStorage.getLatestStateRoot(privacyGroupId).orElse(EMPTY_ROOT_HASH);
+    final Optional<PrivateStateSession> session =
+        messageFrame.isPersistingState()
+            ? Optional.ofNullable(activeSession.get())
+            : Optional.empty();
 
     final MutableWorldState disposablePrivateState =
-        privateWorldStateArchive.getMutable(lastRootHash).get();
+        session
+            .map(s -> s.getWorldState(privacyGroupId))
+            .orElseGet(() -> getLatestPrivateState(privacyGroupId));
 
     final WorldUpdater privateWorldStateUpdater = disposablePrivateState.updater();
     final PrivateTransactionProcessor.Result result =
@@ -138,10 +211,16 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
           disposablePrivateState.rootHash(),
           privacyGroupId);
       privateWorldStateUpdater.commit();
-      disposablePrivateState.persist();
 
-      final PrivateStateStorage.Updater privateStateUpdater = privateStateStorage.updater();
-      privateStateUpdater.putLatestStateRoot(privacyGroupId, disposablePrivateState.rootHash());
+      final PrivateStateStorage.Updater privateStateUpdater;
+      if (session.isPresent()) {
+        // The private state and its root are written when the session is committed.
+        privateStateUpdater = session.get().getStorageUpdater();
+      } else {
+        disposablePrivateState.persist();
+        privateStateUpdater = privateStateStorage.updater();
+        privateStateUpdater.putLatestStateRoot(privacyGroupId, disposablePrivateState.rootHash());
+      }
 
       final Bytes32 txHash = keccak256(RLP.encode(privateTransaction::writeTo));
       final LogSeries logs = result.getLogs();
@@ -149,9 +228,43 @@ public class PrivacyPrecompiledContract extends AbstractPrecompiledContract {
         privateStateUpdater.putTransactionLogs(txHash, result.getLogs());
       }
       privateStateUpdater.putTransactionResult(txHash, result.getOutput());
-      privateStateUpdater.commit();
+      if (session.isEmpty()) {
+        privateStateUpdater.commit();
+      }
     }
 
     return result.getOutput();
   }
+
+  private MutableWorldState getLatestPrivateState(final BytesValue privacyGroupId) {
+    // get the last world state root hash - or create a new one
+    final Hash lastRootHash =
+        privateStateStorage.getLatestStateRoot(privacyGroupId).orElse(EMPTY_ROOT_HASH);
+    return privateWorldStateArchive.getMutable(lastRootHash).get();
+  }
+
+  private ReceiveResponse receive(final String key) {
+    final CompletableFuture<ReceiveResponse> prefetched = receivedPayloads.getIfPresent(key);
+    if (prefetched != null) {
+      try {
+        return prefetched.join();
+      } catch (final CompletionException e) {
+        if (isEnclaveError(e)) {
+          // The enclave answered, for example because this node isn't a party to the transaction,
+          // so asking again would get the same answer.
+          throw (EnclaveException) e.getCause();
+        }
+        // Fall through and retry the request.
+        LOG.debug("Prefetching private transaction with key {} failed.", key, e);
+      }
+    }
+    final ReceiveResponse response = enclave.receive(new ReceiveRequest(key));
+    receivedPayloads.put(key, CompletableFuture.completedFuture(response));
+    return response;
+  }
+
+  private static boolean isEnclaveError(final Throwable error) {
+    final Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+    return cause instanceof EnclaveException;
+  }
 }
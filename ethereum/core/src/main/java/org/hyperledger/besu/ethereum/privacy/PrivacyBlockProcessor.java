@@ -0,0 +1,83 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.privacy;
+
+import static java.util.stream.Collectors.toList;
+
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.BlockProcessor;
+import org.hyperledger.besu.ethereum.mainnet.precompiles.privacy.PrivacyPrecompiledContract;
+
+import java.util.List;
+
+/**
+ * Processes blocks with the given {@link BlockProcessor}, after first asking the enclave for the
+ * private transactions of every privacy marker transaction in the block so that they are fetched
+ * concurrently rather than one at a time as each marker transaction is executed.
+ *
+ * <p>The private states touched by the block are kept in memory while it is processed, and written
+ * in one batch only if the block is processed successfully.
+ */
+public class PrivacyBlockProcessor implements BlockProcessor {
+  private final BlockProcessor blockProcessor;
+  private final PrivacyPrecompiledContract privacyPrecompiledContract;
+  private final Address privacyPrecompileAddress;
+
+  public PrivacyBlockProcessor(
+      final BlockProcessor blockProcessor,
+      final PrivacyPrecompiledContract privacyPrecompiledContract,
+      final Address privacyPrecompileAddress) {
+    this.blockProcessor = blockProcessor;
+    this.privacyPrecompiledContract = privacyPrecompiledContract;
+    this.privacyPrecompileAddress = privacyPrecompileAddress;
+  }
+
+  @Override
+  public Result processBlock(
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final BlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final List<BlockHeader> ommers) {
+    privacyPrecompiledContract.prefetchPayloads(
+        transactions.stream()
+            .filter(this::isPrivacyMarkerTransaction)
+            .map(Transaction::getPayload)
+            .collect(toList()));
+
+    privacyPrecompiledContract.startPrivateStateSession();
+    boolean successful = false;
+    try {
+      final Result result =
+          blockProcessor.processBlock(blockchain, worldState, blockHeader, transactions, ommers);
+      successful = result.isSuccessful();
+      return result;
+    } finally {
+      if (successful) {
+        privacyPrecompiledContract.commitPrivateStateSession();
+      } else {
+        privacyPrecompiledContract.discardPrivateStateSession();
+      }
+    }
+  }
+
+  private boolean isPrivacyMarkerTransaction(final Transaction transaction) {
+    return transaction.getTo().filter(privacyPrecompileAddress::equals).isPresent();
+  }
+}
@@ -27,9 +27,14 @@ import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.bytes.BytesValues;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 public class PrivateStateKeyValueStorage implements PrivateStateStorage {
 
   @Deprecated
@@ -38,8 +43,12 @@ public class PrivateStateKeyValueStorage implements PrivateStateStorage {
   private static final BytesValue LOGS_KEY_SUFFIX = BytesValue.of("LOGS".getBytes(UTF_8));
   private static final BytesValue OUTPUT_KEY_SUFFIX = BytesValue.of("OUTPUT".getBytes(UTF_8));
   private static final BytesValue METADATA_KEY_SUFFIX = BytesValue.of("METADATA".getBytes(UTF_8));
+  private static final int LATEST_STATE_ROOT_CACHE_SIZE = 1024;
 
   private final KeyValueStorage keyValueStorage;
+  // The latest state roots of recently used privacy groups, updated as roots are committed.
+  private final Cache<BytesValue, Hash> latestStateRoots =
+      CacheBuilder.newBuilder().maximumSize(LATEST_STATE_ROOT_CACHE_SIZE).build();
 
   public PrivateStateKeyValueStorage(final KeyValueStorage keyValueStorage) {
     this.keyValueStorage = keyValueStorage;
@@ -47,13 +56,17 @@ public class PrivateStateKeyValueStorage implements PrivateStateStorage {
 
   @Override
   public Optional<Hash> getLatestStateRoot(final BytesValue privacyId) {
-    final byte[] id = privacyId.getArrayUnsafe();
-
-    if (keyValueStorage.get(id).isPresent()) {
-      return Optional.of(Hash.wrap(Bytes32.wrap(keyValueStorage.get(id).get())));
-    } else {
-      return Optional.empty();
+    final Hash cachedStateRoot = latestStateRoots.getIfPresent(privacyId);
+    if (cachedStateRoot != null) {
+      return Optional.of(cachedStateRoot);
     }
+
+    final Optional<Hash> latestStateRoot =
+        keyValueStorage
+            .get(privacyId.getArrayUnsafe())
+            .map(value -> Hash.wrap(Bytes32.wrap(value)));
+    latestStateRoot.ifPresent(stateRoot -> latestStateRoots.put(privacyId, stateRoot));
+    return latestStateRoot;
   }
 
   @Override
@@ -101,20 +114,27 @@ public class PrivateStateKeyValueStorage implements PrivateStateStorage {
 
   @Override
   public PrivateStateStorage.Updater updater() {
-    return new PrivateStateKeyValueStorage.Updater(keyValueStorage.startTransaction());
+    return new PrivateStateKeyValueStorage.Updater(
+        keyValueStorage.startTransaction(), latestStateRoots);
   }
 
   public static class Updater implements PrivateStateStorage.Updater {
 
     private final KeyValueStorageTransaction transaction;
+    private final Cache<BytesValue, Hash> latestStateRoots;
+    private final Map<BytesValue, Hash> updatedStateRoots = new HashMap<>();
 
-    private Updater(final KeyValueStorageTransaction transaction) {
+    private Updater(
+        final KeyValueStorageTransaction transaction,
+        final Cache<BytesValue, Hash> latestStateRoots) {
       this.transaction = transaction;
+      this.latestStateRoots = latestStateRoots;
     }
 
     @Override
     public Updater putLatestStateRoot(final BytesValue privacyId, final Hash privateStateHash) {
       transaction.put(privacyId.getArrayUnsafe(), privateStateHash.extractArray());
+      updatedStateRoots.put(privacyId, privateStateHash);
       return this;
     }
 
@@ -145,6 +165,7 @@ public class PrivateStateKeyValueStorage implements PrivateStateStorage {
     @Override
     public void commit() {
       transaction.commit();
+      latestStateRoots.putAll(updatedStateRoots);
     }
 
     @Override
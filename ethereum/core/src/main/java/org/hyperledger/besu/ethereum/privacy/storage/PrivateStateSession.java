@@ -0,0 +1,88 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.privacy.storage;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Holds the private world states of the privacy groups touched while processing a block, so that
+ * successive private transactions for the same group build on the same in-memory state rather than
+ * each loading and persisting it again. Nothing is written to storage until {@link #commit()}.
+ */
+public class PrivateStateSession {
+  private static final Hash EMPTY_ROOT_HASH = Hash.wrap(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
+
+  private final WorldStateArchive privateWorldStateArchive;
+  private final PrivateStateStorage privateStateStorage;
+  private final Map<BytesValue, MutableWorldState> worldStates = new LinkedHashMap<>();
+  private PrivateStateStorage.Updater storageUpdater;
+
+  public PrivateStateSession(
+      final WorldStateArchive privateWorldStateArchive,
+      final PrivateStateStorage privateStateStorage) {
+    this.privateWorldStateArchive = privateWorldStateArchive;
+    this.privateStateStorage = privateStateStorage;
+  }
+
+  public MutableWorldState getWorldState(final BytesValue privacyGroupId) {
+    return worldStates.computeIfAbsent(
+        privacyGroupId,
+        id -> {
+          final Hash latestRootHash =
+              privateStateStorage.getLatestStateRoot(id).orElse(EMPTY_ROOT_HASH);
+          return privateWorldStateArchive.getMutable(latestRootHash).get();
+        });
+  }
+
+  /**
+   * Returns the updater through which private transaction results are written. Its changes are
+   * committed, together with the latest state root of every touched privacy group, by {@link
+   * #commit()}.
+   *
+   * @return the updater shared by all private transactions in the session
+   */
+  public PrivateStateStorage.Updater getStorageUpdater() {
+    if (storageUpdater == null) {
+      storageUpdater = privateStateStorage.updater();
+    }
+    return storageUpdater;
+  }
+
+  public void commit() {
+    if (worldStates.isEmpty() && storageUpdater == null) {
+      return;
+    }
+    final PrivateStateStorage.Updater updater = getStorageUpdater();
+    worldStates.forEach(
+        (privacyGroupId, worldState) -> {
+          worldState.persist();
+          updater.putLatestStateRoot(privacyGroupId, worldState.rootHash());
+        });
+    updater.commit();
+  }
+
+  public void rollback() {
+    if (storageUpdater != null) {
+      storageUpdater.rollback();
+    }
+  }
+}
@@ -26,7 +26,10 @@ import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.uint.UInt256;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -43,31 +46,53 @@ public class WorldStateProofProvider {
       final Hash worldStateRoot,
       final Address accountAddress,
       final List<UInt256> accountStorageKeys) {
+    final Map<Address, WorldStateProof> proofs =
+        getAccountProofs(
+            worldStateRoot, Collections.singletonMap(accountAddress, accountStorageKeys));
+    return Optional.ofNullable(proofs.get(accountAddress));
+  }
 
+  /**
+   * Generates proofs for several accounts, and for storage keys within each of them, against the
+   * same world state. A single trie instance is walked for all accounts and for all accounts
+   * sharing a storage root, so trie nodes on shared paths are only loaded from storage once.
+   *
+   * @param worldStateRoot The root of the world state to prove against.
+   * @param accountStorageKeys The storage keys to prove, keyed by account address.
+   * @return The proofs of the requested accounts which exist in the world state, keyed by address.
+   *     Empty if the world state is not available.
+   */
+  public Map<Address, WorldStateProof> getAccountProofs(
+      final Hash worldStateRoot, final Map<Address, List<UInt256>> accountStorageKeys) {
     if (!worldStateStorage.isWorldStateAvailable(worldStateRoot)) {
-      return Optional.empty();
-    } else {
-      final Hash addressHash = Hash.hash(accountAddress);
-      final Proof<BytesValue> accountProof =
-          newAccountStateTrie(worldStateRoot).getValueWithProof(addressHash);
+      return Collections.emptyMap();
+    }
 
-      return accountProof
-          .getValue()
-          .map(RLP::input)
-          .map(StateTrieAccountValue::readFrom)
-          .map(
-              account -> {
-                final SortedMap<UInt256, Proof<BytesValue>> storageProofs =
-                    getStorageProofs(account, accountStorageKeys);
-                return new WorldStateProof(account, accountProof, storageProofs);
-              });
+    final MerklePatriciaTrie<Bytes32, BytesValue> accountStateTrie =
+        newAccountStateTrie(worldStateRoot);
+    final Map<Bytes32, MerklePatriciaTrie<Bytes32, BytesValue>> storageTries = new HashMap<>();
+    final Map<Address, WorldStateProof> proofs = new HashMap<>();
+    for (final Map.Entry<Address, List<UInt256>> entry : accountStorageKeys.entrySet()) {
+      final Proof<BytesValue> accountProof =
+          accountStateTrie.getValueWithProof(Hash.hash(entry.getKey()));
+      final Optional<StateTrieAccountValue> maybeAccount =
+          accountProof.getValue().map(RLP::input).map(StateTrieAccountValue::readFrom);
+      if (maybeAccount.isPresent()) {
+        final StateTrieAccountValue account = maybeAccount.get();
+        final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
+            storageTries.computeIfAbsent(account.getStorageRoot(), this::newAccountStorageTrie);
+        proofs.put(
+            entry.getKey(),
+            new WorldStateProof(
+                account, accountProof, getStorageProofs(storageTrie, entry.getValue())));
+      }
     }
+    return proofs;
   }
 
   private SortedMap<UInt256, Proof<BytesValue>> getStorageProofs(
-      final StateTrieAccountValue account, final List<UInt256> accountStorageKeys) {
-    final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
-        newAccountStorageTrie(account.getStorageRoot());
+      final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie,
+      final List<UInt256> accountStorageKeys) {
     final SortedMap<UInt256, Proof<BytesValue>> storageProofs = new TreeMap<>();
     accountStorageKeys.forEach(
         key -> storageProofs.put(key, storageTrie.getValueWithProof(Hash.hash(key.getBytes()))));
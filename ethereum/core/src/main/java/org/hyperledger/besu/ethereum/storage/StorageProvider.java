@@ -35,5 +35,7 @@ public interface StorageProvider extends Closeable {
 
   KeyValueStorage createPruningStorage();
 
+  KeyValueStorage createConsensusStorage();
+
   boolean isWorldStateIterable();
 }
@@ -0,0 +1,200 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Log;
+import org.hyperledger.besu.ethereum.core.LogTopic;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.TransactionReceiptType;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.BytesValues;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+/**
+ * Storage encoding of the transaction receipts of a block.
+ *
+ * <p>Receipts are stored without their 256 byte logs bloom, which is recomputed from the logs when
+ * a receipt is decoded. Log addresses and topics are replaced by indices into dictionaries written
+ * once per block, as the same contract and event signature usually appear in many logs of a block.
+ * The encoding is prefixed with {@link #FORMAT_VERSION}, which can never be the first byte of the
+ * RLP list written by earlier versions, so both formats can be read from the same storage.
+ *
+ * <p>Receipts already stored as plain RLP are never rewritten; they are decoded from that encoding
+ * whenever they are read. Earlier versions cannot decode this encoding, so it is only written to
+ * databases marked with a version that they refuse to open.
+ *
+ * <p>The encoding is {@code FORMAT_VERSION || RLP([addresses], [topics], [receipts])} where each
+ * receipt is {@code [stateRoot or status, cumulativeGasUsed, [logs], revertReason?]} and each log
+ * is {@code [addressIndex, [topicIndices], data]}.
+ */
+final class CompactTransactionReceipts {
+
+  static final byte FORMAT_VERSION = 1;
+
+  private CompactTransactionReceipts() {}
+
+  static boolean isCompact(final BytesValue encoded) {
+    return !encoded.isEmpty() && encoded.get(0) == FORMAT_VERSION;
+  }
+
+  static BytesValue encode(final List<TransactionReceipt> receipts) {
+    final Map<Address, Integer> addressIndices = new HashMap<>();
+    final List<Address> addresses = new ArrayList<>();
+    final Map<LogTopic, Integer> topicIndices = new HashMap<>();
+    final List<LogTopic> topics = new ArrayList<>();
+    for (final TransactionReceipt receipt : receipts) {
+      for (final Log log : receipt.getLogs()) {
+        if (!addressIndices.containsKey(log.getLogger())) {
+          addressIndices.put(log.getLogger(), addresses.size());
+          addresses.add(log.getLogger());
+        }
+        for (final LogTopic topic : log.getTopics()) {
+          if (!topicIndices.containsKey(topic)) {
+            topicIndices.put(topic, topics.size());
+            topics.add(topic);
+          }
+        }
+      }
+    }
+
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeList(addresses, (address, o) -> o.writeBytesValue(address));
+    out.writeList(topics, (topic, o) -> o.writeBytesValue(topic));
+    out.writeList(receipts, (receipt, o) -> writeReceipt(receipt, addressIndices, topicIndices, o));
+    out.endList();
+    return BytesValues.concatenate(BytesValue.of(FORMAT_VERSION), out.encoded());
+  }
+
+  private static void writeReceipt(
+      final TransactionReceipt receipt,
+      final Map<Address, Integer> addressIndices,
+      final Map<LogTopic, Integer> topicIndices,
+      final RLPOutput out) {
+    out.startList();
+    if (receipt.getTransactionReceiptType() == TransactionReceiptType.ROOT) {
+      out.writeBytesValue(receipt.getStateRoot());
+    } else {
+      out.writeLongScalar(receipt.getStatus());
+    }
+    out.writeLongScalar(receipt.getCumulativeGasUsed());
+    out.startList();
+    for (final Log log : receipt.getLogs()) {
+      out.startList();
+      out.writeIntScalar(addressIndices.get(log.getLogger()));
+      out.writeList(log.getTopics(), (topic, o) -> o.writeIntScalar(topicIndices.get(topic)));
+      out.writeBytesValue(log.getData());
+      out.endList();
+    }
+    out.endList();
+    receipt.getRevertReason().ifPresent(out::writeBytesValue);
+    out.endList();
+  }
+
+  /**
+   * Decodes the receipts of a block. Only the dictionaries are decoded up front, each receipt is
+   * decoded the first time it is accessed so callers that need a single receipt of a block do not
+   * pay for the others.
+   *
+   * @param encoded the receipts as returned by {@link #encode(List)}
+   * @return the receipts
+   */
+  static List<TransactionReceipt> decode(final BytesValue encoded) {
+    final RLPInput input = RLP.input(encoded.slice(1));
+    input.enterList();
+    final List<Address> addresses = input.readList(in -> Address.wrap(in.readBytesValue()));
+    final List<LogTopic> topics = input.readList(in -> LogTopic.wrap(in.readBytesValue()));
+    final List<BytesValue> encodedReceipts = input.readList(in -> in.readAsRlp().raw());
+    input.leaveList();
+    return new LazyReceiptList(addresses, topics, encodedReceipts);
+  }
+
+  private static TransactionReceipt readReceipt(
+      final RLPInput input, final List<Address> addresses, final List<LogTopic> topics) {
+    input.enterList();
+    final RLPInput firstElement = input.readAsRlp();
+    final long cumulativeGasUsed = input.readLongScalar();
+    final List<Log> logs = input.readList(in -> readLog(in, addresses, topics));
+    final Optional<BytesValue> revertReason =
+        input.isEndOfCurrentList() ? Optional.empty() : Optional.of(input.readBytesValue());
+    input.leaveList();
+
+    // As in the RLP receipt encoding, a status is a single byte while a state root is not.
+    if (firstElement.raw().size() == 1) {
+      return new TransactionReceipt(
+          firstElement.readIntScalar(), cumulativeGasUsed, logs, revertReason);
+    } else {
+      return new TransactionReceipt(
+          Hash.wrap(firstElement.readBytes32()), cumulativeGasUsed, logs, revertReason);
+    }
+  }
+
+  private static Log readLog(
+      final RLPInput input, final List<Address> addresses, final List<LogTopic> topics) {
+    input.enterList();
+    final Address logger = addresses.get(input.readIntScalar());
+    final List<LogTopic> logTopics = input.readList(in -> topics.get(in.readIntScalar()));
+    final BytesValue data = input.readBytesValue();
+    input.leaveList();
+    return new Log(logger, data, logTopics);
+  }
+
+  private static class LazyReceiptList extends AbstractList<TransactionReceipt>
+      implements RandomAccess {
+    private final List<Address> addresses;
+    private final List<LogTopic> topics;
+    private final List<BytesValue> encodedReceipts;
+    // Receipts are immutable, so concurrent readers at worst decode the same receipt twice.
+    private final TransactionReceipt[] receipts;
+
+    LazyReceiptList(
+        final List<Address> addresses,
+        final List<LogTopic> topics,
+        final List<BytesValue> encodedReceipts) {
+      this.addresses = addresses;
+      this.topics = topics;
+      this.encodedReceipts = encodedReceipts;
+      this.receipts = new TransactionReceipt[encodedReceipts.size()];
+    }
+
+    @Override
+    public TransactionReceipt get(final int index) {
+      TransactionReceipt receipt = receipts[index];
+      if (receipt == null) {
+        receipt = readReceipt(RLP.input(encodedReceipts.get(index)), addresses, topics);
+        receipts[index] = receipt;
+      }
+      return receipt;
+    }
+
+    @Override
+    public int size() {
+      return receipts.length;
+    }
+  }
+}
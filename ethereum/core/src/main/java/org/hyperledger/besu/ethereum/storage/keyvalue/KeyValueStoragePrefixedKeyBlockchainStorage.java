@@ -31,6 +31,7 @@ import org.hyperledger.besu.util.uint.UInt256;
 import org.hyperledger.besu.util.uint.UInt256Bytes;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -54,11 +55,27 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
   private final KeyValueStorage storage;
   private final BlockHeaderFunctions blockHeaderFunctions;
+  private final boolean useCompactTransactionReceipts;
+  private final MissingTransactionLocationCache missingTransactionLocations =
+      new MissingTransactionLocationCache();
 
   public KeyValueStoragePrefixedKeyBlockchainStorage(
       final KeyValueStorage storage, final BlockHeaderFunctions blockHeaderFunctions) {
+    this(storage, blockHeaderFunctions, true);
+  }
+
+  /**
+   * @param useCompactTransactionReceipts whether receipts are written in the compact encoding,
+   *     which versions from before it was introduced cannot read. Only enable it for storage that
+   *     those versions refuse to open. Both encodings are read either way.
+   */
+  public KeyValueStoragePrefixedKeyBlockchainStorage(
+      final KeyValueStorage storage,
+      final BlockHeaderFunctions blockHeaderFunctions,
+      final boolean useCompactTransactionReceipts) {
     this.storage = storage;
     this.blockHeaderFunctions = blockHeaderFunctions;
+    this.useCompactTransactionReceipts = useCompactTransactionReceipts;
   }
 
   @Override
@@ -85,9 +102,19 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
         .map(bytesValue -> BlockBody.readFrom(RLP.input(bytesValue), blockHeaderFunctions));
   }
 
+  @Override
+  public Optional<BytesValue> getBlockHeaderRlp(final Hash blockHash) {
+    return get(BLOCK_HEADER_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHash) {
+    return get(BLOCK_BODY_PREFIX, blockHash);
+  }
+
   @Override
   public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
-    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::decodeTransactionReceipts);
   }
 
   @Override
@@ -102,16 +129,24 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
   @Override
   public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
-    return get(TRANSACTION_LOCATION_PREFIX, transactionHash)
-        .map(bytesValue -> TransactionLocation.readFrom(RLP.input(bytesValue)));
+    return missingTransactionLocations.getTransactionLocation(
+        transactionHash,
+        hash ->
+            get(TRANSACTION_LOCATION_PREFIX, hash)
+                .map(bytesValue -> TransactionLocation.readFrom(RLP.input(bytesValue))));
   }
 
   @Override
   public Updater updater() {
-    return new Updater(storage.startTransaction());
+    return new Updater(
+        storage.startTransaction(), missingTransactionLocations, useCompactTransactionReceipts);
   }
 
-  private List<TransactionReceipt> rlpDecodeTransactionReceipts(final BytesValue bytes) {
+  private List<TransactionReceipt> decodeTransactionReceipts(final BytesValue bytes) {
+    // Receipts written before the compact encoding was introduced are stored as plain RLP
+    if (CompactTransactionReceipts.isCompact(bytes)) {
+      return CompactTransactionReceipts.decode(bytes);
+    }
     return RLP.input(bytes).readList(TransactionReceipt::readFrom);
   }
 
@@ -126,9 +161,17 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   public static class Updater implements BlockchainStorage.Updater {
 
     private final KeyValueStorageTransaction transaction;
-
-    private Updater(final KeyValueStorageTransaction transaction) {
+    private final MissingTransactionLocationCache missingTransactionLocations;
+    private final boolean useCompactTransactionReceipts;
+    private final List<Hash> indexedTransactionHashes = new ArrayList<>();
+
+    private Updater(
+        final KeyValueStorageTransaction transaction,
+        final MissingTransactionLocationCache missingTransactionLocations,
+        final boolean useCompactTransactionReceipts) {
       this.transaction = transaction;
+      this.missingTransactionLocations = missingTransactionLocations;
+      this.useCompactTransactionReceipts = useCompactTransactionReceipts;
     }
 
     @Override
@@ -145,12 +188,18 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     public void putTransactionLocation(
         final Hash transactionHash, final TransactionLocation transactionLocation) {
       set(TRANSACTION_LOCATION_PREFIX, transactionHash, RLP.encode(transactionLocation::writeTo));
+      indexedTransactionHashes.add(transactionHash);
     }
 
     @Override
     public void putTransactionReceipts(
         final Hash blockHash, final List<TransactionReceipt> transactionReceipts) {
-      set(TRANSACTION_RECEIPTS_PREFIX, blockHash, rlpEncode(transactionReceipts));
+      set(
+          TRANSACTION_RECEIPTS_PREFIX,
+          blockHash,
+          useCompactTransactionReceipts
+              ? CompactTransactionReceipts.encode(transactionReceipts)
+              : rlpEncode(transactionReceipts));
     }
 
     @Override
@@ -187,6 +236,9 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
 
     @Override
     public void commit() {
+      if (!indexedTransactionHashes.isEmpty()) {
+        missingTransactionLocations.onTransactionsIndexed(indexedTransactionHashes);
+      }
       transaction.commit();
     }
 
@@ -34,7 +34,9 @@ public class KeyValueStorageProvider implements StorageProvider {
   private final KeyValueStorage privateTransactionStorage;
   private final KeyValueStorage privateStateStorage;
   private final KeyValueStorage pruningStorage;
+  private final KeyValueStorage consensusStorage;
   private final boolean isWorldStateIterable;
+  private final boolean useCompactTransactionReceipts;
 
   public KeyValueStorageProvider(
       final KeyValueStorage blockchainStorage,
@@ -43,20 +45,26 @@ public class KeyValueStorageProvider implements StorageProvider {
       final KeyValueStorage privateTransactionStorage,
       final KeyValueStorage privateStateStorage,
       final KeyValueStorage pruningStorage,
-      final boolean isWorldStateIterable) {
+      final KeyValueStorage consensusStorage,
+      final boolean isWorldStateIterable,
+      final boolean useCompactTransactionReceipts) {
     this.blockchainStorage = blockchainStorage;
     this.worldStateStorage = worldStateStorage;
     this.worldStatePreimageStorage = worldStatePreimageStorage;
     this.privateTransactionStorage = privateTransactionStorage;
     this.privateStateStorage = privateStateStorage;
     this.pruningStorage = pruningStorage;
+    this.consensusStorage = consensusStorage;
     this.isWorldStateIterable = isWorldStateIterable;
+    this.useCompactTransactionReceipts = useCompactTransactionReceipts;
   }
 
   @Override
   public BlockchainStorage createBlockchainStorage(final ProtocolSchedule<?> protocolSchedule) {
     return new KeyValueStoragePrefixedKeyBlockchainStorage(
-        blockchainStorage, ScheduleBasedBlockHeaderFunctions.create(protocolSchedule));
+        blockchainStorage,
+        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule),
+        useCompactTransactionReceipts);
   }
 
   @Override
@@ -79,6 +87,11 @@ public class KeyValueStorageProvider implements StorageProvider {
     return pruningStorage;
   }
 
+  @Override
+  public KeyValueStorage createConsensusStorage() {
+    return consensusStorage;
+  }
+
   @Override
   public boolean isWorldStateIterable() {
     return isWorldStateIterable;
@@ -91,5 +104,6 @@ public class KeyValueStorageProvider implements StorageProvider {
     privateTransactionStorage.close();
     privateStateStorage.close();
     pruningStorage.close();
+    consensusStorage.close();
   }
 }
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.storage.keyvalue;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.BLOCKCHAIN;
+import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.CONSENSUS_STATE;
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.PRIVATE_STATE;
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.PRIVATE_TRANSACTIONS;
 import static org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier.PRUNING_STATE;
@@ -69,6 +70,10 @@ public class KeyValueStorageProviderBuilder {
         storageFactory.create(PRIVATE_TRANSACTIONS, commonConfiguration, metricsSystem),
         storageFactory.create(PRIVATE_STATE, commonConfiguration, metricsSystem),
         storageFactory.create(PRUNING_STATE, commonConfiguration, metricsSystem),
+        storageFactory.create(CONSENSUS_STATE, commonConfiguration, metricsSystem),
+        storageFactory.isSegmentIsolationSupported(),
+        // Earlier versions still open databases in the oldest, unsegmented layout, so those keep
+        // the receipt encoding they can read.
         storageFactory.isSegmentIsolationSupported());
   }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.Hash;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Function;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+
+/**
+ * Remembers transaction hashes that have no indexed location, so repeated lookups of unknown or
+ * pending transactions do not each read from storage.
+ *
+ * <p>A miss is only trusted while no location may have been indexed for the hash since. Hashes are
+ * added to a bloom filter before their locations are committed, and a cached miss is ignored if
+ * the filter might contain its hash. Each miss also records the filter that was current when it
+ * was looked up, so once the filter fills up and is replaced all earlier misses are ignored.
+ */
+class MissingTransactionLocationCache {
+
+  private static final int MAX_MISSING_HASHES = 10_000;
+  private static final int EXPECTED_INDEXED_HASHES = 1_000_000;
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+  private static final Funnel<Hash> HASH_FUNNEL =
+      (hash, sink) -> sink.putBytes(hash.getArrayUnsafe());
+
+  private final Cache<Hash, BloomFilter<Hash>> missingHashes =
+      CacheBuilder.newBuilder().maximumSize(MAX_MISSING_HASHES).build();
+  private volatile BloomFilter<Hash> indexedHashes = createFilter();
+
+  Optional<TransactionLocation> getTransactionLocation(
+      final Hash transactionHash, final Function<Hash, Optional<TransactionLocation>> lookup) {
+    final BloomFilter<Hash> currentIndexedHashes = indexedHashes;
+    if (missingHashes.getIfPresent(transactionHash) == currentIndexedHashes
+        && !currentIndexedHashes.mightContain(transactionHash)) {
+      return Optional.empty();
+    }
+    final Optional<TransactionLocation> location = lookup.apply(transactionHash);
+    if (location.isEmpty()) {
+      missingHashes.put(transactionHash, currentIndexedHashes);
+    }
+    return location;
+  }
+
+  /**
+   * Records hashes whose locations are about to be committed. Must be called before the commit so
+   * that a concurrent lookup cannot cache a miss that outlives it.
+   *
+   * @param transactionHashes the hashes of the transactions being indexed
+   */
+  synchronized void onTransactionsIndexed(final Collection<Hash> transactionHashes) {
+    BloomFilter<Hash> filter = indexedHashes;
+    if (filter.approximateElementCount() + transactionHashes.size() > EXPECTED_INDEXED_HASHES) {
+      filter = createFilter();
+    }
+    transactionHashes.forEach(filter::put);
+    if (filter != indexedHashes) {
+      indexedHashes = filter;
+      missingHashes.invalidateAll();
+    }
+  }
+
+  private static BloomFilter<Hash> createFilter() {
+    return BloomFilter.create(HASH_FUNNEL, EXPECTED_INDEXED_HASHES, FALSE_POSITIVE_PROBABILITY);
+  }
+}
@@ -131,6 +131,10 @@ public class TransactionSimulator {
     return Optional.of(new TransactionSimulatorResult(transaction, result));
   }
 
+  public Hash getChainHeadHash() {
+    return blockchain.getChainHeadHash();
+  }
+
   public Optional<Boolean> doesAddressExistAtHead(final Address address) {
     return doesAddressExist(address, blockchain.getChainHeadHeader());
   }
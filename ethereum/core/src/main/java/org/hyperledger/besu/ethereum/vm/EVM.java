@@ -34,21 +34,26 @@ import org.apache.logging.log4j.Logger;
 
 public class EVM {
   private static final Logger LOG = getLogger();
+  private static final int INVALID_OPCODE = 0xfe;
 
-  private final OperationRegistry operations;
-  private final Operation invalidOperation;
+  private final Operation[][] operations;
   private final Operation endOfScriptStop;
 
   public EVM(final OperationRegistry operations, final GasCalculator gasCalculator) {
-    this.operations = operations;
-    this.invalidOperation = new InvalidOperation(gasCalculator);
+    this.operations = operations.toDispatchTable(new InvalidOperation(gasCalculator));
     this.endOfScriptStop = new VirtualOperation(new StopOperation(gasCalculator));
   }
 
   public void runToHalt(final MessageFrame frame, final OperationTracer operationTracer)
       throws ExceptionalHaltException {
-    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
-      executeNextOperation(frame, operationTracer);
+    if (operationTracer == OperationTracer.NO_TRACING) {
+      while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+        executeNextOperation(frame);
+      }
+    } else {
+      while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+        executeNextOperation(frame, operationTracer);
+      }
     }
   }
 
@@ -84,6 +89,57 @@ public class EVM {
         });
   }
 
+  /**
+   * Executes the next operation without tracing. The common case, where none of the exceptional
+   * halt conditions apply, is checked inline and the gas cost is only calculated once. Whenever
+   * any check fails the full set of {@link ExceptionalHaltManager} predicates is evaluated so the
+   * reported halt reasons are identical to the traced path.
+   */
+  private void executeNextOperation(final MessageFrame frame) throws ExceptionalHaltException {
+    final Operation operation =
+        operationAtOffset(frame.getCode(), frame.getContractAccountVersion(), frame.getPC());
+    frame.setCurrentOperation(operation);
+
+    final int stackSize = frame.stackSize();
+    if (operation.getOpcode() == INVALID_OPCODE
+        || stackSize < operation.getStackItemsConsumed()
+        || stackSize + operation.getStackSizeChange() > frame.getMaxStackSize()) {
+      haltWithReasons(frame);
+    }
+
+    final Gas cost = calculateGasCostOrNull(operation, frame);
+    if (cost == null || frame.getRemainingGas().compareTo(cost) < 0) {
+      haltWithReasons(frame);
+      throw new IllegalStateException("Gas overflow detected");
+    }
+
+    final Optional<ExceptionalHaltReason> operationHaltReason =
+        operation.exceptionalHaltCondition(frame, frame.getExceptionalHaltReasons(), this);
+    if (operationHaltReason.isPresent()) {
+      haltWithReasons(frame);
+    }
+
+    if (LOG.isTraceEnabled()) {
+      logState(frame, Optional.of(cost));
+    }
+    frame.decrementRemainingGas(cost);
+    operation.execute(frame);
+    incrementProgramCounter(frame);
+  }
+
+  private void haltWithReasons(final MessageFrame frame) throws ExceptionalHaltException {
+    evaluateExceptionalHaltReasons(frame);
+    checkForExceptionalHalt(frame);
+  }
+
+  private static Gas calculateGasCostOrNull(final Operation operation, final MessageFrame frame) {
+    try {
+      return operation.cost(frame);
+    } catch (final IllegalArgumentException e) {
+      return null;
+    }
+  }
+
   private void evaluateExceptionalHaltReasons(final MessageFrame frame) {
     final EnumSet<ExceptionalHaltReason> haltReasons =
         ExceptionalHaltManager.evaluateAll(frame, this);
@@ -155,6 +211,6 @@ public class EVM {
       return endOfScriptStop;
     }
 
-    return operations.getOrDefault(bytecode.get(offset), contractAccountVersion, invalidOperation);
+    return operations[contractAccountVersion][bytecode.get(offset) & 0xff];
   }
 }
@@ -54,4 +54,23 @@ public class OperationRegistry {
 
     return operation;
   }
+
+  /**
+   * Builds a dense dispatch table for every version in this registry, where any opcode without a
+   * registered operation resolves to {@code defaultOperation}. The returned table is a snapshot;
+   * later calls to {@link #put(Operation, int)} are not reflected in it.
+   *
+   * @param defaultOperation the operation to use for unassigned opcodes
+   * @return a table indexed by version and then by unsigned opcode
+   */
+  public Operation[][] toDispatchTable(final Operation defaultOperation) {
+    final Operation[][] table = new Operation[operations.length][NUM_OPERATIONS];
+    for (int version = 0; version < operations.length; version++) {
+      for (int opcode = 0; opcode < NUM_OPERATIONS; opcode++) {
+        final Operation operation = operations[version][opcode];
+        table[version][opcode] = operation == null ? defaultOperation : operation;
+      }
+    }
+    return table;
+  }
 }
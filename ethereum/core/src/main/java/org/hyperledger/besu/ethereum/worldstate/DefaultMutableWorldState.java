@@ -31,16 +31,15 @@ import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.FixedWidthBytesKeyMap;
 import org.hyperledger.besu.util.uint.UInt256;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.stream.Stream;
 
@@ -51,10 +50,13 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
   private final MerklePatriciaTrie<Bytes32, BytesValue> accountStateTrie;
   private final Map<Address, MerklePatriciaTrie<Bytes32, BytesValue>> updatedStorageTries =
-      new HashMap<>();
-  private final Map<Address, BytesValue> updatedAccountCode = new HashMap<>();
-  private final Map<Bytes32, UInt256> newStorageKeyPreimages = new HashMap<>();
-  private final Map<Bytes32, Address> newAccountKeyPreimages = new HashMap<>();
+      FixedWidthBytesKeyMap.create(Address.SIZE);
+  private final Map<Address, BytesValue> updatedAccountCode =
+      FixedWidthBytesKeyMap.create(Address.SIZE);
+  private final Map<Bytes32, UInt256> newStorageKeyPreimages =
+      FixedWidthBytesKeyMap.create(Bytes32.SIZE);
+  private final Map<Bytes32, Address> newAccountKeyPreimages =
+      FixedWidthBytesKeyMap.create(Bytes32.SIZE);
 
   public DefaultMutableWorldState(
       final WorldStateStorage storage, final WorldStatePreimageStorage preimageStorage) {
@@ -394,7 +396,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
         if (freshState) {
           wrapped.updatedStorageTries.remove(updated.getAddress());
         }
-        final SortedMap<UInt256, UInt256> updatedStorage = updated.getUpdatedStorage();
+        final Map<UInt256, UInt256> updatedStorage = updated.getUpdatedStorage();
         if (!updatedStorage.isEmpty()) {
           // Apply any storage updates
           final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie =
@@ -14,11 +14,16 @@
  */
 package org.hyperledger.besu.ethereum.worldstate;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.Node;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.TrieNodeDecoder;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
@@ -26,15 +31,24 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.BytesValues;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -43,8 +57,14 @@ public class MarkSweepPruner {
   private static final int DEFAULT_OPS_PER_TRANSACTION = 1000;
   private static final Logger LOG = LogManager.getLogger();
   private static final byte[] IN_USE = BytesValue.of(1).getArrayUnsafe();
+  // Neither key is 32 bytes long so they can't be mistaken for the mark of a node.
+  private static final byte[] MARK_IN_PROGRESS_KEY = "markInProgress".getBytes(UTF_8);
+  private static final BytesValue MARKED_SUBTRIE_PREFIX = BytesValue.of(0);
+  // The account trie is split into up to 16^depth subtries that are marked in parallel.
+  private static final int SUBTRIE_DEPTH = 2;
 
   private final int operationsPerTransaction;
+  private final int markParallelism;
   private final WorldStateStorage worldStateStorage;
   private final MutableBlockchain blockchain;
   private final KeyValueStorage markStorage;
@@ -70,10 +90,27 @@ public class MarkSweepPruner {
       final KeyValueStorage markStorage,
       final ObservableMetricsSystem metricsSystem,
       final int operationsPerTransaction) {
+    this(
+        worldStateStorage,
+        blockchain,
+        markStorage,
+        metricsSystem,
+        operationsPerTransaction,
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  public MarkSweepPruner(
+      final WorldStateStorage worldStateStorage,
+      final MutableBlockchain blockchain,
+      final KeyValueStorage markStorage,
+      final ObservableMetricsSystem metricsSystem,
+      final int operationsPerTransaction,
+      final int markParallelism) {
     this.worldStateStorage = worldStateStorage;
     this.markStorage = markStorage;
     this.blockchain = blockchain;
     this.operationsPerTransaction = operationsPerTransaction;
+    this.markParallelism = markParallelism;
 
     markedNodesCounter =
         metricsSystem.createCounter(
@@ -97,17 +134,96 @@ public class MarkSweepPruner {
   }
 
   public void prepare() {
-    // Optimization for the case where the previous cycle was interrupted (like the node was shut
-    // down). If the previous cycle was interrupted, there will be marks in the mark storage from
-    // last time, causing the first sweep to be smaller than it needs to be.
-    clearMarks();
+    if (markStorage.containsKey(MARK_IN_PROGRESS_KEY)) {
+      // Resume the mark interrupted by the node being shut down. Marks are only cleared once a
+      // sweep completes, so subtries that were fully marked don't need to be walked again.
+      LOG.debug("Resuming previously started marking of used nodes for pruning");
+    } else {
+      clearMarks();
+    }
 
     nodeAddedListenerId = worldStateStorage.addNodeAddedListener(this::markNodes);
   }
 
+  /**
+   * Marks every node of the world state with the given root. The account trie is split by path
+   * into subtries which are marked concurrently, along with the storage tries of their accounts.
+   * Each subtrie is recorded once it has been marked so that a mark interrupted by a restart
+   * doesn't need to walk it again, even if a different root is marked next time.
+   *
+   * @param rootHash the state root of the world state to mark
+   */
   public void mark(final Hash rootHash) {
     markOperationCounter.inc();
-    createStateTrie(rootHash)
+    final KeyValueStorageTransaction transaction = markStorage.startTransaction();
+    transaction.put(MARK_IN_PROGRESS_KEY, IN_USE);
+    transaction.commit();
+
+    final ExecutorService markExecutor =
+        Executors.newFixedThreadPool(
+            markParallelism,
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("StatePruningMark-%d")
+                .build());
+    try {
+      final List<Future<?>> subtrieMarks = new ArrayList<>();
+      for (final Bytes32 subtrieRoot : markTopOfAccountTrie(rootHash)) {
+        subtrieMarks.add(markExecutor.submit(() -> markSubtrie(subtrieRoot)));
+      }
+      for (final Future<?> subtrieMark : subtrieMarks) {
+        subtrieMark.get();
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while marking", e);
+    } catch (final ExecutionException e) {
+      throw new RuntimeException("Failed to mark used nodes", e.getCause());
+    } finally {
+      markExecutor.shutdownNow();
+    }
+    LOG.debug("Completed marking used nodes for pruning");
+  }
+
+  /**
+   * Marks the nodes in the top {@link #SUBTRIE_DEPTH} levels of the account trie.
+   *
+   * @return the roots of the subtries below those levels that haven't already been marked
+   */
+  private List<Bytes32> markTopOfAccountTrie(final Bytes32 rootHash) {
+    final MarkBatch batch = new MarkBatch();
+    List<Bytes32> currentLevel = List.of(rootHash);
+    for (int depth = 0; depth < SUBTRIE_DEPTH; depth++) {
+      final List<Bytes32> nextLevel = new ArrayList<>();
+      for (final Bytes32 nodeHash : currentLevel) {
+        if (isSubtrieMarked(nodeHash)) {
+          continue;
+        }
+        final Optional<BytesValue> nodeData = worldStateStorage.getAccountStateTrieNode(nodeHash);
+        if (nodeData.isEmpty()) {
+          continue;
+        }
+        batch.mark(nodeHash);
+        final List<Node<BytesValue>> nodes = TrieNodeDecoder.decodeNodes(nodeData.get());
+        for (int i = 0; i < nodes.size(); i++) {
+          final Node<BytesValue> node = nodes.get(i);
+          if (i > 0 && node.isReferencedByHash()) {
+            nextLevel.add(node.getHash());
+          } else {
+            node.getValue().ifPresent(value -> processAccountState(value, batch));
+          }
+        }
+      }
+      currentLevel = nextLevel;
+    }
+    batch.flush();
+    return currentLevel.stream().filter(hash -> !isSubtrieMarked(hash)).collect(toList());
+  }
+
+  private void markSubtrie(final Bytes32 subtrieRoot) {
+    final MarkBatch batch = new MarkBatch();
+    createStateTrie(subtrieRoot)
         .visitAll(
             node -> {
               if (Thread.interrupted()) {
@@ -115,10 +231,22 @@ public class MarkSweepPruner {
                 // our abort process consists only of handling interrupts
                 throw new RuntimeException("Interrupted while marking");
               }
-              markNode(node.getHash());
-              node.getValue().ifPresent(this::processAccountState);
+              batch.mark(node.getHash());
+              node.getValue().ifPresent(value -> processAccountState(value, batch));
             });
-    LOG.debug("Completed marking used nodes for pruning");
+    // Only record the subtrie once all of its marks have been written.
+    batch.flush();
+    final KeyValueStorageTransaction transaction = markStorage.startTransaction();
+    transaction.put(markedSubtrieKey(subtrieRoot), IN_USE);
+    transaction.commit();
+  }
+
+  private boolean isSubtrieMarked(final Bytes32 subtrieRoot) {
+    return markStorage.containsKey(markedSubtrieKey(subtrieRoot));
+  }
+
+  private static byte[] markedSubtrieKey(final Bytes32 subtrieRoot) {
+    return BytesValues.concatenate(MARKED_SUBTRIE_PREFIX, subtrieRoot).getArrayUnsafe();
   }
 
   public void sweepBefore(final long markedBlockNumber) {
@@ -155,7 +283,12 @@ public class MarkSweepPruner {
 
   public void cleanup() {
     worldStateStorage.removeNodeAddedListener(nodeAddedListenerId);
-    clearMarks();
+    if (markStorage.containsKey(MARK_IN_PROGRESS_KEY)) {
+      // Keep the marks so the next start can resume where this one left off.
+      flushPendingMarks();
+    } else {
+      clearMarks();
+    }
   }
 
   public void clearMarks() {
@@ -187,12 +320,12 @@ public class MarkSweepPruner {
         Function.identity());
   }
 
-  private void processAccountState(final BytesValue value) {
+  private void processAccountState(final BytesValue value, final MarkBatch batch) {
     final StateTrieAccountValue accountValue = StateTrieAccountValue.readFrom(RLP.input(value));
-    markNode(accountValue.getCodeHash());
+    batch.mark(accountValue.getCodeHash());
 
     createStorageTrie(accountValue.getStorageRoot())
-        .visitAll(storageNode -> markNode(storageNode.getHash()));
+        .visitAll(storageNode -> batch.mark(storageNode.getHash()));
   }
 
   @VisibleForTesting
@@ -224,6 +357,32 @@ public class MarkSweepPruner {
     }
   }
 
+  /**
+   * Collects the marks made by a single thread so they can be written without contending with
+   * other threads for the mark lock.
+   */
+  private class MarkBatch {
+    private final List<Bytes32> nodeHashes = new ArrayList<>();
+
+    void mark(final Bytes32 nodeHash) {
+      nodeHashes.add(nodeHash);
+      if (nodeHashes.size() >= operationsPerTransaction) {
+        flush();
+      }
+    }
+
+    void flush() {
+      if (nodeHashes.isEmpty()) {
+        return;
+      }
+      final KeyValueStorageTransaction transaction = markStorage.startTransaction();
+      nodeHashes.forEach(nodeHash -> transaction.put(nodeHash.getArrayUnsafe(), IN_USE));
+      transaction.commit();
+      markedNodesCounter.inc(nodeHashes.size());
+      nodeHashes.clear();
+    }
+  }
+
   private void flushPendingMarks() {
     markLock.lock();
     try {
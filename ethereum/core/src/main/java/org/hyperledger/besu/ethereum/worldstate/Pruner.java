@@ -24,6 +24,7 @@ import org.hyperledger.besu.ethereum.core.Hash;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -36,15 +37,13 @@ public class Pruner {
 
   private static final Logger LOG = LogManager.getLogger();
 
-  private final MarkSweepPruner pruningStrategy;
+  private final PruningStrategy pruningStrategy;
   private final Blockchain blockchain;
   private Long blockAddedObserverId;
   private final long blocksRetained;
   private final AtomicReference<PruningPhase> pruningPhase =
       new AtomicReference<>(PruningPhase.IDLE);
-  private volatile long markBlockNumber = 0;
-  private volatile BlockHeader markedBlockHeader;
-  private long blockConfirmations;
+  private final long blockConfirmations;
 
   private AtomicReference<State> state = new AtomicReference<>(State.IDLE);
   private final Supplier<ExecutorService> executorServiceSupplier;
@@ -52,11 +51,27 @@ public class Pruner {
 
   @VisibleForTesting
   Pruner(
-      final MarkSweepPruner pruningStrategy,
+      final MarkSweepPruner markSweepPruner,
       final Blockchain blockchain,
       final PrunerConfiguration prunerConfiguration,
       final Supplier<ExecutorService> executorServiceSupplier) {
-    this.pruningStrategy = pruningStrategy;
+    this.pruningStrategy = new MarkSweepStrategy(markSweepPruner);
+    this.blockchain = blockchain;
+    this.executorServiceSupplier = executorServiceSupplier;
+    this.blocksRetained = prunerConfiguration.getBlocksRetained();
+    this.blockConfirmations = prunerConfiguration.getBlockConfirmations();
+    checkArgument(
+        blockConfirmations >= 0 && blockConfirmations < blocksRetained,
+        "blockConfirmations and blocksRetained must be non-negative. blockConfirmations must be less than blockRetained.");
+  }
+
+  @VisibleForTesting
+  Pruner(
+      final ReferenceCountingPruner referenceCountingPruner,
+      final Blockchain blockchain,
+      final PrunerConfiguration prunerConfiguration,
+      final Supplier<ExecutorService> executorServiceSupplier) {
+    this.pruningStrategy = new ReferenceCountingStrategy(referenceCountingPruner);
     this.blockchain = blockchain;
     this.executorServiceSupplier = executorServiceSupplier;
     this.blocksRetained = prunerConfiguration.getBlocksRetained();
@@ -67,10 +82,17 @@ public class Pruner {
   }
 
   public Pruner(
-      final MarkSweepPruner pruningStrategy,
+      final MarkSweepPruner markSweepPruner,
       final Blockchain blockchain,
       final PrunerConfiguration prunerConfiguration) {
-    this(pruningStrategy, blockchain, prunerConfiguration, getDefaultExecutorSupplier());
+    this(markSweepPruner, blockchain, prunerConfiguration, getDefaultExecutorSupplier());
+  }
+
+  public Pruner(
+      final ReferenceCountingPruner referenceCountingPruner,
+      final Blockchain blockchain,
+      final PrunerConfiguration prunerConfiguration) {
+    this(referenceCountingPruner, blockchain, prunerConfiguration, getDefaultExecutorSupplier());
   }
 
   private static Supplier<ExecutorService> getDefaultExecutorSupplier() {
@@ -90,7 +112,8 @@ public class Pruner {
       executorService = executorServiceSupplier.get();
       pruningStrategy.prepare();
       blockAddedObserverId =
-          blockchain.observeBlockAdded((event, blockchain) -> handleNewBlock(event));
+          blockchain.observeBlockAdded(
+              (event, blockchain) -> pruningStrategy.handleNewBlock(event));
     }
   }
 
@@ -109,52 +132,6 @@ public class Pruner {
     }
   }
 
-  private void handleNewBlock(final BlockAddedEvent event) {
-    if (!event.isNewCanonicalHead()) {
-      return;
-    }
-
-    final long blockNumber = event.getBlock().getHeader().getNumber();
-    if (pruningPhase.compareAndSet(
-        PruningPhase.IDLE, PruningPhase.MARK_BLOCK_CONFIRMATIONS_AWAITING)) {
-      markBlockNumber = blockNumber;
-    } else if (blockNumber >= markBlockNumber + blockConfirmations
-        && pruningPhase.compareAndSet(
-            PruningPhase.MARK_BLOCK_CONFIRMATIONS_AWAITING, PruningPhase.MARKING)) {
-      markedBlockHeader = blockchain.getBlockHeader(markBlockNumber).get();
-      mark(markedBlockHeader);
-    } else if (blockNumber >= markBlockNumber + blocksRetained
-        && blockchain.blockIsOnCanonicalChain(markedBlockHeader.getHash())
-        && pruningPhase.compareAndSet(PruningPhase.MARKING_COMPLETE, PruningPhase.SWEEPING)) {
-      sweep();
-    }
-  }
-
-  private void mark(final BlockHeader header) {
-    final Hash stateRoot = header.getStateRoot();
-    LOG.debug(
-        "Begin marking used nodes for pruning. Block number: {} State root: {}",
-        markBlockNumber,
-        stateRoot);
-    execute(
-        () -> {
-          pruningStrategy.mark(stateRoot);
-          pruningPhase.compareAndSet(PruningPhase.MARKING, PruningPhase.MARKING_COMPLETE);
-        });
-  }
-
-  private void sweep() {
-    LOG.debug(
-        "Begin sweeping unused nodes for pruning. Keeping full state for blocks {} to {}",
-        markBlockNumber,
-        markBlockNumber + blocksRetained);
-    execute(
-        () -> {
-          pruningStrategy.sweepBefore(markBlockNumber);
-          pruningPhase.compareAndSet(PruningPhase.SWEEPING, PruningPhase.IDLE);
-        });
-  }
-
   private void execute(final Runnable action) {
     try {
       executorService.execute(action);
@@ -183,4 +160,122 @@ public class Pruner {
     RUNNING,
     STOPPED
   }
+
+  /** Decides what pruning work each added block triggers. */
+  private interface PruningStrategy {
+
+    void prepare();
+
+    void cleanup();
+
+    void handleNewBlock(BlockAddedEvent event);
+  }
+
+  /**
+   * Marks the state of a block once it has enough confirmations, then sweeps everything that
+   * wasn't marked once that block leaves the retention window.
+   */
+  private class MarkSweepStrategy implements PruningStrategy {
+    private final MarkSweepPruner markSweepPruner;
+    private volatile long markBlockNumber = 0;
+    private volatile BlockHeader markedBlockHeader;
+
+    MarkSweepStrategy(final MarkSweepPruner markSweepPruner) {
+      this.markSweepPruner = markSweepPruner;
+    }
+
+    @Override
+    public void prepare() {
+      markSweepPruner.prepare();
+    }
+
+    @Override
+    public void cleanup() {
+      markSweepPruner.cleanup();
+    }
+
+    @Override
+    public void handleNewBlock(final BlockAddedEvent event) {
+      if (!event.isNewCanonicalHead()) {
+        return;
+      }
+
+      final long blockNumber = event.getBlock().getHeader().getNumber();
+      if (pruningPhase.compareAndSet(
+          PruningPhase.IDLE, PruningPhase.MARK_BLOCK_CONFIRMATIONS_AWAITING)) {
+        markBlockNumber = blockNumber;
+      } else if (blockNumber >= markBlockNumber + blockConfirmations
+          && pruningPhase.compareAndSet(
+              PruningPhase.MARK_BLOCK_CONFIRMATIONS_AWAITING, PruningPhase.MARKING)) {
+        markedBlockHeader = blockchain.getBlockHeader(markBlockNumber).get();
+        mark(markedBlockHeader);
+      } else if (blockNumber >= markBlockNumber + blocksRetained
+          && blockchain.blockIsOnCanonicalChain(markedBlockHeader.getHash())
+          && pruningPhase.compareAndSet(PruningPhase.MARKING_COMPLETE, PruningPhase.SWEEPING)) {
+        sweep();
+      }
+    }
+
+    private void mark(final BlockHeader header) {
+      final Hash stateRoot = header.getStateRoot();
+      LOG.debug(
+          "Begin marking used nodes for pruning. Block number: {} State root: {}",
+          markBlockNumber,
+          stateRoot);
+      execute(
+          () -> {
+            markSweepPruner.mark(stateRoot);
+            pruningPhase.compareAndSet(PruningPhase.MARKING, PruningPhase.MARKING_COMPLETE);
+          });
+    }
+
+    private void sweep() {
+      LOG.debug(
+          "Begin sweeping unused nodes for pruning. Keeping full state for blocks {} to {}",
+          markBlockNumber,
+          markBlockNumber + blocksRetained);
+      execute(
+          () -> {
+            markSweepPruner.sweepBefore(markBlockNumber);
+            pruningPhase.compareAndSet(PruningPhase.SWEEPING, PruningPhase.IDLE);
+          });
+    }
+  }
+
+  /**
+   * Journals the nodes written by every block and brings the reference counts up to date each
+   * time the chain head changes.
+   */
+  private class ReferenceCountingStrategy implements PruningStrategy {
+    private final ReferenceCountingPruner referenceCountingPruner;
+    private final AtomicBoolean pruneScheduled = new AtomicBoolean(false);
+
+    ReferenceCountingStrategy(final ReferenceCountingPruner referenceCountingPruner) {
+      this.referenceCountingPruner = referenceCountingPruner;
+    }
+
+    @Override
+    public void prepare() {
+      referenceCountingPruner.prepare();
+    }
+
+    @Override
+    public void cleanup() {
+      referenceCountingPruner.cleanup();
+    }
+
+    @Override
+    public void handleNewBlock(final BlockAddedEvent event) {
+      referenceCountingPruner.onBlockAdded(event);
+      // Reference counting catches up to the chain head each time it runs so only one run needs
+      // to be queued at a time.
+      if (event.isNewCanonicalHead() && pruneScheduled.compareAndSet(false, true)) {
+        execute(
+            () -> {
+              pruneScheduled.set(false);
+              referenceCountingPruner.prune();
+            });
+      }
+    }
+  }
 }
@@ -18,13 +18,24 @@ public class PrunerConfiguration {
   public static final long DEFAULT_PRUNING_BLOCKS_RETAINED = 1024;
   public static final long DEFAULT_PRUNING_BLOCK_CONFIRMATIONS = 10;
 
+  public static final PruningMode DEFAULT_PRUNING_MODE = PruningMode.MARK_SWEEP;
+
   private final long blocksRetainedBeforeSweeping;
   private final long blockConfirmationsBeforeMarking;
+  private final PruningMode pruningMode;
 
   public PrunerConfiguration(
       final long blockConfirmationsBeforeMarking, final long blocksRetainedBeforeSweeping) {
+    this(blockConfirmationsBeforeMarking, blocksRetainedBeforeSweeping, DEFAULT_PRUNING_MODE);
+  }
+
+  public PrunerConfiguration(
+      final long blockConfirmationsBeforeMarking,
+      final long blocksRetainedBeforeSweeping,
+      final PruningMode pruningMode) {
     this.blockConfirmationsBeforeMarking = blockConfirmationsBeforeMarking;
     this.blocksRetainedBeforeSweeping = blocksRetainedBeforeSweeping;
+    this.pruningMode = pruningMode;
   }
 
   public static PrunerConfiguration getDefault() {
@@ -39,4 +50,15 @@ public class PrunerConfiguration {
   public long getBlockConfirmations() {
     return blockConfirmationsBeforeMarking;
   }
+
+  public PruningMode getPruningMode() {
+    return pruningMode;
+  }
+
+  public enum PruningMode {
+    /** Periodically mark the nodes of a recent state and sweep all others from storage. */
+    MARK_SWEEP,
+    /** Count references to each node and remove nodes once they're no longer referenced. */
+    REFERENCE_COUNTING
+  }
 }
@@ -0,0 +1,594 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
+import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.Node;
+import org.hyperledger.besu.ethereum.trie.TrieNodeDecoder;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.BytesValues;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import com.google.common.collect.ConcurrentHashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.primitives.Longs;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Prunes the world state incrementally by keeping a count of the references to every stored node.
+ *
+ * <p>A node's reference count is the number of counted parent nodes, accounts and retained block
+ * state roots that refer to it. When a block becomes part of the canonical chain its state root is
+ * referenced, which only has to visit the nodes that are not already referenced by an earlier
+ * state. Once a block is more than {@code blocksRetained} blocks behind the chain head its state
+ * root is released, and any node whose count drops to zero is removed along with the references it
+ * holds. The first block counted after this pruner is enabled references the whole world state, so
+ * only that pass visits every node.
+ *
+ * <p>Nodes written since the last counted block are journaled by the block that wrote them and are
+ * never removed while the journal is held, as they may belong to a state that hasn't been counted
+ * yet. A journaled node whose count drops to zero keeps the references it holds to its children,
+ * since a rewritten node shares its unchanged children with the state that wrote it. It is released
+ * once it is no longer journaled, unless a newly counted state references it by then. Journals of
+ * blocks that never become canonical are used to remove the nodes only those blocks wrote once they
+ * fall outside the retention window.
+ *
+ * <p>Reference counts are kept in their own storage which is cleared when it was last used by a
+ * different pruning strategy. Counts written part way through counting a state are not undone if
+ * the node stops, and nodes waiting to be released when their journal is dropped are forgotten if
+ * the node stops. Both can only cause nodes to be kept rather than removed.
+ */
+public class ReferenceCountingPruner {
+
+  private static final Logger LOG = LogManager.getLogger();
+  private static final int DEFAULT_OPS_PER_TRANSACTION = 1000;
+  private static final byte[] FORMAT_KEY = "referenceCountFormat".getBytes(UTF_8);
+  private static final byte[] FORMAT_VERSION = BytesValue.of(1).getArrayUnsafe();
+  private static final byte[] LAST_COUNTED_BLOCK_KEY = "lastCountedBlock".getBytes(UTF_8);
+  private static final byte[] LAST_RELEASED_BLOCK_KEY = "lastReleasedBlock".getBytes(UTF_8);
+  private static final BytesValue COUNTED_BLOCKS_PREFIX =
+      BytesValue.wrap("countedBlocks".getBytes(UTF_8));
+
+  private final WorldStateStorage worldStateStorage;
+  private final Blockchain blockchain;
+  private final KeyValueStorage referenceCountStorage;
+  private final long blocksRetained;
+  private final int operationsPerTransaction;
+  private final Counter countedStatesCounter;
+  private final Counter releasedStatesCounter;
+  private final Counter prunedNodesCounter;
+
+  private final Object journalLock = new Object();
+  private final Map<Hash, NodeJournal> journals = new HashMap<>();
+  private final Multiset<Bytes32> journaledNodes = ConcurrentHashMultiset.create();
+  private List<Bytes32> unassignedNodes = new ArrayList<>();
+  private volatile long nodeAddedListenerId;
+
+  // Only accessed from the thread performing the pruning.
+  private final Map<Bytes32, Long> pendingCounts = new HashMap<>();
+  // Nodes whose count dropped to zero while journaled, which still reference their children.
+  private final Map<Bytes32, NodeType> deferredReleases = new HashMap<>();
+
+  public ReferenceCountingPruner(
+      final WorldStateStorage worldStateStorage,
+      final Blockchain blockchain,
+      final KeyValueStorage referenceCountStorage,
+      final ObservableMetricsSystem metricsSystem,
+      final long blocksRetained) {
+    this(
+        worldStateStorage,
+        blockchain,
+        referenceCountStorage,
+        metricsSystem,
+        blocksRetained,
+        DEFAULT_OPS_PER_TRANSACTION);
+  }
+
+  public ReferenceCountingPruner(
+      final WorldStateStorage worldStateStorage,
+      final Blockchain blockchain,
+      final KeyValueStorage referenceCountStorage,
+      final ObservableMetricsSystem metricsSystem,
+      final long blocksRetained,
+      final int operationsPerTransaction) {
+    this.worldStateStorage = worldStateStorage;
+    this.blockchain = blockchain;
+    this.referenceCountStorage = referenceCountStorage;
+    this.blocksRetained = blocksRetained;
+    this.operationsPerTransaction = operationsPerTransaction;
+
+    countedStatesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "counted_states_total",
+            "Total number of block states whose nodes have been reference counted");
+    releasedStatesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "released_states_total",
+            "Total number of block states released after leaving the retention window");
+    prunedNodesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "unreferenced_nodes_removed_total",
+            "Total number of nodes removed because they were no longer referenced");
+  }
+
+  public void prepare() {
+    final boolean countsAreCurrent =
+        referenceCountStorage
+            .get(FORMAT_KEY)
+            .map(format -> Arrays.equals(format, FORMAT_VERSION))
+            .orElse(false);
+    if (!countsAreCurrent) {
+      // The storage may hold marks from a mark and sweep pruner, or counts we can't read.
+      referenceCountStorage.clear();
+      final KeyValueStorageTransaction transaction = referenceCountStorage.startTransaction();
+      transaction.put(FORMAT_KEY, FORMAT_VERSION);
+      transaction.commit();
+    }
+    nodeAddedListenerId = worldStateStorage.addNodeAddedListener(this::onNodesAdded);
+  }
+
+  public void cleanup() {
+    worldStateStorage.removeNodeAddedListener(nodeAddedListenerId);
+    synchronized (journalLock) {
+      journals.clear();
+      journaledNodes.clear();
+      unassignedNodes = new ArrayList<>();
+    }
+    pendingCounts.clear();
+    deferredReleases.clear();
+  }
+
+  private void onNodesAdded(final Collection<Bytes32> nodeHashes) {
+    synchronized (journalLock) {
+      unassignedNodes.addAll(nodeHashes);
+      journaledNodes.addAll(nodeHashes);
+    }
+  }
+
+  /**
+   * Assigns the nodes written since the last block was added to the journal of the given block.
+   * Must be called for every block added, after its world state has been persisted.
+   *
+   * @param event the block added event
+   */
+  public void onBlockAdded(final BlockAddedEvent event) {
+    final BlockHeader header = event.getBlock().getHeader();
+    synchronized (journalLock) {
+      final NodeJournal journal =
+          journals.computeIfAbsent(header.getHash(), hash -> new NodeJournal(header.getNumber()));
+      journal.nodes.addAll(unassignedNodes);
+      unassignedNodes = new ArrayList<>();
+    }
+  }
+
+  /**
+   * Counts the references held by every canonical block up to the current chain head and releases
+   * those held by blocks that have left the retention window, removing unreferenced nodes.
+   */
+  public void prune() {
+    final long chainHead = blockchain.getChainHeadBlockNumber();
+    if (getBlockNumber(LAST_COUNTED_BLOCK_KEY).isEmpty()) {
+      // Start counting from the chain head. Earlier states are left as they are.
+      final KeyValueStorageTransaction transaction = referenceCountStorage.startTransaction();
+      transaction.put(LAST_COUNTED_BLOCK_KEY, Longs.toByteArray(chainHead - 1));
+      transaction.put(LAST_RELEASED_BLOCK_KEY, Longs.toByteArray(chainHead - 1));
+      transaction.commit();
+    }
+    final long lastCountedBlock = getBlockNumber(LAST_COUNTED_BLOCK_KEY).getAsLong();
+    final long lastReleasedBlock = getBlockNumber(LAST_RELEASED_BLOCK_KEY).getAsLong();
+
+    try {
+      countReorganizedBlocks(lastCountedBlock, lastReleasedBlock);
+      for (long blockNumber = lastCountedBlock + 1; blockNumber <= chainHead; blockNumber++) {
+        countBlock(blockNumber);
+      }
+      for (long blockNumber = lastReleasedBlock + 1;
+          blockNumber <= chainHead - blocksRetained;
+          blockNumber++) {
+        releaseBlock(blockNumber);
+      }
+    } finally {
+      // Discard any counts from a block that wasn't finished so they're recalculated next time.
+      pendingCounts.clear();
+    }
+  }
+
+  private void countReorganizedBlocks(final long lastCountedBlock, final long lastReleasedBlock) {
+    // Blocks that were counted and have since been replaced on the canonical chain stay counted
+    // until they're released, so only the replacements need counting.
+    for (long blockNumber = lastCountedBlock; blockNumber > lastReleasedBlock; blockNumber--) {
+      final Optional<BlockHeader> canonicalHeader = blockchain.getBlockHeader(blockNumber);
+      if (canonicalHeader.isEmpty()) {
+        continue;
+      }
+      final List<CountedBlock> countedBlocks = getCountedBlocks(blockNumber);
+      final Hash canonicalHash = canonicalHeader.get().getHash();
+      if (countedBlocks.stream().anyMatch(counted -> counted.blockHash.equals(canonicalHash))) {
+        break;
+      }
+      LOG.debug("Counting references of reorganized block {}", blockNumber);
+      countedBlocks.add(count(canonicalHeader.get()));
+      flushCounts(blockNumber, countedBlocks, LAST_COUNTED_BLOCK_KEY, lastCountedBlock);
+    }
+  }
+
+  private void countBlock(final long blockNumber) {
+    final List<CountedBlock> countedBlocks = getCountedBlocks(blockNumber);
+    blockchain
+        .getBlockHeader(blockNumber)
+        .ifPresent(header -> countedBlocks.add(count(header)));
+    flushCounts(blockNumber, countedBlocks, LAST_COUNTED_BLOCK_KEY, blockNumber);
+  }
+
+  private CountedBlock count(final BlockHeader header) {
+    // Blocks below a fast sync pivot have no state to count.
+    final boolean stateAvailable = worldStateStorage.isWorldStateAvailable(header.getStateRoot());
+    if (stateAvailable) {
+      incrementReferences(header.getStateRoot());
+      countedStatesCounter.inc();
+    }
+    releaseJournal(header.getHash());
+    return new CountedBlock(header.getHash(), stateAvailable);
+  }
+
+  private void releaseBlock(final long blockNumber) {
+    final Deque<NodeReference> released = new ArrayDeque<>();
+    for (final CountedBlock countedBlock : getCountedBlocks(blockNumber)) {
+      final Optional<BlockHeader> header = blockchain.getBlockHeader(countedBlock.blockHash);
+      if (countedBlock.stateCounted && header.isPresent()) {
+        decrementReferences(header.get().getStateRoot(), released);
+        releasedStatesCounter.inc();
+      }
+    }
+    final List<Bytes32> forkNodes = dropForkJournals(blockNumber);
+    releaseDeferredNodes(released);
+
+    final Set<Bytes32> removedNodes = new HashSet<>();
+    synchronized (journalLock) {
+      // Listeners are notified before nodes are stored, so nodes written while we were releasing
+      // have been journaled by now, and any written after this check are stored again after the
+      // removals are committed.
+      restoreRewrittenNodes(released);
+      // Counts are committed before nodes are removed so that stopping in between can only leave
+      // unreferenced nodes behind.
+      flushCounts(blockNumber, List.of(), LAST_RELEASED_BLOCK_KEY, blockNumber);
+      released.forEach(reference -> removedNodes.add(reference.hash));
+      removedNodes.addAll(forkNodes);
+      removedNodes.removeIf(nodeHash -> !isRemovable(nodeHash));
+      final WorldStateStorage.Updater removals = worldStateStorage.updater();
+      removedNodes.forEach(removals::removeAccountStateTrieNode);
+      removals.commit();
+    }
+    prunedNodesCounter.inc(removedNodes.size());
+  }
+
+  private boolean isRemovable(final Bytes32 nodeHash) {
+    return getCount(nodeHash) == 0
+        && !journaledNodes.contains(nodeHash)
+        && !deferredReleases.containsKey(nodeHash);
+  }
+
+  /**
+   * Drops the journals of blocks at or below the given height that were never counted, because
+   * they never became canonical.
+   *
+   * @param blockNumber the height of the block being released
+   * @return the nodes written by those blocks, which are removed if nothing references them
+   */
+  private List<Bytes32> dropForkJournals(final long blockNumber) {
+    final List<Bytes32> forkNodes = new ArrayList<>();
+    synchronized (journalLock) {
+      final Iterator<NodeJournal> iterator = journals.values().iterator();
+      while (iterator.hasNext()) {
+        final NodeJournal journal = iterator.next();
+        if (journal.blockNumber <= blockNumber) {
+          iterator.remove();
+          journal.nodes.forEach(journaledNodes::remove);
+          forkNodes.addAll(journal.nodes);
+        }
+      }
+    }
+    return forkNodes;
+  }
+
+  private void releaseDeferredNodes(final Deque<NodeReference> released) {
+    final Deque<NodeReference> pending = new ArrayDeque<>();
+    final Iterator<Map.Entry<Bytes32, NodeType>> iterator = deferredReleases.entrySet().iterator();
+    while (iterator.hasNext()) {
+      final Map.Entry<Bytes32, NodeType> deferred = iterator.next();
+      if (journaledNodes.contains(deferred.getKey())) {
+        continue;
+      }
+      iterator.remove();
+      // Counts that weren't committed because pruning failed may have left it referenced.
+      if (getCount(deferred.getKey()) == 0) {
+        final NodeReference reference = new NodeReference(deferred.getKey(), deferred.getValue());
+        released.add(reference);
+        pushChildren(reference, pending);
+      }
+    }
+    releaseReferences(pending, released);
+  }
+
+  /**
+   * Released nodes that have been journaled since they were released were written again by a block
+   * that hasn't been counted yet. They're kept, and as their children were released along with
+   * them the references to those children are restored.
+   */
+  private void restoreRewrittenNodes(final Deque<NodeReference> released) {
+    final Deque<NodeReference> pending = new ArrayDeque<>();
+    for (final NodeReference reference : released) {
+      if (journaledNodes.contains(reference.hash)
+          && getCount(reference.hash) == 0
+          && !deferredReleases.containsKey(reference.hash)) {
+        deferredReleases.put(reference.hash, reference.type);
+        pushChildren(reference, pending);
+      }
+    }
+    if (!pending.isEmpty()) {
+      incrementReferences(pending);
+    }
+  }
+
+  private void releaseJournal(final Hash blockHash) {
+    synchronized (journalLock) {
+      final NodeJournal journal = journals.remove(blockHash);
+      if (journal != null) {
+        journal.nodes.forEach(journaledNodes::remove);
+      }
+    }
+  }
+
+  private void incrementReferences(final Hash stateRoot) {
+    final Deque<NodeReference> pending = new ArrayDeque<>();
+    pending.push(new NodeReference(stateRoot, NodeType.ACCOUNT_TRIE));
+    incrementReferences(pending);
+  }
+
+  private void incrementReferences(final Deque<NodeReference> pending) {
+    while (!pending.isEmpty()) {
+      if (Thread.interrupted()) {
+        throw new RuntimeException("Interrupted while counting references");
+      }
+      final NodeReference reference = pending.pop();
+      final long count = getCount(reference.hash);
+      pendingCounts.put(reference.hash, count + 1);
+      // A node waiting to be released still holds the references to its children.
+      if (count == 0 && deferredReleases.remove(reference.hash) == null) {
+        pushChildren(reference, pending);
+      }
+      if (pendingCounts.size() >= operationsPerTransaction) {
+        // Counts may be committed part way through a state as extra references are safe.
+        flushCounts();
+      }
+    }
+  }
+
+  private void decrementReferences(final Hash stateRoot, final Deque<NodeReference> released) {
+    final Deque<NodeReference> pending = new ArrayDeque<>();
+    pending.push(new NodeReference(stateRoot, NodeType.ACCOUNT_TRIE));
+    releaseReferences(pending, released);
+  }
+
+  private void releaseReferences(
+      final Deque<NodeReference> pending, final Deque<NodeReference> released) {
+    while (!pending.isEmpty()) {
+      if (Thread.interrupted()) {
+        throw new RuntimeException("Interrupted while releasing references");
+      }
+      final NodeReference reference = pending.pop();
+      final long count = getCount(reference.hash);
+      if (count == 0) {
+        // Not counted, most likely because it was stored before this pruner was enabled.
+        continue;
+      }
+      pendingCounts.put(reference.hash, count - 1);
+      if (count == 1) {
+        if (journaledNodes.contains(reference.hash)) {
+          // Written again by a block that hasn't been counted yet, which may share its children.
+          deferredReleases.put(reference.hash, reference.type);
+        } else {
+          released.add(reference);
+          pushChildren(reference, pending);
+        }
+      }
+    }
+  }
+
+  private void pushChildren(final NodeReference reference, final Deque<NodeReference> pending) {
+    if (reference.type == NodeType.CODE) {
+      return;
+    }
+    final Optional<BytesValue> nodeData = worldStateStorage.getNodeData(reference.hash);
+    if (nodeData.isEmpty()) {
+      return;
+    }
+    final List<Node<BytesValue>> nodes = TrieNodeDecoder.decodeNodes(nodeData.get());
+    for (int i = 0; i < nodes.size(); i++) {
+      final Node<BytesValue> node = nodes.get(i);
+      if (i > 0 && node.isReferencedByHash()) {
+        pushReference(node.getHash(), reference.type, pending);
+      } else if (reference.type == NodeType.ACCOUNT_TRIE) {
+        node.getValue()
+            .map(value -> StateTrieAccountValue.readFrom(RLP.input(value)))
+            .ifPresent(
+                account -> {
+                  pushReference(account.getStorageRoot(), NodeType.STORAGE_TRIE, pending);
+                  pushReference(account.getCodeHash(), NodeType.CODE, pending);
+                });
+      }
+    }
+  }
+
+  private static void pushReference(
+      final Bytes32 hash, final NodeType type, final Deque<NodeReference> pending) {
+    // Empty tries and code are never stored so don't need counting.
+    if (!hash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH) && !hash.equals(Hash.EMPTY)) {
+      pending.push(new NodeReference(hash, type));
+    }
+  }
+
+  private long getCount(final Bytes32 nodeHash) {
+    final Long pendingCount = pendingCounts.get(nodeHash);
+    if (pendingCount != null) {
+      return pendingCount;
+    }
+    return referenceCountStorage
+        .get(nodeHash.getArrayUnsafe())
+        .map(Longs::fromByteArray)
+        .orElse(0L);
+  }
+
+  private void flushCounts() {
+    final KeyValueStorageTransaction transaction = referenceCountStorage.startTransaction();
+    addPendingCounts(transaction);
+    transaction.commit();
+  }
+
+  private void flushCounts(
+      final long blockNumber,
+      final List<CountedBlock> countedBlocks,
+      final byte[] progressKey,
+      final long progressBlockNumber) {
+    final KeyValueStorageTransaction transaction = referenceCountStorage.startTransaction();
+    addPendingCounts(transaction);
+    final byte[] countedBlocksKey = countedBlocksKey(blockNumber);
+    if (countedBlocks.isEmpty()) {
+      transaction.remove(countedBlocksKey);
+    } else {
+      transaction.put(
+          countedBlocksKey,
+          RLP.encode(out -> out.writeList(countedBlocks, CountedBlock::writeTo)).getArrayUnsafe());
+    }
+    transaction.put(progressKey, Longs.toByteArray(progressBlockNumber));
+    transaction.commit();
+  }
+
+  private void addPendingCounts(final KeyValueStorageTransaction transaction) {
+    pendingCounts.forEach(
+        (nodeHash, count) -> {
+          if (count == 0) {
+            transaction.remove(nodeHash.getArrayUnsafe());
+          } else {
+            transaction.put(nodeHash.getArrayUnsafe(), Longs.toByteArray(count));
+          }
+        });
+    pendingCounts.clear();
+  }
+
+  private List<CountedBlock> getCountedBlocks(final long blockNumber) {
+    return referenceCountStorage
+        .get(countedBlocksKey(blockNumber))
+        .map(value -> RLP.input(BytesValue.wrap(value)).readList(CountedBlock::readFrom))
+        .<List<CountedBlock>>map(ArrayList::new)
+        .orElseGet(ArrayList::new);
+  }
+
+  private OptionalLong getBlockNumber(final byte[] key) {
+    return referenceCountStorage
+        .get(key)
+        .map(value -> OptionalLong.of(Longs.fromByteArray(value)))
+        .orElse(OptionalLong.empty());
+  }
+
+  private static byte[] countedBlocksKey(final long blockNumber) {
+    // Never 32 bytes long so can't collide with a node hash.
+    return BytesValues.concatenate(
+            COUNTED_BLOCKS_PREFIX, BytesValue.wrap(Longs.toByteArray(blockNumber)))
+        .getArrayUnsafe();
+  }
+
+  private enum NodeType {
+    ACCOUNT_TRIE,
+    STORAGE_TRIE,
+    CODE
+  }
+
+  private static class NodeReference {
+    private final Bytes32 hash;
+    private final NodeType type;
+
+    NodeReference(final Bytes32 hash, final NodeType type) {
+      this.hash = hash;
+      this.type = type;
+    }
+  }
+
+  private static class CountedBlock {
+    private final Hash blockHash;
+    private final boolean stateCounted;
+
+    CountedBlock(final Hash blockHash, final boolean stateCounted) {
+      this.blockHash = blockHash;
+      this.stateCounted = stateCounted;
+    }
+
+    static CountedBlock readFrom(final RLPInput in) {
+      in.enterList();
+      final CountedBlock countedBlock =
+          new CountedBlock(Hash.wrap(in.readBytes32()), in.readIntScalar() != 0);
+      in.leaveList();
+      return countedBlock;
+    }
+
+    void writeTo(final RLPOutput out) {
+      out.startList();
+      out.writeBytesValue(blockHash);
+      out.writeIntScalar(stateCounted ? 1 : 0);
+      out.endList();
+    }
+  }
+
+  private static class NodeJournal {
+    private final long blockNumber;
+    private final List<Bytes32> nodes = new ArrayList<>();
+
+    NodeJournal(final long blockNumber) {
+      this.blockNumber = blockNumber;
+    }
+  }
+}
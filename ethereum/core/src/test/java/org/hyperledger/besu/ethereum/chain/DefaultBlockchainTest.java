@@ -231,6 +231,98 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.getForks()).isEmpty();
   }
 
+  @Test
+  public void transactionLookedUpBeforeBeingIndexedIsFoundAfterwards() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(2);
+    final Transaction transaction = chain.get(1).getBody().getTransactions().get(0);
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultBlockchain blockchain = createMutableBlockchain(kvStore, chain.get(0));
+    assertThat(blockchain.getTransactionLocation(transaction.getHash())).isEmpty();
+    assertThat(blockchain.getTransactionLocation(transaction.getHash())).isEmpty();
+
+    blockchain.appendBlock(chain.get(1), gen.receipts(chain.get(1)));
+
+    assertThat(blockchain.getTransactionLocation(transaction.getHash()))
+        .contains(new TransactionLocation(chain.get(1).getHash(), 0));
+  }
+
+  @Test
+  public void transactionIndexIsLimitedToConfiguredDepth() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final List<Block> chain = gen.blockSequence(5);
+
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultBlockchain blockchain =
+        (DefaultBlockchain)
+            DefaultBlockchain.createMutable(
+                chain.get(0), createStorage(kvStore), new NoOpMetricsSystem(), Optional.of(2L));
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), gen.receipts(chain.get(i)));
+    }
+
+    for (int i = 1; i < chain.size(); i++) {
+      final boolean indexed = i >= chain.size() - 2;
+      for (final Transaction transaction : chain.get(i).getBody().getTransactions()) {
+        assertThat(blockchain.getTransactionByHash(transaction.getHash()).isPresent())
+            .isEqualTo(indexed);
+      }
+    }
+  }
+
+  @Test
+  public void transactionIndexIsLimitedToConfiguredDepthAcrossReorgs() {
+    assertTransactionIndexDepthIsKeptAcrossReorgs(2);
+  }
+
+  @Test
+  public void transactionIndexIsDisabledAcrossReorgsWithZeroDepth() {
+    assertTransactionIndexDepthIsKeptAcrossReorgs(0);
+  }
+
+  private void assertTransactionIndexDepthIsKeptAcrossReorgs(final long depth) {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<Block> chain = gen.blockSequence(4);
+    final KeyValueStorage kvStore = new InMemoryKeyValueStorage();
+    final DefaultBlockchain blockchain =
+        (DefaultBlockchain)
+            DefaultBlockchain.createMutable(
+                chain.get(0), createStorage(kvStore), new NoOpMetricsSystem(), Optional.of(depth));
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), gen.receipts(chain.get(i)));
+    }
+
+    // Build a fork from block 1 that only overtakes the original chain with its last block
+    final List<Block> fork = new ArrayList<>(chain.subList(0, 2));
+    for (int number = 2; number <= 5; number++) {
+      final BlockDataGenerator.BlockOptions options =
+          new BlockDataGenerator.BlockOptions()
+              .setParentHash(fork.get(number - 1).getHash())
+              .setBlockNumber(number)
+              .setDifficulty(UInt256.of(number == 5 ? 100L : 1L));
+      fork.add(gen.block(options));
+    }
+    final List<Block> allBlocks = new ArrayList<>(chain);
+    allBlocks.addAll(fork.subList(2, fork.size()));
+
+    for (int i = 2; i < fork.size() - 1; i++) {
+      blockchain.appendBlock(fork.get(i), gen.receipts(fork.get(i)));
+    }
+    assertBlockIsHead(blockchain, chain.get(3));
+    assertTransactionIndexCovers(blockchain, chain, depth, allBlocks);
+
+    // Reorg to a head two blocks above the old head
+    blockchain.appendBlock(fork.get(5), gen.receipts(fork.get(5)));
+    assertBlockIsHead(blockchain, fork.get(5));
+    assertTransactionIndexCovers(blockchain, fork, depth, allBlocks);
+
+    // Rewind back below the indexed range
+    blockchain.rewindToBlock(2);
+    assertBlockIsHead(blockchain, fork.get(2));
+    assertTransactionIndexCovers(blockchain, fork.subList(0, 3), depth, allBlocks);
+  }
+
   @Test
   public void appendBlockWithReorgToChainAtEqualHeight() {
     final BlockDataGenerator gen = new BlockDataGenerator(1);
@@ -908,6 +1000,25 @@ public class DefaultBlockchainTest {
     assertThat(blockchain.getChainHead().getTotalDifficulty()).isEqualTo(td);
   }
 
+  private void assertTransactionIndexCovers(
+      final Blockchain blockchain,
+      final List<Block> canonicalChain,
+      final long depth,
+      final List<Block> allBlocks) {
+    final long headNumber = canonicalChain.size() - 1;
+    for (final Block block : allBlocks) {
+      final long number = block.getHeader().getNumber();
+      final boolean indexed =
+          canonicalChain.contains(block)
+              && number > BlockHeader.GENESIS_BLOCK_NUMBER
+              && number > headNumber - depth;
+      for (final Transaction transaction : block.getBody().getTransactions()) {
+        assertThat(blockchain.getTransactionByHash(transaction.getHash()).isPresent())
+            .isEqualTo(indexed);
+      }
+    }
+  }
+
   private BlockchainStorage createStorage(final KeyValueStorage kvStore) {
     return new KeyValueStoragePrefixedKeyBlockchainStorage(
         kvStore, new MainnetBlockHeaderFunctions());
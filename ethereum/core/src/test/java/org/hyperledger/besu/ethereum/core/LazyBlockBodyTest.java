@@ -0,0 +1,60 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import org.junit.Test;
+
+public class LazyBlockBodyTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  @Test
+  public void computesTransactionsRootAndOmmersHashFromEncoding() {
+    final BlockBody body = gen.body();
+    final LazyBlockBody lazyBody =
+        new LazyBlockBody(RLP.encode(body::writeTo), new MainnetBlockHeaderFunctions());
+
+    assertThat(lazyBody.getTransactionsRoot())
+        .isEqualTo(BodyValidation.transactionsRoot(body.getTransactions()));
+    assertThat(lazyBody.getOmmersHash()).isEqualTo(BodyValidation.ommersHash(body.getOmmers()));
+  }
+
+  @Test
+  public void decodesBodyOnFirstAccess() {
+    final BlockBody body = gen.body();
+    final BytesValue encoded = RLP.encode(body::writeTo);
+    final LazyBlockBody lazyBody =
+        LazyBlockBody.readFrom(RLP.input(encoded), new MainnetBlockHeaderFunctions());
+
+    assertThat(lazyBody.getEncoded()).isEqualTo(encoded);
+    assertThat(lazyBody.getBody()).isEqualTo(body);
+    assertThat(lazyBody.getBody()).isSameAs(lazyBody.getBody());
+  }
+
+  @Test
+  public void decodedTransactionsAreHashedFromTheirEncoding() {
+    final Transaction transaction = gen.transaction();
+    final BytesValue encoded = RLP.encode(transaction::writeTo);
+
+    assertThat(Transaction.readFrom(RLP.input(encoded)).getHash()).isEqualTo(Hash.hash(encoded));
+  }
+}
@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.math.BigInteger;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -54,6 +55,17 @@ public class TransactionIntegrationTest {
     assertThat(output.encoded().toString()).isEqualTo(encodedString);
   }
 
+  @Test
+  public void shouldHashOriginalEncodingOfTransactionDecodedFromList() {
+    final String encodedString =
+        "0xf86a018609184e72a0008276c094d30c3d13b07029deba00de1da369cd69a02c20560180850100000021a07d344f26d7329e8932d2878b99f07b12752bbd13a0b3b822644dbf9600fe718da01d6e6b6c66e1aadf4e33e318a7eef03d3bd3602de52662f0cb5af5b372d44dcd";
+    final BytesValue encoded = BytesValue.fromHexString(encodedString);
+    final BytesValue list =
+        RLP.encode(out -> out.writeList(List.of(encoded, encoded), (tx, o) -> o.writeRLPUnsafe(tx)));
+    final List<Transaction> transactions = RLP.input(list).readList(Transaction::readFrom);
+    assertThat(transactions.get(1).getHash()).isEqualTo(Hash.hash(encoded));
+  }
+
   @Test
   public void shouldDecodeTransactionWithLargeChainId() {
     final String encodedString =
@@ -29,6 +29,8 @@ import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -255,6 +257,34 @@ public class BlockHeaderValidatorTest {
     inOrder.verify(rule4).validate(header, parent, protocolContext);
   }
 
+  @Test
+  public void prepareHeaderShouldRunHeaderPreparation() {
+    final List<BlockHeader> preparedHeaders = new ArrayList<>();
+    final BlockHeaderValidator<Void> validator =
+        new BlockHeaderValidator.Builder<Void>()
+            .addRule(createPassingAttachedRule())
+            .prepareHeadersWith(preparedHeaders::add)
+            .build();
+
+    final BlockHeader header = generator.header();
+    validator.prepareHeader(header);
+
+    assertThat(preparedHeaders).containsExactly(header);
+  }
+
+  @Test
+  public void prepareHeaderShouldIgnoreFailures() {
+    final BlockHeaderValidator<Void> validator =
+        new BlockHeaderValidator.Builder<Void>()
+            .prepareHeadersWith(
+                header -> {
+                  throw new IllegalArgumentException("Invalid seal");
+                })
+            .build();
+
+    validator.prepareHeader(generator.header());
+  }
+
   private DetachedBlockHeaderValidationRule createPassingDetachedRule(
       final boolean includeInLightValidation) {
     return createDetachedRule(true, includeInLightValidation);
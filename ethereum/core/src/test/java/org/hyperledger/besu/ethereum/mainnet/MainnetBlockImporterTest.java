@@ -17,15 +17,22 @@ package org.hyperledger.besu.ethereum.mainnet;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.BlockValidator;
+import org.hyperledger.besu.ethereum.BlockValidator.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -62,4 +69,41 @@ public class MainnetBlockImporterTest {
             context, block, HeaderValidationMode.FULL, HeaderValidationMode.FULL);
     verify(blockchain, never()).appendBlock(eq(block), any());
   }
+
+  @Test
+  public void importProcessedBlockPersistsOutputsWithoutProcessingBlock() {
+    final MutableWorldState worldState = mock(MutableWorldState.class);
+    final List<TransactionReceipt> receipts = Collections.emptyList();
+    final BlockProcessingOutputs processingOutputs =
+        new BlockProcessingOutputs(worldState, receipts);
+    when(blockValidator.validateProcessedBlock(
+            context,
+            block,
+            processingOutputs,
+            HeaderValidationMode.FULL,
+            HeaderValidationMode.FULL))
+        .thenReturn(true);
+
+    assertThat(
+            blockImporter.importProcessedBlock(
+                context, block, processingOutputs, HeaderValidationMode.FULL))
+        .isTrue();
+    verify(blockValidator, never()).validateAndProcessBlock(any(), any(), any(), any());
+    verify(worldState).persist();
+    verify(blockchain).appendBlock(block, receipts);
+  }
+
+  @Test
+  public void importProcessedBlockDoesNotPersistInvalidBlock() {
+    final MutableWorldState worldState = mock(MutableWorldState.class);
+    final BlockProcessingOutputs processingOutputs =
+        new BlockProcessingOutputs(worldState, Collections.emptyList());
+
+    assertThat(
+            blockImporter.importProcessedBlock(
+                context, block, processingOutputs, HeaderValidationMode.FULL))
+        .isFalse();
+    verify(worldState, never()).persist();
+    verify(blockchain, never()).appendBlock(eq(block), any());
+  }
 }
@@ -19,6 +19,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.enclave.Enclave;
@@ -41,8 +44,10 @@ import org.hyperledger.besu.ethereum.vm.OperationTracer;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.BytesValues;
 
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -58,6 +63,10 @@ public class PrivacyPrecompiledContractTest {
   private PrivacyPrecompiledContract privacyPrecompiledContract;
   private PrivacyPrecompiledContract brokenPrivateTransactionHandler;
   private MessageFrame messageFrame;
+  private WorldStateArchive worldStateArchive;
+  private PrivateStateStorage privateStateStorage;
+  private MutableWorldState mutableWorldState;
+  private PrivateStateStorage.Updater storageUpdater;
   private final String DEFAULT_OUTPUT = "0x01";
 
   private static final byte[] VALID_PRIVATE_TRANSACTION_RLP_BASE64 =
@@ -113,15 +122,14 @@ public class PrivacyPrecompiledContractTest {
 
   @Before
   public void setUp() {
-    final WorldStateArchive worldStateArchive;
     worldStateArchive = mock(WorldStateArchive.class);
-    final MutableWorldState mutableWorldState = mock(MutableWorldState.class);
+    mutableWorldState = mock(MutableWorldState.class);
     when(mutableWorldState.updater()).thenReturn(mock(WorldUpdater.class));
     when(worldStateArchive.getMutable()).thenReturn(mutableWorldState);
     when(worldStateArchive.getMutable(any())).thenReturn(Optional.of(mutableWorldState));
 
-    final PrivateStateStorage privateStateStorage = mock(PrivateStateStorage.class);
-    final PrivateStateStorage.Updater storageUpdater = mock(PrivateStateStorage.Updater.class);
+    privateStateStorage = mock(PrivateStateStorage.class);
+    storageUpdater = mock(PrivateStateStorage.Updater.class);
     when(storageUpdater.putLatestStateRoot(nullable(Bytes32.class), any()))
         .thenReturn(storageUpdater);
     when(storageUpdater.putTransactionLogs(nullable(Bytes32.class), any()))
@@ -159,4 +167,91 @@ public class PrivacyPrecompiledContractTest {
 
     assertThat(expected).isEqualTo(BytesValue.EMPTY);
   }
+
+  @Test
+  public void prefetchedPayloadsAreNotRequestedAgain() {
+    final StubEnclave enclave = new StubEnclave();
+    enclave.addPayload(
+        BytesValues.asBase64String(key),
+        new ReceiveResponse(VALID_PRIVATE_TRANSACTION_RLP_BASE64, ""));
+    final PrivacyPrecompiledContract contract =
+        new PrivacyPrecompiledContract(
+            new SpuriousDragonGasCalculator(), enclave, worldStateArchive, privateStateStorage);
+    contract.setPrivateTransactionProcessor(mockPrivateTxProcessor());
+
+    contract.prefetchPayloads(List.of(key));
+    contract.prefetchPayloads(List.of(key));
+    final BytesValue first = contract.compute(key, messageFrame);
+    final BytesValue second = contract.compute(key, messageFrame);
+
+    assertThat(first).isEqualTo(BytesValue.fromHexString(DEFAULT_OUTPUT));
+    assertThat(second).isEqualTo(first);
+    assertThat(enclave.getReceiveRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void prefetchThatCouldNotReachEnclaveIsRetriedWhenComputed() {
+    final StubEnclave enclave = new StubEnclave();
+    final PrivacyPrecompiledContract contract =
+        new PrivacyPrecompiledContract(
+            new SpuriousDragonGasCalculator(), enclave, worldStateArchive, privateStateStorage);
+    contract.setPrivateTransactionProcessor(mockPrivateTxProcessor());
+
+    enclave.setReachable(false);
+    contract.prefetchPayloads(List.of(key));
+    enclave.setReachable(true);
+    enclave.addPayload(
+        BytesValues.asBase64String(key),
+        new ReceiveResponse(VALID_PRIVATE_TRANSACTION_RLP_BASE64, ""));
+
+    assertThat(contract.compute(key, messageFrame))
+        .isEqualTo(BytesValue.fromHexString(DEFAULT_OUTPUT));
+    assertThat(enclave.getReceiveRequestCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void prefetchRejectedByEnclaveIsNotRequestedAgain() {
+    final StubEnclave enclave = new StubEnclave();
+    final PrivacyPrecompiledContract contract =
+        new PrivacyPrecompiledContract(
+            new SpuriousDragonGasCalculator(), enclave, worldStateArchive, privateStateStorage);
+    contract.setPrivateTransactionProcessor(mockPrivateTxProcessor());
+
+    // The enclave doesn't have the payload, as when this node isn't a party to the transaction.
+    contract.prefetchPayloads(List.of(key));
+
+    assertThat(contract.compute(key, messageFrame)).isEqualTo(BytesValue.EMPTY);
+    assertThat(enclave.getReceiveRequestCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void privateStateIsOnlyPersistedWhenTheSessionIsCommitted() {
+    when(messageFrame.isPersistingState()).thenReturn(true);
+
+    privacyPrecompiledContract.startPrivateStateSession();
+    privacyPrecompiledContract.compute(key, messageFrame);
+    privacyPrecompiledContract.compute(key, messageFrame);
+
+    verify(worldStateArchive, times(1)).getMutable(any());
+    verify(mutableWorldState, never()).persist();
+    verify(storageUpdater, never()).commit();
+
+    privacyPrecompiledContract.commitPrivateStateSession();
+
+    verify(mutableWorldState, times(1)).persist();
+    verify(storageUpdater, times(1)).commit();
+  }
+
+  @Test
+  public void discardedSessionIsNotPersisted() {
+    when(messageFrame.isPersistingState()).thenReturn(true);
+
+    privacyPrecompiledContract.startPrivateStateSession();
+    privacyPrecompiledContract.compute(key, messageFrame);
+    privacyPrecompiledContract.discardPrivateStateSession();
+
+    verify(mutableWorldState, never()).persist();
+    verify(storageUpdater, never()).commit();
+    verify(storageUpdater).rollback();
+  }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.mainnet.precompiles.privacy;
+
+import org.hyperledger.besu.enclave.Enclave;
+import org.hyperledger.besu.enclave.EnclaveException;
+import org.hyperledger.besu.enclave.types.ReceiveRequest;
+import org.hyperledger.besu.enclave.types.ReceiveResponse;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** An enclave which serves payloads from memory and counts the requests made of it. */
+public class StubEnclave extends Enclave {
+  private final Map<String, ReceiveResponse> payloads = new HashMap<>();
+  private final AtomicInteger receiveRequestCount = new AtomicInteger();
+  private volatile boolean reachable = true;
+
+  public StubEnclave() {
+    super(URI.create("http://127.0.0.1:1"));
+  }
+
+  public void addPayload(final String key, final ReceiveResponse response) {
+    payloads.put(key, response);
+  }
+
+  public void setReachable(final boolean reachable) {
+    this.reachable = reachable;
+  }
+
+  public int getReceiveRequestCount() {
+    return receiveRequestCount.get();
+  }
+
+  @Override
+  public ReceiveResponse receive(final ReceiveRequest content) {
+    receiveRequestCount.incrementAndGet();
+    if (!reachable) {
+      throw new RuntimeException("Failed to contact Enclave");
+    }
+    final ReceiveResponse response = payloads.get(content.getKey());
+    if (response == null) {
+      throw new EnclaveException("Unknown key " + content.getKey());
+    }
+    return response;
+  }
+
+  @Override
+  public CompletableFuture<ReceiveResponse> receiveAsync(final ReceiveRequest content) {
+    try {
+      return CompletableFuture.completedFuture(receive(content));
+    } catch (final RuntimeException e) {
+      return CompletableFuture.failedFuture(e);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.privacy.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import org.junit.Test;
+
+public class PrivateStateKeyValueStorageTest {
+  private static final BytesValue PRIVACY_GROUP_ID = BytesValue.fromHexString("0x0102");
+
+  private final KeyValueStorage keyValueStorage = spy(new InMemoryKeyValueStorage());
+  private final PrivateStateKeyValueStorage storage =
+      new PrivateStateKeyValueStorage(keyValueStorage);
+
+  @Test
+  public void latestStateRootIsOnlyReadFromStorageOnce() {
+    storage.updater().putLatestStateRoot(PRIVACY_GROUP_ID, Hash.ZERO).commit();
+    final PrivateStateKeyValueStorage reopenedStorage =
+        new PrivateStateKeyValueStorage(keyValueStorage);
+
+    assertThat(reopenedStorage.getLatestStateRoot(PRIVACY_GROUP_ID)).contains(Hash.ZERO);
+    assertThat(reopenedStorage.getLatestStateRoot(PRIVACY_GROUP_ID)).contains(Hash.ZERO);
+
+    verify(keyValueStorage, times(1)).get(any());
+  }
+
+  @Test
+  public void committedStateRootReplacesCachedStateRoot() {
+    final Hash updatedRoot = Hash.hash(BytesValue.of(1));
+    storage.updater().putLatestStateRoot(PRIVACY_GROUP_ID, Hash.ZERO).commit();
+    assertThat(storage.getLatestStateRoot(PRIVACY_GROUP_ID)).contains(Hash.ZERO);
+
+    final PrivateStateStorage.Updater updater =
+        storage.updater().putLatestStateRoot(PRIVACY_GROUP_ID, updatedRoot);
+    assertThat(storage.getLatestStateRoot(PRIVACY_GROUP_ID)).contains(Hash.ZERO);
+
+    updater.commit();
+    assertThat(storage.getLatestStateRoot(PRIVACY_GROUP_ID)).contains(updatedRoot);
+  }
+}
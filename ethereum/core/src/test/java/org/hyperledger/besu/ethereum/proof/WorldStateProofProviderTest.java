@@ -32,7 +32,10 @@ import org.hyperledger.besu.util.uint.UInt256;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
@@ -117,6 +120,49 @@ public class WorldStateProofProviderTest {
     assertThat(accountProof.get().getStorageProof(storageKey).size()).isGreaterThanOrEqualTo(1);
   }
 
+  @Test
+  public void getProofsForMultipleAccountsSharingStorage() {
+    final MerklePatriciaTrie<Bytes32, BytesValue> worldStateTrie = emptyWorldStateTrie();
+    final MerklePatriciaTrie<Bytes32, BytesValue> storageTrie = emptyStorageTrie();
+
+    final WorldStateStorage.Updater updater = worldStateStorage.updater();
+    writeStorageValue(storageTrie, UInt256.of(1L), UInt256.of(2L));
+    storageTrie.commit(updater::putAccountStorageTrieNode);
+
+    final Address otherAddress =
+        Address.fromHexString("0x0987654321098765432109876543210987654321");
+    final Address missingAddress =
+        Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final StateTrieAccountValue accountValue =
+        new StateTrieAccountValue(
+            1L, Wei.of(2L), Hash.wrap(storageTrie.getRootHash()), Hash.EMPTY, 0);
+    worldStateTrie.put(Hash.hash(address), RLP.encode(accountValue::writeTo));
+    worldStateTrie.put(Hash.hash(otherAddress), RLP.encode(accountValue::writeTo));
+    worldStateTrie.commit(updater::putAccountStateTrieNode);
+    updater.commit();
+
+    final Map<Address, List<UInt256>> storageKeys = new HashMap<>();
+    storageKeys.put(address, Collections.singletonList(UInt256.of(1L)));
+    storageKeys.put(otherAddress, Arrays.asList(UInt256.of(1L), UInt256.of(2L)));
+    storageKeys.put(missingAddress, Collections.emptyList());
+    final Map<Address, WorldStateProof> proofs =
+        worldStateProofProvider.getAccountProofs(
+            Hash.wrap(worldStateTrie.getRootHash()), storageKeys);
+
+    assertThat(proofs).containsOnlyKeys(address, otherAddress);
+    assertThat(proofs.get(address).getStorageValue(UInt256.of(1L))).isEqualTo(UInt256.of(2L));
+    assertThat(proofs.get(otherAddress).getStorageValue(UInt256.of(1L)))
+        .isEqualTo(UInt256.of(2L));
+    assertThat(proofs.get(otherAddress).getStorageValue(UInt256.of(2L))).isEqualTo(UInt256.ZERO);
+    assertThat(proofs.get(address).getAccountProof())
+        .isEqualTo(
+            worldStateProofProvider
+                .getAccountProof(
+                    Hash.wrap(worldStateTrie.getRootHash()), address, Collections.emptyList())
+                .get()
+                .getAccountProof());
+  }
+
   @Test
   public void getProofWhenStateTrieAccountUnavailable() {
     final MerklePatriciaTrie<Bytes32, BytesValue> worldStateTrie = emptyWorldStateTrie();
@@ -0,0 +1,171 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.keyvalue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Address;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Log;
+import org.hyperledger.besu.ethereum.core.LogTopic;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.BytesValues;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class KeyValueStoragePrefixedKeyBlockchainStorageTest {
+
+  private static final BytesValue TRANSACTION_RECEIPTS_PREFIX = BytesValue.of(4);
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+  private final KeyValueStoragePrefixedKeyBlockchainStorage storage =
+      new KeyValueStoragePrefixedKeyBlockchainStorage(
+          keyValueStorage, new MainnetBlockHeaderFunctions());
+
+  @Test
+  public void compactReceiptsRoundTrip() {
+    final Hash blockHash = gen.hash();
+    final List<TransactionReceipt> receipts = receipts();
+    putTransactionReceipts(blockHash, receipts);
+
+    assertThat(CompactTransactionReceipts.isCompact(getStoredReceipts(blockHash))).isTrue();
+    final List<TransactionReceipt> stored = storage.getTransactionReceipts(blockHash).get();
+    assertThat(stored).isEqualTo(receipts);
+    for (int i = 0; i < receipts.size(); i++) {
+      assertThat(stored.get(i).getBloomFilter()).isEqualTo(receipts.get(i).getBloomFilter());
+    }
+  }
+
+  @Test
+  public void compactReceiptsAreSmallerThanRlp() {
+    final List<TransactionReceipt> receipts = receipts();
+    assertThat(CompactTransactionReceipts.encode(receipts).size())
+        .isLessThan(rlpEncode(receipts).size());
+  }
+
+  @Test
+  public void compactReceiptsOfTokenTransfersAreLessThanHalfTheSizeOfRlp() {
+    final List<TransactionReceipt> receipts = tokenTransferReceipts(200);
+    assertThat(CompactTransactionReceipts.encode(receipts).size() * 2)
+        .isLessThan(rlpEncode(receipts).size());
+  }
+
+  @Test
+  public void legacyReceiptsAreReadable() {
+    final Hash blockHash = gen.hash();
+    final List<TransactionReceipt> receipts = receipts();
+    final KeyValueStorageTransaction transaction = keyValueStorage.startTransaction();
+    transaction.put(receiptsKey(blockHash), rlpEncode(receipts).getArrayUnsafe());
+    transaction.commit();
+
+    assertThat(CompactTransactionReceipts.isCompact(getStoredReceipts(blockHash))).isFalse();
+    assertThat(storage.getTransactionReceipts(blockHash)).contains(receipts);
+  }
+
+  @Test
+  public void receiptsAreStoredAsRlpWhenCompactReceiptsAreDisabled() {
+    final KeyValueStoragePrefixedKeyBlockchainStorage rlpStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            keyValueStorage, new MainnetBlockHeaderFunctions(), false);
+    final Hash blockHash = gen.hash();
+    final List<TransactionReceipt> receipts = receipts();
+    final KeyValueStoragePrefixedKeyBlockchainStorage.Updater updater = rlpStorage.updater();
+    updater.putTransactionReceipts(blockHash, receipts);
+    updater.commit();
+
+    assertThat(getStoredReceipts(blockHash)).isEqualTo(rlpEncode(receipts));
+    assertThat(rlpStorage.getTransactionReceipts(blockHash)).contains(receipts);
+  }
+
+  private List<TransactionReceipt> receipts() {
+    // Logs share an emitter and an event signature, as they would in a block of token transfers
+    final Log template = gen.log(2);
+    final LogTopic eventSignature = template.getTopics().get(0);
+    final Log transfer =
+        new Log(
+            template.getLogger(),
+            gen.bytesValue(32),
+            Arrays.asList(eventSignature, template.getTopics().get(1)));
+    return Arrays.asList(
+        new TransactionReceipt(1, 21000, Collections.emptyList(), Optional.empty()),
+        new TransactionReceipt(1, 60000, Arrays.asList(template, transfer), Optional.empty()),
+        new TransactionReceipt(0, 90000, Collections.emptyList(), Optional.of(gen.bytesValue(4))),
+        new TransactionReceipt(gen.hash(), 150000, Arrays.asList(transfer), Optional.empty()));
+  }
+
+  private List<TransactionReceipt> tokenTransferReceipts(final int count) {
+    // Transfers between a small set of contracts and accounts, as in a busy block
+    final List<Address> contracts = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      contracts.add(gen.address());
+    }
+    final List<LogTopic> accounts = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      accounts.add(LogTopic.wrap(gen.hash()));
+    }
+    final LogTopic transferEvent = LogTopic.wrap(gen.hash());
+    final Random random = new Random(1);
+
+    final List<TransactionReceipt> receipts = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      final List<Log> logs = new ArrayList<>();
+      for (int j = 0; j <= i % 2; j++) {
+        logs.add(
+            new Log(
+                contracts.get(random.nextInt(contracts.size())),
+                gen.bytesValue(32),
+                Arrays.asList(
+                    transferEvent,
+                    accounts.get(random.nextInt(accounts.size())),
+                    accounts.get(random.nextInt(accounts.size())))));
+      }
+      receipts.add(new TransactionReceipt(1, 60_000L * (i + 1), logs, Optional.empty()));
+    }
+    return receipts;
+  }
+
+  private void putTransactionReceipts(
+      final Hash blockHash, final List<TransactionReceipt> receipts) {
+    final KeyValueStoragePrefixedKeyBlockchainStorage.Updater updater = storage.updater();
+    updater.putTransactionReceipts(blockHash, receipts);
+    updater.commit();
+  }
+
+  private BytesValue getStoredReceipts(final Hash blockHash) {
+    return BytesValue.wrap(keyValueStorage.get(receiptsKey(blockHash)).get());
+  }
+
+  private static byte[] receiptsKey(final Hash blockHash) {
+    return BytesValues.concatenate(TRANSACTION_RECEIPTS_PREFIX, blockHash).getArrayUnsafe();
+  }
+
+  private static BytesValue rlpEncode(final List<TransactionReceipt> receipts) {
+    return RLP.encode(o -> o.writeList(receipts, TransactionReceipt::writeToWithRevertReason));
+  }
+}
@@ -15,11 +15,8 @@
 package org.hyperledger.besu.ethereum.vm;
 
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyByte;
-import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.Mockito.when;
 
+import org.hyperledger.besu.ethereum.vm.operations.InvalidOperation;
 import org.hyperledger.besu.ethereum.vm.operations.StopOperation;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
@@ -33,12 +30,13 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class EVMTest {
 
   private static final int CONTRACT_ACCOUNT_VERSION = 1;
-  @Mock private OperationRegistry operationRegistry;
   @Mock private GasCalculator gasCalculator;
   private EVM evm;
 
   @Before
   public void setup() {
+    final OperationRegistry operationRegistry = new OperationRegistry(2);
+    operationRegistry.put(new StopOperation(gasCalculator), CONTRACT_ACCOUNT_VERSION);
     evm = new EVM(operationRegistry, gasCalculator);
   }
 
@@ -54,12 +52,16 @@ public class EVMTest {
   @Test
   public void assertThatEndOfScriptExplicitlySetInCodeDoesNotReturnAVirtualOperation() {
     final Code code = new Code(BytesValue.fromHexString("0x6020356000355560603560403555600000"));
-    when(operationRegistry.getOrDefault(
-            anyByte(), eq(CONTRACT_ACCOUNT_VERSION), any(Operation.class)))
-        .thenReturn(new StopOperation(gasCalculator));
     final Operation operation =
         evm.operationAtOffset(code, CONTRACT_ACCOUNT_VERSION, code.getSize() - 1);
-    assertThat(operation).isNotNull();
+    assertThat(operation).isInstanceOf(StopOperation.class);
     assertThat(operation.isVirtualOperation()).isFalse();
   }
+
+  @Test
+  public void assertThatUnregisteredOpcodeReturnsInvalidOperation() {
+    final Code code = new Code(BytesValue.fromHexString("0x0c"));
+    final Operation operation = evm.operationAtOffset(code, CONTRACT_ACCOUNT_VERSION, 0);
+    assertThat(operation).isInstanceOf(InvalidOperation.class);
+  }
 }
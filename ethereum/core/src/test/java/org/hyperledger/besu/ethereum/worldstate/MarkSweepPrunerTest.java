@@ -17,8 +17,11 @@ package org.hyperledger.besu.ethereum.worldstate;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
 import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
 import org.hyperledger.besu.ethereum.core.Block;
@@ -36,6 +39,7 @@ import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
 import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.testutil.MockExecutorService;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
@@ -181,6 +185,58 @@ public class MarkSweepPrunerTest {
     assertThat(stateStorage.containsKey(markedRoot.getArrayUnsafe())).isTrue();
   }
 
+  @Test
+  public void mark_resumesWithoutRevisitingMarkedSubtries() {
+    generateBlockchainData(15, 10);
+    final BlockHeader markBlock = blockchain.getBlockHeader(10).get();
+
+    // Mark, then start again as if the node had been restarted before sweeping
+    final MarkSweepPruner interruptedPruner =
+        new MarkSweepPruner(worldStateStorage, blockchain, markStorage, metricsSystem);
+    interruptedPruner.prepare();
+    interruptedPruner.mark(markBlock.getStateRoot());
+
+    final MarkSweepPruner pruner =
+        new MarkSweepPruner(worldStateStorage, blockchain, markStorage, metricsSystem);
+    pruner.prepare();
+    reset(hashValueStore);
+    pruner.mark(markBlock.getStateRoot());
+
+    // Only the root and the level below it are read, every subtrie is already marked
+    verify(hashValueStore, atMost(17)).get(any());
+
+    pruner.sweepBefore(markBlock.getNumber());
+    final WorldState markedState = worldStateArchive.get(markBlock.getStateRoot()).get();
+    assertThat(markedState.streamAccounts(Bytes32.ZERO, 200).count()).isEqualTo(100);
+    markedState
+        .streamAccounts(Bytes32.ZERO, 200)
+        .forEach(a -> a.storageEntriesFrom(Bytes32.ZERO, 1000));
+  }
+
+  @Test
+  public void mark_resumesAfterPrunerIsStopped() {
+    generateBlockchainData(15, 10);
+    final BlockHeader markBlock = blockchain.getBlockHeader(10).get();
+
+    final MarkSweepPruner stoppedPruner =
+        new MarkSweepPruner(worldStateStorage, blockchain, markStorage, metricsSystem);
+    final Pruner pruner =
+        new Pruner(
+            stoppedPruner, blockchain, new PrunerConfiguration(0, 1), MockExecutorService::new);
+    pruner.start();
+    stoppedPruner.mark(markBlock.getStateRoot());
+    pruner.stop();
+
+    final MarkSweepPruner restartedPruner =
+        new MarkSweepPruner(worldStateStorage, blockchain, markStorage, metricsSystem);
+    restartedPruner.prepare();
+    reset(hashValueStore);
+    restartedPruner.mark(markBlock.getStateRoot());
+
+    // Only the root and the level below it are read, every subtrie is already marked
+    verify(hashValueStore, atMost(17)).get(any());
+  }
+
   private void generateBlockchainData(final int numBlocks, final int numAccounts) {
     Block parentBlock = blockchain.getChainHeadBlock();
     for (int i = 0; i < numBlocks; i++) {
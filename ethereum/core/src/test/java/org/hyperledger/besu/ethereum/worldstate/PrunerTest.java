@@ -15,9 +15,11 @@
 package org.hyperledger.besu.ethereum.worldstate;
 
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -31,6 +33,7 @@ import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration.PruningMode;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
 import org.hyperledger.besu.testutil.MockExecutorService;
@@ -52,6 +55,7 @@ public class PrunerTest {
   private final BlockDataGenerator gen = new BlockDataGenerator();
 
   @Mock private MarkSweepPruner markSweepPruner;
+  @Mock private ReferenceCountingPruner referenceCountingPruner;
   private final ExecutorService mockExecutorService = new MockExecutorService();
   private final Supplier<ExecutorService> mockExecutorServiceSupplier = () -> mockExecutorService;
 
@@ -157,6 +161,36 @@ public class PrunerTest {
     pruner.stop();
   }
 
+  @Test
+  public void shouldJournalEveryBlockAndCountReferencesForEachNewHead() {
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(), new MainnetBlockHeaderFunctions());
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(genesisBlock, blockchainStorage, metricsSystem);
+
+    final Pruner pruner =
+        new Pruner(
+            referenceCountingPruner,
+            blockchain,
+            new PrunerConfiguration(0, 1, PruningMode.REFERENCE_COUNTING),
+            mockExecutorServiceSupplier);
+    pruner.start();
+    verify(referenceCountingPruner).prepare();
+
+    final Block block1 = appendBlockWithParent(blockchain, genesisBlock);
+    appendBlockWithParent(blockchain, block1);
+    // A fork doesn't change the chain head so there is nothing new to count.
+    appendBlockWithParent(blockchain, genesisBlock);
+
+    verify(referenceCountingPruner, times(3)).onBlockAdded(any());
+    verify(referenceCountingPruner, times(2)).prune();
+    verify(markSweepPruner, never()).mark(any());
+
+    pruner.stop();
+    verify(referenceCountingPruner).cleanup();
+  }
+
   @Test
   public void shouldRejectInvalidArguments() {
     final Blockchain mockchain = mock(Blockchain.class);
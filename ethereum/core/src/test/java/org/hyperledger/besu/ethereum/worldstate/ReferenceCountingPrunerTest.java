@@ -0,0 +1,330 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator.BlockOptions;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.core.WorldState;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.WorldStatePreimageKeyValueStorage;
+import org.hyperledger.besu.ethereum.trie.MerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.NodeLoader;
+import org.hyperledger.besu.ethereum.trie.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReferenceCountingPrunerTest {
+
+  private static final int BLOCKS_RETAINED = 5;
+  private static final int NUM_ACCOUNTS = 5;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
+  private final Map<BytesValue, byte[]> hashValueStore = new HashMap<>();
+  private final InMemoryKeyValueStorage stateStorage = new TestInMemoryStorage(hashValueStore);
+  private final WorldStateStorage worldStateStorage = new WorldStateKeyValueStorage(stateStorage);
+  private final WorldStateArchive worldStateArchive =
+      new WorldStateArchive(
+          worldStateStorage, new WorldStatePreimageKeyValueStorage(new InMemoryKeyValueStorage()));
+  private final InMemoryKeyValueStorage referenceCountStorage = new InMemoryKeyValueStorage();
+  private final Block genesisBlock = gen.genesisBlock();
+  private final MutableBlockchain blockchain = createInMemoryBlockchain(genesisBlock);
+
+  private ReferenceCountingPruner pruner;
+
+  @Before
+  public void setUp() {
+    pruner = createPruner();
+  }
+
+  @Test
+  public void shouldOnlyKeepNodesOfRetainedStates() {
+    final int numBlocks = 15;
+    appendBlocksAndPrune(numBlocks, true);
+
+    final long chainHead = blockchain.getChainHeadBlockNumber();
+    final Set<BytesValue> expectedNodes = new HashSet<>();
+    for (long blockNumber = chainHead - BLOCKS_RETAINED + 1;
+        blockNumber <= chainHead;
+        blockNumber++) {
+      final BlockHeader header = blockchain.getBlockHeader(blockNumber).get();
+      collectWorldStateNodes(header.getStateRoot(), expectedNodes);
+      assertStateIsComplete(header.getStateRoot(), (int) blockNumber * NUM_ACCOUNTS);
+    }
+    for (long blockNumber = 1; blockNumber <= chainHead - BLOCKS_RETAINED; blockNumber++) {
+      final BlockHeader header = blockchain.getBlockHeader(blockNumber).get();
+      assertThat(worldStateArchive.get(header.getStateRoot())).isEmpty();
+    }
+    assertThat(new HashSet<>(storedNodes())).isEqualTo(expectedNodes);
+    assertThat(storedNodes()).hasSameSizeAs(expectedNodes);
+  }
+
+  @Test
+  public void shouldKeepStateSharedWithRetainedBlocks() {
+    appendBlocksAndPrune(5, true);
+    final Hash sharedStateRoot = blockchain.getChainHeadHeader().getStateRoot();
+    // Blocks without any state changes reference the same state root as their parent.
+    appendBlocksAndPrune(2 * BLOCKS_RETAINED, false);
+
+    assertStateIsComplete(sharedStateRoot, 5 * NUM_ACCOUNTS);
+    assertThat(new HashSet<>(storedNodes()))
+        .isEqualTo(collectWorldStateNodes(sharedStateRoot, new HashSet<>()));
+  }
+
+  @Test
+  public void shouldContinueCountingAfterRestart() {
+    appendBlocksAndPrune(8, true);
+    pruner.cleanup();
+
+    pruner = createPruner();
+    // Several blocks may be added between runs.
+    appendBlocks(3, true);
+    pruner.prune();
+    appendBlocksAndPrune(4, true);
+
+    final Set<BytesValue> expectedNodes = new HashSet<>();
+    final long chainHead = blockchain.getChainHeadBlockNumber();
+    for (long blockNumber = chainHead - BLOCKS_RETAINED + 1;
+        blockNumber <= chainHead;
+        blockNumber++) {
+      collectWorldStateNodes(
+          blockchain.getBlockHeader(blockNumber).get().getStateRoot(), expectedNodes);
+    }
+    assertThat(new HashSet<>(storedNodes())).isEqualTo(expectedNodes);
+  }
+
+  @Test
+  public void shouldRemoveNodesOnlyWrittenByForkOnceItLeavesRetentionWindow() {
+    appendBlocksAndPrune(2, true);
+    final Block forkParent = blockchain.getChainHeadBlock();
+    appendBlocksAndPrune(1, true);
+    // Blocks have equal difficulty, so the first block at a height stays canonical.
+    final Block forkBlock = appendBlock(forkParent, true);
+    assertThat(blockchain.blockIsOnCanonicalChain(forkBlock.getHash())).isFalse();
+    pruner.prune();
+    assertStateIsComplete(forkBlock.getHeader().getStateRoot(), 3 * NUM_ACCOUNTS);
+
+    appendBlocksAndPrune(BLOCKS_RETAINED, true);
+
+    assertThat(worldStateArchive.get(forkBlock.getHeader().getStateRoot())).isEmpty();
+    assertOnlyRetainedStatesAreStored();
+  }
+
+  @Test
+  public void shouldKeepReorganizedStatesUntilTheyLeaveRetentionWindow() {
+    appendBlocksAndPrune(1, true);
+    final Block forkParent = blockchain.getChainHeadBlock();
+    appendBlocksAndPrune(2, true);
+    final Block replacedHead = blockchain.getChainHeadBlock();
+
+    Block forkHead = forkParent;
+    for (int i = 0; i < 3; i++) {
+      forkHead = appendBlock(forkHead, true);
+    }
+    assertThat(blockchain.getChainHeadHash()).isEqualTo(forkHead.getHash());
+    pruner.prune();
+
+    assertStateIsComplete(replacedHead.getHeader().getStateRoot(), 3 * NUM_ACCOUNTS);
+    for (long blockNumber = 1; blockNumber <= forkHead.getHeader().getNumber(); blockNumber++) {
+      assertStateIsComplete(
+          blockchain.getBlockHeader(blockNumber).get().getStateRoot(),
+          (int) blockNumber * NUM_ACCOUNTS);
+    }
+
+    appendBlocksAndPrune(BLOCKS_RETAINED, true);
+
+    assertThat(worldStateArchive.get(replacedHead.getHeader().getStateRoot())).isEmpty();
+    assertOnlyRetainedStatesAreStored();
+  }
+
+  @Test
+  public void shouldKeepChildrenOfNodeRewrittenBeforeItsStateIsCounted() {
+    appendBlocksAndPrune(1, true);
+    final Hash rewrittenStateRoot = blockchain.getChainHeadHeader().getStateRoot();
+    appendBlocksAndPrune(BLOCKS_RETAINED - 1, true);
+    appendBlocks(1, true);
+
+    // A block being imported writes the root node of the state that is about to be released,
+    // without rewriting the nodes below it which are unchanged.
+    final WorldStateStorage.Updater updater = worldStateStorage.updater();
+    updater.putAccountStateTrieNode(
+        rewrittenStateRoot, worldStateStorage.getNodeData(rewrittenStateRoot).get());
+    updater.commit();
+    pruner.prune();
+    assertStateIsComplete(rewrittenStateRoot, NUM_ACCOUNTS);
+
+    appendBlock(blockchain.getChainHeadBlock(), rewrittenStateRoot);
+    pruner.prune();
+    assertStateIsComplete(rewrittenStateRoot, NUM_ACCOUNTS);
+    assertOnlyRetainedStatesAreStored();
+
+    // Once released, the rewritten node and its children are removed like any other.
+    appendBlocksAndPrune(BLOCKS_RETAINED, true);
+    assertThat(worldStateArchive.get(rewrittenStateRoot)).isEmpty();
+    assertOnlyRetainedStatesAreStored();
+  }
+
+  private ReferenceCountingPruner createPruner() {
+    final ReferenceCountingPruner pruner =
+        new ReferenceCountingPruner(
+            worldStateStorage,
+            blockchain,
+            referenceCountStorage,
+            metricsSystem,
+            BLOCKS_RETAINED,
+            1);
+    pruner.prepare();
+    blockchain.observeBlockAdded((event, chain) -> pruner.onBlockAdded(event));
+    return pruner;
+  }
+
+  private void appendBlocksAndPrune(final int numBlocks, final boolean changeState) {
+    for (int i = 0; i < numBlocks; i++) {
+      appendBlocks(1, changeState);
+      pruner.prune();
+    }
+  }
+
+  private void appendBlocks(final int numBlocks, final boolean changeState) {
+    for (int i = 0; i < numBlocks; i++) {
+      appendBlock(blockchain.getChainHeadBlock(), changeState);
+    }
+  }
+
+  private Block appendBlock(final Block parentBlock, final boolean changeState) {
+    Hash stateRoot = parentBlock.getHeader().getStateRoot();
+    if (changeState) {
+      final MutableWorldState worldState = worldStateArchive.getMutable(stateRoot).get();
+      gen.createRandomContractAccountsWithNonEmptyStorage(worldState, NUM_ACCOUNTS);
+      stateRoot = worldState.rootHash();
+    }
+    return appendBlock(parentBlock, stateRoot);
+  }
+
+  private Block appendBlock(final Block parentBlock, final Hash stateRoot) {
+    final Block block =
+        gen.block(
+            BlockOptions.create()
+                .setStateRoot(stateRoot)
+                .setBlockNumber(parentBlock.getHeader().getNumber() + 1L)
+                .setParentHash(parentBlock.getHash()));
+    final List<TransactionReceipt> receipts = gen.receipts(block);
+    blockchain.appendBlock(block, receipts);
+    return block;
+  }
+
+  private void assertOnlyRetainedStatesAreStored() {
+    final long chainHead = blockchain.getChainHeadBlockNumber();
+    final Set<BytesValue> expectedNodes = new HashSet<>();
+    for (long blockNumber = chainHead - BLOCKS_RETAINED + 1;
+        blockNumber <= chainHead;
+        blockNumber++) {
+      final Hash stateRoot = blockchain.getBlockHeader(blockNumber).get().getStateRoot();
+      assertThat(worldStateArchive.get(stateRoot)).isPresent();
+      collectWorldStateNodes(stateRoot, expectedNodes);
+    }
+    assertThat(new HashSet<>(storedNodes())).isEqualTo(expectedNodes);
+  }
+
+  private void assertStateIsComplete(final Hash stateRoot, final int expectedAccounts) {
+    assertThat(worldStateArchive.get(stateRoot)).isPresent();
+    final WorldState state = worldStateArchive.get(stateRoot).get();
+    assertThat(state.streamAccounts(Bytes32.ZERO, expectedAccounts * 2).count())
+        .isEqualTo(expectedAccounts);
+    state
+        .streamAccounts(Bytes32.ZERO, expectedAccounts * 2)
+        .forEach(account -> account.storageEntriesFrom(Bytes32.ZERO, 1000));
+  }
+
+  private List<BytesValue> storedNodes() {
+    final List<BytesValue> nodes = new ArrayList<>();
+    hashValueStore.values().forEach(value -> nodes.add(BytesValue.wrap(value)));
+    return nodes;
+  }
+
+  private Set<BytesValue> collectWorldStateNodes(
+      final Hash stateRootHash, final Set<BytesValue> collector) {
+    final List<Hash> storageRoots = new ArrayList<>();
+    final MerklePatriciaTrie<Bytes32, BytesValue> stateTrie =
+        createTrie(worldStateStorage::getAccountStateTrieNode, stateRootHash);
+
+    stateTrie
+        .entriesFrom(Bytes32.ZERO, 1000)
+        .forEach(
+            (key, val) -> {
+              final StateTrieAccountValue accountValue =
+                  StateTrieAccountValue.readFrom(RLP.input(val));
+              stateStorage
+                  .get(accountValue.getCodeHash().getArrayUnsafe())
+                  .ifPresent(v -> collector.add(BytesValue.wrap(v)));
+              storageRoots.add(accountValue.getStorageRoot());
+            });
+
+    collectTrieNodes(stateTrie, collector);
+    for (final Hash storageRoot : storageRoots) {
+      collectTrieNodes(
+          createTrie(worldStateStorage::getAccountStorageTrieNode, storageRoot), collector);
+    }
+    return collector;
+  }
+
+  private void collectTrieNodes(
+      final MerklePatriciaTrie<Bytes32, BytesValue> trie, final Set<BytesValue> collector) {
+    final Bytes32 rootHash = trie.getRootHash();
+    trie.visitAll(
+        (node) -> {
+          if (node.isReferencedByHash() || node.getHash().equals(rootHash)) {
+            collector.add(node.getRlp());
+          }
+        });
+  }
+
+  private MerklePatriciaTrie<Bytes32, BytesValue> createTrie(
+      final NodeLoader nodeLoader, final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        nodeLoader, rootHash, Function.identity(), Function.identity());
+  }
+
+  // Proxy class so that we have access to the constructor that takes our own map
+  private static class TestInMemoryStorage extends InMemoryKeyValueStorage {
+
+    public TestInMemoryStorage(final Map<BytesValue, byte[]> hashValueStore) {
+      super(hashValueStore);
+    }
+  }
+}
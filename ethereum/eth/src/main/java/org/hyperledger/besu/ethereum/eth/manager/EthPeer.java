@@ -37,6 +37,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -63,10 +64,10 @@ public class EthPeer {
   private final AtomicBoolean statusHasBeenReceivedFromPeer = new AtomicBoolean(false);
 
   private volatile long lastRequestTimestamp = 0;
-  private final RequestManager headersRequestManager = new RequestManager(this);
-  private final RequestManager bodiesRequestManager = new RequestManager(this);
-  private final RequestManager receiptsRequestManager = new RequestManager(this);
-  private final RequestManager nodeDataRequestManager = new RequestManager(this);
+  private final RequestManager headersRequestManager;
+  private final RequestManager bodiesRequestManager;
+  private final RequestManager receiptsRequestManager;
+  private final RequestManager nodeDataRequestManager;
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
@@ -81,6 +82,10 @@ public class EthPeer {
     this.connection = connection;
     this.protocolName = protocolName;
     this.clock = clock;
+    this.headersRequestManager = new RequestManager(this, clock);
+    this.bodiesRequestManager = new RequestManager(this, clock);
+    this.receiptsRequestManager = new RequestManager(this, clock);
+    this.nodeDataRequestManager = new RequestManager(this, clock);
     knownBlocks =
         Collections.newSetFromMap(
             Collections.synchronizedMap(
@@ -132,6 +137,7 @@ public class EthPeer {
 
   public void recordRequestTimeout(final int requestCode) {
     LOG.debug("Timed out while waiting for response from peer {}", this);
+    requestManager(requestCode).ifPresent(RequestManager::recordTimeout);
     reputation.recordRequestTimeout(requestCode).ifPresent(this::disconnect);
   }
 
@@ -263,6 +269,63 @@ public class EthPeer {
     }
   }
 
+  private Optional<RequestManager> requestManager(final int requestCode) {
+    switch (requestCode) {
+      case EthPV62.GET_BLOCK_HEADERS:
+        return Optional.of(headersRequestManager);
+      case EthPV62.GET_BLOCK_BODIES:
+        return Optional.of(bodiesRequestManager);
+      case EthPV63.GET_RECEIPTS:
+        return Optional.of(receiptsRequestManager);
+      case EthPV63.GET_NODE_DATA:
+        return Optional.of(nodeDataRequestManager);
+      default:
+        return Optional.empty();
+    }
+  }
+
+  /**
+   * Returns the latency and throughput of this peer's responses to a type of request.
+   *
+   * @param requestCode the message code of the request, such as {@link EthPV62#GET_BLOCK_HEADERS}
+   * @return the stats for the request type, or empty if the code is not a request
+   */
+  public Optional<RequestStats> requestStats(final int requestCode) {
+    return requestManager(requestCode).map(RequestManager::getStats);
+  }
+
+  /** @return the stats of each type of request this peer answers, keyed by the type of data. */
+  public Map<String, RequestStats> requestStats() {
+    final Map<String, RequestStats> stats = new LinkedHashMap<>();
+    stats.put("headers", headersRequestManager.getStats());
+    stats.put("bodies", bodiesRequestManager.getStats());
+    stats.put("receipts", receiptsRequestManager.getStats());
+    stats.put("nodeData", nodeDataRequestManager.getStats());
+    return stats;
+  }
+
+  /**
+   * Estimates how long a new request of the given type would take to be answered, taking into
+   * account the requests of that type this peer is already working on.
+   *
+   * @param requestCode the message code of the request
+   * @param unsampledLatencyMillis the latency to assume if this peer has not answered or timed out
+   *     on a request of this type yet
+   * @return the estimated response time in milliseconds
+   */
+  public double estimatedResponseTimeMillis(
+      final int requestCode, final double unsampledLatencyMillis) {
+    return requestManager(requestCode)
+        .map(
+            manager -> {
+              final RequestStats stats = manager.getStats();
+              final double latencyMillis =
+                  stats.hasSamples() ? stats.getAverageLatencyMillis() : unsampledLatencyMillis;
+              return (manager.outstandingRequests() + 1) * latencyMillis;
+            })
+        .orElse(unsampledLatencyMillis);
+  }
+
   public Map<Integer, AtomicInteger> timeoutCounts() {
     return reputation.timeoutCounts();
   }
@@ -15,6 +15,8 @@
 package org.hyperledger.besu.ethereum.eth.manager;
 
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer.DisconnectCallback;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
 import org.hyperledger.besu.ethereum.eth.peervalidation.PeerValidator;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
@@ -31,6 +33,7 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
 public class EthPeers {
@@ -46,6 +49,17 @@ public class EthPeers {
       Comparator.comparing(EthPeer::outstandingRequests)
           .thenComparing(EthPeer::getLastRequestTimestamp);
 
+  private static final Map<Integer, String> TRACKED_REQUESTS =
+      Map.of(
+          EthPV62.GET_BLOCK_HEADERS,
+          "headers",
+          EthPV62.GET_BLOCK_BODIES,
+          "bodies",
+          EthPV63.GET_RECEIPTS,
+          "receipts",
+          EthPV63.GET_NODE_DATA,
+          "node_data");
+
   private final Map<PeerConnection, EthPeer> connections = new ConcurrentHashMap<>();
   private final String protocolName;
   private final Clock clock;
@@ -61,6 +75,52 @@ public class EthPeers {
         "pending_peer_requests_current",
         "Number of peer requests currently pending because peers are busy",
         pendingRequests::size);
+    TRACKED_REQUESTS.forEach(
+        (requestCode, name) ->
+            metricsSystem.createGauge(
+                BesuMetricCategory.PEERS,
+                "average_" + name + "_request_latency_milliseconds",
+                "Average of the per-peer moving average latency of " + name + " requests",
+                () -> averageLatencyMillis(requestCode)));
+  }
+
+  /**
+   * Orders peers by how quickly they are expected to answer a request of the given type, falling
+   * back to {@link #LEAST_TO_MOST_BUSY} for peers that are expected to be equally fast. Peers that
+   * have not answered such a request yet are assumed to be as fast as the median peer, so they are
+   * neither always preferred over nor always starved by peers that have proven to be fast.
+   *
+   * @param requestCode the message code of the request
+   * @return a comparator ordering peers from fastest to slowest
+   */
+  public Comparator<EthPeer> fastestToSlowest(final int requestCode) {
+    final double unsampledLatencyMillis = medianLatencyMillis(requestCode);
+    return Comparator.comparingDouble(
+            (final EthPeer p) -> p.estimatedResponseTimeMillis(requestCode, unsampledLatencyMillis))
+        .thenComparing(LEAST_TO_MOST_BUSY);
+  }
+
+  private double averageLatencyMillis(final int requestCode) {
+    return sampledLatenciesMillis(requestCode).average().orElse(0);
+  }
+
+  private double medianLatencyMillis(final int requestCode) {
+    final double[] latencies = sampledLatenciesMillis(requestCode).sorted().toArray();
+    if (latencies.length == 0) {
+      return 0;
+    }
+    final int middle = latencies.length / 2;
+    return latencies.length % 2 == 1
+        ? latencies[middle]
+        : (latencies[middle - 1] + latencies[middle]) / 2;
+  }
+
+  private DoubleStream sampledLatenciesMillis(final int requestCode) {
+    return connections.values().stream()
+        .map(peer -> peer.requestStats(requestCode))
+        .flatMap(Optional::stream)
+        .filter(RequestStats::hasSamples)
+        .mapToDouble(RequestStats::getAverageLatencyMillis);
   }
 
   void registerConnection(
@@ -86,8 +146,24 @@ public class EthPeers {
 
   public PendingPeerRequest executePeerRequest(
       final PeerRequest request, final long minimumBlockNumber, final Optional<EthPeer> peer) {
+    return executePeerRequest(request, LEAST_TO_MOST_BUSY, minimumBlockNumber, peer);
+  }
+
+  public PendingPeerRequest executePeerRequest(
+      final PeerRequest request,
+      final int requestCode,
+      final long minimumBlockNumber,
+      final Optional<EthPeer> peer) {
+    return executePeerRequest(request, fastestToSlowest(requestCode), minimumBlockNumber, peer);
+  }
+
+  private PendingPeerRequest executePeerRequest(
+      final PeerRequest request,
+      final Comparator<EthPeer> peerPreference,
+      final long minimumBlockNumber,
+      final Optional<EthPeer> peer) {
     final PendingPeerRequest pendingPeerRequest =
-        new PendingPeerRequest(this, request, minimumBlockNumber, peer);
+        new PendingPeerRequest(this, request, peerPreference, minimumBlockNumber, peer);
     synchronized (this) {
       if (!pendingPeerRequest.attemptExecution()) {
         pendingRequests.add(pendingPeerRequest);
@@ -103,7 +103,8 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     }
 
     // Set up request handlers
-    new EthServer(blockchain, worldStateArchive, ethMessages, ethereumWireProtocolConfiguration);
+    new EthServer(
+        blockchain, worldStateArchive, ethMessages, scheduler, ethereumWireProtocolConfiguration);
   }
 
   public EthProtocolManager(
@@ -47,12 +47,15 @@ public class EthScheduler {
   private final AtomicBoolean stopped = new AtomicBoolean(false);
   private final CountDownLatch shutdown = new CountDownLatch(1);
   private static final int TX_WORKER_CAPACITY = 1000000;
+  private static final int SERVER_WORKER_COUNT =
+      Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
 
   protected final ExecutorService syncWorkerExecutor;
   protected final ScheduledExecutorService scheduler;
   protected final ExecutorService txWorkerExecutor;
   protected final ExecutorService servicesExecutor;
   protected final ExecutorService computationExecutor;
+  protected final ExecutorService serverWorkerExecutor;
 
   private final Collection<CompletableFuture<?>> serviceFutures = new ConcurrentLinkedDeque<>();
 
@@ -85,7 +88,9 @@ public class EthScheduler {
         MonitoredExecutors.newFixedThreadPool(
             EthScheduler.class.getSimpleName() + "-Computation",
             computationWorkerCount,
-            metricsSystem));
+            metricsSystem),
+        MonitoredExecutors.newFixedThreadPool(
+            EthScheduler.class.getSimpleName() + "-Server", SERVER_WORKER_COUNT, metricsSystem));
   }
 
   protected EthScheduler(
@@ -93,12 +98,14 @@ public class EthScheduler {
       final ScheduledExecutorService scheduler,
       final ExecutorService txWorkerExecutor,
       final ExecutorService servicesExecutor,
-      final ExecutorService computationExecutor) {
+      final ExecutorService computationExecutor,
+      final ExecutorService serverWorkerExecutor) {
     this.syncWorkerExecutor = syncWorkerExecutor;
     this.scheduler = scheduler;
     this.txWorkerExecutor = txWorkerExecutor;
     this.servicesExecutor = servicesExecutor;
     this.computationExecutor = computationExecutor;
+    this.serverWorkerExecutor = serverWorkerExecutor;
   }
 
   public <T> CompletableFuture<T> scheduleSyncWorkerTask(
@@ -124,6 +131,18 @@ public class EthScheduler {
     txWorkerExecutor.execute(command);
   }
 
+  /**
+   * Schedules work responding to requests from peers. Serving runs on its own pool so that it
+   * cannot starve our own sync work. Tasks may run concurrently, so callers that need to respond to
+   * a peer in order must schedule its responses one at a time.
+   *
+   * @param command the work to run
+   * @throws java.util.concurrent.RejectedExecutionException if the scheduler has been stopped
+   */
+  public void scheduleServerTask(final Runnable command) {
+    serverWorkerExecutor.execute(command);
+  }
+
   public <T> CompletableFuture<T> scheduleServiceTask(final EthTask<T> task) {
     final CompletableFuture<T> serviceFuture = task.runAsync(servicesExecutor);
     serviceFutures.add(serviceFuture);
@@ -218,6 +237,7 @@ public class EthScheduler {
       scheduler.shutdownNow();
       servicesExecutor.shutdownNow();
       computationExecutor.shutdownNow();
+      serverWorkerExecutor.shutdownNow();
       shutdown.countDown();
     } else {
       LOG.trace("Attempted to stop already stopped " + getClass().getSimpleName());
@@ -246,6 +266,9 @@ public class EthScheduler {
       LOG.error(
           "{} computation executor did not shutdown cleanly.", this.getClass().getSimpleName());
     }
+    if (!serverWorkerExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} server executor did not shutdown cleanly.", this.getClass().getSimpleName());
+    }
     LOG.trace("{} stopped.", this.getClass().getSimpleName());
   }
 
@@ -14,10 +14,14 @@
  */
 package org.hyperledger.besu.ethereum.eth.manager;
 
+import static java.util.Collections.emptyList;
+
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.Address;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.ethereum.core.Log;
+import org.hyperledger.besu.ethereum.core.LogsBloomFilter;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
 import org.hyperledger.besu.ethereum.eth.messages.BlockBodiesMessage;
@@ -33,45 +37,155 @@ import org.hyperledger.besu.ethereum.eth.messages.ReceiptsMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
-import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Responds to data requests from peers.
+ *
+ * <p>Requests are served on the scheduler's dedicated server pool rather than the thread that
+ * dispatched the message. eth/63 responses carry no request id, so each peer's requests are served
+ * one at a time in the order they were received, while different peers are served in parallel. A
+ * peer with more than {@link #MAX_PENDING_REQUESTS_PER_PEER} requests waiting gets empty responses
+ * to the excess, which keeps its responses in order without holding on to its requests. Headers and
+ * bodies are copied into responses as stored, without being decoded and re-encoded, and every
+ * response stops growing once it reaches {@link #SOFT_RESPONSE_LIMIT} bytes.
+ */
 class EthServer {
   private static final Logger LOG = LogManager.getLogger();
 
+  /**
+   * Responses stop accepting further entries once their encoded size reaches this many bytes. The
+   * entry that crosses the limit is still included, so every non-empty response makes progress.
+   */
+  static final int SOFT_RESPONSE_LIMIT = 2 * 1024 * 1024;
+
+  static final int MAX_PENDING_REQUESTS_PER_PEER = 64;
+
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final EthMessages ethMessages;
+  private final EthScheduler scheduler;
   private final EthProtocolConfiguration ethereumWireProtocolConfiguration;
+  // Requests waiting to be served, per peer. A peer is present while its requests are being served.
+  private final Map<EthPeer, Queue<Runnable>> pendingRequests = new HashMap<>();
 
   EthServer(
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final EthMessages ethMessages,
+      final EthScheduler scheduler,
       final EthProtocolConfiguration ethereumWireProtocolConfiguration) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.ethMessages = ethMessages;
+    this.scheduler = scheduler;
     this.ethereumWireProtocolConfiguration = ethereumWireProtocolConfiguration;
     this.setupListeners();
   }
 
   private void setupListeners() {
-    ethMessages.subscribe(EthPV62.GET_BLOCK_HEADERS, this::handleGetBlockHeaders);
-    ethMessages.subscribe(EthPV62.GET_BLOCK_BODIES, this::handleGetBlockBodies);
-    ethMessages.subscribe(EthPV63.GET_RECEIPTS, this::handleGetReceipts);
-    ethMessages.subscribe(EthPV63.GET_NODE_DATA, this::handleGetNodeData);
+    ethMessages.subscribe(
+        EthPV62.GET_BLOCK_HEADERS,
+        message ->
+            scheduleResponse(
+                message,
+                this::handleGetBlockHeaders,
+                () -> BlockHeadersMessage.createFromRlp(emptyList())));
+    ethMessages.subscribe(
+        EthPV62.GET_BLOCK_BODIES,
+        message ->
+            scheduleResponse(
+                message,
+                this::handleGetBlockBodies,
+                () -> BlockBodiesMessage.createFromRlp(emptyList())));
+    ethMessages.subscribe(
+        EthPV63.GET_RECEIPTS,
+        message ->
+            scheduleResponse(
+                message, this::handleGetReceipts, () -> ReceiptsMessage.create(emptyList())));
+    ethMessages.subscribe(
+        EthPV63.GET_NODE_DATA,
+        message ->
+            scheduleResponse(
+                message, this::handleGetNodeData, () -> NodeDataMessage.create(emptyList())));
+  }
+
+  private void scheduleResponse(
+      final EthMessage message,
+      final Consumer<EthMessage> handler,
+      final Supplier<MessageData> emptyResponse) {
+    final EthPeer peer = message.getPeer();
+    final boolean startServing;
+    synchronized (pendingRequests) {
+      startServing = !pendingRequests.containsKey(peer);
+      final Queue<Runnable> requests =
+          pendingRequests.computeIfAbsent(peer, __ -> new ArrayDeque<>());
+      if (requests.size() < MAX_PENDING_REQUESTS_PER_PEER) {
+        requests.add(() -> handler.accept(message));
+      } else {
+        LOG.trace("Too many pending requests from {}, sending an empty response", peer);
+        requests.add(() -> sendEmptyResponse(peer, emptyResponse));
+      }
+    }
+    if (startServing) {
+      scheduleNextResponse(peer);
+    }
+  }
+
+  private void scheduleNextResponse(final EthPeer peer) {
+    try {
+      scheduler.scheduleServerTask(() -> serveNextResponse(peer));
+    } catch (final RejectedExecutionException e) {
+      // The scheduler is shutting down
+      LOG.trace("Unable to serve requests from {}", peer);
+      synchronized (pendingRequests) {
+        pendingRequests.remove(peer);
+      }
+    }
+  }
+
+  // Serves a single request, then reschedules so that busy peers take turns on the server pool
+  private void serveNextResponse(final EthPeer peer) {
+    final Runnable response;
+    synchronized (pendingRequests) {
+      response = pendingRequests.get(peer).poll();
+      if (response == null) {
+        pendingRequests.remove(peer);
+        return;
+      }
+    }
+    try {
+      response.run();
+    } finally {
+      scheduleNextResponse(peer);
+    }
+  }
+
+  private void sendEmptyResponse(final EthPeer peer, final Supplier<MessageData> emptyResponse) {
+    try {
+      peer.send(emptyResponse.get());
+    } catch (final PeerNotConnected peerNotConnected) {
+      // Peer disconnected before we could respond - nothing to do
+    }
   }
 
   private void handleGetBlockHeaders(final EthMessage message) {
@@ -150,34 +264,34 @@ class EthServer {
     final int skip = getHeaders.skip();
     final int maxHeaders = Math.min(requestLimit, getHeaders.maxHeaders());
     final boolean reversed = getHeaders.reverse();
-    final BlockHeader firstHeader;
+    final Optional<BytesValue> maybeFirstHeader;
     if (hash.isPresent()) {
-      final Hash startHash = hash.get();
-      firstHeader = blockchain.getBlockHeader(startHash).orElse(null);
+      maybeFirstHeader = blockchain.getBlockHeaderRlp(hash.get());
     } else {
-      final long firstNumber = getHeaders.blockNumber().getAsLong();
-      firstHeader = blockchain.getBlockHeader(firstNumber).orElse(null);
+      maybeFirstHeader = blockchain.getBlockHeaderRlp(getHeaders.blockNumber().getAsLong());
     }
-    final Collection<BlockHeader> resp;
-    if (firstHeader == null) {
-      resp = Collections.emptyList();
-    } else {
-      resp = Lists.newArrayList(firstHeader);
+    final List<BytesValue> headers = new ArrayList<>();
+    if (maybeFirstHeader.isPresent()) {
+      final BytesValue firstHeader = maybeFirstHeader.get();
+      headers.add(firstHeader);
+      int responseSize = firstHeader.size();
+      final long firstNumber = readBlockNumber(firstHeader);
       final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
-      for (int i = 1; i < maxHeaders; i++) {
-        final long blockNumber = firstHeader.getNumber() + i * numberDelta;
+      for (int i = 1; i < maxHeaders && responseSize < SOFT_RESPONSE_LIMIT; i++) {
+        final long blockNumber = firstNumber + i * numberDelta;
         if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
           break;
         }
-        final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
+        final Optional<BytesValue> maybeHeader = blockchain.getBlockHeaderRlp(blockNumber);
         if (maybeHeader.isPresent()) {
-          resp.add(maybeHeader.get());
+          headers.add(maybeHeader.get());
+          responseSize += maybeHeader.get().size();
         } else {
           break;
         }
       }
     }
-    return BlockHeadersMessage.create(resp);
+    return BlockHeadersMessage.createFromRlp(headers);
   }
 
   static MessageData constructGetBodiesResponse(
@@ -185,20 +299,22 @@ class EthServer {
     final GetBlockBodiesMessage getBlockBodiesMessage = GetBlockBodiesMessage.readFrom(message);
     final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
 
-    final Collection<BlockBody> bodies = new ArrayList<>();
+    final List<BytesValue> bodies = new ArrayList<>();
     int count = 0;
+    int responseSize = 0;
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (count >= requestLimit || responseSize >= SOFT_RESPONSE_LIMIT) {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
+      final Optional<BytesValue> maybeBody = blockchain.getBlockBodyRlp(hash);
       if (!maybeBody.isPresent()) {
         continue;
       }
       bodies.add(maybeBody.get());
+      responseSize += maybeBody.get().size();
     }
-    return BlockBodiesMessage.create(bodies);
+    return BlockBodiesMessage.createFromRlp(bodies);
   }
 
   static MessageData constructGetReceiptsResponse(
@@ -208,8 +324,9 @@ class EthServer {
 
     final List<List<TransactionReceipt>> receipts = new ArrayList<>();
     int count = 0;
+    int responseSize = 0;
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (count >= requestLimit || responseSize >= SOFT_RESPONSE_LIMIT) {
         break;
       }
       count++;
@@ -218,6 +335,7 @@ class EthServer {
         continue;
       }
       receipts.add(maybeReceipts.get());
+      responseSize += estimateSize(maybeReceipts.get());
     }
     return ReceiptsMessage.create(receipts);
   }
@@ -231,14 +349,43 @@ class EthServer {
 
     final List<BytesValue> nodeData = new ArrayList<>();
     int count = 0;
+    int responseSize = 0;
     for (final Hash hash : hashes) {
-      if (count >= requestLimit) {
+      if (count >= requestLimit || responseSize >= SOFT_RESPONSE_LIMIT) {
         break;
       }
       count++;
 
-      worldStateArchive.getNodeData(hash).ifPresent(nodeData::add);
+      final Optional<BytesValue> maybeNodeData = worldStateArchive.getNodeData(hash);
+      if (maybeNodeData.isPresent()) {
+        nodeData.add(maybeNodeData.get());
+        responseSize += maybeNodeData.get().size();
+      }
     }
     return NodeDataMessage.create(nodeData);
   }
+
+  private static long readBlockNumber(final BytesValue headerRlp) {
+    final RLPInput input = RLP.input(headerRlp);
+    input.enterList();
+    // Skip parent hash, ommers hash, coinbase, state root, transactions root, receipts root, logs
+    // bloom and difficulty to reach the block number.
+    for (int i = 0; i < 8; i++) {
+      input.skipNext();
+    }
+    return input.readLongScalar();
+  }
+
+  private static int estimateSize(final List<TransactionReceipt> receipts) {
+    // Receipts are stored with revert reasons that are not sent to peers, so there is no raw
+    // encoding to measure. Logs dominate a receipt's size, the bloom filter is fixed.
+    int size = 0;
+    for (final TransactionReceipt receipt : receipts) {
+      size += LogsBloomFilter.BYTE_SIZE;
+      for (final Log log : receipt.getLogs()) {
+        size += log.getData().size() + log.getTopics().size() * Bytes32.SIZE + Address.SIZE;
+      }
+    }
+    return size;
+  }
 }
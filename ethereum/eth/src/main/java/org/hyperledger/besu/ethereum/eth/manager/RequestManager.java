@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.eth.manager;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
@@ -30,11 +31,20 @@ public class RequestManager {
   private final AtomicLong responseStreamId = new AtomicLong(0L);
   private final Map<Long, ResponseStream> responseStreams = new ConcurrentHashMap<>();
   private final EthPeer peer;
+  private final Clock clock;
+  private final RequestStats stats = new RequestStats();
+  // Responses do not identify the request they answer, so they are matched in the order sent.
+  private final Queue<Long> requestTimestamps = new ConcurrentLinkedQueue<>();
 
   private final AtomicInteger outstandingRequests = new AtomicInteger(0);
 
   public RequestManager(final EthPeer peer) {
+    this(peer, Clock.systemUTC());
+  }
+
+  public RequestManager(final EthPeer peer, final Clock clock) {
     this.peer = peer;
+    this.clock = clock;
   }
 
   public int outstandingRequests() {
@@ -44,6 +54,7 @@ public class RequestManager {
   public ResponseStream dispatchRequest(final RequestSender sender) throws PeerNotConnected {
     outstandingRequests.incrementAndGet();
     final ResponseStream stream = createStream();
+    requestTimestamps.add(clock.millis());
     sender.send();
     return stream;
   }
@@ -51,6 +62,10 @@ public class RequestManager {
   public void dispatchResponse(final EthMessage message) {
     final Collection<ResponseStream> streams = new ArrayList<>(responseStreams.values());
     final int count = outstandingRequests.decrementAndGet();
+    final Long requestTimestamp = requestTimestamps.poll();
+    if (requestTimestamp != null) {
+      stats.recordResponse(clock.millis() - requestTimestamp, message.getData().getSize());
+    }
 
     streams.forEach(s -> s.processMessage(message.getData()));
     if (count == 0) {
@@ -59,6 +74,19 @@ public class RequestManager {
     }
   }
 
+  /**
+   * Records that the oldest outstanding request timed out. Its timestamp is discarded so that
+   * later responses are matched with the requests they are most likely to answer.
+   */
+  public void recordTimeout() {
+    requestTimestamps.poll();
+    stats.recordTimeout();
+  }
+
+  public RequestStats getStats() {
+    return stats;
+  }
+
   public void close() {
     closeOutstandingStreams(responseStreams.values());
   }
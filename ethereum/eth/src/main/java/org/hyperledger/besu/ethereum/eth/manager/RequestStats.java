@@ -0,0 +1,86 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Exponentially weighted moving averages of the latency and throughput of the responses a peer
+ * has sent for a single type of request.
+ */
+public class RequestStats {
+  // The weight given to the most recent sample.
+  private static final double ALPHA = 0.2;
+  // Timeouts are recorded as a response that took as long as the default request timeout.
+  static final long TIMEOUT_LATENCY_MILLIS = 5_000;
+
+  private double averageLatencyMillis;
+  private double averageBytesPerSecond;
+  private long responseCount;
+  private long timeoutCount;
+
+  synchronized void recordResponse(final long latencyMillis, final int responseSize) {
+    final long effectiveLatency = Math.max(1, latencyMillis);
+    addSample(effectiveLatency, responseSize * 1000.0 / effectiveLatency);
+    responseCount++;
+  }
+
+  synchronized void recordTimeout() {
+    addSample(TIMEOUT_LATENCY_MILLIS, 0);
+    timeoutCount++;
+  }
+
+  private void addSample(final double latencyMillis, final double bytesPerSecond) {
+    if (responseCount + timeoutCount == 0) {
+      averageLatencyMillis = latencyMillis;
+      averageBytesPerSecond = bytesPerSecond;
+    } else {
+      averageLatencyMillis += ALPHA * (latencyMillis - averageLatencyMillis);
+      averageBytesPerSecond += ALPHA * (bytesPerSecond - averageBytesPerSecond);
+    }
+  }
+
+  public synchronized boolean hasSamples() {
+    return responseCount + timeoutCount > 0;
+  }
+
+  /** @return the average response latency in milliseconds, or 0 if there are no samples. */
+  public synchronized double getAverageLatencyMillis() {
+    return averageLatencyMillis;
+  }
+
+  /** @return the average size of responses divided by their latency, in bytes per second. */
+  public synchronized double getAverageBytesPerSecond() {
+    return averageBytesPerSecond;
+  }
+
+  public synchronized long getResponseCount() {
+    return responseCount;
+  }
+
+  public synchronized long getTimeoutCount() {
+    return timeoutCount;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("averageLatencyMillis", averageLatencyMillis)
+        .add("averageBytesPerSecond", averageBytesPerSecond)
+        .add("responseCount", responseCount)
+        .add("timeoutCount", timeoutCount)
+        .toString();
+  }
+}
@@ -20,13 +20,12 @@ import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
-import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.LazyBlockBody;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.PendingPeerRequest;
 import org.hyperledger.besu.ethereum.eth.messages.BlockBodiesMessage;
 import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
-import org.hyperledger.besu.ethereum.mainnet.BodyValidation;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
@@ -107,7 +106,7 @@ public class GetBodiesFromPeerTask<C> extends AbstractPeerRequestTask<List<Block
     }
 
     final BlockBodiesMessage bodiesMessage = BlockBodiesMessage.readFrom(message);
-    final List<BlockBody> bodies = bodiesMessage.bodies(protocolSchedule);
+    final List<LazyBlockBody> bodies = bodiesMessage.lazyBodies(protocolSchedule);
     if (bodies.size() == 0) {
       // Message contains no data - nothing to do
       return Optional.empty();
@@ -117,12 +116,14 @@ public class GetBodiesFromPeerTask<C> extends AbstractPeerRequestTask<List<Block
     }
 
     final List<Block> blocks = new ArrayList<>();
-    for (final BlockBody body : bodies) {
-      final List<BlockHeader> headers = bodyToHeaders.get(new BodyIdentifier(body));
+    for (final LazyBlockBody lazyBody : bodies) {
+      // Match bodies using their encoding so that unrelated bodies are never decoded
+      final List<BlockHeader> headers = bodyToHeaders.get(new BodyIdentifier(lazyBody));
       if (headers == null) {
         // This message contains unrelated bodies - exit
         return Optional.empty();
       }
+      final BlockBody body = lazyBody.getBody();
       headers.forEach(h -> blocks.add(new Block(h, body)));
       // Clear processed headers
       headers.clear();
@@ -139,12 +140,8 @@ public class GetBodiesFromPeerTask<C> extends AbstractPeerRequestTask<List<Block
       this.ommersHash = ommersHash;
     }
 
-    public BodyIdentifier(final BlockBody body) {
-      this(body.getTransactions(), body.getOmmers());
-    }
-
-    public BodyIdentifier(final List<Transaction> transactions, final List<BlockHeader> ommers) {
-      this(BodyValidation.transactionsRoot(transactions), BodyValidation.ommersHash(ommers));
+    public BodyIdentifier(final LazyBlockBody body) {
+      this(body.getTransactionsRoot(), body.getOmmersHash());
     }
 
     public BodyIdentifier(final BlockHeader header) {
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.eth.messages;
 
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.LazyBlockBody;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.AbstractMessageData;
@@ -48,6 +49,21 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return new BlockBodiesMessage(tmp.encoded());
   }
 
+  /**
+   * Create a message from bodies that are already RLP encoded, such as those read directly from
+   * storage. The encodings are copied into the message as is and are not validated.
+   *
+   * @param bodies the RLP encoded block bodies
+   * @return the message
+   */
+  public static BlockBodiesMessage createFromRlp(final Iterable<BytesValue> bodies) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    bodies.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockBodiesMessage(tmp.encoded());
+  }
+
   private BlockBodiesMessage(final BytesValue data) {
     super(data);
   }
@@ -63,4 +79,18 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return new BytesValueRLPInput(data, false)
         .readList(rlp -> BlockBody.readFrom(rlp, blockHeaderFunctions));
   }
+
+  /**
+   * Returns views over the bodies in this message that are only decoded when first accessed.
+   *
+   * @param protocolSchedule the protocol schedule used to decode the bodies
+   * @param <C> the consensus context type
+   * @return lazily decoded views of the bodies
+   */
+  public <C> List<LazyBlockBody> lazyBodies(final ProtocolSchedule<C> protocolSchedule) {
+    final BlockHeaderFunctions blockHeaderFunctions =
+        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
+    return new BytesValueRLPInput(data, false)
+        .readList(rlp -> LazyBlockBody.readFrom(rlp, blockHeaderFunctions));
+  }
 }
@@ -55,6 +55,21 @@ public final class BlockHeadersMessage extends AbstractMessageData {
     return new BlockHeadersMessage(tmp.encoded());
   }
 
+  /**
+   * Create a message from headers that are already RLP encoded, such as those read directly from
+   * storage. The encodings are copied into the message as is and are not validated.
+   *
+   * @param headers the RLP encoded block headers
+   * @return the message
+   */
+  public static BlockHeadersMessage createFromRlp(final Iterable<BytesValue> headers) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    headers.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockHeadersMessage(tmp.encoded());
+  }
+
   private BlockHeadersMessage(final BytesValue data) {
     super(data);
   }
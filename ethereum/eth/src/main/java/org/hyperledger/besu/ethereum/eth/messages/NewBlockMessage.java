@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.eth.messages;
 
 import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
@@ -32,6 +33,8 @@ public class NewBlockMessage extends AbstractMessageData {
   private static final int MESSAGE_CODE = EthPV62.NEW_BLOCK;
 
   private NewBlockMessageData messageFields = null;
+  private BlockHeader header = null;
+  private UInt256 totalDifficulty = null;
 
   private NewBlockMessage(final BytesValue data) {
     super(data);
@@ -65,8 +68,40 @@ public class NewBlockMessage extends AbstractMessageData {
     return messageFields(protocolSchedule).block();
   }
 
+  /**
+   * Returns the header of the announced block, decoding only the header rather than the whole
+   * block.
+   *
+   * @param protocolSchedule the protocol schedule used to decode the header
+   * @param <C> the consensus context type
+   * @return the header of the announced block
+   */
+  public <C> BlockHeader header(final ProtocolSchedule<C> protocolSchedule) {
+    if (messageFields != null) {
+      return messageFields.block().getHeader();
+    }
+    if (header == null) {
+      final RLPInput input = RLP.input(data);
+      input.enterList();
+      input.enterList();
+      header =
+          BlockHeader.readFrom(input, ScheduleBasedBlockHeaderFunctions.create(protocolSchedule));
+    }
+    return header;
+  }
+
   public <C> UInt256 totalDifficulty(final ProtocolSchedule<C> protocolSchedule) {
-    return messageFields(protocolSchedule).totalDifficulty();
+    if (messageFields != null) {
+      return messageFields.totalDifficulty();
+    }
+    if (totalDifficulty == null) {
+      // The block is skipped over using its length prefix, without being decoded
+      final RLPInput input = RLP.input(data);
+      input.enterList();
+      input.skipNext();
+      totalDifficulty = input.readUInt256Scalar();
+    }
+    return totalDifficulty;
   }
 
   private <C> NewBlockMessageData messageFields(final ProtocolSchedule<C> protocolSchedule) {
@@ -154,26 +154,26 @@ public class BlockPropagationManager<C> {
     final Blockchain blockchain = protocolContext.getBlockchain();
     final NewBlockMessage newBlockMessage = NewBlockMessage.readFrom(message.getData());
     try {
-      final Block block = newBlockMessage.block(protocolSchedule);
+      // Only the header is decoded until we know we want the block
+      final BlockHeader header = newBlockMessage.header(protocolSchedule);
       final UInt256 totalDifficulty = newBlockMessage.totalDifficulty(protocolSchedule);
 
-      message.getPeer().chainState().updateForAnnouncedBlock(block.getHeader(), totalDifficulty);
+      message.getPeer().chainState().updateForAnnouncedBlock(header, totalDifficulty);
 
       // Return early if we don't care about this block
       final long localChainHeight = protocolContext.getBlockchain().getChainHeadBlockNumber();
       final long bestChainHeight = syncState.bestChainHeight(localChainHeight);
-      if (!shouldImportBlockAtHeight(
-          block.getHeader().getNumber(), localChainHeight, bestChainHeight)) {
+      if (!shouldImportBlockAtHeight(header.getNumber(), localChainHeight, bestChainHeight)) {
         return;
       }
-      if (pendingBlocks.contains(block.getHash())) {
+      if (pendingBlocks.contains(header.getHash())) {
         return;
       }
-      if (blockchain.contains(block.getHash())) {
+      if (blockchain.contains(header.getHash())) {
         return;
       }
 
-      importOrSavePendingBlock(block);
+      importOrSavePendingBlock(newBlockMessage.block(protocolSchedule));
     } catch (final RLPException e) {
       LOG.debug(
           "Malformed NEW_BLOCK message received from peer, disconnecting: {}",
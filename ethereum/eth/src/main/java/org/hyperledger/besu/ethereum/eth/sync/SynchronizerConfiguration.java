@@ -46,6 +46,7 @@ public class SynchronizerConfiguration {
   public static final int DEFAULT_COMPUTATION_PARALLELISM = 2;
   public static final int DEFAULT_WORLD_STATE_TASK_CACHE_SIZE =
       CachingTaskCollection.DEFAULT_CACHE_SIZE;
+  public static final long DEFAULT_WORLD_STATE_NODE_FILTER_MAX_CAPACITY = 150_000_000L;
 
   // Fast sync config
   private final int fastSyncPivotDistance;
@@ -55,6 +56,7 @@ public class SynchronizerConfiguration {
   private final int worldStateRequestParallelism;
   private final int worldStateMaxRequestsWithoutProgress;
   private final int worldStateTaskCacheSize;
+  private final long worldStateNodeFilterMaxCapacity;
 
   // Block propagation config
   private final Range<Long> blockPropagationRange;
@@ -83,6 +85,7 @@ public class SynchronizerConfiguration {
       final int worldStateMaxRequestsWithoutProgress,
       final long worldStateMinMillisBeforeStalling,
       final int worldStateTaskCacheSize,
+      final long worldStateNodeFilterMaxCapacity,
       final Range<Long> blockPropagationRange,
       final SyncMode syncMode,
       final long downloaderChangeTargetThresholdByHeight,
@@ -102,6 +105,7 @@ public class SynchronizerConfiguration {
     this.worldStateMaxRequestsWithoutProgress = worldStateMaxRequestsWithoutProgress;
     this.worldStateMinMillisBeforeStalling = worldStateMinMillisBeforeStalling;
     this.worldStateTaskCacheSize = worldStateTaskCacheSize;
+    this.worldStateNodeFilterMaxCapacity = worldStateNodeFilterMaxCapacity;
     this.blockPropagationRange = blockPropagationRange;
     this.syncMode = syncMode;
     this.downloaderChangeTargetThresholdByHeight = downloaderChangeTargetThresholdByHeight;
@@ -215,6 +219,16 @@ public class SynchronizerConfiguration {
     return worldStateTaskCacheSize;
   }
 
+  /**
+   * The maximum number of nodes the in-memory filter of stored world state nodes is sized for.
+   * Each node takes about 1.6 bytes of memory, and 0 disables the filter.
+   *
+   * @return the maximum filter capacity
+   */
+  public long getWorldStateNodeFilterMaxCapacity() {
+    return worldStateNodeFilterMaxCapacity;
+  }
+
   public int getMaxTrailingPeers() {
     return maxTrailingPeers;
   }
@@ -243,6 +257,7 @@ public class SynchronizerConfiguration {
         DEFAULT_WORLD_STATE_MAX_REQUESTS_WITHOUT_PROGRESS;
     private long worldStateMinMillisBeforeStalling = DEFAULT_WORLD_STATE_MIN_MILLIS_BEFORE_STALLING;
     private int worldStateTaskCacheSize = DEFAULT_WORLD_STATE_TASK_CACHE_SIZE;
+    private long worldStateNodeFilterMaxCapacity = DEFAULT_WORLD_STATE_NODE_FILTER_MAX_CAPACITY;
 
     public Builder fastSyncPivotDistance(final int distance) {
       fastSyncPivotDistance = distance;
@@ -345,6 +360,11 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder worldStateNodeFilterMaxCapacity(final long worldStateNodeFilterMaxCapacity) {
+      this.worldStateNodeFilterMaxCapacity = worldStateNodeFilterMaxCapacity;
+      return this;
+    }
+
     public Builder maxTrailingPeers(final int maxTailingPeers) {
       this.maxTrailingPeers = maxTailingPeers;
       return this;
@@ -360,6 +380,7 @@ public class SynchronizerConfiguration {
           worldStateMaxRequestsWithoutProgress,
           worldStateMinMillisBeforeStalling,
           worldStateTaskCacheSize,
+          worldStateNodeFilterMaxCapacity,
           blockPropagationRange,
           syncMode,
           downloaderChangeTargetThresholdByHeight,
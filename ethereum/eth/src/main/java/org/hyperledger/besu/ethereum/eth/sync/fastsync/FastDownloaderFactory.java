@@ -40,6 +40,7 @@ import org.apache.logging.log4j.Logger;
 
 public class FastDownloaderFactory {
   private static final Logger LOG = LogManager.getLogger();
+  private static final String STORED_NODE_FILTER_FILENAME = "storednodes.filter";
 
   public static <C> Optional<FastSyncDownloader<C>> create(
       final SynchronizerConfiguration syncConfig,
@@ -83,7 +84,9 @@ public class FastDownloaderFactory {
             syncConfig.getWorldStateMaxRequestsWithoutProgress(),
             syncConfig.getWorldStateMinMillisBeforeStalling(),
             clock,
-            metricsSystem);
+            metricsSystem,
+            Optional.of(fastSyncDataDirectory.resolve(STORED_NODE_FILTER_FILENAME)),
+            syncConfig.getWorldStateNodeFilterMaxCapacity());
     final FastSyncDownloader<C> fastSyncDownloader =
         new FastSyncDownloader<>(
             new FastSyncActions<>(
@@ -127,7 +130,8 @@ public class FastDownloaderFactory {
         new CachingTaskCollection<>(
             new FlatFileTaskCollection<>(
                 dataDirectory, NodeDataRequest::serialize, NodeDataRequest::deserialize),
-            worldStateTaskCacheSize);
+            worldStateTaskCacheSize,
+            NodeDataRequest.DEEPEST_FIRST);
 
     metricsSystem.createLongGauge(
         BesuMetricCategory.SYNCHRONIZER,
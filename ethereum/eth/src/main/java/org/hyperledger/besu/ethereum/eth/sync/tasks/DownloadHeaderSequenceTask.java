@@ -184,6 +184,7 @@ public class DownloadHeaderSequenceTask<C> extends AbstractRetryingPeerTask<List
           BlockHeader child = null;
           boolean firstSkipped = false;
           final int previousHeaderIndex = lastFilledHeaderIndex;
+          prepareHeaders(headersResult.getResult());
           for (final BlockHeader header : headersResult.getResult()) {
             final int headerIndex =
                 Ints.checkedCast(
@@ -218,6 +219,18 @@ public class DownloadHeaderSequenceTask<C> extends AbstractRetryingPeerTask<List
         });
   }
 
+  private void prepareHeaders(final List<BlockHeader> headers) {
+    // Headers have to be validated in order, but the work that doesn't depend on the parent, like
+    // recovering seals, can be done for the whole response in parallel up front.
+    headers.parallelStream()
+        .forEach(
+            header ->
+                protocolSchedule
+                    .getByBlockNumber(header.getNumber())
+                    .getBlockHeaderValidator()
+                    .prepareHeader(header));
+  }
+
   private boolean validateHeader(final BlockHeader child, final BlockHeader header) {
     final long finalBlockNumber = startingBlockNumber + segmentLength;
     final boolean blockInRange =
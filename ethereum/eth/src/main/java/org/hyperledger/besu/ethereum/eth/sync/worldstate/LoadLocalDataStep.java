@@ -28,21 +28,40 @@ import java.util.stream.Stream;
 public class LoadLocalDataStep {
 
   private final WorldStateStorage worldStateStorage;
+  private final StoredNodeFilter storedNodeFilter;
   private final Counter existingNodeCounter;
+  private final Counter skippedLookupCounter;
 
   public LoadLocalDataStep(
       final WorldStateStorage worldStateStorage, final MetricsSystem metricsSystem) {
+    this(worldStateStorage, StoredNodeFilter.disabled(), metricsSystem);
+  }
+
+  public LoadLocalDataStep(
+      final WorldStateStorage worldStateStorage,
+      final StoredNodeFilter storedNodeFilter,
+      final MetricsSystem metricsSystem) {
     this.worldStateStorage = worldStateStorage;
+    this.storedNodeFilter = storedNodeFilter;
     existingNodeCounter =
         metricsSystem.createCounter(
             BesuMetricCategory.SYNCHRONIZER,
             "world_state_existing_nodes_total",
             "Total number of node data requests completed using existing data");
+    skippedLookupCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "world_state_skipped_local_lookups_total",
+            "Total number of node data requests not looked up locally as they can't be stored");
   }
 
   public Stream<Task<NodeDataRequest>> loadLocalData(
       final Task<NodeDataRequest> task, final Pipe<Task<NodeDataRequest>> completedTasks) {
     final NodeDataRequest request = task.getData();
+    if (!storedNodeFilter.mightContain(request.getHash())) {
+      skippedLookupCounter.inc();
+      return Stream.of(task);
+    }
     final Optional<BytesValue> existingData = request.getExistingData(worldStateStorage);
     if (existingData.isPresent()) {
       existingNodeCounter.inc();
@@ -23,14 +23,28 @@ import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
+import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public abstract class NodeDataRequest {
+  /**
+   * Orders requests so that the deepest are processed first. Working from the bottom of the trie
+   * up keeps pending requests close to the frontier of what has been downloaded, rather than
+   * expanding every level of the trie before descending.
+   */
+  public static final Comparator<NodeDataRequest> DEEPEST_FIRST =
+      Comparator.comparingInt(NodeDataRequest::getDepth).reversed();
+
   private final RequestType requestType;
   private final Hash hash;
   private BytesValue data;
   private boolean requiresPersisting = true;
+  // The distance from the state root. Not persisted, so resumed requests start again from 0.
+  private int depth;
+  private List<NodeDataRequest> childRequests;
 
   protected NodeDataRequest(final RequestType requestType, final Hash hash) {
     this.requestType = requestType;
@@ -104,6 +118,29 @@ public abstract class NodeDataRequest {
     return this;
   }
 
+  public int getDepth() {
+    return depth;
+  }
+
+  NodeDataRequest setDepth(final int depth) {
+    this.depth = depth;
+    return this;
+  }
+
+  /**
+   * Decodes the child requests of this node the first time it is called and caches them, so the
+   * decoding can be done on a parallel stage ahead of the requests being enqueued.
+   *
+   * @return the requests for the children of this node, one level deeper than this node
+   */
+  public synchronized List<NodeDataRequest> prepareChildRequests() {
+    if (childRequests == null) {
+      childRequests =
+          getChildRequests().map(child -> child.setDepth(depth + 1)).collect(Collectors.toList());
+    }
+    return childRequests;
+  }
+
   public NodeDataRequest setRequiresPersisting(final boolean requiresPersisting) {
     this.requiresPersisting = requiresPersisting;
     return this;
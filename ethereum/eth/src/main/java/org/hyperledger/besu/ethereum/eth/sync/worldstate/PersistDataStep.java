@@ -23,9 +23,26 @@ import java.util.List;
 
 public class PersistDataStep {
   private final WorldStateStorage worldStateStorage;
+  private final StoredNodeFilter storedNodeFilter;
+  private final Runnable storedNodeFilterCheckpoint;
 
   public PersistDataStep(final WorldStateStorage worldStateStorage) {
+    this(worldStateStorage, StoredNodeFilter.disabled(), () -> {});
+  }
+
+  /**
+   * @param worldStateStorage the storage to persist nodes to
+   * @param storedNodeFilter the filter to record persisted nodes in
+   * @param storedNodeFilterCheckpoint run after each batch of nodes has been committed, so the
+   *     filter can be saved while the download is in progress
+   */
+  public PersistDataStep(
+      final WorldStateStorage worldStateStorage,
+      final StoredNodeFilter storedNodeFilter,
+      final Runnable storedNodeFilterCheckpoint) {
     this.worldStateStorage = worldStateStorage;
+    this.storedNodeFilter = storedNodeFilter;
+    this.storedNodeFilterCheckpoint = storedNodeFilterCheckpoint;
   }
 
   public List<Task<NodeDataRequest>> persist(
@@ -42,9 +59,11 @@ public class PersistDataStep {
                 downloadState.setRootNodeData(request.getData());
               } else {
                 request.persist(updater);
+                storedNodeFilter.add(request.getHash());
               }
             });
     updater.commit();
+    storedNodeFilterCheckpoint.run();
     return tasks;
   }
 
@@ -0,0 +1,257 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.worldstate;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnel;
+import com.google.common.hash.Funnels;
+
+/**
+ * An in-memory record of the trie nodes and code persisted by the world state download, used to
+ * avoid looking up nodes in the world state storage that are certainly not there.
+ *
+ * <p>The filter is made up of a series of bloom filters. Each time the current filter reaches its
+ * expected capacity a new one with double the capacity and half the false positive probability is
+ * added, so the overall false positive rate stays bounded however large the world state is. A
+ * false positive only costs a database lookup. Nodes persisted without being added to the filter
+ * would be downloaded again, so a filter that can't account for everything already stored must be
+ * {@link #disabled()}.
+ *
+ * <p>The total capacity of the bloom filters is limited, as a filter for the full mainnet world
+ * state would take well over a gigabyte of memory. At the default false positive probability each
+ * node takes about 1.6 bytes. Once another bloom filter would take the total capacity over the
+ * limit the filter disables itself. From then on every node is looked up in the world state
+ * storage, as it would be without a filter.
+ */
+public class StoredNodeFilter {
+  private static final Funnel<byte[]> FUNNEL = Funnels.byteArrayFunnel();
+  private static final long DEFAULT_INITIAL_CAPACITY = 10_000_000;
+  private static final double DEFAULT_FALSE_POSITIVE_PROBABILITY = 0.01;
+  private static final double MIN_FALSE_POSITIVE_PROBABILITY = 1e-9;
+  private static final int FORMAT_VERSION = 1;
+
+  private volatile boolean enabled;
+  private final long initialCapacity;
+  private final double falsePositiveProbability;
+  private final long maxCapacity;
+  private final List<BloomFilter<byte[]>> filters = new CopyOnWriteArrayList<>();
+  private long totalCapacity;
+  private long currentFilterCapacity;
+  private long currentFilterCount;
+
+  private StoredNodeFilter(
+      final boolean enabled,
+      final long initialCapacity,
+      final double falsePositiveProbability,
+      final long maxCapacity) {
+    this.enabled = enabled;
+    this.initialCapacity = initialCapacity;
+    this.falsePositiveProbability = falsePositiveProbability;
+    this.maxCapacity = maxCapacity;
+  }
+
+  /**
+   * @param maxCapacity the maximum total number of nodes the bloom filters are sized for, or 0 to
+   *     disable the filter
+   * @return a new filter with the default initial capacity and false positive probability
+   */
+  public static StoredNodeFilter create(final long maxCapacity) {
+    return create(
+        Math.min(DEFAULT_INITIAL_CAPACITY, maxCapacity),
+        DEFAULT_FALSE_POSITIVE_PROBABILITY,
+        maxCapacity);
+  }
+
+  public static StoredNodeFilter create(
+      final long initialCapacity, final double falsePositiveProbability) {
+    return create(initialCapacity, falsePositiveProbability, Long.MAX_VALUE);
+  }
+
+  public static StoredNodeFilter create(
+      final long initialCapacity, final double falsePositiveProbability, final long maxCapacity) {
+    if (initialCapacity <= 0 || initialCapacity > maxCapacity) {
+      return disabled();
+    }
+    final StoredNodeFilter filter =
+        new StoredNodeFilter(true, initialCapacity, falsePositiveProbability, maxCapacity);
+    filter.addFilter();
+    return filter;
+  }
+
+  /** @return a filter that reports every node as possibly stored. */
+  public static StoredNodeFilter disabled() {
+    return new StoredNodeFilter(false, 0, 0, 0);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public boolean mightContain(final Hash hash) {
+    if (!enabled) {
+      return true;
+    }
+    final byte[] key = hash.getArrayUnsafe();
+    for (final BloomFilter<byte[]> filter : filters) {
+      if (filter.mightContain(key)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public synchronized void add(final Hash hash) {
+    if (!enabled) {
+      return;
+    }
+    if (currentFilterCount >= currentFilterCapacity) {
+      if (nextFilterCapacity() > maxCapacity - totalCapacity) {
+        disable();
+        return;
+      }
+      addFilter();
+    }
+    if (filters.get(filters.size() - 1).put(hash.getArrayUnsafe())) {
+      currentFilterCount++;
+    }
+  }
+
+  private void disable() {
+    // Readers that still see the filter enabled may miss a node and download it again, which is
+    // harmless
+    enabled = false;
+    filters.clear();
+  }
+
+  private long nextFilterCapacity() {
+    final int index = filters.size();
+    // Saturate rather than overflow when shifting the capacity
+    return index < Long.numberOfLeadingZeros(initialCapacity) - 1
+        ? initialCapacity << index
+        : Long.MAX_VALUE;
+  }
+
+  private void addFilter() {
+    final int index = filters.size();
+    currentFilterCapacity = nextFilterCapacity();
+    currentFilterCount = 0;
+    totalCapacity += currentFilterCapacity;
+    filters.add(
+        BloomFilter.create(
+            FUNNEL,
+            currentFilterCapacity,
+            Math.max(falsePositiveProbability / (1L << index), MIN_FALSE_POSITIVE_PROBABILITY)));
+  }
+
+  /**
+   * Takes a copy of the filter that can be saved with {@link #writeTo(Path)} while nodes continue
+   * to be added to this one. Only the bloom filter currently being added to is copied, the others
+   * are full and no longer change.
+   *
+   * @return a copy of the filter
+   */
+  public synchronized StoredNodeFilter snapshot() {
+    final StoredNodeFilter snapshot =
+        new StoredNodeFilter(enabled, initialCapacity, falsePositiveProbability, maxCapacity);
+    if (enabled) {
+      final int last = filters.size() - 1;
+      snapshot.filters.addAll(filters.subList(0, last));
+      snapshot.filters.add(filters.get(last).copy());
+      snapshot.totalCapacity = totalCapacity;
+      snapshot.currentFilterCapacity = currentFilterCapacity;
+      snapshot.currentFilterCount = currentFilterCount;
+    }
+    return snapshot;
+  }
+
+  /**
+   * Saves the filter to the given file, replacing any existing file once the write is complete.
+   * Saving a filter that has been disabled removes the file.
+   *
+   * @param file the file to write to
+   * @throws IOException if the filter can't be written
+   */
+  public synchronized void writeTo(final Path file) throws IOException {
+    if (!enabled) {
+      Files.deleteIfExists(file);
+      return;
+    }
+    final Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (final OutputStream fileOutput = Files.newOutputStream(tempFile);
+        final DataOutputStream output =
+            new DataOutputStream(new BufferedOutputStream(fileOutput))) {
+      output.writeInt(FORMAT_VERSION);
+      output.writeLong(initialCapacity);
+      output.writeDouble(falsePositiveProbability);
+      output.writeLong(currentFilterCapacity);
+      output.writeLong(currentFilterCount);
+      output.writeInt(filters.size());
+      for (final BloomFilter<byte[]> filter : filters) {
+        filter.writeTo(output);
+      }
+    }
+    Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Loads a filter previously saved with {@link #writeTo(Path)}.
+   *
+   * @param file the file to read from
+   * @param maxCapacity the maximum total number of nodes the bloom filters may be sized for
+   * @return the filter, or empty if the file doesn't exist or was written in an unknown format
+   * @throws IOException if the file can't be read
+   */
+  public static Optional<StoredNodeFilter> readFrom(final Path file, final long maxCapacity)
+      throws IOException {
+    try (final InputStream fileInput = Files.newInputStream(file);
+        final DataInputStream input = new DataInputStream(new BufferedInputStream(fileInput))) {
+      if (input.readInt() != FORMAT_VERSION) {
+        return Optional.empty();
+      }
+      final StoredNodeFilter filter =
+          new StoredNodeFilter(true, input.readLong(), input.readDouble(), maxCapacity);
+      filter.currentFilterCapacity = input.readLong();
+      filter.currentFilterCount = input.readLong();
+      final int filterCount = input.readInt();
+      for (int i = 0; i < filterCount; i++) {
+        filter.totalCapacity += filter.nextFilterCapacity();
+        filter.filters.add(BloomFilter.readFrom(input, FUNNEL));
+      }
+      if (filter.filters.isEmpty() || filter.totalCapacity > maxCapacity) {
+        return Optional.empty();
+      }
+      return Optional.of(filter);
+    } catch (final NoSuchFileException e) {
+      return Optional.empty();
+    }
+  }
+}
@@ -30,6 +30,7 @@ import org.hyperledger.besu.services.pipeline.WritePipe;
 import org.hyperledger.besu.services.tasks.Task;
 import org.hyperledger.besu.util.ExceptionUtils;
 
+import java.util.List;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 
@@ -62,9 +63,16 @@ import org.apache.logging.log4j.Logger;
  *                    |                                       ------------------------
  *                    |                                                 |
  *                    |                                                 |
- *                    |                                         ------------------
- *                    |                                         |  Persist Data  |
- *                    |                                         ------------------
+ *                    |                                       ------------------------
+ *                    |                                       |   Decode Children    |
+ *                    |                                       |    (in parallel)     |
+ *                    |                                       ------------------------
+ *                    |                                                 |
+ *                    |                                                 |
+ *                    |                                      --------------------------
+ *                    |                                      | Persist Data in Larger |
+ *                    |                                      |        Batches         |
+ *                    |                                      --------------------------
  *                    |                                                 |
  *                    |                                                 |
  *                    ---------------------------------------------------
@@ -132,6 +140,8 @@ public class WorldStateDownloadProcess {
 
     private int hashCountPerRequest;
     private int maxOutstandingRequests;
+    private int persistBatchSize;
+    private int decodeParallelism = 1;
     private LoadLocalDataStep loadLocalDataStep;
     private WorldDownloadState downloadState;
     private MetricsSystem metricsSystem;
@@ -150,6 +160,23 @@ public class WorldStateDownloadProcess {
       return this;
     }
 
+    /**
+     * Sets the maximum number of nodes to write in a single storage transaction. Data from
+     * several requests is combined into one transaction when it is available.
+     *
+     * @param persistBatchSize the maximum number of nodes per transaction
+     * @return this builder
+     */
+    public Builder persistBatchSize(final int persistBatchSize) {
+      this.persistBatchSize = persistBatchSize;
+      return this;
+    }
+
+    public Builder decodeParallelism(final int decodeParallelism) {
+      this.decodeParallelism = decodeParallelism;
+      return this;
+    }
+
     public Builder loadLocalDataStep(final LoadLocalDataStep loadLocalDataStep) {
       this.loadLocalDataStep = loadLocalDataStep;
       return this;
@@ -196,6 +223,7 @@ public class WorldStateDownloadProcess {
 
       // Room for the requests we expect to do in parallel plus some buffer but not unlimited.
       final int bufferCapacity = hashCountPerRequest * 2;
+      final int effectivePersistBatchSize = Math.max(persistBatchSize, hashCountPerRequest);
       final LabelledMetric<Counter> outputCounter =
           metricsSystem.createLabelledCounter(
               BesuMetricCategory.SYNCHRONIZER,
@@ -231,6 +259,10 @@ public class WorldStateDownloadProcess {
                   requestTasks ->
                       requestDataStep.requestData(requestTasks, pivotBlockHeader, downloadState),
                   maxOutstandingRequests)
+              .thenProcessInParallel(
+                  "batchDecodeChildren", Builder::prepareChildRequests, decodeParallelism)
+              .thenFlatMap("unbatchDownloadedData", List::stream, effectivePersistBatchSize)
+              .inBatches(effectivePersistBatchSize)
               .thenProcess(
                   "batchPersistData",
                   tasks -> persistDataStep.persist(tasks, pivotBlockHeader, downloadState))
@@ -240,5 +272,15 @@ public class WorldStateDownloadProcess {
       return new WorldStateDownloadProcess(
           fetchDataPipeline, completionPipeline, requestsToComplete);
     }
+
+    private static List<Task<NodeDataRequest>> prepareChildRequests(
+        final List<Task<NodeDataRequest>> tasks) {
+      for (final Task<NodeDataRequest> task : tasks) {
+        if (task.getData().getData() != null) {
+          task.getData().prepareChildRequests();
+        }
+      }
+      return tasks;
+    }
   }
 }
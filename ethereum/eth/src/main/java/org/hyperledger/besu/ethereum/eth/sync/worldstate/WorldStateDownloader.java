@@ -17,13 +17,19 @@ package org.hyperledger.besu.ethereum.eth.sync.worldstate;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
+import org.hyperledger.besu.ethereum.eth.sync.SynchronizerConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.services.tasks.CachingTaskCollection;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.Clock;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.function.IntSupplier;
@@ -34,6 +40,13 @@ import org.apache.logging.log4j.Logger;
 public class WorldStateDownloader {
   private static final Logger LOG = LogManager.getLogger();
 
+  // Trie nodes are decoded to find their children on this many threads.
+  private static final int DECODE_PARALLELISM =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+  // The stored node filter is saved at this interval, so that after a crash only the nodes stored
+  // since the last save are downloaded again.
+  private static final long STORED_NODE_FILTER_SAVE_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
   private final long minMillisBeforeStalling;
   private final Clock clock;
   private final MetricsSystem metricsSystem;
@@ -44,6 +57,11 @@ public class WorldStateDownloader {
   private final int maxOutstandingRequests;
   private final int maxNodeRequestsWithoutProgress;
   private final WorldStateStorage worldStateStorage;
+  private final Optional<Path> storedNodeFilterFile;
+  private final long storedNodeFilterMaxCapacity;
+  private final AtomicBoolean storedNodeFilterSaveInProgress = new AtomicBoolean(false);
+  private StoredNodeFilter storedNodeFilter;
+  private volatile long lastStoredNodeFilterSaveMillis;
 
   private final AtomicReference<WorldDownloadState> downloadState = new AtomicReference<>();
 
@@ -57,6 +75,32 @@ public class WorldStateDownloader {
       final long minMillisBeforeStalling,
       final Clock clock,
       final MetricsSystem metricsSystem) {
+    this(
+        ethContext,
+        worldStateStorage,
+        taskCollection,
+        hashCountPerRequest,
+        maxOutstandingRequests,
+        maxNodeRequestsWithoutProgress,
+        minMillisBeforeStalling,
+        clock,
+        metricsSystem,
+        Optional.empty(),
+        SynchronizerConfiguration.DEFAULT_WORLD_STATE_NODE_FILTER_MAX_CAPACITY);
+  }
+
+  public WorldStateDownloader(
+      final EthContext ethContext,
+      final WorldStateStorage worldStateStorage,
+      final CachingTaskCollection<NodeDataRequest> taskCollection,
+      final int hashCountPerRequest,
+      final int maxOutstandingRequests,
+      final int maxNodeRequestsWithoutProgress,
+      final long minMillisBeforeStalling,
+      final Clock clock,
+      final MetricsSystem metricsSystem,
+      final Optional<Path> storedNodeFilterFile,
+      final long storedNodeFilterMaxCapacity) {
     this.ethContext = ethContext;
     this.worldStateStorage = worldStateStorage;
     this.taskCollection = taskCollection;
@@ -66,6 +110,8 @@ public class WorldStateDownloader {
     this.minMillisBeforeStalling = minMillisBeforeStalling;
     this.clock = clock;
     this.metricsSystem = metricsSystem;
+    this.storedNodeFilterFile = storedNodeFilterFile;
+    this.storedNodeFilterMaxCapacity = storedNodeFilterMaxCapacity;
 
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.SYNCHRONIZER,
@@ -122,14 +168,23 @@ public class WorldStateDownloader {
         // Only queue the root node if we're starting a new download from scratch
         newDownloadState.enqueueRequest(NodeDataRequest.createAccountDataRequest(stateRoot));
       }
+      final StoredNodeFilter storedNodeFilter = getStoredNodeFilter(newDownloadState);
+      lastStoredNodeFilterSaveMillis = clock.millis();
 
       final WorldStateDownloadProcess downloadProcess =
           WorldStateDownloadProcess.builder()
               .hashCountPerRequest(hashCountPerRequest)
               .maxOutstandingRequests(maxOutstandingRequests)
-              .loadLocalDataStep(new LoadLocalDataStep(worldStateStorage, metricsSystem))
+              .persistBatchSize(hashCountPerRequest * maxOutstandingRequests)
+              .decodeParallelism(DECODE_PARALLELISM)
+              .loadLocalDataStep(
+                  new LoadLocalDataStep(worldStateStorage, storedNodeFilter, metricsSystem))
               .requestDataStep(new RequestDataStep(ethContext, metricsSystem))
-              .persistDataStep(new PersistDataStep(worldStateStorage))
+              .persistDataStep(
+                  new PersistDataStep(
+                      worldStateStorage,
+                      storedNodeFilter,
+                      () -> checkpointStoredNodeFilter(storedNodeFilter)))
               .completeTaskStep(
                   new CompleteTaskStep(worldStateStorage, metricsSystem, taskCollection::size))
               .downloadState(newDownloadState)
@@ -139,10 +194,80 @@ public class WorldStateDownloader {
 
       newDownloadState.setWorldStateDownloadProcess(downloadProcess);
 
-      return newDownloadState.startDownload(downloadProcess, ethContext.getScheduler());
+      final CompletableFuture<Void> downloadFuture =
+          newDownloadState.startDownload(downloadProcess, ethContext.getScheduler());
+      downloadFuture.whenComplete(
+          (result, error) -> saveStoredNodeFilter(storedNodeFilter.snapshot()));
+      return downloadFuture;
     }
   }
 
+  private StoredNodeFilter getStoredNodeFilter(final WorldDownloadState downloadState) {
+    if (storedNodeFilter == null) {
+      // Nodes stored before a restart are only known if the filter was saved before we stopped.
+      // After a crash the saved filter misses the most recent nodes, which are then downloaded
+      // again rather than read locally.
+      storedNodeFilter =
+          downloadState.downloadWasResumed()
+              ? storedNodeFilterFile
+                  .flatMap(this::loadStoredNodeFilter)
+                  .orElseGet(StoredNodeFilter::disabled)
+              : StoredNodeFilter.create(storedNodeFilterMaxCapacity);
+    }
+    return storedNodeFilter;
+  }
+
+  private Optional<StoredNodeFilter> loadStoredNodeFilter(final Path file) {
+    try {
+      final Optional<StoredNodeFilter> filter =
+          StoredNodeFilter.readFrom(file, storedNodeFilterMaxCapacity);
+      if (filter.isPresent()) {
+        LOG.info("Loaded stored world state node filter from {}", file);
+      }
+      return filter;
+    } catch (final IOException e) {
+      LOG.warn("Unable to load stored world state node filter from " + file, e);
+      return Optional.empty();
+    }
+  }
+
+  // Runs on the persist step after each batch, so only the snapshot is taken here and the filter
+  // is written in the background. A save still in progress delays the next one.
+  private void checkpointStoredNodeFilter(final StoredNodeFilter filter) {
+    final long now = clock.millis();
+    if (storedNodeFilterFile.isEmpty()
+        || now - lastStoredNodeFilterSaveMillis < STORED_NODE_FILTER_SAVE_INTERVAL_MILLIS
+        || !storedNodeFilterSaveInProgress.compareAndSet(false, true)) {
+      return;
+    }
+    lastStoredNodeFilterSaveMillis = now;
+    final StoredNodeFilter snapshot = filter.snapshot();
+    ethContext
+        .getScheduler()
+        .scheduleSyncWorkerTask(
+            () -> {
+              try {
+                saveStoredNodeFilter(snapshot);
+              } finally {
+                storedNodeFilterSaveInProgress.set(false);
+              }
+            });
+  }
+
+  private void saveStoredNodeFilter(final StoredNodeFilter filter) {
+    storedNodeFilterFile.ifPresent(
+        file -> {
+          // The final save can overlap a background save, and both write to the same temp file
+          synchronized (storedNodeFilterSaveInProgress) {
+            try {
+              filter.writeTo(file);
+            } catch (final IOException e) {
+              LOG.warn("Unable to save stored world state node filter to " + file, e);
+            }
+          }
+        });
+  }
+
   public void cancel() {
     synchronized (this) {
       final WorldDownloadState downloadState = this.downloadState.get();
@@ -27,15 +27,18 @@ import static org.mockito.Mockito.when;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.eth.manager.exceptions.NoAvailablePeersException;
 import org.hyperledger.besu.ethereum.eth.manager.exceptions.PeerDisconnectedException;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV63;
 import org.hyperledger.besu.ethereum.eth.messages.NodeDataMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection.PeerNotConnected;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.DisconnectReason;
 import org.hyperledger.besu.util.uint.UInt256;
 
+import java.util.Comparator;
 import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.CancellationException;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -149,6 +152,44 @@ public class EthPeersTest {
     assertRequestSuccessful(pendingRequest);
   }
 
+  @Test
+  public void shouldPreferPeerWithLowestExpectedResponseTimeForRequestType() throws Exception {
+    final RespondingEthPeer slowPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    final RespondingEthPeer fastPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    useRequestSlot(fastPeer.getEthPeer());
+    freeUpCapacity(fastPeer.getEthPeer());
+    slowPeer.getEthPeer().requestStats(EthPV63.GET_NODE_DATA).get().recordResponse(2000, 100);
+    fastPeer.getEthPeer().requestStats(EthPV63.GET_NODE_DATA).get().recordResponse(50, 100);
+
+    final PendingPeerRequest pendingRequest =
+        ethPeers.executePeerRequest(peerRequest, EthPV63.GET_NODE_DATA, 10, Optional.empty());
+
+    verify(peerRequest).sendRequest(fastPeer.getEthPeer());
+    assertRequestSuccessful(pendingRequest);
+  }
+
+  @Test
+  public void ranksPeersWithoutSamplesAsMedianPeer() {
+    final EthPeer fastPeer = EthProtocolManagerTestUtil.createPeer(ethProtocolManager).getEthPeer();
+    final EthPeer medianPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager).getEthPeer();
+    final EthPeer slowPeer = EthProtocolManagerTestUtil.createPeer(ethProtocolManager).getEthPeer();
+    final EthPeer newPeer = EthProtocolManagerTestUtil.createPeer(ethProtocolManager).getEthPeer();
+    fastPeer.requestStats(EthPV63.GET_NODE_DATA).get().recordResponse(100, 100);
+    medianPeer.requestStats(EthPV63.GET_NODE_DATA).get().recordResponse(300, 100);
+    slowPeer.requestStats(EthPV63.GET_NODE_DATA).get().recordResponse(500, 100);
+
+    final Comparator<EthPeer> fastestToSlowest = ethPeers.fastestToSlowest(EthPV63.GET_NODE_DATA);
+
+    assertThat(newPeer.estimatedResponseTimeMillis(EthPV63.GET_NODE_DATA, 300)).isEqualTo(300);
+    assertThat(fastestToSlowest.compare(fastPeer, newPeer)).isLessThan(0);
+    assertThat(fastestToSlowest.compare(newPeer, slowPeer)).isLessThan(0);
+    assertThat(Stream.of(newPeer, slowPeer, medianPeer, fastPeer).min(fastestToSlowest))
+        .contains(fastPeer);
+  }
+
   @Test
   public void shouldFailWithNoAvailablePeersWhenNoPeersConnected() {
     final PendingPeerRequest pendingRequest =
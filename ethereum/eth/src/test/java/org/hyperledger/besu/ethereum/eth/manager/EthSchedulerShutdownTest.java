@@ -32,6 +32,7 @@ public class EthSchedulerShutdownTest {
   private ExecutorService txWorkerExecutor;
   private ExecutorService servicesExecutor;
   private ExecutorService computationExecutor;
+  private ExecutorService serverWorkerExecutor;
 
   @Before
   public void setup() {
@@ -40,13 +41,15 @@ public class EthSchedulerShutdownTest {
     txWorkerExecutor = Executors.newSingleThreadExecutor();
     servicesExecutor = Executors.newSingleThreadExecutor();
     computationExecutor = Executors.newSingleThreadExecutor();
+    serverWorkerExecutor = Executors.newSingleThreadExecutor();
     ethScheduler =
         new EthScheduler(
             syncWorkerExecutor,
             scheduledExecutor,
             txWorkerExecutor,
             servicesExecutor,
-            computationExecutor);
+            computationExecutor,
+            serverWorkerExecutor);
   }
 
   @Test
@@ -143,4 +146,22 @@ public class EthSchedulerShutdownTest {
     assertThat(computationExecutor.isTerminated()).isTrue();
     assertThat(task2.hasBeenStarted()).isFalse();
   }
+
+  @Test
+  public void shutdown_serverWorkerShutsDown() throws InterruptedException {
+    final MockEthTask task1 = new MockEthTask(1);
+    final MockEthTask task2 = new MockEthTask();
+
+    ethScheduler.scheduleServerTask(task1::executeTask);
+    ethScheduler.scheduleServerTask(task2::executeTask);
+    ethScheduler.stop();
+
+    assertThat(serverWorkerExecutor.isShutdown()).isTrue();
+
+    ethScheduler.awaitStop();
+
+    assertThat(serverWorkerExecutor.isShutdown()).isTrue();
+    assertThat(serverWorkerExecutor.isTerminated()).isTrue();
+    assertThat(task2.hasBeenStarted()).isFalse();
+  }
 }
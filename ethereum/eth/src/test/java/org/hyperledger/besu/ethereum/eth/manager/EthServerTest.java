@@ -15,23 +15,34 @@
 package org.hyperledger.besu.ethereum.eth.manager;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.Hash;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
+import org.hyperledger.besu.ethereum.eth.messages.BlockBodiesMessage;
+import org.hyperledger.besu.ethereum.eth.messages.GetBlockBodiesMessage;
 import org.hyperledger.besu.ethereum.eth.messages.GetNodeDataMessage;
 import org.hyperledger.besu.ethereum.eth.messages.NodeDataMessage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 public class EthServerTest {
 
@@ -41,15 +52,21 @@ public class EthServerTest {
   private static final Hash HASH1 = Hash.hash(VALUE1);
   private static final Hash HASH2 = Hash.hash(VALUE2);
   private static final Hash HASH3 = Hash.hash(VALUE3);
+  private static final BytesValue BODY1 = BytesValue.fromHexString("0xc2c0c0");
   private final Blockchain blockchain = mock(Blockchain.class);
   private final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
   private final EthPeer ethPeer = mock(EthPeer.class);
   private final EthMessages ethMessages = new EthMessages();
+  private final DeterministicEthScheduler ethScheduler = new DeterministicEthScheduler();
 
   @Before
   public void setUp() {
     new EthServer(
-        blockchain, worldStateArchive, ethMessages, new EthProtocolConfiguration(2, 2, 2, 2));
+        blockchain,
+        worldStateArchive,
+        ethMessages,
+        ethScheduler,
+        new EthProtocolConfiguration(2, 2, 2, 2));
   }
 
   @Test
@@ -91,4 +108,97 @@ public class EthServerTest {
 
     verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
   }
+
+  @Test
+  public void shouldRespondOnServerExecutor() throws Exception {
+    ethScheduler.disableAutoRun();
+    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1))));
+
+    verify(ethPeer, never()).send(any());
+
+    ethScheduler.runPendingFutures();
+    verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
+  }
+
+  @Test
+  public void shouldNotDisconnectPeerWhenServerRejectsRequests() {
+    final EthScheduler stoppedScheduler = mock(EthScheduler.class);
+    doThrow(new RejectedExecutionException()).when(stoppedScheduler).scheduleServerTask(any());
+    final EthMessages messages = new EthMessages();
+    new EthServer(
+        blockchain,
+        worldStateArchive,
+        messages,
+        stoppedScheduler,
+        new EthProtocolConfiguration(2, 2, 2, 2));
+
+    messages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1))));
+    messages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1))));
+
+    verify(stoppedScheduler, times(2)).scheduleServerTask(any());
+    verify(ethPeer, never()).disconnect(any());
+  }
+
+  @Test
+  public void shouldSendEmptyResponsesInOrderWhenTooManyRequestsArePending() throws Exception {
+    ethScheduler.disableAutoRun();
+    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
+    for (int i = 0; i < EthServer.MAX_PENDING_REQUESTS_PER_PEER + 2; i++) {
+      ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1))));
+    }
+
+    while (ethScheduler.getPendingFuturesCount() > 0) {
+      ethScheduler.runPendingFutures();
+    }
+
+    final InOrder inOrder = inOrder(ethPeer);
+    inOrder
+        .verify(ethPeer, times(EthServer.MAX_PENDING_REQUESTS_PER_PEER))
+        .send(NodeDataMessage.create(singletonList(VALUE1)));
+    inOrder.verify(ethPeer, times(2)).send(NodeDataMessage.create(emptyList()));
+    verify(ethPeer, never()).disconnect(any());
+  }
+
+  @Test
+  public void shouldServeEachPeerInOrderWhileServingPeersInParallel() throws Exception {
+    final EthPeer otherPeer = mock(EthPeer.class);
+    ethScheduler.disableAutoRun();
+    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
+    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.of(VALUE2));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1))));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH2))));
+    ethMessages.dispatch(new EthMessage(otherPeer, GetNodeDataMessage.create(asList(HASH2))));
+
+    // One task per peer is scheduled at a time
+    assertThat(ethScheduler.getPendingFuturesCount()).isEqualTo(2);
+    ethScheduler.runPendingFutures();
+    verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE1)));
+    verify(ethPeer, never()).send(NodeDataMessage.create(singletonList(VALUE2)));
+    verify(otherPeer).send(NodeDataMessage.create(singletonList(VALUE2)));
+
+    ethScheduler.runPendingFutures();
+    verify(ethPeer).send(NodeDataMessage.create(singletonList(VALUE2)));
+  }
+
+  @Test
+  public void shouldStopAddingNodeDataOnceSoftResponseLimitIsReached() throws Exception {
+    final BytesValue largeValue = BytesValue.wrap(new byte[EthServer.SOFT_RESPONSE_LIMIT]);
+    when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(largeValue));
+    when(worldStateArchive.getNodeData(HASH2)).thenReturn(Optional.of(VALUE2));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(NodeDataMessage.create(singletonList(largeValue)));
+  }
+
+  @Test
+  public void shouldRespondToBlockBodiesRequestsWithStoredRlp() throws Exception {
+    when(blockchain.getBlockBodyRlp(HASH1)).thenReturn(Optional.of(BODY1));
+    when(blockchain.getBlockBodyRlp(HASH2)).thenReturn(Optional.empty());
+    ethMessages.dispatch(
+        new EthMessage(ethPeer, GetBlockBodiesMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(BlockBodiesMessage.createFromRlp(singletonList(BODY1)));
+    verify(blockchain, never()).getBlockBody(any());
+  }
 }
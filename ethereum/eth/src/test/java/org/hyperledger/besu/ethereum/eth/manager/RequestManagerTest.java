@@ -15,6 +15,8 @@
 package org.hyperledger.besu.ethereum.eth.manager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.ethereum.eth.EthProtocol;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
@@ -24,6 +26,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
 import org.hyperledger.besu.testutil.TestClock;
 import org.hyperledger.besu.util.bytes.BytesValue;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -211,6 +214,31 @@ public class RequestManagerTest {
     assertThat(closedCountB.get()).isEqualTo(1);
   }
 
+  @Test
+  public void recordsLatencyOfResponsesInRequestOrder() throws Exception {
+    final EthPeer peer = createPeer();
+    final Clock clock = mock(Clock.class);
+    final RequestManager requestManager = new RequestManager(peer, clock);
+
+    when(clock.millis()).thenReturn(1000L);
+    requestManager.dispatchRequest(() -> {});
+    when(clock.millis()).thenReturn(1100L);
+    requestManager.dispatchRequest(() -> {});
+
+    when(clock.millis()).thenReturn(1200L);
+    requestManager.dispatchResponse(
+        new EthMessage(peer, new RawMessage(1, BytesValue.wrap(new byte[100]))));
+    assertThat(requestManager.getStats().getResponseCount()).isEqualTo(1);
+    assertThat(requestManager.getStats().getAverageLatencyMillis()).isEqualTo(200);
+    assertThat(requestManager.getStats().getAverageBytesPerSecond()).isEqualTo(500);
+
+    // The second request times out, so no latency is recorded when the response arrives
+    requestManager.recordTimeout();
+    requestManager.dispatchResponse(mockMessage(peer));
+    assertThat(requestManager.getStats().getResponseCount()).isEqualTo(1);
+    assertThat(requestManager.getStats().getTimeoutCount()).isEqualTo(1);
+  }
+
   private EthMessage mockMessage(final EthPeer peer) {
     return new EthMessage(peer, new RawMessage(1, BytesValue.EMPTY));
   }
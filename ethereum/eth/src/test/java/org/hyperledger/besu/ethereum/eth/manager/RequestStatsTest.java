@@ -0,0 +1,71 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.Test;
+
+public class RequestStatsTest {
+
+  private final RequestStats stats = new RequestStats();
+
+  @Test
+  public void shouldHaveNoSamplesInitially() {
+    assertThat(stats.hasSamples()).isFalse();
+    assertThat(stats.getAverageLatencyMillis()).isZero();
+    assertThat(stats.getAverageBytesPerSecond()).isZero();
+  }
+
+  @Test
+  public void shouldUseFirstResponseAsAverage() {
+    stats.recordResponse(100, 1000);
+
+    assertThat(stats.hasSamples()).isTrue();
+    assertThat(stats.getResponseCount()).isEqualTo(1);
+    assertThat(stats.getAverageLatencyMillis()).isEqualTo(100);
+    assertThat(stats.getAverageBytesPerSecond()).isEqualTo(10_000);
+  }
+
+  @Test
+  public void shouldMoveAverageTowardsLaterResponses() {
+    stats.recordResponse(100, 1000);
+    stats.recordResponse(600, 1200);
+
+    assertThat(stats.getAverageLatencyMillis()).isCloseTo(200, within(0.001));
+    assertThat(stats.getAverageBytesPerSecond()).isCloseTo(8_400, within(0.001));
+  }
+
+  @Test
+  public void shouldRecordTimeoutAsSlowResponse() {
+    stats.recordResponse(100, 1000);
+    stats.recordTimeout();
+
+    assertThat(stats.getTimeoutCount()).isEqualTo(1);
+    assertThat(stats.getResponseCount()).isEqualTo(1);
+    assertThat(stats.getAverageLatencyMillis())
+        .isCloseTo(100 + 0.2 * (RequestStats.TIMEOUT_LATENCY_MILLIS - 100), within(0.001));
+    assertThat(stats.getAverageBytesPerSecond()).isCloseTo(8_000, within(0.001));
+  }
+
+  @Test
+  public void shouldTreatZeroLatencyAsOneMillisecond() {
+    stats.recordResponse(0, 50);
+
+    assertThat(stats.getAverageLatencyMillis()).isEqualTo(1);
+    assertThat(stats.getAverageBytesPerSecond()).isEqualTo(50_000);
+  }
+}
@@ -66,6 +66,23 @@ public class NewBlockMessageTest {
     assertThat(extractedBlock).isEqualTo(blockForInsertion);
   }
 
+  @Test
+  public void headerAndTotalDifficultyAreReadWithoutDecodingTheBlock() {
+    final UInt256 totalDifficulty = UInt256.of(45678);
+    final BlockDataGenerator blockGenerator = new BlockDataGenerator();
+    final Block blockForInsertion = blockGenerator.block();
+
+    final NewBlockMessage msg =
+        NewBlockMessage.readFrom(
+            new RawMessage(
+                EthPV62.NEW_BLOCK,
+                NewBlockMessage.create(blockForInsertion, totalDifficulty).getData()));
+
+    assertThat(msg.header(protocolSchedule)).isEqualTo(blockForInsertion.getHeader());
+    assertThat(msg.totalDifficulty(protocolSchedule)).isEqualTo(totalDifficulty);
+    assertThat(msg.block(protocolSchedule)).isEqualTo(blockForInsertion);
+  }
+
   @Test
   public void readFromMessageWithWrongCodeThrows() {
     final RawMessage rawMsg = new RawMessage(EthPV62.BLOCK_HEADERS, BytesValue.of(0));
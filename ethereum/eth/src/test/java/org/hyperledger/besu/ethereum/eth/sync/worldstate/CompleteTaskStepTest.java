@@ -70,7 +70,7 @@ public class CompleteTaskStepTest {
     verify(downloadState).enqueueRequests(streamCaptor.capture());
     assertThat(streamCaptor.getValue())
         .usingRecursiveFieldByFieldElementComparator()
-        .containsExactlyInAnyOrderElementsOf(() -> task.getData().getChildRequests().iterator());
+        .containsExactlyInAnyOrderElementsOf(task.getData().prepareChildRequests());
 
     verify(downloadState).checkCompletion(worldStateStorage, blockHeader);
   }
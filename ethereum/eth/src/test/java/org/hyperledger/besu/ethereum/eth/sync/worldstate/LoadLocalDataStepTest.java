@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.eth.sync.worldstate;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_COUNTER;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
@@ -71,4 +72,31 @@ public class LoadLocalDataStepTest {
     request.persist(updater);
     verifyZeroInteractions(updater);
   }
+
+  @Test
+  public void shouldNotLookupDataThatIsNotInStoredNodeFilter() {
+    final LoadLocalDataStep filteredStep =
+        new LoadLocalDataStep(
+            worldStateStorage, StoredNodeFilter.create(100, 0.01), new NoOpMetricsSystem());
+
+    final Stream<Task<NodeDataRequest>> output = filteredStep.loadLocalData(task, completedTasks);
+
+    assertThat(completedTasks.poll()).isNull();
+    assertThat(output).containsExactly(task);
+    verifyNoMoreInteractions(worldStateStorage);
+  }
+
+  @Test
+  public void shouldLookupDataThatIsInStoredNodeFilter() {
+    final StoredNodeFilter filter = StoredNodeFilter.create(100, 0.01);
+    filter.add(HASH);
+    final LoadLocalDataStep filteredStep =
+        new LoadLocalDataStep(worldStateStorage, filter, new NoOpMetricsSystem());
+    when(worldStateStorage.getCode(HASH)).thenReturn(Optional.of(DATA));
+
+    final Stream<Task<NodeDataRequest>> output = filteredStep.loadLocalData(task, completedTasks);
+
+    assertThat(completedTasks.poll()).isSameAs(task);
+    assertThat(output).isEmpty();
+  }
 }
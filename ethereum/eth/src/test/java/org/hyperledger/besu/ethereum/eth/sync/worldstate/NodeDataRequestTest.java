@@ -17,6 +17,10 @@ package org.hyperledger.besu.ethereum.eth.sync.worldstate;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.List;
 
 import org.junit.Test;
 
@@ -49,6 +53,33 @@ public class NodeDataRequestTest {
     assertThat(sedeRequest).isInstanceOf(CodeNodeDataRequest.class);
   }
 
+  @Test
+  public void childRequestsAreOneLevelDeeperAndCached() {
+    // A branch node with two hash-referenced children.
+    final NodeDataRequest request =
+        NodeDataRequest.createAccountDataRequest(
+            Hash.fromHexString(
+                "0x601a7b0d0267209790cf4c4d9e0cab11b26c537e2ade006412f48b070010e847"));
+    request.setData(
+        BytesValue.fromHexString(
+            "0xf85180808080a05ac6993e3fbca0bfbd30173396dd5c2412657fae0bad92e401d17b2aa9a3698f80808080a012f96a0812be538c302416dc6e8df19ce18f1cc7b06a3c7a16831d766c87a9b580808080808080"));
+
+    final List<NodeDataRequest> children = request.prepareChildRequests();
+    assertThat(children).hasSize(2);
+    assertThat(children).extracting(NodeDataRequest::getDepth).containsOnly(1);
+    assertThat(request.prepareChildRequests()).isSameAs(children);
+  }
+
+  @Test
+  public void deepestFirstOrdersDeeperRequestsFirst() {
+    BlockDataGenerator gen = new BlockDataGenerator(0);
+    final NodeDataRequest shallow = NodeDataRequest.createAccountDataRequest(gen.hash());
+    final NodeDataRequest deep = NodeDataRequest.createAccountDataRequest(gen.hash()).setDepth(3);
+
+    assertThat(NodeDataRequest.DEEPEST_FIRST.compare(deep, shallow)).isLessThan(0);
+    assertThat(NodeDataRequest.DEEPEST_FIRST.compare(shallow, deep)).isGreaterThan(0);
+  }
+
   private NodeDataRequest serializeThenDeserialize(final NodeDataRequest request) {
     return NodeDataRequest.deserialize(NodeDataRequest.serialize(request));
   }
@@ -30,6 +30,7 @@ import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Test;
 
@@ -87,6 +88,27 @@ public class PersistDataStepTest {
     verify(downloadState).setRootNodeData(rootNode.getData().getData());
   }
 
+  @Test
+  public void shouldCheckpointStoredNodeFilterAfterCommittingNodes() {
+    final StoredNodeFilter storedNodeFilter = StoredNodeFilter.create(10, 0.01);
+    final Task<NodeDataRequest> task = createTaskWithData(1, 2, 3);
+    final Hash hash = task.getData().getHash();
+    final AtomicBoolean checkpointed = new AtomicBoolean(false);
+    final PersistDataStep persistDataStep =
+        new PersistDataStep(
+            worldStateStorage,
+            storedNodeFilter,
+            () -> {
+              assertThat(worldStateStorage.contains(hash)).isTrue();
+              assertThat(storedNodeFilter.mightContain(hash)).isTrue();
+              checkpointed.set(true);
+            });
+
+    persistDataStep.persist(singletonList(task), blockHeader, downloadState);
+
+    assertThat(checkpointed).isTrue();
+  }
+
   private Task<NodeDataRequest> createTaskWithData(final int... bytes) {
     return createTaskWithData(BytesValue.of(bytes));
   }
@@ -0,0 +1,142 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.util.bytes.BytesValue;
+import org.hyperledger.besu.util.bytes.BytesValues;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StoredNodeFilterTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void shouldContainAddedHashesBeyondInitialCapacity() {
+    final StoredNodeFilter filter = StoredNodeFilter.create(10, 0.01);
+    final List<Hash> hashes = hashes(0, 100);
+    hashes.forEach(filter::add);
+
+    assertThat(hashes).allMatch(filter::mightContain);
+  }
+
+  @Test
+  public void shouldRejectMostHashesThatWereNotAdded() {
+    final StoredNodeFilter filter = StoredNodeFilter.create(10, 0.01);
+    hashes(0, 100).forEach(filter::add);
+
+    final long falsePositives = hashes(100, 1100).stream().filter(filter::mightContain).count();
+    assertThat(falsePositives).isLessThan(50);
+  }
+
+  @Test
+  public void disabledFilterShouldContainEverything() {
+    final StoredNodeFilter filter = StoredNodeFilter.disabled();
+
+    assertThat(filter.isEnabled()).isFalse();
+    assertThat(hashes(0, 10)).allMatch(filter::mightContain);
+  }
+
+  @Test
+  public void shouldRoundTripThroughFile() throws Exception {
+    final Path file = folder.getRoot().toPath().resolve("filter");
+    final StoredNodeFilter filter = StoredNodeFilter.create(10, 0.01);
+    final List<Hash> hashes = hashes(0, 50);
+    hashes.forEach(filter::add);
+
+    filter.writeTo(file);
+    final Optional<StoredNodeFilter> loaded = StoredNodeFilter.readFrom(file, Long.MAX_VALUE);
+
+    assertThat(loaded).isPresent();
+    assertThat(hashes).allMatch(loaded.get()::mightContain);
+    final Hash added = Hash.hash(BytesValue.of(1, 2, 3));
+    loaded.get().add(added);
+    assertThat(loaded.get().mightContain(added)).isTrue();
+  }
+
+  @Test
+  public void snapshotShouldNotSeeNodesAddedAfterIt() throws Exception {
+    final Path file = folder.getRoot().toPath().resolve("filter");
+    final StoredNodeFilter filter = StoredNodeFilter.create(10, 0.01);
+    final List<Hash> hashes = hashes(0, 25);
+    hashes.forEach(filter::add);
+
+    final StoredNodeFilter snapshot = filter.snapshot();
+    final List<Hash> addedLater = hashes(25, 35);
+    addedLater.forEach(filter::add);
+    snapshot.writeTo(file);
+    final StoredNodeFilter loaded = StoredNodeFilter.readFrom(file, Long.MAX_VALUE).get();
+
+    assertThat(hashes).allMatch(loaded::mightContain);
+    assertThat(addedLater.stream().filter(loaded::mightContain).count()).isLessThan(5);
+    assertThat(hashes).allMatch(filter::mightContain);
+    assertThat(addedLater).allMatch(filter::mightContain);
+  }
+
+  @Test
+  public void shouldDisableItselfWhenMaxCapacityIsReached() throws Exception {
+    final Path file = folder.getRoot().toPath().resolve("filter");
+    final StoredNodeFilter filter = StoredNodeFilter.create(10, 0.01, 30);
+    hashes(0, 30).forEach(filter::add);
+    assertThat(filter.isEnabled()).isTrue();
+    filter.writeTo(file);
+
+    filter.add(Hash.hash(BytesValue.of(1, 2, 3)));
+
+    assertThat(filter.isEnabled()).isFalse();
+    assertThat(hashes(100, 110)).allMatch(filter::mightContain);
+    filter.snapshot().writeTo(file);
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  public void shouldNotLoadFilterLargerThanMaxCapacity() throws Exception {
+    final Path file = folder.getRoot().toPath().resolve("filter");
+    final StoredNodeFilter filter = StoredNodeFilter.create(10, 0.01);
+    hashes(0, 30).forEach(filter::add);
+    filter.writeTo(file);
+
+    assertThat(StoredNodeFilter.readFrom(file, 30)).isPresent();
+    assertThat(StoredNodeFilter.readFrom(file, 29)).isEmpty();
+  }
+
+  @Test
+  public void shouldBeDisabledWithZeroMaxCapacity() {
+    assertThat(StoredNodeFilter.create(0).isEnabled()).isFalse();
+  }
+
+  @Test
+  public void shouldReturnEmptyWhenFileDoesNotExist() throws Exception {
+    final Path file = folder.getRoot().toPath().resolve("missing");
+    assertThat(StoredNodeFilter.readFrom(file, Long.MAX_VALUE)).isEmpty();
+  }
+
+  private static List<Hash> hashes(final int from, final int to) {
+    return IntStream.range(from, to)
+        .mapToObj(i -> Hash.hash(BytesValues.ofUnsignedInt(i)))
+        .collect(Collectors.toList());
+  }
+}
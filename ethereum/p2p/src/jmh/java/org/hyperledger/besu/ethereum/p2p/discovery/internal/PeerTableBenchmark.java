@@ -0,0 +1,81 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+import org.hyperledger.besu.ethereum.p2p.peers.Peer;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares finding the peers nearest to a target through the peer table's distance index with the
+ * previous approach of sorting every known peer by its distance to the target.
+ */
+@State(Scope.Benchmark)
+public class PeerTableBenchmark {
+
+  private static final int NEIGHBOURS_LIMIT = 16;
+
+  @Param({"10000", "50000"})
+  public int peerCount;
+
+  private PeerTable peerTable;
+  private BytesValue target;
+
+  @Setup
+  public void prepare() {
+    // Make buckets large enough that every generated peer is kept.
+    peerTable = new PeerTable(Peer.randomId(), peerCount);
+    for (int i = 0; i < peerCount; i++) {
+      final DiscoveryPeer peer =
+          DiscoveryPeer.fromIdAndEndpoint(
+              Peer.randomId(), new Endpoint("127.0.0.1", 30303, OptionalInt.empty()));
+      peer.setStatus(PeerDiscoveryStatus.BONDED);
+      peerTable.tryAdd(peer);
+    }
+    target = Peer.randomId();
+  }
+
+  @Benchmark
+  public List<DiscoveryPeer> nearestPeersIndexed() {
+    return peerTable.nearestPeers(target, NEIGHBOURS_LIMIT);
+  }
+
+  @Benchmark
+  public List<DiscoveryPeer> nearestPeersSortingAllPeers() {
+    final BytesValue keccak256 = Hash.keccak256(target);
+    return peerTable
+        .streamAllPeers()
+        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+        .sorted(
+            comparingInt((peer) -> PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
+        .limit(NEIGHBOURS_LIMIT)
+        .collect(toList());
+  }
+}
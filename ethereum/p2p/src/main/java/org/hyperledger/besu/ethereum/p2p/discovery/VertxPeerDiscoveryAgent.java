@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
 import org.hyperledger.besu.ethereum.p2p.config.DiscoveryConfiguration;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.Packet;
+import org.hyperledger.besu.ethereum.p2p.discovery.internal.PacketRateLimiter;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerDiscoveryController;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerDiscoveryController.AsyncExecutor;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.TimerUtil;
@@ -27,12 +28,19 @@ import org.hyperledger.besu.ethereum.p2p.permissions.PeerPermissions;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.nat.upnp.UpnpNatManager;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.util.NetworkUtility;
 
 import java.io.IOException;
 import java.net.BindException;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
@@ -40,10 +48,12 @@ import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.StreamSupport;
 
+import com.google.common.annotations.VisibleForTesting;
 import io.netty.channel.EventLoopGroup;
 import io.netty.util.concurrent.SingleThreadEventExecutor;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import io.vertx.core.datagram.DatagramPacket;
 import io.vertx.core.datagram.DatagramSocket;
 import io.vertx.core.datagram.DatagramSocketOptions;
@@ -53,9 +63,26 @@ import org.apache.logging.log4j.Logger;
 public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
   private static final Logger LOG = LogManager.getLogger();
 
+  // Datagrams are decoded in batches of at most this many packets.
+  private static final int MAX_BATCH_SIZE = 64;
+  // Batches received while this many are still being decoded are dropped.
+  private static final int MAX_PENDING_BATCHES = 64;
+  private static final int DECODER_THREADS =
+      Math.max(2, Runtime.getRuntime().availableProcessors() / 2);
+  private static final int PACKETS_PER_SECOND_PER_SOURCE = 100;
+  private static final int PACKET_BURST_PER_SOURCE = 200;
+  private static final int MAX_RATE_LIMITED_SOURCES = 10_000;
+
   private final Vertx vertx;
   /* The vert.x UDP socket. */
   private DatagramSocket socket;
+  private final PacketRateLimiter rateLimiter;
+  private final Counter processedPacketsCounter;
+  private final LabelledMetric<Counter> droppedPacketsCounter;
+  // Only accessed from the event loop the socket is bound to.
+  private WorkerExecutor packetDecoder;
+  private List<DatagramPacket> currentBatch = new ArrayList<>();
+  private final Deque<PendingBatch> pendingBatches = new ArrayDeque<>();
 
   public VertxPeerDiscoveryAgent(
       final Vertx vertx,
@@ -67,7 +94,24 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
     super(keyPair, config, peerPermissions, natManager, metricsSystem);
     checkArgument(vertx != null, "vertx instance cannot be null");
     this.vertx = vertx;
+    this.rateLimiter =
+        new PacketRateLimiter(
+            PACKETS_PER_SECOND_PER_SOURCE,
+            PACKET_BURST_PER_SOURCE,
+            MAX_RATE_LIMITED_SOURCES,
+            Clock.systemUTC());
 
+    processedPacketsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.NETWORK,
+            "discovery_packets_processed_total",
+            "Total number of received discovery packets that were decoded and processed");
+    droppedPacketsCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.NETWORK,
+            "discovery_packets_dropped_total",
+            "Total number of received discovery packets that were dropped",
+            "reason");
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.NETWORK,
         "vertx_eventloop_pending_tasks",
@@ -95,6 +139,7 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
 
   @Override
   protected CompletableFuture<InetSocketAddress> listenForConnections() {
+    packetDecoder = vertx.createSharedWorkerExecutor("discovery-packet-decoder", DECODER_THREADS);
     CompletableFuture<InetSocketAddress> future = new CompletableFuture<>();
     vertx
         .createDatagramSocket(new DatagramSocketOptions().setIpV6(NetworkUtility.isIPv6Available()))
@@ -163,6 +208,7 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
   @Override
   public CompletableFuture<?> stop() {
     if (socket == null) {
+      closePacketDecoder();
       return CompletableFuture.completedFuture(null);
     }
 
@@ -171,6 +217,7 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
         ar -> {
           if (ar.succeeded()) {
             controller.ifPresent(PeerDiscoveryController::stop);
+            closePacketDecoder();
             socket = null;
             completion.complete(null);
           } else {
@@ -180,6 +227,15 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
     return completion;
   }
 
+  private void closePacketDecoder() {
+    if (packetDecoder != null) {
+      packetDecoder.close();
+      packetDecoder = null;
+    }
+    currentBatch = new ArrayList<>();
+    pendingBatches.clear();
+  }
+
   /**
    * For uncontrolled exceptions occurring in the packet handlers.
    *
@@ -196,37 +252,152 @@ public class VertxPeerDiscoveryAgent extends PeerDiscoveryAgent {
   /**
    * The UDP packet handler. This is the entrypoint for all received datagrams.
    *
+   * <p>Datagrams that pass the size and rate checks are collected into a batch which is handed to
+   * the decoder pool once the event loop has drained the socket, or once the batch is full. This
+   * way a burst of datagrams costs a single hand-off rather than one per packet.
+   *
    * @param datagram the received datagram.
    */
-  private void handlePacket(final DatagramPacket datagram) {
+  @VisibleForTesting
+  void handlePacket(final DatagramPacket datagram) {
     final int length = datagram.data().length();
     if (!validatePacketSize(length)) {
       LOG.debug("Discarding over-sized packet. Actual size (bytes): " + length);
+      droppedPacketsCounter.labels("oversized").inc();
       return;
     }
-    vertx.<Packet>executeBlocking(
-        future -> {
-          try {
-            future.complete(Packet.decode(datagram.data()));
-          } catch (final Throwable t) {
-            future.fail(t);
-          }
-        },
+    if (!rateLimiter.tryAcquire(datagram.sender().host())) {
+      droppedPacketsCounter.labels("rate_limited").inc();
+      return;
+    }
+    if (currentBatch.isEmpty()) {
+      vertx.runOnContext(v -> dispatchBatch());
+    }
+    currentBatch.add(datagram);
+    if (currentBatch.size() >= MAX_BATCH_SIZE) {
+      dispatchBatch();
+    }
+  }
+
+  /**
+   * Decodes the current batch, which includes recovering the sender public key of every packet, on
+   * the decoder pool. Batches are decoded concurrently, but their results are handled back on the
+   * event loop in the order the batches were dispatched, so packets from a peer are handled in the
+   * order they arrived and updates to the peer table remain serialized.
+   */
+  @VisibleForTesting
+  void dispatchBatch() {
+    if (currentBatch.isEmpty()) {
+      return;
+    }
+    final List<DatagramPacket> batch = currentBatch;
+    currentBatch = new ArrayList<>();
+    if (pendingBatches.size() >= MAX_PENDING_BATCHES) {
+      droppedPacketsCounter.labels("overloaded").inc(batch.size());
+      return;
+    }
+    final PendingBatch pendingBatch = new PendingBatch();
+    pendingBatches.add(pendingBatch);
+    decodeAsync(batch)
+        .whenComplete(
+            (decoded, error) -> {
+              pendingBatch.complete(decoded, error);
+              handleCompletedBatches();
+            });
+  }
+
+  private void handleCompletedBatches() {
+    while (!pendingBatches.isEmpty() && pendingBatches.peek().isDone()) {
+      final PendingBatch completed = pendingBatches.remove();
+      if (completed.error == null) {
+        completed.decoded.forEach(this::handleDecodedPacket);
+      } else {
+        LOG.error("Encountered error while decoding packets", completed.error);
+      }
+    }
+  }
+
+  /**
+   * Decodes a batch on the decoder pool. The returned future is completed on the event loop.
+   *
+   * @param batch the datagrams to decode
+   * @return the decoded packets, in the same order as the datagrams
+   */
+  @VisibleForTesting
+  CompletableFuture<List<DecodedPacket>> decodeAsync(final List<DatagramPacket> batch) {
+    final CompletableFuture<List<DecodedPacket>> result = new CompletableFuture<>();
+    packetDecoder.<List<DecodedPacket>>executeBlocking(
+        future -> future.complete(decodeBatch(batch)),
+        false,
         event -> {
           if (event.succeeded()) {
-            // Acquire the senders coordinates to build a Peer representation from them.
-            final String host = datagram.sender().host();
-            final int port = datagram.sender().port();
-            final Endpoint endpoint = new Endpoint(host, port, OptionalInt.empty());
-            handleIncomingPacket(endpoint, event.result());
+            result.complete(event.result());
           } else {
-            if (event.cause() instanceof PeerDiscoveryPacketDecodingException) {
-              LOG.debug("Discarding invalid peer discovery packet: {}", event.cause().getMessage());
-            } else {
-              LOG.error("Encountered error while handling packet", event.cause());
-            }
+            result.completeExceptionally(event.cause());
           }
         });
+    return result;
+  }
+
+  @VisibleForTesting
+  static List<DecodedPacket> decodeBatch(final List<DatagramPacket> batch) {
+    final List<DecodedPacket> decoded = new ArrayList<>(batch.size());
+    for (final DatagramPacket datagram : batch) {
+      try {
+        decoded.add(new DecodedPacket(datagram, Packet.decode(datagram.data()), null));
+      } catch (final Throwable t) {
+        decoded.add(new DecodedPacket(datagram, null, t));
+      }
+    }
+    return decoded;
+  }
+
+  private void handleDecodedPacket(final DecodedPacket decoded) {
+    if (decoded.packet == null) {
+      if (decoded.error instanceof PeerDiscoveryPacketDecodingException) {
+        LOG.debug("Discarding invalid peer discovery packet: {}", decoded.error.getMessage());
+        droppedPacketsCounter.labels("invalid").inc();
+      } else {
+        LOG.error("Encountered error while handling packet", decoded.error);
+        droppedPacketsCounter.labels("error").inc();
+      }
+      return;
+    }
+    // Acquire the senders coordinates to build a Peer representation from them.
+    final String host = decoded.datagram.sender().host();
+    final int port = decoded.datagram.sender().port();
+    final Endpoint endpoint = new Endpoint(host, port, OptionalInt.empty());
+    processedPacketsCounter.inc();
+    handleIncomingPacket(endpoint, decoded.packet);
+  }
+
+  private static class PendingBatch {
+    private List<DecodedPacket> decoded;
+    private Throwable error;
+    private boolean done;
+
+    void complete(final List<DecodedPacket> decoded, final Throwable error) {
+      this.decoded = decoded;
+      this.error = error;
+      this.done = true;
+    }
+
+    boolean isDone() {
+      return done;
+    }
+  }
+
+  @VisibleForTesting
+  static class DecodedPacket {
+    private final DatagramPacket datagram;
+    private final Packet packet;
+    private final Throwable error;
+
+    DecodedPacket(final DatagramPacket datagram, final Packet packet, final Throwable error) {
+      this.datagram = datagram;
+      this.packet = packet;
+      this.error = error;
+    }
   }
 
   private class VertxAsyncExecutor implements AsyncExecutor {
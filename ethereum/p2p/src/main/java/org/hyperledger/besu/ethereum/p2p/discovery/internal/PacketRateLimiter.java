@@ -0,0 +1,87 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Limits the rate at which discovery packets are accepted from each source host using a token
+ * bucket per host. Buckets for hosts that have not sent anything recently are discarded, and at
+ * most {@code maxTrackedSources} hosts are tracked at once.
+ */
+public class PacketRateLimiter {
+
+  private final Clock clock;
+  private final double tokensPerMilli;
+  private final int burstSize;
+  private final Cache<String, TokenBucket> buckets;
+
+  public PacketRateLimiter(
+      final int packetsPerSecond,
+      final int burstSize,
+      final int maxTrackedSources,
+      final Clock clock) {
+    checkArgument(packetsPerSecond > 0, "Packets per second must be greater than 0.");
+    checkArgument(burstSize > 0, "Burst size must be greater than 0.");
+    this.clock = clock;
+    this.tokensPerMilli = packetsPerSecond / 1000.0;
+    this.burstSize = burstSize;
+    this.buckets =
+        CacheBuilder.newBuilder()
+            .maximumSize(maxTrackedSources)
+            .expireAfterAccess(
+                Math.max(1, (long) Math.ceil(burstSize / (double) packetsPerSecond)),
+                TimeUnit.SECONDS)
+            .build();
+  }
+
+  /**
+   * Attempts to take a token from the bucket of the given host.
+   *
+   * @param host the host the packet was received from
+   * @return true if the packet should be processed, false if the host has exceeded its rate
+   */
+  public boolean tryAcquire(final String host) {
+    final long now = clock.millis();
+    return buckets.asMap().computeIfAbsent(host, h -> new TokenBucket(now)).tryAcquire(now);
+  }
+
+  private class TokenBucket {
+    private double tokens = burstSize;
+    private long lastRefill;
+
+    TokenBucket(final long now) {
+      this.lastRefill = now;
+    }
+
+    synchronized boolean tryAcquire(final long now) {
+      if (now > lastRefill) {
+        tokens = Math.min(burstSize, tokens + (now - lastRefill) * tokensPerMilli);
+        lastRefill = now;
+      }
+      if (tokens < 1) {
+        return false;
+      }
+      tokens--;
+      return true;
+    }
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.peers.PeerId;
+import org.hyperledger.besu.util.bytes.Bytes32;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Indexes peers by the keccak-256 hash of their ID in a binary trie, so that the peers closest to a
+ * target can be found without computing the distance to, and sorting, every known peer.
+ *
+ * <p>A depth-first walk of the trie that always visits the branch matching the target's bit at that
+ * depth first visits peers in order of increasing XOR distance from the target. The walk stops as
+ * soon as enough peers have been found. Leaves are stored at the shallowest depth that
+ * distinguishes them from their neighbours, so the trie holds roughly two nodes per peer.
+ */
+class PeerDistanceIndex {
+
+  private Node root;
+  private int size;
+
+  /**
+   * Adds a peer to the index, replacing any peer with the same ID.
+   *
+   * @param peer The peer to add.
+   */
+  synchronized void add(final DiscoveryPeer peer) {
+    root = insert(root, new Leaf(peer.keccak256().extractArray(), peer), 0);
+  }
+
+  /**
+   * Removes a peer from the index.
+   *
+   * @param peer The peer to remove.
+   */
+  synchronized void remove(final PeerId peer) {
+    root = remove(root, peer.keccak256().extractArray(), 0);
+  }
+
+  synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Returns up to <code>limit</code> peers accepted by the filter, ordered by increasing XOR
+   * distance between the keccak-256 hash of their ID and the target.
+   *
+   * @param target The keccak-256 hash of the target node ID.
+   * @param limit The maximum number of peers to return.
+   * @param filter The condition a peer must satisfy to be returned.
+   * @return The closest matching peers, nearest first.
+   */
+  synchronized List<DiscoveryPeer> nearest(
+      final Bytes32 target, final int limit, final Predicate<DiscoveryPeer> filter) {
+    final List<DiscoveryPeer> result = new ArrayList<>(Math.max(0, Math.min(limit, size)));
+    if (limit > 0) {
+      collect(root, target.extractArray(), 0, limit, filter, result);
+    }
+    return result;
+  }
+
+  private Node insert(final Node node, final Leaf leaf, final int depth) {
+    if (node == null) {
+      size++;
+      return leaf;
+    }
+    if (node instanceof Leaf) {
+      final Leaf existing = (Leaf) node;
+      if (Arrays.equals(existing.key, leaf.key)) {
+        return leaf;
+      }
+      size++;
+      return split(existing, leaf, depth);
+    }
+    final Branch branch = (Branch) node;
+    if (bit(leaf.key, depth) == 0) {
+      branch.zero = insert(branch.zero, leaf, depth + 1);
+    } else {
+      branch.one = insert(branch.one, leaf, depth + 1);
+    }
+    return branch;
+  }
+
+  private Node split(final Leaf first, final Leaf second, final int depth) {
+    final Branch branch = new Branch();
+    final int firstBit = bit(first.key, depth);
+    if (firstBit != bit(second.key, depth)) {
+      branch.zero = firstBit == 0 ? first : second;
+      branch.one = firstBit == 0 ? second : first;
+    } else if (firstBit == 0) {
+      branch.zero = split(first, second, depth + 1);
+    } else {
+      branch.one = split(first, second, depth + 1);
+    }
+    return branch;
+  }
+
+  private Node remove(final Node node, final byte[] key, final int depth) {
+    if (node == null) {
+      return null;
+    }
+    if (node instanceof Leaf) {
+      if (Arrays.equals(((Leaf) node).key, key)) {
+        size--;
+        return null;
+      }
+      return node;
+    }
+    final Branch branch = (Branch) node;
+    if (bit(key, depth) == 0) {
+      branch.zero = remove(branch.zero, key, depth + 1);
+    } else {
+      branch.one = remove(branch.one, key, depth + 1);
+    }
+    // Collapse branches left holding a single leaf so that leaves stay as shallow as possible.
+    if (branch.zero == null && (branch.one == null || branch.one instanceof Leaf)) {
+      return branch.one;
+    }
+    if (branch.one == null && branch.zero instanceof Leaf) {
+      return branch.zero;
+    }
+    return branch;
+  }
+
+  private void collect(
+      final Node node,
+      final byte[] target,
+      final int depth,
+      final int limit,
+      final Predicate<DiscoveryPeer> filter,
+      final List<DiscoveryPeer> result) {
+    if (node == null || result.size() >= limit) {
+      return;
+    }
+    if (node instanceof Leaf) {
+      final DiscoveryPeer peer = ((Leaf) node).peer;
+      if (filter.test(peer)) {
+        result.add(peer);
+      }
+      return;
+    }
+    final Branch branch = (Branch) node;
+    if (bit(target, depth) == 0) {
+      collect(branch.zero, target, depth + 1, limit, filter, result);
+      collect(branch.one, target, depth + 1, limit, filter, result);
+    } else {
+      collect(branch.one, target, depth + 1, limit, filter, result);
+      collect(branch.zero, target, depth + 1, limit, filter, result);
+    }
+  }
+
+  private static int bit(final byte[] key, final int index) {
+    return (key[index >>> 3] >>> (7 - (index & 7))) & 1;
+  }
+
+  private interface Node {}
+
+  private static class Branch implements Node {
+    private Node zero;
+    private Node one;
+  }
+
+  private static class Leaf implements Node {
+    private final byte[] key;
+    private final DiscoveryPeer peer;
+
+    Leaf(final byte[] key, final DiscoveryPeer peer) {
+      this.key = key;
+      this.peer = peer;
+    }
+  }
+}
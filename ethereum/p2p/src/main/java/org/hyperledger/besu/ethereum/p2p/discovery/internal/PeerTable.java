@@ -14,9 +14,6 @@
  */
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
-import static java.util.Comparator.comparingInt;
-import static java.util.stream.Collectors.toList;
-
 import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
@@ -45,6 +42,7 @@ public class PeerTable {
   private static final int BLOOM_FILTER_REGENERATION_THRESHOLD = 50; // evictions
 
   private final Bucket[] table;
+  private final PeerDistanceIndex distanceIndex = new PeerDistanceIndex();
   private final BytesValue keccak256;
   private final int maxEntriesCnt;
 
@@ -61,7 +59,7 @@ public class PeerTable {
   public PeerTable(final BytesValue nodeId, final int bucketSize) {
     this.keccak256 = Hash.keccak256(nodeId);
     this.table =
-        Stream.generate(() -> new Bucket(DEFAULT_BUCKET_SIZE))
+        Stream.generate(() -> new Bucket(bucketSize))
             .limit(N_BUCKETS + 1)
             .toArray(Bucket[]::new);
     this.distanceCache = new ConcurrentHashMap<>();
@@ -133,6 +131,7 @@ public class PeerTable {
     if (!res.isPresent()) {
       idBloom.put(id);
       distanceCache.put(id, distance);
+      distanceIndex.add(peer);
       return AddResult.added();
     }
 
@@ -161,6 +160,7 @@ public class PeerTable {
 
     final boolean evicted = table[distance].evict(peer);
     if (evicted) {
+      distanceIndex.remove(peer);
       evictionCnt++;
     } else {
       return EvictResult.absent();
@@ -183,21 +183,16 @@ public class PeerTable {
   }
 
   /**
-   * Returns the <code>limit</code> peers (at most) closest to the provided target, based on the XOR
-   * distance between the keccak-256 hash of the ID and the keccak-256 hash of the target.
+   * Returns the <code>limit</code> bonded peers (at most) closest to the provided target, based on
+   * the XOR distance between the keccak-256 hash of the ID and the keccak-256 hash of the target.
    *
    * @param target The target node ID.
    * @param limit The amount of results to return.
-   * @return The <code>limit</code> closest peers, at most.
+   * @return The <code>limit</code> closest peers, at most, nearest first.
    */
   public List<DiscoveryPeer> nearestPeers(final BytesValue target, final int limit) {
-    final BytesValue keccak256 = Hash.keccak256(target);
-    return streamAllPeers()
-        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
-        .sorted(
-            comparingInt((peer) -> PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
-        .limit(limit)
-        .collect(toList());
+    return distanceIndex.nearest(
+        Hash.keccak256(target), limit, peer -> peer.getStatus() == PeerDiscoveryStatus.BONDED);
   }
 
   public Stream<DiscoveryPeer> streamAllPeers() {
@@ -0,0 +1,161 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
+import org.hyperledger.besu.ethereum.p2p.config.DiscoveryConfiguration;
+import org.hyperledger.besu.ethereum.p2p.discovery.VertxPeerDiscoveryAgent.DecodedPacket;
+import org.hyperledger.besu.ethereum.p2p.discovery.internal.FindNeighborsPacketData;
+import org.hyperledger.besu.ethereum.p2p.discovery.internal.Packet;
+import org.hyperledger.besu.ethereum.p2p.discovery.internal.PacketType;
+import org.hyperledger.besu.ethereum.p2p.discovery.internal.PingPacketData;
+import org.hyperledger.besu.ethereum.p2p.permissions.PeerPermissions;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.datagram.DatagramPacket;
+import io.vertx.core.net.SocketAddress;
+import org.junit.Test;
+
+public class VertxPeerDiscoveryAgentTest {
+
+  private static final Endpoint ENDPOINT = new Endpoint("127.0.0.1", 30303, OptionalInt.empty());
+
+  private final Vertx vertx = mock(Vertx.class);
+  private final KeyPair keyPair = KeyPair.generate();
+  private final List<Runnable> pendingDecodings = new ArrayList<>();
+  private final List<Packet> handledPackets = new ArrayList<>();
+  private final TestAgent agent = new TestAgent();
+
+  @Test
+  public void batchesAreHandledInTheOrderTheyWereDispatched() {
+    agent.handlePacket(datagram(pingPacket()));
+    agent.dispatchBatch();
+    agent.handlePacket(datagram(findNeighborsPacket()));
+    agent.dispatchBatch();
+    assertThat(pendingDecodings).hasSize(2);
+
+    pendingDecodings.get(1).run();
+    assertThat(handledPackets).isEmpty();
+
+    pendingDecodings.get(0).run();
+    assertThat(handledPackets)
+        .extracting(Packet::getType)
+        .containsExactly(PacketType.PING, PacketType.FIND_NEIGHBORS);
+  }
+
+  @Test
+  public void packetsReceivedTogetherAreDecodedAsOneBatch() {
+    agent.handlePacket(datagram(pingPacket()));
+    agent.handlePacket(datagram(findNeighborsPacket()));
+    agent.handlePacket(datagram(pingPacket()));
+
+    // The batch is dispatched once the event loop has drained the socket
+    verify(vertx, times(1)).runOnContext(any());
+    assertThat(pendingDecodings).isEmpty();
+
+    agent.dispatchBatch();
+    assertThat(pendingDecodings).hasSize(1);
+    pendingDecodings.get(0).run();
+    assertThat(handledPackets)
+        .extracting(Packet::getType)
+        .containsExactly(PacketType.PING, PacketType.FIND_NEIGHBORS, PacketType.PING);
+  }
+
+  @Test
+  public void fullBatchIsDispatchedImmediately() {
+    final DatagramPacket datagram = datagram(pingPacket());
+    for (int i = 0; i < 64; i++) {
+      agent.handlePacket(datagram);
+    }
+
+    assertThat(pendingDecodings).hasSize(1);
+  }
+
+  @Test
+  public void batchesAreDroppedWhileTooManyArePending() {
+    final DatagramPacket datagram = datagram(pingPacket());
+    for (int i = 0; i < 65; i++) {
+      agent.handlePacket(datagram);
+      agent.dispatchBatch();
+    }
+    assertThat(pendingDecodings).hasSize(64);
+
+    pendingDecodings.forEach(Runnable::run);
+    assertThat(handledPackets).hasSize(64);
+
+    // Once earlier batches have been handled new batches are accepted again
+    agent.handlePacket(datagram);
+    agent.dispatchBatch();
+    assertThat(pendingDecodings).hasSize(65);
+  }
+
+  private Packet pingPacket() {
+    return Packet.create(PacketType.PING, PingPacketData.create(ENDPOINT, ENDPOINT), keyPair);
+  }
+
+  private Packet findNeighborsPacket() {
+    return Packet.create(
+        PacketType.FIND_NEIGHBORS,
+        FindNeighborsPacketData.create(keyPair.getPublicKey().getEncodedBytes()),
+        keyPair);
+  }
+
+  private DatagramPacket datagram(final Packet packet) {
+    final DatagramPacket datagram = mock(DatagramPacket.class);
+    when(datagram.data()).thenReturn(packet.encode());
+    when(datagram.sender())
+        .thenReturn(SocketAddress.inetSocketAddress(ENDPOINT.getUdpPort(), ENDPOINT.getHost()));
+    return datagram;
+  }
+
+  private class TestAgent extends VertxPeerDiscoveryAgent {
+
+    TestAgent() {
+      super(
+          vertx,
+          keyPair,
+          DiscoveryConfiguration.create(),
+          PeerPermissions.noop(),
+          Optional.empty(),
+          new NoOpMetricsSystem());
+    }
+
+    @Override
+    CompletableFuture<List<DecodedPacket>> decodeAsync(final List<DatagramPacket> batch) {
+      final CompletableFuture<List<DecodedPacket>> result = new CompletableFuture<>();
+      pendingDecodings.add(() -> result.complete(decodeBatch(batch)));
+      return result;
+    }
+
+    @Override
+    protected void handleIncomingPacket(final Endpoint sourceEndpoint, final Packet packet) {
+      handledPackets.add(packet);
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PacketRateLimiterTest {
+
+  private final Clock clock = mock(Clock.class);
+  private PacketRateLimiter rateLimiter;
+
+  @Before
+  public void setUp() {
+    when(clock.millis()).thenReturn(1_000L);
+    rateLimiter = new PacketRateLimiter(10, 5, 100, clock);
+  }
+
+  @Test
+  public void allowsBurstThenRejects() {
+    for (int i = 0; i < 5; i++) {
+      assertThat(rateLimiter.tryAcquire("10.0.0.1")).isTrue();
+    }
+    assertThat(rateLimiter.tryAcquire("10.0.0.1")).isFalse();
+  }
+
+  @Test
+  public void limitsEachSourceIndependently() {
+    for (int i = 0; i < 5; i++) {
+      rateLimiter.tryAcquire("10.0.0.1");
+    }
+    assertThat(rateLimiter.tryAcquire("10.0.0.1")).isFalse();
+    assertThat(rateLimiter.tryAcquire("10.0.0.2")).isTrue();
+  }
+
+  @Test
+  public void refillsTokensOverTime() {
+    for (int i = 0; i < 5; i++) {
+      rateLimiter.tryAcquire("10.0.0.1");
+    }
+    assertThat(rateLimiter.tryAcquire("10.0.0.1")).isFalse();
+
+    when(clock.millis()).thenReturn(1_200L);
+    assertThat(rateLimiter.tryAcquire("10.0.0.1")).isTrue();
+    assertThat(rateLimiter.tryAcquire("10.0.0.1")).isTrue();
+    assertThat(rateLimiter.tryAcquire("10.0.0.1")).isFalse();
+  }
+
+  @Test
+  public void doesNotRefillBeyondBurstSize() {
+    assertThat(rateLimiter.tryAcquire("10.0.0.1")).isTrue();
+
+    when(clock.millis()).thenReturn(2_000L);
+    for (int i = 0; i < 5; i++) {
+      assertThat(rateLimiter.tryAcquire("10.0.0.1")).isTrue();
+    }
+    assertThat(rateLimiter.tryAcquire("10.0.0.1")).isFalse();
+  }
+}
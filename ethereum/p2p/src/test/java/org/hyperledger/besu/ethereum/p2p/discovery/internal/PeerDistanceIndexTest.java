@@ -0,0 +1,109 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.crypto.Hash;
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+import org.hyperledger.besu.ethereum.p2p.peers.Peer;
+import org.hyperledger.besu.util.bytes.Bytes32;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.math.BigInteger;
+import java.util.Comparator;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+public class PeerDistanceIndexTest {
+
+  private final PeerDistanceIndex index = new PeerDistanceIndex();
+
+  @Test
+  public void nearestReturnsPeersInXorDistanceOrder() {
+    final List<DiscoveryPeer> peers = createPeers(200);
+    peers.forEach(index::add);
+    final Bytes32 target = Hash.keccak256(Peer.randomId());
+
+    assertThat(index.nearest(target, 16, peer -> true))
+        .containsExactlyElementsOf(
+            sortedByDistance(peers.stream(), target).limit(16).collect(toList()));
+  }
+
+  @Test
+  public void nearestOnlyReturnsPeersMatchingFilter() {
+    final List<DiscoveryPeer> peers = createPeers(100);
+    peers.forEach(index::add);
+    for (int i = 0; i < peers.size(); i += 2) {
+      peers.get(i).setStatus(PeerDiscoveryStatus.BONDED);
+    }
+    final Bytes32 target = Hash.keccak256(Peer.randomId());
+
+    assertThat(index.nearest(target, 10, peer -> peer.getStatus() == PeerDiscoveryStatus.BONDED))
+        .containsExactlyElementsOf(
+            sortedByDistance(
+                    peers.stream().filter(peer -> peer.getStatus() == PeerDiscoveryStatus.BONDED),
+                    target)
+                .limit(10)
+                .collect(toList()));
+  }
+
+  @Test
+  public void removedPeersAreNotReturned() {
+    final List<DiscoveryPeer> peers = createPeers(50);
+    peers.forEach(index::add);
+    final List<DiscoveryPeer> removed = peers.subList(0, 25);
+    removed.forEach(index::remove);
+    removed.forEach(index::remove);
+
+    assertThat(index.size()).isEqualTo(25);
+    assertThat(index.nearest(Hash.keccak256(Peer.randomId()), 50, peer -> true))
+        .containsExactlyInAnyOrderElementsOf(peers.subList(25, 50));
+  }
+
+  @Test
+  public void addingTheSamePeerTwiceDoesNotDuplicateIt() {
+    final DiscoveryPeer peer = createPeers(1).get(0);
+    index.add(peer);
+    index.add(peer);
+
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(index.nearest(peer.keccak256(), 10, p -> true)).containsExactly(peer);
+  }
+
+  private static List<DiscoveryPeer> createPeers(final int count) {
+    return Stream.generate(
+            () ->
+                DiscoveryPeer.fromIdAndEndpoint(
+                    Peer.randomId(), new Endpoint("127.0.0.1", 30303, OptionalInt.empty())))
+        .limit(count)
+        .collect(toList());
+  }
+
+  private static Stream<DiscoveryPeer> sortedByDistance(
+      final Stream<DiscoveryPeer> peers, final Bytes32 target) {
+    return peers.sorted(Comparator.comparing(peer -> xorDistance(peer.keccak256(), target)));
+  }
+
+  private static BigInteger xorDistance(final BytesValue a, final BytesValue b) {
+    return new BigInteger(1, a.extractArray()).xor(new BigInteger(1, b.extractArray()));
+  }
+}
@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.hyperledger.besu.crypto.SECP256K1.KeyPair;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.AddOutcome;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResult;
@@ -48,6 +49,18 @@ public class PeerTableTest {
     assertThat(table.streamAllPeers()).hasSize(5);
   }
 
+  @Test
+  public void nearestPeersOnlyReturnsBondedPeersStillInTheTable() {
+    final PeerTable table = new PeerTable(Peer.randomId(), 16);
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(5);
+    peers.forEach(table::tryAdd);
+    peers.get(0).setStatus(PeerDiscoveryStatus.BONDED);
+    peers.get(1).setStatus(PeerDiscoveryStatus.BONDED);
+    table.tryEvict(peers.get(1));
+
+    assertThat(table.nearestPeers(Peer.randomId(), 16)).containsExactly(peers.get(0));
+  }
+
   @Test
   public void addSelf() {
     final DiscoveryPeer localPeer =
@@ -29,6 +29,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
@@ -41,6 +42,9 @@ public class AccountLocalConfigPermissioningController implements TransactionPer
   private static final int ACCOUNT_BYTES_SIZE = 20;
   private LocalPermissioningConfiguration configuration;
   private List<String> accountWhitelist = new ArrayList<>();
+  // An immutable copy of the whitelist, replaced whenever the whitelist changes, so that checks
+  // are a hash lookup that does not contend with updates.
+  private volatile Set<String> accountWhitelistIndex = Set.of();
   private final WhitelistPersistor whitelistPersistor;
 
   private final Counter checkCounter;
@@ -102,6 +106,7 @@ public class AccountLocalConfigPermissioningController implements TransactionPer
 
     final List<String> oldWhitelist = new ArrayList<>(this.accountWhitelist);
     this.accountWhitelist.addAll(normalizedAccounts);
+    updateAccountWhitelistIndex();
     try {
       verifyConfigurationFileState(oldWhitelist);
       updateConfigurationFile(accountWhitelist);
@@ -129,6 +134,7 @@ public class AccountLocalConfigPermissioningController implements TransactionPer
     final List<String> oldWhitelist = new ArrayList<>(this.accountWhitelist);
 
     this.accountWhitelist.removeAll(normalizedAccounts);
+    updateAccountWhitelistIndex();
     try {
       verifyConfigurationFileState(oldWhitelist);
       updateConfigurationFile(accountWhitelist);
@@ -170,6 +176,11 @@ public class AccountLocalConfigPermissioningController implements TransactionPer
 
   private void revertState(final List<String> accountWhitelist) {
     this.accountWhitelist = accountWhitelist;
+    updateAccountWhitelistIndex();
+  }
+
+  private void updateAccountWhitelistIndex() {
+    accountWhitelistIndex = Set.copyOf(accountWhitelist);
   }
 
   private boolean inputHasDuplicates(final List<String> accounts) {
@@ -177,7 +188,7 @@ public class AccountLocalConfigPermissioningController implements TransactionPer
   }
 
   public boolean contains(final String account) {
-    return accountWhitelist.stream().anyMatch(a -> a.equalsIgnoreCase(account));
+    return account != null && accountWhitelistIndex.contains(account.toLowerCase());
   }
 
   public List<String> getAccountWhitelist() {
@@ -204,6 +215,7 @@ public class AccountLocalConfigPermissioningController implements TransactionPer
   public synchronized void reload() throws RuntimeException {
     final ArrayList<String> currentAccountsList = new ArrayList<>(accountWhitelist);
     accountWhitelist.clear();
+    updateAccountWhitelistIndex();
 
     try {
       final LocalPermissioningConfiguration updatedConfig =
@@ -221,6 +233,7 @@ public class AccountLocalConfigPermissioningController implements TransactionPer
           e.getMessage());
       accountWhitelist.clear();
       accountWhitelist.addAll(currentAccountsList);
+      updateAccountWhitelistIndex();
       throw new RuntimeException(e);
     }
   }
@@ -0,0 +1,73 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.permissioning;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Caches the results of smart contract permissioning checks for the current chain head. Results
+ * depend on the permissioning contract's state, so they are all discarded once the chain head
+ * changes.
+ *
+ * <p>Transaction checks include the transaction's payload, so results are keyed on the keccak256
+ * hash of the call payload rather than the payload itself to keep the cache's size bounded.
+ */
+class ChainHeadPermissioningCache {
+  private static final int MAX_CACHED_RESULTS = 10_000;
+
+  private final Cache<Hash, Boolean> results =
+      CacheBuilder.newBuilder().maximumSize(MAX_CACHED_RESULTS).build();
+  private Hash cachedChainHeadHash;
+
+  /**
+   * Returns the cached result of the check identified by {@code payload}, performing the check if
+   * it has not yet been made at the given chain head. Checks which throw are not cached.
+   *
+   * @param chainHeadHash the hash of the chain head the check is made against
+   * @param payload the payload of the permissioning contract call, which identifies the check
+   * @param check performs the check against the chain head
+   * @return whether the check permits the request
+   */
+  boolean isPermitted(
+      final Hash chainHeadHash, final BytesValue payload, final Supplier<Boolean> check) {
+    synchronized (this) {
+      if (!Objects.equals(cachedChainHeadHash, chainHeadHash)) {
+        results.invalidateAll();
+        cachedChainHeadHash = chainHeadHash;
+      }
+    }
+
+    final Hash payloadHash = Hash.hash(payload);
+    final Boolean cachedResult = results.getIfPresent(payloadHash);
+    if (cachedResult != null) {
+      return cachedResult;
+    }
+
+    final boolean permitted = check.get();
+    synchronized (this) {
+      if (Objects.equals(cachedChainHeadHash, chainHeadHash)) {
+        results.put(payloadHash, permitted);
+      }
+    }
+    return permitted;
+  }
+}
@@ -30,8 +30,10 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -47,6 +49,9 @@ public class NodeLocalConfigPermissioningController implements NodePermissioning
   private final List<EnodeURL> fixedNodes;
   private final BytesValue localNodeId;
   private final List<EnodeURL> nodesWhitelist = new ArrayList<>();
+  // Whitelisted nodes grouped by node id, so that a check only compares the endpoints of the
+  // nodes sharing the checked node's id. The lists are immutable and replaced on each change.
+  private final Map<BytesValue, List<EnodeURL>> nodesWhitelistIndex = new ConcurrentHashMap<>();
   private final WhitelistPersistor whitelistPersistor;
   private final Subscribers<Consumer<NodeWhitelistUpdatedEvent>> nodeWhitelistUpdatedObservers =
       Subscribers.create();
@@ -134,7 +139,16 @@ public class NodeLocalConfigPermissioningController implements NodePermissioning
   }
 
   public boolean addNode(final EnodeURL enodeURL) {
-    return nodesWhitelist.add(enodeURL);
+    final boolean added = nodesWhitelist.add(enodeURL);
+    nodesWhitelistIndex.compute(
+        enodeURL.getNodeId(),
+        (nodeId, nodes) -> {
+          final List<EnodeURL> updatedNodes =
+              nodes == null ? new ArrayList<>() : new ArrayList<>(nodes);
+          updatedNodes.add(enodeURL);
+          return List.copyOf(updatedNodes);
+        });
+    return added;
   }
 
   public NodesWhitelistResult removeNodes(final List<String> enodeURLs) {
@@ -171,7 +185,22 @@ public class NodeLocalConfigPermissioningController implements NodePermissioning
   }
 
   private boolean removeNode(final EnodeURL enodeURL) {
-    return nodesWhitelist.remove(enodeURL);
+    final boolean removed = nodesWhitelist.remove(enodeURL);
+    if (removed) {
+      nodesWhitelistIndex.computeIfPresent(
+          enodeURL.getNodeId(),
+          (nodeId, nodes) -> {
+            final List<EnodeURL> updatedNodes = new ArrayList<>(nodes);
+            updatedNodes.remove(enodeURL);
+            return updatedNodes.isEmpty() ? null : List.copyOf(updatedNodes);
+          });
+    }
+    return removed;
+  }
+
+  private void clearNodes() {
+    nodesWhitelist.clear();
+    nodesWhitelistIndex.clear();
   }
 
   private NodesWhitelistResult updateWhitelistInConfigFile(final List<EnodeURL> oldWhitelist) {
@@ -219,8 +248,8 @@ public class NodeLocalConfigPermissioningController implements NodePermissioning
   }
 
   private void revertState(final List<EnodeURL> nodesWhitelist) {
-    this.nodesWhitelist.clear();
-    this.nodesWhitelist.addAll(nodesWhitelist);
+    clearNodes();
+    nodesWhitelist.forEach(this::addNode);
   }
 
   private Collection<String> peerToEnodeURI(final Collection<EnodeURL> peers) {
@@ -235,7 +264,8 @@ public class NodeLocalConfigPermissioningController implements NodePermissioning
     if (Objects.equals(localNodeId, node.getNodeId())) {
       return true;
     }
-    return nodesWhitelist.stream().anyMatch(p -> EnodeURL.sameListeningEndpoint(p, node));
+    return nodesWhitelistIndex.getOrDefault(node.getNodeId(), Collections.emptyList()).stream()
+        .anyMatch(p -> EnodeURL.sameListeningEndpoint(p, node));
   }
 
   public List<String> getNodesWhitelist() {
@@ -244,7 +274,7 @@ public class NodeLocalConfigPermissioningController implements NodePermissioning
 
   public synchronized void reload() throws RuntimeException {
     final List<EnodeURL> currentAccountsList = new ArrayList<>(nodesWhitelist);
-    nodesWhitelist.clear();
+    clearNodes();
 
     try {
       final LocalPermissioningConfiguration updatedConfig =
@@ -263,8 +293,7 @@ public class NodeLocalConfigPermissioningController implements NodePermissioning
           "Error reloading permissions file. In-memory whitelisted nodes will be reverted to previous valid configuration. "
               + "Details: {}",
           e.getMessage());
-      nodesWhitelist.clear();
-      nodesWhitelist.addAll(currentAccountsList);
+      revertState(currentAccountsList);
       throw new RuntimeException(e);
     }
   }
@@ -39,6 +39,7 @@ import java.util.Optional;
 public class NodeSmartContractPermissioningController implements NodePermissioningProvider {
   private final Address contractAddress;
   private final TransactionSimulator transactionSimulator;
+  private final ChainHeadPermissioningCache permissioningCache = new ChainHeadPermissioningCache();
 
   // full function signature for connection allowed call
   private static final String FUNCTION_SIGNATURE =
@@ -105,6 +106,22 @@ public class NodeSmartContractPermissioningController implements NodePermissioni
   public boolean isPermitted(final EnodeURL sourceEnode, final EnodeURL destinationEnode) {
     this.checkCounter.inc();
     final BytesValue payload = createPayload(sourceEnode, destinationEnode);
+    final boolean permitted =
+        permissioningCache.isPermitted(
+            transactionSimulator.getChainHeadHash(),
+            payload,
+            () -> isPermittedByContract(payload));
+
+    if (permitted) {
+      this.checkCounterPermitted.inc();
+      return true;
+    } else {
+      this.checkCounterUnpermitted.inc();
+      return false;
+    }
+  }
+
+  private boolean isPermittedByContract(final BytesValue payload) {
     final CallParameter callParams =
         new CallParameter(null, contractAddress, -1, null, null, payload);
 
@@ -129,13 +146,7 @@ public class NodeSmartContractPermissioningController implements NodePermissioni
       }
     }
 
-    if (result.map(r -> checkTransactionResult(r.getOutput())).orElse(false)) {
-      this.checkCounterPermitted.inc();
-      return true;
-    } else {
-      this.checkCounterUnpermitted.inc();
-      return false;
-    }
+    return result.map(r -> checkTransactionResult(r.getOutput())).orElse(false);
   }
 
   // Checks the returned bytes from the permissioning contract call to see if it's a value we
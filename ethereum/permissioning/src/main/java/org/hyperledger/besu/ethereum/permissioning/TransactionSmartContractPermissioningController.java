@@ -46,6 +46,7 @@ public class TransactionSmartContractPermissioningController
 
   private final Address contractAddress;
   private final TransactionSimulator transactionSimulator;
+  private final ChainHeadPermissioningCache permissioningCache = new ChainHeadPermissioningCache();
 
   // full function signature for connection allowed call
   private static final String FUNCTION_SIGNATURE =
@@ -116,6 +117,30 @@ public class TransactionSmartContractPermissioningController
 
     this.checkCounter.inc();
     final BytesValue payload = createPayload(transaction);
+    final boolean permitted =
+        permissioningCache.isPermitted(
+            transactionSimulator.getChainHeadHash(),
+            payload,
+            () -> isPermittedByContract(payload));
+
+    if (permitted) {
+      this.checkCounterPermitted.inc();
+      LOG.trace(
+          "Account permissioning - Smart Contract: Permitted transaction {} from {}",
+          transactionHash,
+          sender);
+      return true;
+    } else {
+      this.checkCounterUnpermitted.inc();
+      LOG.trace(
+          "Account permissioning - Smart Contract: Rejected transaction {} from {}",
+          transactionHash,
+          sender);
+      return false;
+    }
+  }
+
+  private boolean isPermittedByContract(final BytesValue payload) {
     final CallParameter callParams =
         new CallParameter(null, contractAddress, -1, null, null, payload);
 
@@ -123,7 +148,6 @@ public class TransactionSmartContractPermissioningController
         transactionSimulator.doesAddressExistAtHead(contractAddress);
 
     if (contractExists.isPresent() && !contractExists.get()) {
-      this.checkCounterPermitted.inc();
       LOG.warn(
           "Account permissioning smart contract not found at address {} in current head block. Any transaction will be allowed.",
           contractAddress);
@@ -146,21 +170,7 @@ public class TransactionSmartContractPermissioningController
       }
     }
 
-    if (result.map(r -> checkTransactionResult(r.getOutput())).orElse(false)) {
-      this.checkCounterPermitted.inc();
-      LOG.trace(
-          "Account permissioning - Smart Contract: Permitted transaction {} from {}",
-          transactionHash,
-          sender);
-      return true;
-    } else {
-      this.checkCounterUnpermitted.inc();
-      LOG.trace(
-          "Account permissioning - Smart Contract: Rejected transaction {} from {}",
-          transactionHash,
-          sender);
-      return false;
-    }
+    return result.map(r -> checkTransactionResult(r.getOutput())).orElse(false);
   }
 
   // Checks the returned bytes from the permissioning contract call to see if it's a value we
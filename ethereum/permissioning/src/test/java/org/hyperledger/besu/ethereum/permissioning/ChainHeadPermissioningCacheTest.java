@@ -0,0 +1,83 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.permissioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.core.Hash;
+import org.hyperledger.besu.util.bytes.BytesValue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+public class ChainHeadPermissioningCacheTest {
+  private static final BytesValue PAYLOAD = BytesValue.fromHexString("0x1234");
+  private static final Hash HEAD = Hash.hash(BytesValue.of(1));
+  private static final Hash NEW_HEAD = Hash.hash(BytesValue.of(2));
+
+  private final ChainHeadPermissioningCache cache = new ChainHeadPermissioningCache();
+  private final AtomicInteger checkCount = new AtomicInteger();
+
+  private final Supplier<Boolean> check =
+      () -> {
+        checkCount.incrementAndGet();
+        return true;
+      };
+
+  @Test
+  public void resultIsReusedForTheSameChainHead() {
+    assertThat(cache.isPermitted(HEAD, PAYLOAD, check)).isTrue();
+    assertThat(cache.isPermitted(HEAD, PAYLOAD, check)).isTrue();
+
+    assertThat(checkCount).hasValue(1);
+  }
+
+  @Test
+  public void resultsAreCachedPerPayload() {
+    cache.isPermitted(HEAD, PAYLOAD, check);
+    assertThat(cache.isPermitted(HEAD, BytesValue.fromHexString("0x5678"), () -> false)).isFalse();
+    assertThat(cache.isPermitted(HEAD, PAYLOAD, check)).isTrue();
+
+    assertThat(checkCount).hasValue(1);
+  }
+
+  @Test
+  public void resultsAreDiscardedWhenTheChainHeadChanges() {
+    cache.isPermitted(HEAD, PAYLOAD, check);
+    cache.isPermitted(NEW_HEAD, PAYLOAD, check);
+    cache.isPermitted(NEW_HEAD, PAYLOAD, check);
+
+    assertThat(checkCount).hasValue(2);
+  }
+
+  @Test
+  public void failedChecksAreNotCached() {
+    assertThatThrownBy(
+            () ->
+                cache.isPermitted(
+                    HEAD,
+                    PAYLOAD,
+                    () -> {
+                      throw new IllegalStateException("Permissioning transaction failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+
+    assertThat(cache.isPermitted(HEAD, PAYLOAD, check)).isTrue();
+    assertThat(checkCount).hasValue(1);
+  }
+}
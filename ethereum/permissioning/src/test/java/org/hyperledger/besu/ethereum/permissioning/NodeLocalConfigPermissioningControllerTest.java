@@ -311,6 +311,17 @@ public class NodeLocalConfigPermissioningControllerTest {
     assertThat(controller.isPermitted(peerWithoutDiscoveryPortSet)).isTrue();
   }
 
+  @Test
+  public void removedNodeShouldNotBePermitted() {
+    controller.addNodes(Arrays.asList(enode1, enode2));
+    assertThat(controller.isPermitted(enode1)).isTrue();
+
+    controller.removeNodes(Arrays.asList(enode1));
+
+    assertThat(controller.isPermitted(enode1)).isFalse();
+    assertThat(controller.isPermitted(enode2)).isTrue();
+  }
+
   @Test
   public void whenCheckingIfNodeIsPermittedOrderDoesNotMatter() {
     controller.addNodes(Arrays.asList(enode1));
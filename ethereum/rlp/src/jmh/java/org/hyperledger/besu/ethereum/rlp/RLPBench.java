@@ -74,6 +74,31 @@ public class RLPBench {
     return RLPTestUtil.encode(toEncode);
   }
 
+  @Benchmark
+  public BytesValue getBenchmarkEncodingWithNewOutput() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    write(toEncode, out);
+    return out.encoded();
+  }
+
+  @Benchmark
+  public BytesValue getBenchmarkEncodingWithReusedOutput() {
+    final Object value = toEncode;
+    return RLP.encode(out -> write(value, out));
+  }
+
+  private static void write(final Object value, final RLPOutput out) {
+    if (value instanceof BytesValue) {
+      out.writeBytesValue((BytesValue) value);
+    } else {
+      out.startList();
+      for (final Object element : (List<?>) value) {
+        write(element, out);
+      }
+      out.endList();
+    }
+  }
+
   @Benchmark
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
@@ -58,8 +58,10 @@ abstract class AbstractRLPOutput implements RLPOutput {
    */
 
   private static final BytesValue LIST_MARKER = BytesValue.wrap(new byte[0]);
+  // Above this many values, reset() drops the backing list rather than retaining its capacity.
+  private static final int MAX_RETAINED_VALUES = 1024;
 
-  private final List<BytesValue> values = new ArrayList<>();
+  private List<BytesValue> values = new ArrayList<>();
   // For every value i in values, rlpEncoded.get(i) will be true only if the value stored is an
   // already encoded item.
   private final BitSet rlpEncoded = new BitSet();
@@ -127,6 +129,22 @@ abstract class AbstractRLPOutput implements RLPOutput {
     payloadSizes[newCurrent] += finishedListSize;
   }
 
+  /**
+   * Clears everything written so far so this output can be reused for a new, unrelated encoding
+   * without reallocating its internal buffers.
+   */
+  void reset() {
+    if (values.size() > MAX_RETAINED_VALUES) {
+      values = new ArrayList<>();
+    } else {
+      values.clear();
+    }
+    rlpEncoded.clear();
+    Arrays.fill(payloadSizes, 0, listsCount, 0);
+    listsCount = 1;
+    stackSize = 1;
+  }
+
   /**
    * Computes the final encoded data size.
    *
@@ -39,6 +39,9 @@ public abstract class RLP {
     EMPTY_LIST = out.encoded();
   }
 
+  private static final ThreadLocal<ReusableOutput> REUSABLE_OUTPUT =
+      ThreadLocal.withInitial(ReusableOutput::new);
+
   /**
    * Creates a new {@link RLPInput} suitable for decoding the provided RLP encoded value.
    *
@@ -99,9 +102,22 @@ public abstract class RLP {
    * @return The RLP encoding of the data written by {@code writer}.
    */
   public static BytesValue encode(final Consumer<RLPOutput> writer) {
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    writer.accept(out);
-    return out.encoded();
+    final ReusableOutput reusable = REUSABLE_OUTPUT.get();
+    if (reusable.inUse) {
+      // The writer is itself encoding a nested value, so the thread's output is already taken.
+      final BytesValueRLPOutput out = new BytesValueRLPOutput();
+      writer.accept(out);
+      return out.encoded();
+    }
+
+    reusable.inUse = true;
+    try {
+      writer.accept(reusable.output);
+      return reusable.output.encoded();
+    } finally {
+      reusable.output.reset();
+      reusable.inUse = false;
+    }
   }
 
   /**
@@ -219,4 +235,14 @@ public abstract class RLP {
   public static int calculateSize(final BytesValue value) {
     return RLPDecodingHelpers.rlpElementMetadata(value::get, value.size(), 0).getEncodedSize();
   }
+
+  /**
+   * A per-thread {@link BytesValueRLPOutput} used by {@link #encode(Consumer)}, so the bookkeeping
+   * structures used to compute the encoded size are reused across encodings and only the final
+   * pre-sized result is allocated.
+   */
+  private static class ReusableOutput {
+    private final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    private boolean inUse = false;
+  }
 }
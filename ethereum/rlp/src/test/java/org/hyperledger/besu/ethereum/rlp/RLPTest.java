@@ -168,6 +168,44 @@ public class RLPTest {
         .hasMessageContaining("RLP item exceeds max supported size of 2147483647: 2147483648");
   }
 
+  @Test
+  public void encode_reusesOutputAcrossCalls() {
+    final BytesValue list = RLP.encode(RLPTest::writeShortList);
+    assertThat(RLP.encode(out -> out.writeBytesValue(h("0x0102")))).isEqualTo(h("0x820102"));
+    assertThat(RLP.encode(RLPTest::writeShortList)).isEqualTo(list).isEqualTo(h("0xc3820102"));
+  }
+
+  @Test
+  public void encode_supportsNestedEncoding() {
+    final BytesValue encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeRLPUnsafe(RLP.encode(RLPTest::writeShortList));
+              out.endList();
+            });
+    assertThat(encoded).isEqualTo(h("0xc4c3820102"));
+  }
+
+  @Test
+  public void encode_isUsableAfterWriterFailure() {
+    assertThatThrownBy(
+            () ->
+                RLP.encode(
+                    out -> {
+                      out.startList();
+                      throw new IllegalStateException("failed");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(RLP.encode(RLPTest::writeShortList)).isEqualTo(h("0xc3820102"));
+  }
+
+  private static void writeShortList(final RLPOutput out) {
+    out.startList();
+    out.writeBytesValue(h("0x0102"));
+    out.endList();
+  }
+
   private static BytesValue h(final String hex) {
     return BytesValue.fromHexString(hex);
   }
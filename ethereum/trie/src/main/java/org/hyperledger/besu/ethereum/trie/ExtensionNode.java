@@ -16,8 +16,8 @@ package org.hyperledger.besu.ethereum.trie;
 
 import static org.hyperledger.besu.crypto.Hash.keccak256;
 
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.util.bytes.Bytes32;
 import org.hyperledger.besu.util.bytes.BytesValue;
 import org.hyperledger.besu.util.bytes.BytesValues;
@@ -82,14 +82,16 @@ class ExtensionNode<V> implements Node<V> {
         return encoded;
       }
     }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    final BytesValue encoded = RLP.encode(this::writeTo);
+    rlp = new WeakReference<>(encoded);
+    return encoded;
+  }
+
+  private void writeTo(final RLPOutput out) {
     out.startList();
     out.writeBytesValue(CompactEncoding.encode(path));
     out.writeRLPUnsafe(child.getRlpRef());
     out.endList();
-    final BytesValue encoded = out.encoded();
-    rlp = new WeakReference<>(encoded);
-    return encoded;
   }
 
   @Override
@@ -45,7 +45,12 @@ public class RocksDBKeyValueStorageFactory implements KeyValueStorageFactory {
 
   private static final Logger LOG = LogManager.getLogger();
   private final int DEFAULT_VERSION;
-  private static final Set<Integer> SUPPORTED_VERSIONS = Set.of(0, 1);
+  private static final Set<Integer> SUPPORTED_VERSIONS = Set.of(0, 1, 2);
+  // Version 2 has the same layout as version 1, but may contain transaction receipts in a compact
+  // encoding which earlier versions cannot read. Opening a version 1 database upgrades it, so that
+  // earlier versions refuse to open it afterwards.
+  private static final int COMPACT_RECEIPTS_UPGRADED_VERSION = 1;
+  private static final int COMPACT_RECEIPTS_VERSION = 2;
   private static final String NAME = "rocksdb";
   private final RocksDBMetricsFactory rocksDBMetricsFactory;
 
@@ -77,7 +82,7 @@ public class RocksDBKeyValueStorageFactory implements KeyValueStorageFactory {
         configuration,
         segments,
         /** Source of truth for the default database version. */
-        1,
+        2,
         rocksDBMetricsFactory);
   }
 
@@ -112,6 +117,7 @@ public class RocksDBKeyValueStorageFactory implements KeyValueStorageFactory {
           return unsegmentedStorage;
         }
       case 1:
+      case 2:
         {
           unsegmentedStorage = null;
           if (segmentedStorage == null) {
@@ -159,8 +165,18 @@ public class RocksDBKeyValueStorageFactory implements KeyValueStorageFactory {
     final boolean databaseExists = databaseDir.resolve("IDENTITY").toFile().exists();
     final int databaseVersion;
     if (databaseExists) {
-      databaseVersion = DatabaseMetadata.lookUpFrom(databaseDir, dataDir).getVersion();
-      LOG.info("Existing database detected at {}. Version {}", dataDir, databaseVersion);
+      final int existingVersion = DatabaseMetadata.lookUpFrom(databaseDir, dataDir).getVersion();
+      LOG.info("Existing database detected at {}. Version {}", dataDir, existingVersion);
+      if (existingVersion == COMPACT_RECEIPTS_UPGRADED_VERSION) {
+        LOG.warn(
+            "Upgrading database at {} to version {}. Transaction receipts will be stored in an encoding that earlier versions cannot read, so downgrading will require a resync.",
+            dataDir,
+            COMPACT_RECEIPTS_VERSION);
+        new DatabaseMetadata(COMPACT_RECEIPTS_VERSION).writeToDirectory(dataDir);
+        databaseVersion = COMPACT_RECEIPTS_VERSION;
+      } else {
+        databaseVersion = existingVersion;
+      }
     } else {
       databaseVersion = DEFAULT_VERSION;
       LOG.info("No existing database detected at {}. Using version {}", dataDir, databaseVersion);
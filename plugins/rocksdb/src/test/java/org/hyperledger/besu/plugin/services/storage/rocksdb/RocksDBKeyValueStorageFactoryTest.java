@@ -43,7 +43,7 @@ import org.mockito.junit.MockitoJUnitRunner;
 public class RocksDBKeyValueStorageFactoryTest {
 
   private static final String METADATA_FILENAME = "DATABASE_METADATA.json";
-  private static final int DEFAULT_VERSION = 1;
+  private static final int DEFAULT_VERSION = 2;
 
   @Mock private RocksDBFactoryConfiguration rocksDbConfiguration;
   @Mock private BesuConfiguration commonConfiguration;
@@ -134,6 +134,27 @@ public class RocksDBKeyValueStorageFactoryTest {
     rolledbackStorageFactory.create(segment, commonConfiguration, metricsSystem);
   }
 
+  @Test
+  public void shouldUpgradeVersion1Database() throws Exception {
+    final Path tempDataDir = temporaryFolder.newFolder().toPath().resolve("data");
+    final Path tempDatabaseDir = temporaryFolder.newFolder().toPath().resolve("db");
+    Files.createDirectories(tempDatabaseDir);
+    Files.createDirectories(tempDataDir);
+    tempDatabaseDir.resolve("IDENTITY").toFile().createNewFile();
+    when(commonConfiguration.getStoragePath()).thenReturn(tempDatabaseDir);
+    when(commonConfiguration.getDataPath()).thenReturn(tempDataDir);
+    new DatabaseMetadata(1).writeToDirectory(tempDataDir);
+
+    final RocksDBKeyValueStorageFactory storageFactory =
+        new RocksDBKeyValueStorageFactory(
+            () -> rocksDbConfiguration, segments, RocksDBMetricsFactory.PUBLIC_ROCKS_DB_METRICS);
+    storageFactory.create(segment, commonConfiguration, metricsSystem);
+
+    assertThat(DatabaseMetadata.lookUpFrom(tempDatabaseDir, tempDataDir).getVersion())
+        .isEqualTo(2);
+    assertThat(storageFactory.isSegmentIsolationSupported()).isTrue();
+  }
+
   @Test
   public void shouldThrowExceptionWhenVersionNumberIsInvalid() throws Exception {
     final Path tempDataDir = temporaryFolder.newFolder().toPath().resolve("data");
@@ -16,7 +16,9 @@ package org.hyperledger.besu.services.tasks;
 
 import java.io.IOException;
 import java.util.ArrayDeque;
+import java.util.Comparator;
 import java.util.HashSet;
+import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
 
@@ -30,7 +32,7 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
   /**
    * A cache of tasks to operate on before going to {@link CachingTaskCollection#wrappedCollection}
    */
-  private final Queue<Task<T>> cache = new ArrayDeque<>();
+  private final Queue<Task<T>> cache;
   // Tasks that have been removed, but not marked completed yet
   private final Set<Task<T>> outstandingTasks = new HashSet<>();
 
@@ -39,6 +41,25 @@ public class CachingTaskCollection<T> implements TaskCollection<T> {
   public CachingTaskCollection(final TaskCollection<T> collection, final int maxCacheSize) {
     this.wrappedCollection = collection;
     this.maxCacheSize = maxCacheSize;
+    this.cache = new ArrayDeque<>();
+  }
+
+  /**
+   * Creates a collection which hands out cached tasks in priority order rather than the order they
+   * were added. Tasks pushed to the underlying collection because the cache was full are still
+   * only returned once the cache is empty.
+   *
+   * @param collection the underlying collection
+   * @param maxCacheSize the maximum number of tasks to hold in memory
+   * @param priority orders tasks from the first to be removed to the last
+   */
+  public CachingTaskCollection(
+      final TaskCollection<T> collection,
+      final int maxCacheSize,
+      final Comparator<? super T> priority) {
+    this.wrappedCollection = collection;
+    this.maxCacheSize = maxCacheSize;
+    this.cache = new PriorityQueue<>(Comparator.comparing(Task::getData, priority));
   }
 
   public CachingTaskCollection(final TaskCollection<T> collection) {
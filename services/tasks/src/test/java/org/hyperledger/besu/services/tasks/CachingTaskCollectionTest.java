@@ -21,6 +21,7 @@ import org.hyperledger.besu.util.bytes.BytesValue;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -138,6 +139,24 @@ public class CachingTaskCollectionTest {
     testProcessTasksWithMixedSuccess(10, 20);
   }
 
+  @Test
+  public void removeCachedTasksInPriorityOrder() {
+    final CachingTaskCollection<BytesValue> taskCollection =
+        new CachingTaskCollection<>(
+            wrappedTaskCollection, 10, Comparator.comparing(BytesValue::toString).reversed());
+    taskCollection.add(BytesValue.of(2));
+    taskCollection.add(BytesValue.of(5));
+    taskCollection.add(BytesValue.of(1));
+
+    final Task<BytesValue> first = taskCollection.remove();
+    assertThat(first.getData()).isEqualTo(BytesValue.of(5));
+    taskCollection.add(BytesValue.of(3));
+    first.markFailed();
+
+    assertThat(getTaskData(getAllTasks(taskCollection)))
+        .containsExactly(BytesValue.of(5), BytesValue.of(3), BytesValue.of(2), BytesValue.of(1));
+  }
+
   private CachingTaskCollection<BytesValue> createCachingCollection(final int cacheSize) {
     return new CachingTaskCollection<>(wrappedTaskCollection, cacheSize);
   }
@@ -0,0 +1,451 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util.bytes;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * A hash map for keys that are represented by a fixed number of bytes, such as addresses, hashes
+ * and storage slots.
+ *
+ * <p>Keys are copied into flat {@code long[]} slots when they are inserted, so hashing and
+ * equality checks work directly on those words instead of calling {@link BytesValue#hashCode()}
+ * and {@link BytesValue#equals(Object)} on each key in a bucket. Collisions are resolved by linear
+ * probing and removals shift later entries back, so no tombstones are left behind.
+ *
+ * <p>Like {@link java.util.HashMap} this map may be read concurrently as long as nothing modifies
+ * it, but is otherwise not thread-safe, and it iterates in no particular order. Null keys are not
+ * supported and the iterators of its views don't support removal.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ */
+public class FixedWidthBytesKeyMap<K, V> extends AbstractMap<K, V> {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 16;
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+  private static final long[] NO_WORDS = new long[0];
+  private static final Object[] NO_SLOTS = new Object[0];
+
+  private final int keyWidth;
+  private final int wordsPerKey;
+  private final Function<? super K, ? extends BytesValue> keyBytes;
+  private final int initialTableSize;
+
+  // The table is only allocated on the first insertion, as many maps are never written to.
+  private long[] keyWords = NO_WORDS;
+  private Object[] keys = NO_SLOTS;
+  private Object[] values = NO_SLOTS;
+  private int shift;
+  private int size;
+  private int modCount;
+
+  private Set<K> keySet;
+  private Collection<V> valueCollection;
+  private Set<Map.Entry<K, V>> entrySet;
+
+  public FixedWidthBytesKeyMap(
+      final int keyWidth, final Function<? super K, ? extends BytesValue> keyBytes) {
+    this(keyWidth, keyBytes, DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public FixedWidthBytesKeyMap(
+      final int keyWidth,
+      final Function<? super K, ? extends BytesValue> keyBytes,
+      final int initialCapacity) {
+    checkArgument(keyWidth > 0, "Key width must be greater than 0.");
+    checkArgument(initialCapacity > 0, "Initial capacity must be greater than 0.");
+    this.keyWidth = keyWidth;
+    this.wordsPerKey = (keyWidth + Long.BYTES - 1) / Long.BYTES;
+    this.keyBytes = keyBytes;
+    // Keep the table at most half full.
+    this.initialTableSize = Integer.highestOneBit(Math.max(initialCapacity * 2 - 1, 2)) << 1;
+  }
+
+  /**
+   * Creates a map for keys that are themselves bytes values of the given width.
+   *
+   * @param keyWidth the number of bytes in every key
+   * @param <K> the type of keys
+   * @param <V> the type of values
+   * @return an empty map
+   */
+  public static <K extends BytesValue, V> FixedWidthBytesKeyMap<K, V> create(final int keyWidth) {
+    return new FixedWidthBytesKeyMap<>(keyWidth, Function.identity());
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return findSlot(key) >= 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V get(final Object key) {
+    final int slot = findSlot(key);
+    return slot >= 0 ? (V) values[slot] : null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V put(final K key, final V value) {
+    if (keys.length == 0) {
+      allocate(initialTableSize);
+    }
+    final byte[] keyArray = keyArray(key);
+    int slot = findSlot(keyArray);
+    if (slot >= 0) {
+      final V previous = (V) values[slot];
+      values[slot] = value;
+      return previous;
+    }
+    slot = -1 - slot;
+    final int offset = slot * wordsPerKey;
+    for (int i = 0; i < wordsPerKey; i++) {
+      keyWords[offset + i] = readWord(keyArray, i);
+    }
+    keys[slot] = key;
+    values[slot] = value;
+    size++;
+    modCount++;
+    if (size > keys.length / 2) {
+      resize();
+    }
+    return null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public V remove(final Object key) {
+    final int slot = findSlot(key);
+    if (slot < 0) {
+      return null;
+    }
+    final V previous = (V) values[slot];
+    removeSlot(slot);
+    return previous;
+  }
+
+  @Override
+  public void clear() {
+    if (size > 0) {
+      Arrays.fill(keys, null);
+      Arrays.fill(values, null);
+      size = 0;
+      modCount++;
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void forEach(final BiConsumer<? super K, ? super V> action) {
+    final int expectedModCount = modCount;
+    for (int slot = 0; slot < keys.length; slot++) {
+      if (keys[slot] != null) {
+        action.accept((K) keys[slot], (V) values[slot]);
+      }
+    }
+    if (modCount != expectedModCount) {
+      throw new ConcurrentModificationException();
+    }
+  }
+
+  @Override
+  public Set<K> keySet() {
+    if (keySet == null) {
+      keySet =
+          new AbstractSet<>() {
+            @Override
+            public Iterator<K> iterator() {
+              return new SlotIterator<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                K get(final int slot) {
+                  return (K) keys[slot];
+                }
+              };
+            }
+
+            @Override
+            public int size() {
+              return size;
+            }
+
+            @Override
+            public boolean contains(final Object key) {
+              return containsKey(key);
+            }
+
+            @Override
+            public boolean remove(final Object key) {
+              final int slot = findSlot(key);
+              if (slot < 0) {
+                return false;
+              }
+              removeSlot(slot);
+              return true;
+            }
+
+            @Override
+            public void clear() {
+              FixedWidthBytesKeyMap.this.clear();
+            }
+          };
+    }
+    return keySet;
+  }
+
+  @Override
+  public Collection<V> values() {
+    if (valueCollection == null) {
+      valueCollection =
+          new AbstractCollection<>() {
+            @Override
+            public Iterator<V> iterator() {
+              return new SlotIterator<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                V get(final int slot) {
+                  return (V) values[slot];
+                }
+              };
+            }
+
+            @Override
+            public int size() {
+              return size;
+            }
+
+            @Override
+            public void clear() {
+              FixedWidthBytesKeyMap.this.clear();
+            }
+          };
+    }
+    return valueCollection;
+  }
+
+  @Override
+  public Set<Map.Entry<K, V>> entrySet() {
+    if (entrySet == null) {
+      entrySet =
+          new AbstractSet<>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+              return new SlotIterator<>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                Map.Entry<K, V> get(final int slot) {
+                  return new SimpleImmutableEntry<>((K) keys[slot], (V) values[slot]);
+                }
+              };
+            }
+
+            @Override
+            public int size() {
+              return size;
+            }
+
+            @Override
+            public void clear() {
+              FixedWidthBytesKeyMap.this.clear();
+            }
+          };
+    }
+    return entrySet;
+  }
+
+  private int findSlot(final Object key) {
+    if (keys.length == 0) {
+      checkNotNull(key, "Null keys are not supported.");
+      return -1;
+    }
+    return findSlot(keyArray(key));
+  }
+
+  /**
+   * Finds the slot holding the given key. The key's words are read straight from its bytes rather
+   * than into a shared buffer, so concurrent reads don't interfere with each other.
+   *
+   * @return the slot of the key if present, otherwise {@code -1 - slot} where {@code slot} is the
+   *     free slot the key would be inserted into
+   */
+  private int findSlot(final byte[] keyArray) {
+    final int mask = keys.length - 1;
+    int slot = indexFor(keyArray);
+    while (keys[slot] != null) {
+      if (wordsEqual(slot, keyArray)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1 - slot;
+  }
+
+  @SuppressWarnings("unchecked")
+  private byte[] keyArray(final Object key) {
+    checkNotNull(key, "Null keys are not supported.");
+    final BytesValue bytes = keyBytes.apply((K) key);
+    checkArgument(
+        bytes.size() == keyWidth, "Expected a %s byte key but got %s", keyWidth, bytes.size());
+    return bytes.getArrayUnsafe();
+  }
+
+  private long readWord(final byte[] array, final int index) {
+    final int start = index * Long.BYTES;
+    final int end = Math.min(start + Long.BYTES, keyWidth);
+    long word = 0;
+    for (int i = start; i < end; i++) {
+      word = (word << 8) | (array[i] & 0xFF);
+    }
+    return word;
+  }
+
+  private boolean wordsEqual(final int slot, final byte[] keyArray) {
+    final int offset = slot * wordsPerKey;
+    for (int i = 0; i < wordsPerKey; i++) {
+      if (keyWords[offset + i] != readWord(keyArray, i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int indexFor(final byte[] keyArray) {
+    // Equivalent to indexFor(long[], int) on the words of the key.
+    long hash = 0;
+    for (int i = 0; i < wordsPerKey; i++) {
+      hash = (hash + readWord(keyArray, i)) * HASH_MULTIPLIER;
+    }
+    return (int) (hash >>> shift);
+  }
+
+  private int indexFor(final long[] words, final int offset) {
+    // Fibonacci hashing, so that keys differing only in their low bytes (like small storage slots)
+    // still spread across the table.
+    long hash = 0;
+    for (int i = 0; i < wordsPerKey; i++) {
+      hash = (hash + words[offset + i]) * HASH_MULTIPLIER;
+    }
+    return (int) (hash >>> shift);
+  }
+
+  private void removeSlot(final int slot) {
+    final int mask = keys.length - 1;
+    int gap = slot;
+    int next = (gap + 1) & mask;
+    while (keys[next] != null) {
+      final int ideal = indexFor(keyWords, next * wordsPerKey);
+      // Move the entry back into the gap unless its ideal slot lies after the gap.
+      if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+        System.arraycopy(keyWords, next * wordsPerKey, keyWords, gap * wordsPerKey, wordsPerKey);
+        keys[gap] = keys[next];
+        values[gap] = values[next];
+        gap = next;
+      }
+      next = (next + 1) & mask;
+    }
+    keys[gap] = null;
+    values[gap] = null;
+    size--;
+    modCount++;
+  }
+
+  private void resize() {
+    final long[] oldKeyWords = keyWords;
+    final Object[] oldKeys = keys;
+    final Object[] oldValues = values;
+    allocate(oldKeys.length * 2);
+
+    final int mask = keys.length - 1;
+    for (int oldSlot = 0; oldSlot < oldKeys.length; oldSlot++) {
+      if (oldKeys[oldSlot] == null) {
+        continue;
+      }
+      int slot = indexFor(oldKeyWords, oldSlot * wordsPerKey);
+      while (keys[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      System.arraycopy(
+          oldKeyWords, oldSlot * wordsPerKey, keyWords, slot * wordsPerKey, wordsPerKey);
+      keys[slot] = oldKeys[oldSlot];
+      values[slot] = oldValues[oldSlot];
+    }
+  }
+
+  private void allocate(final int capacity) {
+    keyWords = new long[capacity * wordsPerKey];
+    keys = new Object[capacity];
+    values = new Object[capacity];
+    shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+  }
+
+  private abstract class SlotIterator<T> implements Iterator<T> {
+    private final int expectedModCount = modCount;
+    private int nextSlot = findOccupiedSlot(0);
+
+    abstract T get(int slot);
+
+    @Override
+    public boolean hasNext() {
+      return nextSlot < keys.length;
+    }
+
+    @Override
+    public T next() {
+      if (modCount != expectedModCount) {
+        throw new ConcurrentModificationException();
+      }
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final T result = get(nextSlot);
+      nextSlot = findOccupiedSlot(nextSlot + 1);
+      return result;
+    }
+
+    private int findOccupiedSlot(final int from) {
+      int slot = from;
+      while (slot < keys.length && keys[slot] == null) {
+        slot++;
+      }
+      return slot;
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.util.bytes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+public class FixedWidthBytesKeyMapTest {
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void shouldBehaveLikeHashMapForRandomOperations() {
+    final Map<BytesValue, Integer> map = FixedWidthBytesKeyMap.create(20);
+    final Map<BytesValue, Integer> expected = new HashMap<>();
+    // A small key space so that puts, replacements and removals all collide regularly.
+    final List<BytesValue> keySpace = new ArrayList<>();
+    for (int i = 0; i < 500; i++) {
+      keySpace.add(randomBytes(20));
+    }
+
+    for (int i = 0; i < 20_000; i++) {
+      final BytesValue key = keySpace.get(random.nextInt(keySpace.size()));
+      if (random.nextInt(3) == 0) {
+        assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+      } else {
+        assertThat(map.put(key, i)).isEqualTo(expected.put(key, i));
+      }
+      assertThat(map.size()).isEqualTo(expected.size());
+    }
+
+    assertThat(map).isEqualTo(expected);
+    for (final BytesValue key : keySpace) {
+      assertThat(map.containsKey(key)).isEqualTo(expected.containsKey(key));
+      assertThat(map.get(key)).isEqualTo(expected.get(key));
+    }
+  }
+
+  @Test
+  public void shouldMatchKeysByValueNotInstance() {
+    final Map<BytesValue, String> map = FixedWidthBytesKeyMap.create(32);
+    final BytesValue key = randomBytes(32);
+    map.put(key, "value");
+
+    final MutableBytesValue copy = MutableBytesValue.create(34);
+    key.copyTo(copy, 1);
+    assertThat(map.get(copy.slice(1, 32))).isEqualTo("value");
+    assertThat(map.remove(copy.slice(1, 32))).isEqualTo("value");
+    assertThat(map).isEmpty();
+  }
+
+  @Test
+  public void shouldSupportKeysThatAreNotBytesValues() {
+    final Map<UInt256, UInt256> map = new FixedWidthBytesKeyMap<>(32, UInt256::getBytes);
+    for (int i = 0; i < 1000; i++) {
+      map.put(UInt256.of(i), UInt256.of(i * 2L));
+    }
+    for (int i = 0; i < 1000; i += 2) {
+      map.remove(UInt256.of(i));
+    }
+
+    assertThat(map).hasSize(500);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(map.get(UInt256.of(i))).isEqualTo(i % 2 == 0 ? null : UInt256.of(i * 2L));
+    }
+  }
+
+  @Test
+  public void viewsShouldReflectMapContents() {
+    final Map<BytesValue, Integer> map = FixedWidthBytesKeyMap.create(20);
+    final Map<BytesValue, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 100; i++) {
+      final BytesValue key = randomBytes(20);
+      map.put(key, i);
+      expected.put(key, i);
+    }
+
+    assertThat(map.keySet()).containsExactlyInAnyOrderElementsOf(expected.keySet());
+    assertThat(map.values()).containsExactlyInAnyOrderElementsOf(expected.values());
+    assertThat(map.entrySet()).containsExactlyInAnyOrderElementsOf(expected.entrySet());
+    final Map<BytesValue, Integer> visited = new HashMap<>();
+    map.forEach(visited::put);
+    assertThat(visited).isEqualTo(expected);
+
+    final BytesValue removed = expected.keySet().iterator().next();
+    assertThat(map.keySet().remove(removed)).isTrue();
+    assertThat(map).doesNotContainKey(removed);
+    map.values().clear();
+    assertThat(map).isEmpty();
+  }
+
+  @Test
+  public void shouldBackSetsCreatedFromMap() {
+    final Set<BytesValue> set = Collections.newSetFromMap(FixedWidthBytesKeyMap.create(20));
+    final BytesValue key = randomBytes(20);
+    assertThat(set.add(key)).isTrue();
+    assertThat(set.add(key)).isFalse();
+    assertThat(set).containsExactly(key);
+    assertThat(set.remove(key)).isTrue();
+    assertThat(set).isEmpty();
+  }
+
+  @Test
+  public void shouldSupportConcurrentReads() throws Exception {
+    final Map<BytesValue, Integer> map = FixedWidthBytesKeyMap.create(32);
+    final List<BytesValue> keys = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      final BytesValue key = randomBytes(32);
+      keys.add(key);
+      map.put(key, i);
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<Boolean>> results = new ArrayList<>();
+      for (int thread = 0; thread < 4; thread++) {
+        results.add(
+            executor.submit(
+                () -> {
+                  for (int round = 0; round < 100; round++) {
+                    for (int i = 0; i < keys.size(); i++) {
+                      if (!Integer.valueOf(i).equals(map.get(keys.get(i)))) {
+                        return false;
+                      }
+                    }
+                  }
+                  return true;
+                }));
+      }
+      for (final Future<Boolean> result : results) {
+        assertThat(result.get()).isTrue();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void shouldRejectKeysOfTheWrongWidth() {
+    final Map<BytesValue, Integer> map = FixedWidthBytesKeyMap.create(20);
+    assertThatThrownBy(() -> map.put(randomBytes(32), 1))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private BytesValue randomBytes(final int size) {
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    return BytesValue.wrap(bytes);
+  }
+}